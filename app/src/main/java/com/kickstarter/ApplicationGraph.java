@@ -16,6 +16,7 @@ import com.kickstarter.ui.activities.LoginActivity;
 import com.kickstarter.ui.activities.ProjectActivity;
 import com.kickstarter.ui.activities.SettingsActivity;
 import com.kickstarter.ui.activities.ThanksActivity;
+import com.kickstarter.ui.fragments.DiscoveryFragment;
 import com.kickstarter.ui.toolbars.DiscoveryToolbar;
 import com.kickstarter.ui.viewholders.ActivitySampleFriendBackingViewHolder;
 import com.kickstarter.ui.viewholders.ActivitySampleFriendFollowViewHolder;
@@ -53,6 +54,7 @@ public interface ApplicationGraph {
   void inject(CommentViewHolder __);
   void inject(Koala __);
   void inject(DiscoveryActivity __);
+  void inject(DiscoveryFragment __);
   void inject(DiscoveryToolbar __);
   void inject(EmptyActivityFeedViewHolder __);
   void inject(EmptyCommentsViewHolder __);
@@ -15,6 +15,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.kickstarter.libs.AndroidPayCapability;
 import com.kickstarter.libs.ApiEndpoint;
+import com.kickstarter.libs.AutoGsonAdapterFactory;
 import com.kickstarter.libs.AutoParcelAdapterFactory;
 import com.kickstarter.libs.Build;
 import com.kickstarter.libs.BuildCheck;
@@ -33,6 +34,12 @@ import com.kickstarter.libs.KSString;
 import com.kickstarter.libs.Koala;
 import com.kickstarter.libs.KoalaTrackingClient;
 import com.kickstarter.libs.Logout;
+import com.kickstarter.libs.ModelStore;
+import com.kickstarter.libs.ModelStoreType;
+import com.kickstarter.libs.NetworkThroughput;
+import com.kickstarter.libs.ParcelSnapshot;
+import com.kickstarter.libs.PhotoSelector;
+import com.kickstarter.libs.ProjectSearchIndex;
 import com.kickstarter.libs.PushNotifications;
 import com.kickstarter.libs.preferences.BooleanPreference;
 import com.kickstarter.libs.preferences.BooleanPreferenceType;
@@ -56,22 +63,29 @@ import com.kickstarter.libs.utils.Secrets;
 import com.kickstarter.services.ApiClient;
 import com.kickstarter.services.ApiClientType;
 import com.kickstarter.services.ApiService;
+import com.kickstarter.services.DiscoveryPageCache;
 import com.kickstarter.services.KSWebViewClient;
+import com.kickstarter.services.RequestCoalescer;
 import com.kickstarter.services.WebClient;
 import com.kickstarter.services.WebClientType;
 import com.kickstarter.services.WebService;
+import com.kickstarter.services.interceptors.ApiCacheInterceptor;
 import com.kickstarter.services.interceptors.ApiRequestInterceptor;
 import com.kickstarter.services.interceptors.KSRequestInterceptor;
+import com.kickstarter.services.interceptors.ThroughputInterceptor;
 import com.kickstarter.services.interceptors.WebRequestInterceptor;
 
 import org.joda.time.DateTime;
 
+import java.io.File;
 import java.net.CookieManager;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Singleton;
 
 import dagger.Module;
 import dagger.Provides;
+import okhttp3.Cache;
 import okhttp3.CookieJar;
 import okhttp3.JavaNetCookieJar;
 import okhttp3.OkHttpClient;
@@ -84,6 +98,12 @@ import rx.schedulers.Schedulers;
 
 @Module
 public final class ApplicationModule {
+  private static final long HTTP_CACHE_SIZE_BYTES = 20 * 1024 * 1024;
+  private static final long REQUEST_COALESCING_TTL_SECONDS = 2;
+  private static final long DISCOVERY_PAGE_CACHE_TTL_MILLIS = 5 * 60 * 1000;
+  private static final long DISCOVERY_PREFETCH_IDLE_MILLIS = 500;
+  private static final int MAX_LOCALLY_SEARCHABLE_PROJECTS = 1000;
+
   private final Application application;
 
   public ApplicationModule(final @NonNull Application application) {
@@ -99,13 +119,16 @@ public final class ApplicationModule {
     final @NonNull CookieManager cookieManager,
     final @NonNull CurrentConfigType currentConfig,
     final @NonNull CurrentUserType currentUser,
+    final @NonNull DiscoveryPageCache discoveryPageCache,
     final @NonNull Gson gson,
     final @NonNull @AppRatingPreference BooleanPreferenceType hasSeenAppRatingPreference,
     final @NonNull @GamesNewsletterPreference BooleanPreferenceType hasSeenGamesNewsletterPreference,
     final @NonNull Koala koala,
     final @NonNull KSCurrency ksCurrency,
     final @NonNull KSString ksString,
+    final @NonNull ModelStoreType modelStore,
     final @NonNull PlayServicesCapability playServicesCapability,
+    final @NonNull ProjectSearchIndex projectSearchIndex,
     final @NonNull Scheduler scheduler,
     final @NonNull SharedPreferences sharedPreferences,
     final @NonNull WebClientType webClient) {
@@ -118,13 +141,16 @@ public final class ApplicationModule {
       .cookieManager(cookieManager)
       .currentConfig(currentConfig)
       .currentUser(currentUser)
+      .discoveryPageCache(discoveryPageCache)
       .gson(gson)
       .hasSeenAppRatingPreference(hasSeenAppRatingPreference)
       .hasSeenGamesNewsletterPreference(hasSeenGamesNewsletterPreference)
       .koala(koala)
       .ksCurrency(ksCurrency)
       .ksString(ksString)
+      .modelStore(modelStore)
       .playServicesCapability(playServicesCapability)
+      .projectSearchIndex(projectSearchIndex)
       .scheduler(scheduler)
       .sharedPreferences(sharedPreferences)
       .webClient(webClient)
@@ -133,8 +159,29 @@ public final class ApplicationModule {
 
   @Provides
   @Singleton
-  @NonNull ApiClientType provideApiClientType(final @NonNull ApiService apiService, final @NonNull Gson gson) {
-    return new ApiClient(apiService, gson);
+  @NonNull ApiClientType provideApiClientType(final @NonNull ApiService apiService, final @NonNull Gson gson,
+    final @NonNull ModelStoreType modelStore, final @NonNull ProjectSearchIndex projectSearchIndex,
+    final @NonNull RequestCoalescer requestCoalescer) {
+    return new ApiClient(apiService, gson, modelStore, projectSearchIndex, requestCoalescer);
+  }
+
+  @Provides
+  @Singleton
+  @NonNull ProjectSearchIndex provideProjectSearchIndex() {
+    return new ProjectSearchIndex(MAX_LOCALLY_SEARCHABLE_PROJECTS);
+  }
+
+  @Provides
+  @Singleton
+  @NonNull RequestCoalescer provideRequestCoalescer() {
+    return new RequestCoalescer(REQUEST_COALESCING_TTL_SECONDS, TimeUnit.SECONDS, Schedulers.computation());
+  }
+
+  @Provides
+  @Singleton
+  @NonNull DiscoveryPageCache provideDiscoveryPageCache(final @NonNull CurrentUserType currentUser) {
+    return new DiscoveryPageCache(currentUser, DISCOVERY_PAGE_CACHE_TTL_MILLIS, DISCOVERY_PREFETCH_IDLE_MILLIS,
+      TimeUnit.MILLISECONDS, Schedulers.computation());
   }
 
   @Provides
@@ -142,7 +189,9 @@ public final class ApplicationModule {
   @NonNull
   OkHttpClient provideOkHttpClient(final @NonNull ApiRequestInterceptor apiRequestInterceptor, final @NonNull CookieJar cookieJar,
     final @NonNull HttpLoggingInterceptor httpLoggingInterceptor, final @NonNull KSRequestInterceptor ksRequestInterceptor,
-    final @NonNull Build build, final @NonNull WebRequestInterceptor webRequestInterceptor) {
+    final @NonNull Build build, final @NonNull WebRequestInterceptor webRequestInterceptor,
+    final @NonNull ApiCacheInterceptor apiCacheInterceptor, final @NonNull ThroughputInterceptor throughputInterceptor,
+    final @NonNull Cache cache) {
 
     final OkHttpClient.Builder builder = new OkHttpClient.Builder();
 
@@ -155,10 +204,43 @@ public final class ApplicationModule {
       .addInterceptor(apiRequestInterceptor)
       .addInterceptor(webRequestInterceptor)
       .addInterceptor(ksRequestInterceptor)
+      .addNetworkInterceptor(apiCacheInterceptor)
+      .addNetworkInterceptor(throughputInterceptor)
+      .cache(cache)
       .cookieJar(cookieJar)
       .build();
   }
 
+  @Provides
+  @Singleton
+  @NonNull Cache provideCache() {
+    return new Cache(new File(application.getCacheDir(), "http"), HTTP_CACHE_SIZE_BYTES);
+  }
+
+  @Provides
+  @Singleton
+  @NonNull ApiCacheInterceptor provideApiCacheInterceptor(final @NonNull ApiEndpoint endpoint) {
+    return new ApiCacheInterceptor(endpoint.url());
+  }
+
+  @Provides
+  @Singleton
+  @NonNull NetworkThroughput provideNetworkThroughput() {
+    return new NetworkThroughput();
+  }
+
+  @Provides
+  @Singleton
+  @NonNull ThroughputInterceptor provideThroughputInterceptor(final @NonNull NetworkThroughput throughput) {
+    return new ThroughputInterceptor(throughput);
+  }
+
+  @Provides
+  @Singleton
+  @NonNull PhotoSelector providePhotoSelector(final @NonNull NetworkThroughput throughput) {
+    return new PhotoSelector(throughput);
+  }
+
   @Provides
   @Singleton
   @ApiRetrofit
@@ -292,8 +374,8 @@ public final class ApplicationModule {
   @Provides
   @Singleton
   Koala provideKoala(final @ApplicationContext @NonNull Context context, final @NonNull CurrentUserType currentUser,
-    final @NonNull AndroidPayCapability androidPayCapability) {
-    return new Koala(new KoalaTrackingClient(context, currentUser, androidPayCapability));
+    final @NonNull AndroidPayCapability androidPayCapability, final @NonNull Gson gson) {
+    return new Koala(new KoalaTrackingClient(context, currentUser, androidPayCapability, gson));
   }
 
   @Provides
@@ -325,8 +407,10 @@ public final class ApplicationModule {
   @Singleton
   CurrentConfigType provideCurrentConfig(final @NonNull AssetManager assetManager,
     final @NonNull Gson gson,
-    final @ConfigPreference @NonNull StringPreferenceType configPreference) {
-    return new CurrentConfig(assetManager, gson, configPreference);
+    final @ConfigPreference @NonNull StringPreferenceType configPreference,
+    final @NonNull Build build) {
+    return new CurrentConfig(assetManager, gson, configPreference,
+      new ParcelSnapshot(new File(application.getFilesDir(), "snapshots/config"), build.versionCode()), Schedulers.io());
   }
 
   @Provides
@@ -346,8 +430,10 @@ public final class ApplicationModule {
   CurrentUserType provideCurrentUser(@AccessTokenPreference final @NonNull StringPreferenceType accessTokenPreference,
     final @NonNull DeviceRegistrarType deviceRegistrar,
     final @NonNull Gson gson,
-    @NonNull @UserPreference final StringPreferenceType userPreference) {
-    return new CurrentUser(accessTokenPreference, deviceRegistrar, gson, userPreference);
+    @NonNull @UserPreference final StringPreferenceType userPreference,
+    final @NonNull Build build) {
+    return new CurrentUser(accessTokenPreference, deviceRegistrar, gson, userPreference,
+      new ParcelSnapshot(new File(application.getFilesDir(), "snapshots/user"), build.versionCode()), Schedulers.io());
   }
 
   @Provides
@@ -382,11 +468,20 @@ public final class ApplicationModule {
   @Provides
   @Singleton
   Gson provideGson() {
+    return reflectiveGsonBuilder()
+      // Registered last so that it takes precedence, leaving AutoParcelAdapterFactory for any types it can't handle.
+      .registerTypeAdapterFactory(new AutoGsonAdapterFactory())
+      .create();
+  }
+
+  /**
+   * The app's Gson configuration without the generated adapters, so models are bound reflectively.
+   */
+  public static @NonNull GsonBuilder reflectiveGsonBuilder() {
     return new GsonBuilder()
       .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
       .registerTypeAdapter(DateTime.class, new DateTimeTypeConverter())
-      .registerTypeAdapterFactory(new AutoParcelAdapterFactory())
-      .create();
+      .registerTypeAdapterFactory(new AutoParcelAdapterFactory());
   }
 
   @Provides
@@ -409,8 +504,16 @@ public final class ApplicationModule {
 
   @Provides
   @Singleton
-  Logout provideLogout(final @NonNull CookieManager cookieManager, final @NonNull CurrentUserType currentUser) {
-    return new Logout(cookieManager, currentUser);
+  Logout provideLogout(final @NonNull CookieManager cookieManager, final @NonNull CurrentUserType currentUser,
+    final @NonNull ModelStoreType modelStore, final @NonNull ProjectSearchIndex projectSearchIndex,
+    final @NonNull Cache cache) {
+    return new Logout(cookieManager, currentUser, modelStore, projectSearchIndex, cache, Schedulers.io());
+  }
+
+  @Provides
+  @Singleton
+  @NonNull ModelStoreType provideModelStore(final @ApplicationContext @NonNull Context context, final @NonNull Gson gson) {
+    return new ModelStore(context, gson);
   }
 
   @Provides
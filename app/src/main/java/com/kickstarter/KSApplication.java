@@ -3,13 +3,14 @@ package com.kickstarter;
 import android.content.Context;
 import android.support.annotation.CallSuper;
 import android.support.annotation.NonNull;
-import android.support.multidex.MultiDex;
 import android.support.multidex.MultiDexApplication;
 
 import com.facebook.FacebookSdk;
+import com.kickstarter.libs.AfterFirstFrame;
 import com.kickstarter.libs.ApiCapabilities;
 import com.kickstarter.libs.Build;
 import com.kickstarter.libs.PushNotifications;
+import com.kickstarter.libs.StartupOrchestrator;
 import com.kickstarter.libs.utils.ApplicationLifecycleUtil;
 import com.kickstarter.libs.utils.Secrets;
 import com.squareup.leakcanary.LeakCanary;
@@ -24,9 +25,19 @@ import java.net.CookieManager;
 
 import javax.inject.Inject;
 
+import rx.android.schedulers.AndroidSchedulers;
+import rx.schedulers.Schedulers;
 import timber.log.Timber;
 
+import static com.kickstarter.libs.StartupOrchestrator.Phase.CRITICAL;
+import static com.kickstarter.libs.StartupOrchestrator.Phase.DEFERRED;
+import static com.kickstarter.libs.StartupOrchestrator.Runs.BACKGROUND;
+import static com.kickstarter.libs.StartupOrchestrator.Runs.MAIN_THREAD;
+
 public class KSApplication extends MultiDexApplication {
+  // Deferred startup tasks run this long after launch if no activity has drawn a frame by then.
+  private static final long DEFERRED_STARTUP_TIMEOUT_MILLIS = 5000;
+
   private ApplicationComponent component;
   private RefWatcher refWatcher;
   @Inject protected CookieManager cookieManager;
@@ -37,38 +48,61 @@ public class KSApplication extends MultiDexApplication {
   public void onCreate() {
     super.onCreate();
 
-    // Send crash reports in release builds
-    if (!BuildConfig.DEBUG && !isInUnitTests()) {
-      checkForCrashes();
-    }
-
-    MultiDex.install(this);
-
-    // Only log for internal builds
-    if (BuildConfig.FLAVOR_AUDIENCE.equals("internal")) {
-      Timber.plant(new Timber.DebugTree());
-    }
-
-    if (!isInUnitTests() && ApiCapabilities.canDetectMemoryLeaks()) {
-      refWatcher = LeakCanary.install(this);
+    // Unit tests run everything on the test thread.
+    final StartupOrchestrator startup = isInUnitTests()
+      ? new StartupOrchestrator(Schedulers.immediate(), Schedulers.immediate())
+      : new StartupOrchestrator(AndroidSchedulers.mainThread(), Schedulers.io());
+
+    startup
+      .add("logging", CRITICAL, MAIN_THREAD, () -> {
+        // Only log for internal builds
+        if (BuildConfig.FLAVOR_AUDIENCE.equals("internal")) {
+          Timber.plant(new Timber.DebugTree());
+        }
+      })
+      .add("crash-reporting", CRITICAL, MAIN_THREAD, () -> {
+        // Send crash reports in release builds
+        if (!BuildConfig.DEBUG && !isInUnitTests()) {
+          checkForCrashes();
+        }
+      })
+      .add("joda-time", CRITICAL, BACKGROUND, () -> JodaTimeAndroid.init(this))
+      .add("facebook", CRITICAL, BACKGROUND, () -> FacebookSdk.sdkInitialize(this))
+      .add("component", CRITICAL, MAIN_THREAD, () -> {
+        component = DaggerApplicationComponent.builder()
+          .applicationModule(new ApplicationModule(this))
+          .build();
+        component().inject(this);
+      }, "logging", "joda-time")
+      .add("cookies", CRITICAL, MAIN_THREAD, () -> CookieHandler.setDefault(cookieManager), "component")
+      // Push notifications can arrive before any activity is shown, so they must be handled from the start.
+      .add("push-notifications", CRITICAL, BACKGROUND, () -> pushNotifications.initialize(), "component")
+      .add("lifecycle", CRITICAL, MAIN_THREAD, () -> {
+        final ApplicationLifecycleUtil appUtil = new ApplicationLifecycleUtil(this);
+        registerActivityLifecycleCallbacks(appUtil);
+        registerComponentCallbacks(appUtil);
+      }, "component", "facebook")
+      .add("leak-canary", DEFERRED, MAIN_THREAD, () -> {
+        if (!isInUnitTests() && ApiCapabilities.canDetectMemoryLeaks()) {
+          refWatcher = LeakCanary.install(this);
+        }
+      })
+      // Only trace startup for internal builds
+      .add("startup-trace", DEFERRED, MAIN_THREAD, () -> {
+        if (Build.isInternal()) {
+          for (final StartupOrchestrator.TraceEntry entry : startup.trace()) {
+            Timber.d("Startup %s", entry);
+          }
+        }
+      }, "leak-canary");
+
+    startup.runCritical();
+
+    if (isInUnitTests()) {
+      startup.runDeferred();
+    } else {
+      AfterFirstFrame.run(this, DEFERRED_STARTUP_TIMEOUT_MILLIS, startup::runDeferred);
     }
-
-    JodaTimeAndroid.init(this);
-
-    component = DaggerApplicationComponent.builder()
-      .applicationModule(new ApplicationModule(this))
-      .build();
-    component().inject(this);
-
-    CookieHandler.setDefault(cookieManager);
-
-    FacebookSdk.sdkInitialize(this);
-
-    pushNotifications.initialize();
-
-    final ApplicationLifecycleUtil appUtil = new ApplicationLifecycleUtil(this);
-    registerActivityLifecycleCallbacks(appUtil);
-    registerComponentCallbacks(appUtil);
   }
 
   public ApplicationComponent component() {
@@ -12,6 +12,7 @@ import com.kickstarter.ui.data.ActivityResult;
 import com.trello.rxlifecycle.ActivityEvent;
 
 import rx.Observable;
+import rx.subjects.BehaviorSubject;
 import rx.subjects.PublishSubject;
 import rx.subscriptions.CompositeSubscription;
 import timber.log.Timber;
@@ -25,6 +26,7 @@ public class ActivityViewModel<ViewType extends ActivityLifecycleType> {
   private final PublishSubject<ActivityResult> activityResult = PublishSubject.create();
 
   private final PublishSubject<Intent> intent = PublishSubject.create();
+  private final BehaviorSubject<Bundle> savedInstanceState = BehaviorSubject.create();
   protected final Koala koala;
 
   public ActivityViewModel(final @NonNull Environment environment) {
@@ -48,9 +50,26 @@ public class ActivityViewModel<ViewType extends ActivityLifecycleType> {
   @CallSuper
   protected void onCreate(final @NonNull Context context, final @Nullable Bundle savedInstanceState) {
     Timber.d("onCreate %s", this.toString());
+    this.savedInstanceState.onNext(savedInstanceState);
     dropView();
   }
 
+  /**
+   * Emits the state saved by {@link #onSaveInstanceState(Bundle)} if the view model is being recreated after its process
+   * was killed, or `null` if it's being created for the first time.
+   */
+  protected @NonNull Observable<Bundle> savedInstanceState() {
+    return savedInstanceState;
+  }
+
+  /**
+   * Saves state that the view model needs to pick up where it left off if its process is killed. Keep it small, e.g. ids
+   * rather than models, as it's written to a `Bundle` that's limited in size.
+   */
+  @CallSuper
+  protected void onSaveInstanceState(final @NonNull Bundle outState) {
+  }
+
   @CallSuper
   protected void onResume(final @NonNull ViewType view) {
     Timber.d("onResume %s", this.toString());
@@ -0,0 +1,74 @@
+package com.kickstarter.libs;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import rx.functions.Action0;
+
+/**
+ * Runs an action on the main thread once the first activity has drawn its first frame, or after a timeout if no activity
+ * is shown, e.g. when the process was started to handle a push notification.
+ */
+public final class AfterFirstFrame implements Application.ActivityLifecycleCallbacks {
+  private final @NonNull Application application;
+  private final @NonNull Action0 action;
+  private final @NonNull Handler handler = new Handler(Looper.getMainLooper());
+  private boolean ran;
+
+  private AfterFirstFrame(final @NonNull Application application, final @NonNull Action0 action) {
+    this.application = application;
+    this.action = action;
+  }
+
+  public static void run(final @NonNull Application application, final long timeoutMillis,
+    final @NonNull Action0 action) {
+    final AfterFirstFrame afterFirstFrame = new AfterFirstFrame(application, action);
+    application.registerActivityLifecycleCallbacks(afterFirstFrame);
+    afterFirstFrame.handler.postDelayed(afterFirstFrame::runOnce, timeoutMillis);
+  }
+
+  @Override
+  public void onActivityResumed(final @NonNull Activity activity) {
+    // Runnables posted to the decor view run after the traversal that draws the first frame.
+    activity.getWindow().getDecorView().post(this::runOnce);
+  }
+
+  private void runOnce() {
+    if (ran) {
+      return;
+    }
+    ran = true;
+    handler.removeCallbacksAndMessages(null);
+    application.unregisterActivityLifecycleCallbacks(this);
+    action.call();
+  }
+
+  @Override
+  public void onActivityCreated(final @NonNull Activity activity, final @Nullable Bundle bundle) {
+  }
+
+  @Override
+  public void onActivityStarted(final @NonNull Activity activity) {
+  }
+
+  @Override
+  public void onActivityPaused(final @NonNull Activity activity) {
+  }
+
+  @Override
+  public void onActivityStopped(final @NonNull Activity activity) {
+  }
+
+  @Override
+  public void onActivitySaveInstanceState(final @NonNull Activity activity, final @NonNull Bundle bundle) {
+  }
+
+  @Override
+  public void onActivityDestroyed(final @NonNull Activity activity) {
+  }
+}
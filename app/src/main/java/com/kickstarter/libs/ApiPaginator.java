@@ -1,6 +1,9 @@
 package com.kickstarter.libs;
 
+import android.os.Bundle;
+import android.os.Parcelable;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.util.Pair;
 
 import com.kickstarter.libs.rx.transformers.Transformers;
@@ -13,8 +16,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 import rx.Observable;
+import rx.Subscription;
+import rx.functions.Action1;
 import rx.functions.Func1;
 import rx.functions.Func2;
+import rx.observables.ConnectableObservable;
 import rx.subjects.PublishSubject;
 
 /**
@@ -34,6 +40,19 @@ public final class ApiPaginator<Data, Envelope, Params> {
   private final @NonNull Func1<List<Data>, List<Data>> pageTransformation;
   private final boolean clearWhenStartingOver;
   private final @NonNull Func2<List<Data>, List<Data>, List<Data>> concater;
+  private final @Nullable Func1<Data, ?> distinctKey;
+  private final boolean prefetch;
+  private final int windowSize;
+  private final @NonNull Observable<Integer> visiblePosition;
+  private final @Nullable Func1<Data, Long> id;
+  private final @Nullable Func1<long[], Observable<List<Data>>> loadWithIds;
+
+  private static final String SAVED_PARAMS_KEY = "params";
+
+  private @Nullable SavedPages savedPages;
+  private @Nullable Parcelable savedParams;
+  private boolean startedOver;
+  private volatile @Nullable Session session;
 
   private final @NonNull PublishSubject<String> _morePath = PublishSubject.create();
   private final @NonNull PublishSubject<Boolean> _isFetching = PublishSubject.create();
@@ -43,6 +62,14 @@ public final class ApiPaginator<Data, Envelope, Params> {
     return paginatedData;
   }
   private final @NonNull Observable<List<Data>> paginatedData;
+  /**
+   * Like `paginatedData`, but in windowed mode the rows of evicted pages are emitted as `null` placeholders so that
+   * positions don't shift. Only for adapters that render placeholders, see {@link Builder#window(int, Observable)}.
+   */
+  public @NonNull Observable<List<Data>> paginatedRows() {
+    return paginatedRows;
+  }
+  private final @NonNull Observable<List<Data>> paginatedRows;
   public @NonNull Observable<Boolean> isFetching() {
     return isFetching;
   }
@@ -61,7 +88,14 @@ public final class ApiPaginator<Data, Envelope, Params> {
     final @NonNull Func1<Envelope, String> envelopeToMoreUrl,
     final @NonNull Func1<List<Data>, List<Data>> pageTransformation,
     final boolean clearWhenStartingOver,
-    final @NonNull Func2<List<Data>, List<Data>, List<Data>> concater
+    final @NonNull Func2<List<Data>, List<Data>, List<Data>> concater,
+    final @Nullable Func1<Data, ?> distinctKey,
+    final boolean prefetch,
+    final int windowSize,
+    final @NonNull Observable<Integer> visiblePosition,
+    final @NonNull Observable<Bundle> savedState,
+    final @Nullable Func1<Data, Long> id,
+    final @Nullable Func1<long[], Observable<List<Data>>> loadWithIds
   ) {
     this.nextPage = nextPage;
     this.startOverWith = startOverWith;
@@ -72,8 +106,17 @@ public final class ApiPaginator<Data, Envelope, Params> {
     this.loadWithPaginationPath = loadWithPaginationPath;
     this.clearWhenStartingOver = clearWhenStartingOver;
     this.concater = concater;
+    this.distinctKey = distinctKey;
+    this.prefetch = prefetch;
+    this.windowSize = windowSize;
+    this.visiblePosition = visiblePosition;
+    this.id = id;
+    this.loadWithIds = loadWithIds;
+
+    savedState.take(1).subscribe(this::keepSavedState);
 
-    this.paginatedData = this.startOverWith.switchMap(this::dataWithPagination);
+    this.paginatedRows = this.startOverWith.switchMap(this::dataWithPagination);
+    this.paginatedData = windowSize >= 0 ? this.paginatedRows.map(ListUtils::withoutNulls) : this.paginatedRows;
     this.loadingPage = this.startOverWith.switchMap(__ -> nextPage.scan(1, (accum, ___) -> accum + 1));
   }
 
@@ -86,7 +129,14 @@ public final class ApiPaginator<Data, Envelope, Params> {
     private Func1<Envelope, String> envelopeToMoreUrl;
     private Func1<List<Data>, List<Data>> pageTransformation;
     private boolean clearWhenStartingOver;
-    private Func2<List<Data>, List<Data>, List<Data>> concater = ListUtils::concat;
+    private Func2<List<Data>, List<Data>, List<Data>> concater = ChunkedList.concater();
+    private Func1<Data, ?> distinctKey;
+    private boolean prefetch;
+    private int windowSize = -1;
+    private Observable<Integer> visiblePosition;
+    private Observable<Bundle> savedState;
+    private Func1<Data, Long> id;
+    private Func1<long[], Observable<List<Data>>> loadWithIds;
 
     /**
      * [Required] An observable that emits whenever a new page of data should be loaded.
@@ -154,14 +204,71 @@ public final class ApiPaginator<Data, Envelope, Params> {
     }
 
     /**
-     * [Optional] Determines how two lists are concatenated together while paginating. A regular `ListUtils::concat` is probably
-     * sufficient, but sometimes you may want `ListUtils::concatDistinct`
+     * [Optional] Determines how two lists are concatenated together while paginating. The default `ChunkedList.concater()`
+     * is probably sufficient, but sometimes you may want `ChunkedList.distinctConcater(...)` to drop items that were
+     * already loaded, e.g. projects that moved to a later page. Both append each page without copying the pages before it.
      */
     public @NonNull Builder<Data, Envelope, Params> concater(final @NonNull Func2<List<Data>, List<Data>, List<Data>> concater) {
       this.concater = concater;
       return this;
     }
 
+    /**
+     * [Optional] Drops loaded items whose key, e.g. `Project::id`, was already loaded, such as projects that moved to a
+     * later page. Unlike `concater(ChunkedList.distinctConcater(key))` this also works with `window`.
+     */
+    public @NonNull Builder<Data, Envelope, Params> distinctBy(final @NonNull Func1<Data, ?> distinctKey) {
+      this.distinctKey = distinctKey;
+      this.concater = ChunkedList.distinctConcater(distinctKey);
+      return this;
+    }
+
+    /**
+     * [Optional] Caps memory on endless lists by keeping only the pages within `windowSize` pages of the page at
+     * `visiblePosition` in memory. The page is loaded again from the same path when `visiblePosition` comes back to
+     * it. `paginatedData` emits only the rows in memory, while `paginatedRows` emits the rows of every other page as
+     * `null` placeholders, so positions don't shift, for adapters that render them, e.g. with an empty view of about
+     * the same height. `concater` is not used in this mode.
+     *
+     * @param visiblePosition Emits the position of a visible row, e.g. the first visible row of a `RecyclerView`.
+     */
+    public @NonNull Builder<Data, Envelope, Params> window(final int windowSize,
+      final @NonNull Observable<Integer> visiblePosition) {
+      this.windowSize = windowSize;
+      this.visiblePosition = visiblePosition;
+      return this;
+    }
+
+    /**
+     * [Optional] Determines if the next page of data is loaded speculatively as soon as the current page arrives, so that
+     * it can be emitted without a network round trip when `nextPage` fires. At most one speculative page is in flight at
+     * a time, and it is discarded when `startOverWith` emits. Pair this with a `RecyclerViewPaginator` lookahead so that
+     * `nextPage` fires before the user reaches the end of the list.
+     */
+    public @NonNull Builder<Data, Envelope, Params> prefetch(final boolean prefetch) {
+      this.prefetch = prefetch;
+      return this;
+    }
+
+    /**
+     * [Optional] Lets the pages loaded so far outlive the process. {@link ApiPaginator#saveState()} records the ids of
+     * the loaded items and the path of the next page in a small `Bundle`, for a view model to save with its own state.
+     * Once `savedState` emits such a bundle, the next time `startOverWith` emits the items are loaded with `loadWithIds`,
+     * e.g. from a {@link ModelStoreType}, rather than from the network, and pagination carries on from the saved path.
+     * If any of them can't be loaded the first page is loaded from the network as usual. `Parcelable` params are saved
+     * too, and the pages are only restored if `startOverWith` first emits the same params, e.g. not after the user
+     * switched to another category while the process was in the background.
+     *
+     * @param savedState Emits the bundle that was saved, or `null` if there wasn't one. Only the first emission is used.
+     */
+    public @NonNull Builder<Data, Envelope, Params> restoreFrom(final @NonNull Observable<Bundle> savedState,
+      final @NonNull Func1<Data, Long> id, final @NonNull Func1<long[], Observable<List<Data>>> loadWithIds) {
+      this.savedState = savedState;
+      this.id = id;
+      this.loadWithIds = loadWithIds;
+      return this;
+    }
+
     public @NonNull ApiPaginator<Data, Envelope, Params> build() throws RuntimeException {
       // Early error when required field is not set
       if (nextPage == null) {
@@ -188,11 +295,18 @@ public final class ApiPaginator<Data, Envelope, Params> {
         pageTransformation = x -> x;
       }
       if (concater == null) {
-        concater = ListUtils::concat;
+        concater = ChunkedList.concater();
+      }
+      if (visiblePosition == null) {
+        visiblePosition = Observable.empty();
+      }
+      if (savedState == null) {
+        savedState = Observable.empty();
       }
 
       return new ApiPaginator<>(nextPage, startOverWith, envelopeToListOfData, loadWithParams,
-        loadWithPaginationPath, envelopeToMoreUrl, pageTransformation, clearWhenStartingOver, concater);
+        loadWithPaginationPath, envelopeToMoreUrl, pageTransformation, clearWhenStartingOver, concater, distinctKey,
+        prefetch, windowSize, visiblePosition, savedState, id, loadWithIds);
     }
   }
 
@@ -200,20 +314,169 @@ public final class ApiPaginator<Data, Envelope, Params> {
     return new Builder<>();
   }
 
+  /**
+   * Records the pages loaded since the last time `startOverWith` emitted, see {@link Builder#restoreFrom}. Returns `null`
+   * if no pages have been loaded yet.
+   */
+  public @Nullable Bundle saveState() {
+    if (id == null) {
+      throw new IllegalStateException("`restoreFrom` is required to save state");
+    }
+
+    final Session current = session;
+    final SavedPages saved = current == null ? null : current.save(id);
+    if (saved == null) {
+      return null;
+    }
+
+    final Bundle bundle = saved.toBundle();
+    if (current.params instanceof Parcelable) {
+      bundle.putParcelable(SAVED_PARAMS_KEY, (Parcelable) current.params);
+    }
+    return bundle;
+  }
+
   /**
    * Returns an observable that emits the accumulated list of paginated data each time a new page is loaded.
    */
   private @NonNull Observable<List<Data>> dataWithPagination(final @NonNull Params firstPageParams) {
-    final Observable<List<Data>> data = paramsAndMoreUrlWithPagination(firstPageParams)
-      .concatMap(this::fetchData)
-      .takeUntil(List::isEmpty);
+    final Session newSession = new Session(firstPageParams);
+    session = newSession;
+
+    final SavedPages saved = takeSavedPages(firstPageParams);
+    if (saved == null || loadWithIds == null) {
+      return freshData(firstPageParams, newSession);
+    }
+
+    return loadWithIds.call(saved.ids())
+      .compose(Transformers.neverError())
+      .take(1)
+      .filter(items -> items.size() == saved.ids().length)
+      .concatMap(items -> restoredData(firstPageParams, saved, items, newSession))
+      .switchIfEmpty(Observable.defer(() -> freshData(firstPageParams, newSession)));
+  }
+
+  private @NonNull Observable<List<Data>> freshData(final @NonNull Params firstPageParams,
+    final @NonNull Session session) {
+
+    // Each page is paired with the pagination path it was loaded from, or `null` for the first page.
+    final Observable<Pair<List<Data>, String>> pages = prefetch
+      ? prefetchedPages(loadWithParams.call(firstPageParams), null, false, session)
+      : paramsAndMoreUrlWithPagination(firstPageParams)
+        .concatMap(pd -> fetchData(pd, session).map(page -> Pair.create(page, pd.second)));
+
+    return accumulate(firstPageParams, pages, null, session);
+  }
+
+  /**
+   * Emits the saved pages, then carries on paginating from the page after them.
+   */
+  private @NonNull Observable<List<Data>> restoredData(final @NonNull Params firstPageParams,
+    final @NonNull SavedPages saved, final @NonNull List<Data> items, final @NonNull Session session) {
+
+    final String morePath = saved.morePath();
+    session.morePath(morePath);
+
+    final Observable<Pair<List<Data>, String>> nextPages;
+    if (morePath == null) {
+      nextPages = Observable.empty();
+    } else if (prefetch) {
+      nextPages = prefetchedPages(loadWithPaginationPath.call(morePath), morePath, true, session);
+    } else {
+      nextPages = _morePath
+        .startWith(morePath)
+        .compose(Transformers.takeWhen(nextPage))
+        .concatMap(path -> fetchData(new Pair<Params, String>(null, path), session).map(page -> Pair.create(page, path)));
+    }
+
+    if (windowSize >= 0) {
+      return accumulate(firstPageParams, nextPages, window -> window.restore(saved, items), session);
+    }
+
+    final List<Pair<List<Data>, String>> restoredPages = new ArrayList<>();
+    final List<List<Data>> pages = saved.pages(items);
+    for (int i = 0; i < pages.size(); i++) {
+      restoredPages.add(Pair.create(pages.get(i), saved.path(i)));
+    }
+    return accumulate(firstPageParams, Observable.from(restoredPages).concatWith(nextPages), null, session);
+  }
+
+  /**
+   * Accumulates pages into the list of every row loaded so far, stopping at the first empty page.
+   *
+   * @param restore Restores saved pages to the window before any pages are loaded, in windowed mode.
+   */
+  private @NonNull Observable<List<Data>> accumulate(final @NonNull Params firstPageParams,
+    final @NonNull Observable<Pair<List<Data>, String>> pages, final @Nullable Action1<PageWindow<Data>> restore,
+    final @NonNull Session session) {
+
+    final Observable<Pair<List<Data>, String>> nonEmptyPages = pages.takeUntil(pp -> pp.first.isEmpty());
+
+    if (windowSize >= 0) {
+      final Observable<List<Data>> rows = windowedData(firstPageParams, nonEmptyPages, restore, session);
+      return clearWhenStartingOver ? rows.startWith(new ArrayList<Data>()) : rows;
+    }
 
+    final Observable<List<Data>> data = nonEmptyPages
+      .doOnNext(session::add)
+      .map(pp -> pp.first);
     if (clearWhenStartingOver) {
       return data.scan(new ArrayList<>(), concater);
     }
     return data.scan(concater);
   }
 
+  /**
+   * Returns an observable that emits every row loaded so far each time a page is loaded, evicted or reloaded, with
+   * `null` for the rows of evicted pages. See {@link Builder#window(int, Observable)}.
+   */
+  private @NonNull Observable<List<Data>> windowedData(final @NonNull Params firstPageParams,
+    final @NonNull Observable<Pair<List<Data>, String>> pages, final @Nullable Action1<PageWindow<Data>> restore,
+    final @NonNull Session session) {
+
+    return Observable.defer(() -> {
+      final PageWindow<Data> window = new PageWindow<>(windowSize, distinctKey);
+      if (restore != null) {
+        restore.call(window);
+      }
+      session.window(window);
+
+      final Observable<Void> loaded = (restore != null ? Observable.<Void>just(null) : Observable.<Void>empty())
+        .concatWith(pages
+          .doOnNext(pp -> window.add(pp.first, pp.second))
+          .map(__ -> null));
+
+      final Observable<Void> scrolled = visiblePosition
+        .onBackpressureLatest()
+        .distinctUntilChanged()
+        .flatMap(position -> {
+          final Observable<Void> evicted = window.moveTo(position) ? Observable.just(null) : Observable.empty();
+          final Observable<Void> reloaded = Observable.from(window.pagesToReload())
+            .flatMap(page -> reloadPage(firstPageParams, page)
+              .doOnNext(items -> window.reloaded(page, items))
+              .doAfterTerminate(() -> window.reloadFinished(page))
+              .map(__ -> null));
+
+          return evicted.concatWith(reloaded);
+        });
+
+      // The rows are read after merging, rather than when each change is made, so that changes made on different
+      // threads can't be emitted out of order.
+      return Observable.merge(loaded, scrolled).map(__ -> window.rows());
+    });
+  }
+
+  private @NonNull Observable<List<Data>> reloadPage(final @NonNull Params firstPageParams,
+    final @NonNull PageWindow<Data>.Page page) {
+
+    final String path = page.path();
+    return (path != null ? loadWithPaginationPath.call(path) : loadWithParams.call(firstPageParams))
+      .retry(2)
+      .compose(Transformers.neverError())
+      .map(envelopeToListOfData)
+      .map(pageTransformation);
+  }
+
   /**
    * Returns an observable that emits the params for the next page of data *or* the more URL for the next page.
    */
@@ -225,27 +488,137 @@ public final class ApiPaginator<Data, Envelope, Params> {
       .startWith(new Pair<>(firstPageParams, null));
   }
 
-  private @NonNull Observable<List<Data>> fetchData(final @NonNull Pair<Params, String> paginatingData) {
+  private @NonNull Observable<List<Data>> fetchData(final @NonNull Pair<Params, String> paginatingData,
+    final @NonNull Session session) {
 
     return (paginatingData.second != null ? loadWithPaginationPath.call(paginatingData.second) : loadWithParams.call(paginatingData.first))
       .retry(2)
       .compose(Transformers.neverError())
-      .doOnNext(this::keepMorePath)
+      .doOnNext(envelope -> keepMorePath(envelope, session))
       .map(envelopeToListOfData)
       .map(pageTransformation)
       .doOnSubscribe(() -> _isFetching.onNext(true))
       .doAfterTerminate(() -> _isFetching.onNext(false));
   }
 
-  private void keepMorePath(final @NonNull Envelope envelope) {
+  /**
+   * Returns an observable that starts loading `request` immediately, but only emits its page of data once `nextPage`
+   * fires (or right away for the first page). Once the page has been emitted the page after it is requested
+   * speculatively in the same way, so at most one unrequested page is ever in flight. Unsubscribing, e.g. when
+   * `startOverWith` emits, cancels the speculative request.
+   */
+  private @NonNull Observable<Pair<List<Data>, String>> prefetchedPages(final @NonNull Observable<Envelope> request,
+    final @Nullable String path, final boolean waitForNextPage, final @NonNull Session session) {
+
+    return Observable.defer(() -> {
+      final ConnectableObservable<Envelope> speculativeEnvelope = request
+        .retry(2)
+        .compose(Transformers.neverError())
+        .replay(1);
+      final Subscription connection = speculativeEnvelope.connect();
+
+      final Observable<Envelope> envelope = speculativeEnvelope
+        .doOnSubscribe(() -> _isFetching.onNext(true))
+        .doAfterTerminate(() -> _isFetching.onNext(false));
+
+      return (waitForNextPage ? nextPage.take(1).concatMap(__ -> envelope) : envelope)
+        .concatMap(e -> pageAndPrefetchNext(e, path, session))
+        // A failed request completes without emitting, so try again the next time a page is requested, and emit the
+        // page as soon as it arrives rather than waiting for another request.
+        .switchIfEmpty(nextPage.take(1).concatMap(__ -> prefetchedPages(request, path, false, session)))
+        .doOnUnsubscribe(connection::unsubscribe);
+    });
+  }
+
+  private @NonNull Observable<Pair<List<Data>, String>> pageAndPrefetchNext(final @NonNull Envelope envelope,
+    final @Nullable String path, final @NonNull Session session) {
+    final List<Data> page = pageTransformation.call(envelopeToListOfData.call(envelope));
+    final String morePath = morePathFromEnvelope(envelope);
+    session.morePath(page.isEmpty() ? null : morePath);
+
+    if (page.isEmpty() || morePath == null) {
+      return Observable.just(Pair.create(page, path));
+    }
+    return Observable.just(Pair.create(page, path))
+      .concatWith(prefetchedPages(loadWithPaginationPath.call(morePath), morePath, true, session));
+  }
+
+  private void keepMorePath(final @NonNull Envelope envelope, final @NonNull Session session) {
+    final String morePath = morePathFromEnvelope(envelope);
+    session.morePath(morePath);
+    if (morePath != null) {
+      _morePath.onNext(morePath);
+    }
+  }
+
+  private @Nullable String morePathFromEnvelope(final @NonNull Envelope envelope) {
     try {
-      final URL url = new URL(envelopeToMoreUrl.call(envelope));
-      _morePath.onNext(pathAndQueryFromURL(url));
-    } catch (MalformedURLException ignored) {}
+      return pathAndQueryFromURL(new URL(envelopeToMoreUrl.call(envelope)));
+    } catch (MalformedURLException ignored) {
+      return null;
+    }
   }
 
   private @NonNull String pathAndQueryFromURL(final @NonNull URL url) {
     return url.getPath() + "?" + url.getQuery();
   }
+
+  private synchronized void keepSavedState(final @Nullable Bundle savedState) {
+    if (!startedOver && savedState != null) {
+      savedState.setClassLoader(ApiPaginator.class.getClassLoader());
+      savedPages = SavedPages.fromBundle(savedState);
+      savedParams = savedState.getParcelable(SAVED_PARAMS_KEY);
+    }
+  }
+
+  /**
+   * Returns the saved pages to restore the first time `startOverWith` emits, if they were saved for `firstPageParams`,
+   * and `null` every time after that.
+   */
+  private synchronized @Nullable SavedPages takeSavedPages(final @Nullable Params firstPageParams) {
+    startedOver = true;
+    final SavedPages saved = savedPages;
+    final Parcelable params = savedParams;
+    savedPages = null;
+    savedParams = null;
+
+    if (firstPageParams instanceof Parcelable && !firstPageParams.equals(params)) {
+      return null;
+    }
+    return saved;
+  }
+
+  /**
+   * What has been loaded since `startOverWith` last emitted, so that it can be saved.
+   */
+  private final class Session {
+    private final @Nullable Params params;
+    private final List<Pair<List<Data>, String>> pages = new ArrayList<>();
+    private @Nullable PageWindow<Data> window;
+    private @Nullable String morePath;
+
+    Session(final @Nullable Params params) {
+      this.params = params;
+    }
+
+    synchronized void add(final @NonNull Pair<List<Data>, String> page) {
+      pages.add(page);
+    }
+
+    synchronized void window(final @NonNull PageWindow<Data> window) {
+      this.window = window;
+    }
+
+    synchronized void morePath(final @Nullable String morePath) {
+      this.morePath = morePath;
+    }
+
+    synchronized @Nullable SavedPages save(final @NonNull Func1<Data, Long> id) {
+      if (window != null) {
+        return window.save(id, morePath);
+      }
+      return pages.isEmpty() ? null : SavedPages.of(pages, id, morePath);
+    }
+  }
 }
 
@@ -29,6 +29,10 @@ import com.google.gson.TypeAdapterFactory;
 import com.google.gson.reflect.TypeToken;
 import com.kickstarter.libs.qualifiers.AutoGson;
 
+/**
+ * Binds `@AutoGson` types to their `AutoParcel_` classes reflectively. Types with a generated adapter are handled by
+ * `AutoGsonAdapterFactory` first, so this is only a fallback.
+ */
 public final class AutoParcelAdapterFactory implements TypeAdapterFactory {
   @SuppressWarnings("unchecked")
   @Override
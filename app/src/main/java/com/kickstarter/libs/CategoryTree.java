@@ -0,0 +1,61 @@
+package com.kickstarter.libs;
+
+import android.support.annotation.NonNull;
+
+import com.kickstarter.models.Category;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Categories grouped under their root category, so that the discovery drawer can be built one root at a time rather
+ * than by filtering the whole list for every section. Built once for each list of categories fetched.
+ */
+public final class CategoryTree {
+  private final @NonNull List<Category> categories;
+  private final @NonNull List<List<Category>> groups;
+
+  public CategoryTree(final @NonNull List<Category> categories) {
+    this.categories = categories;
+
+    final Map<String, List<Category>> grouped = new TreeMap<>();
+    for (final Category category : categories) {
+      final Category root = category.root();
+      if (root == null) {
+        // A subcategory without its parent can't be placed under a root.
+        continue;
+      }
+
+      List<Category> group = grouped.get(root.name());
+      if (group == null) {
+        group = new ArrayList<>();
+        grouped.put(root.name(), group);
+      }
+      group.add(category);
+    }
+
+    final List<List<Category>> groups = new ArrayList<>(grouped.size());
+    for (final List<Category> group : grouped.values()) {
+      groups.add(Collections.unmodifiableList(group));
+    }
+    this.groups = Collections.unmodifiableList(groups);
+  }
+
+  /**
+   * The categories the tree was built from.
+   */
+  public @NonNull List<Category> categories() {
+    return categories;
+  }
+
+  /**
+   * One group for each root category, ordered by the root's name. Each group holds the root and its subcategories in
+   * the order they were given.
+   */
+  public @NonNull List<List<Category>> groups() {
+    return groups;
+  }
+}
@@ -0,0 +1,238 @@
+package com.kickstarter.libs;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import rx.functions.Func1;
+import rx.functions.Func2;
+
+/**
+ * An immutable list built up a page at a time, e.g. the accumulated projects of a paginated discovery request. Appending
+ * a page with {@link #plus(List)} returns a new list that shares every earlier page with this one rather than copying
+ * them, so loading `n` items a page at a time costs `O(n)` in total instead of `O(n^2)`. Lookups are a binary search
+ * over the pages.
+ *
+ * A list can also drop items whose key, e.g. a model id, was already added, see {@link #distinctBy(Func1)}.
+ *
+ * Lists are safe to read from any thread. Appending to a list that has already been appended to (i.e. not the latest
+ * list) is allowed, but copies the pages instead of sharing them.
+ */
+public final class ChunkedList<T> extends AbstractList<T> {
+  private static final int INITIAL_CAPACITY = 8;
+
+  private final @NonNull Spine<T> spine;
+  private final @NonNull Object[][] chunks;
+  private final @NonNull int[] ends;
+  private final int chunkCount;
+  private final int size;
+
+  private ChunkedList(final @NonNull Spine<T> spine, final @NonNull Object[][] chunks, final @NonNull int[] ends,
+    final int chunkCount) {
+    this.spine = spine;
+    this.chunks = chunks;
+    this.ends = ends;
+    this.chunkCount = chunkCount;
+    this.size = chunkCount == 0 ? 0 : ends[chunkCount - 1];
+  }
+
+  /**
+   * Returns an empty list that keeps every item appended to it.
+   */
+  public static @NonNull <T> ChunkedList<T> empty() {
+    return empty(null);
+  }
+
+  /**
+   * Returns an empty list that drops appended items whose key has already been added, including repeats within a page.
+   */
+  public static @NonNull <T> ChunkedList<T> distinctBy(final @NonNull Func1<T, ?> key) {
+    return empty(key);
+  }
+
+  /**
+   * A concater for {@link ApiPaginator} that accumulates pages in a `ChunkedList`.
+   */
+  public static @NonNull <T> Func2<List<T>, List<T>, List<T>> concater() {
+    return (xs, ys) -> from(xs, null).plus(ys);
+  }
+
+  /**
+   * A concater for {@link ApiPaginator} that accumulates pages in a `ChunkedList`, dropping items whose key has already
+   * been loaded, e.g. `ChunkedList.distinctConcater(Project::id)`.
+   */
+  public static @NonNull <T> Func2<List<T>, List<T>, List<T>> distinctConcater(final @NonNull Func1<T, ?> key) {
+    return (xs, ys) -> from(xs, key).plus(ys);
+  }
+
+  /**
+   * Returns a new list with `page` appended to the end of this one, leaving this list unchanged.
+   */
+  public @NonNull ChunkedList<T> plus(final @NonNull List<T> page) {
+    if (page.isEmpty()) {
+      return this;
+    }
+
+    if (!spine.claim(chunkCount)) {
+      // This list has already been appended to, so its pages can't be shared with the new list.
+      return branch().plus(page);
+    }
+
+    final Object[] chunk = spine.keys == null ? page.toArray() : distinctItems(page);
+
+    Object[][] newChunks = chunks;
+    int[] newEnds = ends;
+    if (chunkCount == chunks.length) {
+      newChunks = Arrays.copyOf(chunks, chunks.length * 2);
+      newEnds = Arrays.copyOf(ends, ends.length * 2);
+    }
+    newChunks[chunkCount] = chunk;
+    newEnds[chunkCount] = size + chunk.length;
+
+    return new ChunkedList<>(spine, newChunks, newEnds, chunkCount + 1);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T get(final int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    final int chunk = chunkContaining(index);
+    final int start = chunk == 0 ? 0 : ends[chunk - 1];
+    return (T) chunks[chunk][index - start];
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public @NonNull Iterator<T> iterator() {
+    return new Iterator<T>() {
+      private int chunk;
+      private int index;
+
+      @Override
+      public boolean hasNext() {
+        while (chunk < chunkCount && index == chunks[chunk].length) {
+          chunk++;
+          index = 0;
+        }
+        return chunk < chunkCount;
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public T next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return (T) chunks[chunk][index++];
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  private static @NonNull <T> ChunkedList<T> empty(final @Nullable Func1<T, ?> key) {
+    return new ChunkedList<>(new Spine<>(key), new Object[INITIAL_CAPACITY][], new int[INITIAL_CAPACITY], 0);
+  }
+
+  /**
+   * `xs` if it's already a `ChunkedList`, e.g. the pages accumulated so far, otherwise a new list holding its items.
+   */
+  private static @NonNull <T> ChunkedList<T> from(final @NonNull List<T> xs, final @Nullable Func1<T, ?> key) {
+    return xs instanceof ChunkedList ? (ChunkedList<T>) xs : ChunkedList.<T>empty(key).plus(xs);
+  }
+
+  /**
+   * Index of the first chunk that ends after `index`. Empty chunks are skipped over since they end where the chunk
+   * before them does.
+   */
+  private int chunkContaining(final int index) {
+    int low = 0;
+    int high = chunkCount - 1;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (ends[mid] <= index) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Items of `page` whose key hasn't been added yet. Only called once this list has claimed the next chunk, so every key
+   * in the spine belongs to this list's chunks or to `page` itself.
+   */
+  @SuppressWarnings("unchecked")
+  private @NonNull Object[] distinctItems(final @NonNull List<T> page) {
+    final Func1<Object, ?> key = (Func1<Object, ?>) spine.key;
+    final Object[] items = new Object[page.size()];
+    int count = 0;
+    for (final T item : page) {
+      if (spine.keys.putIfAbsent(key.call(item), Boolean.TRUE) == null) {
+        items[count++] = item;
+      }
+    }
+    return count == items.length ? items : Arrays.copyOf(items, count);
+  }
+
+  /**
+   * A copy of this list with a spine of its own, so that it can be appended to.
+   */
+  @SuppressWarnings("unchecked")
+  private @NonNull ChunkedList<T> branch() {
+    final Spine<T> newSpine = new Spine<>(spine.key);
+    newSpine.claimed.set(chunkCount);
+
+    if (newSpine.keys != null) {
+      final Func1<Object, ?> key = (Func1<Object, ?>) spine.key;
+      for (int i = 0; i < chunkCount; i++) {
+        for (final Object item : chunks[i]) {
+          newSpine.keys.putIfAbsent(key.call(item), Boolean.TRUE);
+        }
+      }
+    }
+
+    final int capacity = Math.max(INITIAL_CAPACITY, chunkCount * 2);
+    return new ChunkedList<>(newSpine, Arrays.copyOf(chunks, capacity), Arrays.copyOf(ends, capacity), chunkCount);
+  }
+
+  /**
+   * State shared by every list appended from the same empty list: how many chunks have been claimed and, for distinct
+   * lists, every key added so far.
+   */
+  private static final class Spine<T> {
+    private final @Nullable Func1<T, ?> key;
+    private final @Nullable ConcurrentHashMap<Object, Boolean> keys;
+    private final AtomicInteger claimed = new AtomicInteger();
+
+    Spine(final @Nullable Func1<T, ?> key) {
+      this.key = key;
+      this.keys = key == null ? null : new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Claims the chunk at `index` for a list with `index` chunks. Fails if that chunk was claimed by another list.
+     */
+    boolean claim(final int index) {
+      return claimed.compareAndSet(index, index + 1);
+    }
+  }
+}
@@ -2,58 +2,57 @@ package com.kickstarter.libs;
 
 import android.content.res.AssetManager;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import com.kickstarter.libs.preferences.StringPreferenceType;
-import com.kickstarter.libs.rx.transformers.Transformers;
-import com.kickstarter.libs.utils.ObjectUtils;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
 import rx.Observable;
-import rx.android.schedulers.AndroidSchedulers;
+import rx.Scheduler;
 import rx.subjects.BehaviorSubject;
 import timber.log.Timber;
 
+/**
+ * The config, persisted as JSON in a preference and seeded from `server-config.json` until one has been stored. The
+ * stored config is rehydrated from its {@link ParcelSnapshot} when that is up to date rather than parsed. As with
+ * {@link CurrentUser}, it's loaded on a background scheduler as soon as a `CurrentConfig` is created and
+ * {@link #observable()} emits it once that load has finished. Only {@link #getConfig()} loads it on the calling thread,
+ * and only if it's called before the background load has finished.
+ */
 public final class CurrentConfig implements CurrentConfigType {
   private final static String ASSET_PATH = "json/server-config.json";
 
+  private final @NonNull AssetManager assetManager;
+  private final @NonNull Gson gson;
+  private final @NonNull StringPreferenceType configPreference;
+  private final @NonNull ParcelSnapshot snapshot;
+  // Snapshot writes are scheduled on one worker so they happen in order.
+  private final @NonNull Scheduler.Worker worker;
+
   private final BehaviorSubject<Config> config = BehaviorSubject.create();
+  private volatile boolean loaded;
 
   public CurrentConfig(final @NonNull AssetManager assetManager,
     final @NonNull Gson gson,
-    final @NonNull StringPreferenceType configPreference) {
-
-    // Loads config from disk
-    final Observable<Config> diskConfig = Observable.just(ASSET_PATH)
-      .map(path -> configJSONString(path, assetManager))
-      .map(json -> gson.fromJson(json, Config.class))
-      .filter(ObjectUtils::isNotNull)
-      .compose(Transformers.neverError())
-      .subscribeOn(AndroidSchedulers.mainThread());
-
-    // Loads config from string preference
-    final Observable<Config> prefConfig = Observable.just(configPreference)
-      .map(StringPreferenceType::get)
-      .map(json -> gson.fromJson(json, Config.class))
-      .filter(ObjectUtils::isNotNull)
-      .compose(Transformers.neverError())
-      .subscribeOn(AndroidSchedulers.mainThread());
-
-    // Seed config observable with what's cached
-    Observable.concat(prefConfig, diskConfig)
-      .take(1)
-      .subscribe(this.config::onNext);
-
-    // Cache any new values to preferences
-    this.config.skip(1)
-      .filter(ObjectUtils::isNotNull)
-      .subscribe(config -> configPreference.set(gson.toJson(config, Config.class)));
+    final @NonNull StringPreferenceType configPreference,
+    final @NonNull ParcelSnapshot snapshot,
+    final @NonNull Scheduler scheduler) {
+    this.assetManager = assetManager;
+    this.gson = gson;
+    this.configPreference = configPreference;
+    this.snapshot = snapshot;
+    this.worker = scheduler.createWorker();
+
+    worker.schedule(this::load);
   }
 
   /**
-   * Get an observable representation of the current config. Emits immediately with the freshes copy of the config
+   * Get an observable representation of the current config. Emits with the freshest copy of the config once it's loaded
    * and then emits again for any fresher values.
    */
   public @NonNull Observable<Config> observable() {
@@ -64,11 +63,67 @@ public final class CurrentConfig implements CurrentConfigType {
    * @return The most recent config.
    */
   public @NonNull Config getConfig() {
+    load();
     return this.config.getValue();
   }
 
   public void config(final @NonNull Config config) {
-    this.config.onNext(config);
+    synchronized (this) {
+      this.config.onNext(config);
+      loaded = true;
+    }
+
+    // Cache any new values to preferences
+    final String json = gson.toJson(config, Config.class);
+    configPreference.set(json);
+    worker.schedule(() -> snapshot.write(json, config));
+  }
+
+  /**
+   * Emits the stored config, or the bundled one if none has been stored, if it hasn't been loaded yet, unless a config
+   * has been set in the meantime.
+   */
+  private void load() {
+    if (loaded) {
+      return;
+    }
+
+    final Config storedConfig = storedConfig();
+    synchronized (this) {
+      if (!loaded) {
+        if (storedConfig != null) {
+          this.config.onNext(storedConfig);
+        }
+        loaded = true;
+      }
+    }
+  }
+
+  private @Nullable Config storedConfig() {
+    final String preferenceJson = configPreference.get();
+    if (preferenceJson != null) {
+      final Config snapshotConfig = snapshot.read(preferenceJson, Config.class);
+      if (snapshotConfig != null) {
+        return snapshotConfig;
+      }
+
+      final Config preferenceConfig = parse(preferenceJson);
+      if (preferenceConfig != null) {
+        worker.schedule(() -> snapshot.write(preferenceJson, preferenceConfig));
+        return preferenceConfig;
+      }
+    }
+
+    return parse(configJSONString(ASSET_PATH, assetManager));
+  }
+
+  private @Nullable Config parse(final @NonNull String json) {
+    try {
+      return gson.fromJson(json, Config.class);
+    } catch (final JsonParseException e) {
+      Timber.e(e, "Failed to parse config");
+      return null;
+    }
   }
 
   /**
@@ -78,13 +133,19 @@ public final class CurrentConfig implements CurrentConfigType {
    */
   private @NonNull String configJSONString(final @NonNull String assetPath, final @NonNull AssetManager assetManager) {
     try {
-      final InputStream input;
-      input = assetManager.open(assetPath);
-      final byte[] buffer = new byte[input.available()];
-      input.read(buffer);
-      input.close();
-
-      return new String(buffer);
+      final InputStream input = assetManager.open(assetPath);
+      try {
+        // `available` is only an estimate for compressed assets, so read until the end of the stream.
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+          output.write(buffer, 0, read);
+        }
+        return output.toString("UTF-8");
+      } finally {
+        input.close();
+      }
     } catch (final IOException e) {
       Timber.e(e.getMessage());
       // TODO: This should probably be fatal?
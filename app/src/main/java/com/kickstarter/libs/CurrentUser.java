@@ -4,38 +4,53 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import com.kickstarter.libs.preferences.StringPreferenceType;
 import com.kickstarter.models.User;
 
 import rx.Observable;
+import rx.Scheduler;
 import rx.subjects.BehaviorSubject;
 import timber.log.Timber;
 
+/**
+ * The logged in user, persisted as JSON in a preference. The stored user is rehydrated from its {@link ParcelSnapshot}
+ * when that is up to date rather than parsed. It's loaded on a background scheduler as soon as a `CurrentUser` is
+ * created, and {@link #observable()} emits it once that load has finished, so subscribing never reads or parses it on
+ * the subscriber's thread. Only the deprecated synchronous getters load it on the calling thread, and only if they're
+ * called before the background load has finished.
+ */
 public class CurrentUser extends CurrentUserType {
   private final StringPreferenceType accessTokenPreference;
   private final DeviceRegistrarType deviceRegistrar;
+  private final Gson gson;
   private final StringPreferenceType userPreference;
+  private final ParcelSnapshot snapshot;
+  // Snapshot writes and deletes are scheduled on one worker so they happen in order.
+  private final Scheduler.Worker worker;
 
   private final BehaviorSubject<User> user = BehaviorSubject.create();
+  private volatile boolean loaded;
 
   public CurrentUser(final @NonNull StringPreferenceType accessTokenPreference,
     final @NonNull DeviceRegistrarType deviceRegistrar,
     final @NonNull Gson gson,
-    final @NonNull StringPreferenceType userPreference) {
+    final @NonNull StringPreferenceType userPreference,
+    final @NonNull ParcelSnapshot snapshot,
+    final @NonNull Scheduler scheduler) {
     this.accessTokenPreference = accessTokenPreference;
     this.deviceRegistrar = deviceRegistrar;
+    this.gson = gson;
     this.userPreference = userPreference;
+    this.snapshot = snapshot;
+    this.worker = scheduler.createWorker();
 
-    user
-      .skip(1)
-      .filter(user -> user != null)
-      .subscribe(user -> userPreference.set(gson.toJson(user, User.class)));
-
-    user.onNext(gson.fromJson(userPreference.get(), User.class));
+    worker.schedule(this::load);
   }
 
   @Override
   public @Nullable User getUser() {
+    load();
     return user.getValue();
   }
 
@@ -53,7 +68,8 @@ public class CurrentUser extends CurrentUserType {
     Timber.d("Login user %s", newUser.name());
 
     accessTokenPreference.set(accessToken);
-    user.onNext(newUser);
+    update(newUser);
+    persist(newUser);
     deviceRegistrar.registerDevice();
   }
 
@@ -63,17 +79,71 @@ public class CurrentUser extends CurrentUserType {
 
     userPreference.delete();
     accessTokenPreference.delete();
-    user.onNext(null);
+    worker.schedule(snapshot::delete);
+    update(null);
     deviceRegistrar.unregisterDevice();
   }
 
   @Override
   public void refresh(final @NonNull User freshUser) {
-    user.onNext(freshUser);
+    update(freshUser);
+    persist(freshUser);
   }
 
   @Override
   public Observable<User> observable() {
     return user;
   }
+
+  /**
+   * Emits the stored user if it hasn't been loaded yet, unless a user has been set by logging in or out in the
+   * meantime.
+   */
+  private void load() {
+    if (loaded) {
+      return;
+    }
+
+    final User storedUser = storedUser();
+    synchronized (this) {
+      if (!loaded) {
+        user.onNext(storedUser);
+        loaded = true;
+      }
+    }
+  }
+
+  private synchronized void update(final @Nullable User newUser) {
+    user.onNext(newUser);
+    loaded = true;
+  }
+
+  private @Nullable User storedUser() {
+    final String json = userPreference.get();
+    if (json == null) {
+      return null;
+    }
+
+    final User snapshotUser = snapshot.read(json, User.class);
+    if (snapshotUser != null) {
+      return snapshotUser;
+    }
+
+    try {
+      final User storedUser = gson.fromJson(json, User.class);
+      if (storedUser != null) {
+        worker.schedule(() -> snapshot.write(json, storedUser));
+      }
+      return storedUser;
+    } catch (final JsonParseException e) {
+      Timber.e(e, "Failed to parse stored user");
+      return null;
+    }
+  }
+
+  private void persist(final @NonNull User newUser) {
+    final String json = gson.toJson(newUser, User.class);
+    userPreference.set(json);
+    worker.schedule(() -> snapshot.write(json, newUser));
+  }
 }
@@ -8,6 +8,7 @@ import com.kickstarter.libs.preferences.BooleanPreferenceType;
 import com.kickstarter.libs.preferences.IntPreferenceType;
 import com.kickstarter.libs.utils.PlayServicesCapability;
 import com.kickstarter.services.ApiClientType;
+import com.kickstarter.services.DiscoveryPageCache;
 import com.kickstarter.services.WebClientType;
 
 import java.net.CookieManager;
@@ -24,13 +25,16 @@ public abstract class Environment implements Parcelable {
   public abstract CookieManager cookieManager();
   public abstract CurrentConfigType currentConfig();
   public abstract CurrentUserType currentUser();
+  public abstract DiscoveryPageCache discoveryPageCache();
   public abstract Gson gson();
   public abstract BooleanPreferenceType hasSeenAppRatingPreference();
   public abstract BooleanPreferenceType hasSeenGamesNewsletterPreference();
   public abstract Koala koala();
   public abstract KSCurrency ksCurrency();
   public abstract KSString ksString();
+  public abstract ModelStoreType modelStore();
   public abstract PlayServicesCapability playServicesCapability();
+  public abstract ProjectSearchIndex projectSearchIndex();
   public abstract Scheduler scheduler();
   public abstract SharedPreferences sharedPreferences();
   public abstract WebClientType webClient();
@@ -44,13 +48,16 @@ public abstract class Environment implements Parcelable {
     public abstract Builder cookieManager(CookieManager __);
     public abstract Builder currentConfig(CurrentConfigType __);
     public abstract Builder currentUser(CurrentUserType __);
+    public abstract Builder discoveryPageCache(DiscoveryPageCache __);
     public abstract Builder gson(Gson __);
     public abstract Builder hasSeenAppRatingPreference(BooleanPreferenceType __);
     public abstract Builder hasSeenGamesNewsletterPreference(BooleanPreferenceType __);
     public abstract Builder koala(Koala __);
     public abstract Builder ksCurrency(KSCurrency __);
     public abstract Builder ksString(KSString __);
+    public abstract Builder modelStore(ModelStoreType __);
     public abstract Builder playServicesCapability(PlayServicesCapability __);
+    public abstract Builder projectSearchIndex(ProjectSearchIndex __);
     public abstract Builder scheduler(Scheduler __);
     public abstract Builder sharedPreferences(SharedPreferences __);
     public abstract Builder webClient(WebClientType __);
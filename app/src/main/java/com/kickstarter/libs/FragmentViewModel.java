@@ -10,6 +10,7 @@ import com.kickstarter.libs.utils.ObjectUtils;
 import com.trello.rxlifecycle.FragmentEvent;
 
 import rx.Observable;
+import rx.subjects.BehaviorSubject;
 import rx.subjects.PublishSubject;
 import timber.log.Timber;
 
@@ -22,6 +23,7 @@ public class FragmentViewModel<ViewType extends FragmentLifecycleType> {
   private final Observable<ViewType> view = viewChange.filter(ObjectUtils::isNotNull);
 
   private final PublishSubject<Bundle> arguments = PublishSubject.create();
+  private final BehaviorSubject<Bundle> savedInstanceState = BehaviorSubject.create();
   protected final Koala koala;
 
   public FragmentViewModel(final @NonNull Environment environment) {
@@ -31,9 +33,26 @@ public class FragmentViewModel<ViewType extends FragmentLifecycleType> {
   @CallSuper
   protected void onCreate(final @NonNull Context context, final @Nullable Bundle savedInstanceState) {
     Timber.d("onCreate %s", this.toString());
+    this.savedInstanceState.onNext(savedInstanceState);
     dropView();
   }
 
+  /**
+   * Emits the state saved by {@link #onSaveInstanceState(Bundle)} if the view model is being recreated after its process
+   * was killed, or `null` if it's being created for the first time.
+   */
+  protected @NonNull Observable<Bundle> savedInstanceState() {
+    return savedInstanceState;
+  }
+
+  /**
+   * Saves state that the view model needs to pick up where it left off if its process is killed. Keep it small, e.g. ids
+   * rather than models, as it's written to a `Bundle` that's limited in size.
+   */
+  @CallSuper
+  protected void onSaveInstanceState(final @NonNull Bundle outState) {
+  }
+
   /**
    * Takes bundle arguments from the view.
    */
@@ -7,6 +7,7 @@ import android.support.annotation.Nullable;
 
 import com.kickstarter.KSApplication;
 import com.kickstarter.libs.utils.BundleUtils;
+import com.kickstarter.viewmodels.ViewModelFactories;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
@@ -15,6 +16,8 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.UUID;
 
+import rx.functions.Func1;
+
 public final class FragmentViewModelManager {
   private static final String VIEW_MODEL_ID_KEY = "fragment_view_model_id";
   private static final String VIEW_MODEL_STATE_KEY = "fragment_view_model_state";
@@ -55,6 +58,7 @@ public final class FragmentViewModelManager {
     envelope.putString(VIEW_MODEL_ID_KEY, findIdForViewModel(viewModel));
 
     final Bundle state = new Bundle();
+    viewModel.onSaveInstanceState(state);
     envelope.putBundle(VIEW_MODEL_STATE_KEY, state);
   }
 
@@ -63,11 +67,31 @@ public final class FragmentViewModelManager {
 
     final KSApplication application = (KSApplication) context.getApplicationContext();
     final Environment environment = application.component().environment();
-    final FragmentViewModel viewModel;
+
+    final FragmentViewModel viewModel = newViewModel(viewModelClass, environment);
+
+    viewModels.put(id, viewModel);
+    viewModel.onCreate(context, BundleUtils.maybeGetBundle(savedInstanceState, VIEW_MODEL_STATE_KEY));
+
+    return viewModel;
+  }
+
+  /**
+   * Creates a view model with the factory registered in {@link ViewModelFactories}, falling back to its
+   * `(Environment)` constructor for view models that aren't registered.
+   */
+  private static @NonNull <T extends FragmentViewModel> FragmentViewModel newViewModel(final @NonNull Class<T> viewModelClass,
+    final @NonNull Environment environment) {
+
+    final Func1<Environment, T> factory = ViewModelFactories.factory(viewModelClass);
+    if (factory != null) {
+      return factory.call(environment);
+    }
 
     try {
       final Constructor constructor = viewModelClass.getConstructor(Environment.class);
-      viewModel = (FragmentViewModel) constructor.newInstance(environment);
+      return (FragmentViewModel) constructor.newInstance(environment);
+
       // Need to catch these exceptions separately, otherwise the compiler turns them into `ReflectiveOperationException`.
       // That exception is only available in API19+
     } catch (IllegalAccessException exception) {
@@ -79,11 +103,6 @@ public final class FragmentViewModelManager {
     } catch (NoSuchMethodException exception) {
       throw new RuntimeException(exception);
     }
-
-    viewModels.put(id, viewModel);
-    viewModel.onCreate(context, BundleUtils.maybeGetBundle(savedInstanceState, VIEW_MODEL_STATE_KEY));
-
-    return viewModel;
   }
 
   private String fetchId(final @Nullable Bundle savedInstanceState) {
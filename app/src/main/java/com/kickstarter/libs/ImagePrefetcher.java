@@ -0,0 +1,296 @@
+package com.kickstarter.libs;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+
+import com.jakewharton.rxbinding.support.v7.widget.RxRecyclerView;
+import com.squareup.picasso.Callback;
+import com.squareup.picasso.Picasso;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import rx.functions.Action0;
+import rx.functions.Func1;
+import rx.subscriptions.CompositeSubscription;
+
+/**
+ * Warms the image caches for the items just below the last visible one, so that their images are ready by the time they
+ * bind instead of popping in as the user scrolls. Items come from a paginated list, e.g. {@link ApiPaginator#paginatedData()},
+ * and may be `null` for evicted rows.
+ *
+ * Prefetching is paused while the list is flung faster than images could be loaded, and everything in flight is
+ * cancelled when the list starts over, i.e. when it shrinks or its first item's image changes. Other changes to the
+ * first item, e.g. a project's pledged amount, don't start over.
+ *
+ * The hit rate is the fraction of items scrolled into view whose image had already been prefetched, which is what
+ * `lookahead` should be tuned against.
+ */
+public final class ImagePrefetcher<T> {
+  /**
+   * Roughly two screens of project cards.
+   */
+  public static final int DEFAULT_LOOKAHEAD = 4;
+
+  /**
+   * Scrolling faster than this many dp per frame while settling is treated as a fling that prefetching can't keep up
+   * with.
+   */
+  private static final int FAST_FLING_DP_PER_FRAME = 60;
+
+  private final @NonNull Fetcher fetcher;
+  private final @NonNull Func1<T, String> imageUrl;
+  private final int lookahead;
+  private final Set<String> requested = new HashSet<>();
+  private final Set<String> fetched = new HashSet<>();
+  private final CompositeSubscription subscriptions = new CompositeSubscription();
+  private @NonNull List<T> items = new ArrayList<>();
+  private int lastVisible = -1;
+  private int lastCounted = -1;
+  private boolean paused;
+  private long hitCount;
+  private long missCount;
+
+  /**
+   * Loads images into the caches, e.g. {@link #picasso(Picasso, int, int)}.
+   */
+  public interface Fetcher {
+    /**
+     * Loads `url` into the caches, calling `fetched` once it's there.
+     */
+    void fetch(@NonNull String url, @NonNull Action0 fetched);
+    void pause();
+    void resume();
+    void cancel();
+  }
+
+  /**
+   * @param imageUrl  The url of an item's image, or `null` if it has none.
+   * @param lookahead The number of items below the last visible one whose images are prefetched.
+   */
+  public ImagePrefetcher(final @NonNull Fetcher fetcher, final @NonNull Func1<T, String> imageUrl, final int lookahead) {
+    this.fetcher = fetcher;
+    this.imageUrl = imageUrl;
+    this.lookahead = lookahead;
+  }
+
+  /**
+   * A fetcher that warms Picasso's memory and disk caches. `width` and `height` must be the exact size the image is
+   * later resized and centre cropped to when it binds, as they are part of Picasso's memory cache key.
+   */
+  public static @NonNull Fetcher picasso(final @NonNull Picasso picasso, final int width, final int height) {
+    final Object tag = new Object();
+
+    return new Fetcher() {
+      @Override
+      public void fetch(final @NonNull String url, final @NonNull Action0 fetched) {
+        picasso.load(url)
+          .resize(width, height)
+          .centerCrop()
+          .priority(Picasso.Priority.LOW)
+          .tag(tag)
+          .fetch(new Callback() {
+            @Override
+            public void onSuccess() {
+              fetched.call();
+            }
+
+            @Override
+            public void onError() {}
+          });
+      }
+
+      @Override
+      public void pause() {
+        picasso.pauseTag(tag);
+      }
+
+      @Override
+      public void resume() {
+        picasso.resumeTag(tag);
+      }
+
+      @Override
+      public void cancel() {
+        picasso.cancelTag(tag);
+      }
+    };
+  }
+
+  /**
+   * Begin listening to the recycler view's scroll events to prefetch ahead of the last visible item and to pause while
+   * it's flung.
+   *
+   * @param itemPosition Maps an adapter position to the position of an item, or -1 if it isn't one.
+   */
+  public void start(final @NonNull RecyclerView recyclerView, final @NonNull Func1<Integer, Integer> itemPosition) {
+    stop();
+
+    final float fastFlingPx = FAST_FLING_DP_PER_FRAME * recyclerView.getResources().getDisplayMetrics().density;
+
+    subscriptions.add(
+      RxRecyclerView.scrollEvents(recyclerView)
+        .subscribe(event -> {
+          setFlinging(recyclerView.getScrollState() == RecyclerView.SCROLL_STATE_SETTLING
+            && Math.abs(event.dy()) > fastFlingPx);
+
+          final RecyclerView.LayoutManager manager = recyclerView.getLayoutManager();
+          if (manager instanceof LinearLayoutManager) {
+            final int position = itemPosition.call(((LinearLayoutManager) manager).findLastVisibleItemPosition());
+            if (position >= 0) {
+              visible(position);
+            }
+          }
+        })
+    );
+
+    subscriptions.add(
+      RxRecyclerView.scrollStateChanges(recyclerView)
+        .filter(state -> state == RecyclerView.SCROLL_STATE_IDLE)
+        .subscribe(__ -> setFlinging(false))
+    );
+  }
+
+  /**
+   * Stop listening to scroll events and cancel any prefetches in flight. This should be done when the object that
+   * created `this` is released.
+   */
+  public void stop() {
+    subscriptions.clear();
+    fetcher.cancel();
+    requested.clear();
+    fetched.clear();
+  }
+
+  /**
+   * Takes the latest items, e.g. each emission of {@link ApiPaginator#paginatedData()}.
+   */
+  public void takeItems(final @NonNull List<T> newItems) {
+    if (startsOver(newItems)) {
+      fetcher.cancel();
+      requested.clear();
+      fetched.clear();
+      lastVisible = -1;
+      lastCounted = -1;
+    }
+
+    items = newItems;
+    prefetch();
+  }
+
+  /**
+   * Records that the item at `position` is the last one visible, and prefetches the items after it.
+   */
+  public void visible(final int position) {
+    countHits(position);
+    lastVisible = position;
+    prefetch();
+  }
+
+  /**
+   * Pauses prefetching while `flinging`, resuming from the last visible item once it stops.
+   */
+  public void setFlinging(final boolean flinging) {
+    if (flinging == paused) {
+      return;
+    }
+
+    paused = flinging;
+    if (paused) {
+      fetcher.pause();
+    } else {
+      fetcher.resume();
+      prefetch();
+    }
+  }
+
+  /**
+   * Number of items scrolled into view whose image had already been prefetched.
+   */
+  public long hitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Number of items scrolled into view whose image hadn't been prefetched, or was still loading.
+   */
+  public long missCount() {
+    return missCount;
+  }
+
+  /**
+   * Fraction of items scrolled into view whose image had already been prefetched, or 0 if there haven't been any.
+   */
+  public double hitRate() {
+    final long count = hitCount + missCount;
+    return count == 0 ? 0 : (double) hitCount / count;
+  }
+
+  private boolean startsOver(final @NonNull List<T> newItems) {
+    final T first = items.isEmpty() ? null : items.get(0);
+    final T newFirst = newItems.isEmpty() ? null : newItems.get(0);
+    if (newItems.size() < items.size()) {
+      return true;
+    }
+    if (first == null || newFirst == null) {
+      return false;
+    }
+
+    final String firstUrl = imageUrl.call(first);
+    final String newFirstUrl = imageUrl.call(newFirst);
+    return firstUrl == null ? newFirstUrl != null : !firstUrl.equals(newFirstUrl);
+  }
+
+  private void prefetch() {
+    if (paused) {
+      return;
+    }
+
+    final int end = Math.min(items.size(), lastVisible + 1 + lookahead);
+    for (int i = lastVisible + 1; i < end; i++) {
+      final String url = url(i);
+      if (url != null && requested.add(url)) {
+        fetcher.fetch(url, () -> {
+          // Ignore fetches that finished after the list started over.
+          if (requested.contains(url)) {
+            fetched.add(url);
+          }
+        });
+      }
+    }
+  }
+
+  /**
+   * Counts the items that have come into view since the last call. Items on the first screen are never counted, as
+   * nothing could have been prefetched for them, and neither are items flung past while prefetching is paused.
+   */
+  private void countHits(final int position) {
+    if (lastCounted < 0 || paused) {
+      lastCounted = Math.max(lastCounted, position);
+      return;
+    }
+
+    for (int i = lastCounted + 1; i <= position && i < items.size(); i++) {
+      final String url = url(i);
+      if (url == null) {
+        continue;
+      }
+      if (fetched.contains(url)) {
+        hitCount++;
+      } else {
+        missCount++;
+      }
+    }
+
+    lastCounted = Math.max(lastCounted, position);
+  }
+
+  private @Nullable String url(final int position) {
+    final T item = items.get(position);
+    return item == null ? null : imageUrl.call(item);
+  }
+}
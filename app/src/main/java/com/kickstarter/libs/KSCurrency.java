@@ -1,20 +1,22 @@
 package com.kickstarter.libs;
 
-import android.os.Parcelable;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import com.kickstarter.libs.utils.NumberUtils;
 import com.kickstarter.models.Project;
 
 import java.math.RoundingMode;
 
-import auto.parcel.AutoParcel;
-
 public final class KSCurrency {
   private final CurrentConfigType currentConfig;
+  private volatile @Nullable Config config;
 
   public KSCurrency(final @NonNull CurrentConfigType currentConfig) {
     this.currentConfig = currentConfig;
+
+    // Amounts are formatted while binding views, so keep the latest config rather than reading it there.
+    currentConfig.observable().subscribe(c -> this.config = c);
   }
 
   /**
@@ -54,82 +56,32 @@ public final class KSCurrency {
   public @NonNull String format(final float initialValue, final @NonNull Project project,
     final boolean excludeCurrencyCode, final boolean preferUSD, final @NonNull RoundingMode roundingMode) {
 
-    final CurrencyOptions currencyOptions = currencyOptions(initialValue, project, preferUSD);
+    final Config config = this.config != null ? this.config : currentConfig.getConfig();
+    final Float staticUsdRate = project.staticUsdRate();
 
-    final boolean showCurrencyCode = showCurrencyCode(currencyOptions, excludeCurrencyCode);
+    // Even if USD is preferred, we only show USD if the user is in the US.
+    final boolean showUSD = preferUSD && config.countryCode().equals("US") && staticUsdRate != null;
+    final String country = showUSD ? "US" : project.country();
+    final String currencySymbol = showUSD ? "$" : project.currencySymbol();
+    final String currencyCode = showUSD ? "" : project.currency();
+    final float value = showUSD ? initialValue * staticUsdRate : initialValue;
 
-    final NumberOptions numberOptions = NumberOptions.builder()
-      .currencyCode(showCurrencyCode ? currencyOptions.currencyCode() : "")
-      .currencySymbol(currencyOptions.currencySymbol())
-      .roundingMode(roundingMode)
-      .build();
+    final boolean showCurrencyCode = !excludeCurrencyCode && showCurrencyCode(config, currencySymbol, country);
 
-    return NumberUtils.format(currencyOptions.value(), numberOptions);
-  }
-
-  /**
-   * Build {@link CurrencyOptions} based on the project and whether we would prefer to show USD. Even if USD is preferred,
-   * we only show USD if the user is in the US.
-   */
-  private @NonNull CurrencyOptions currencyOptions(final float value, final @NonNull Project project,
-    final boolean preferUSD) {
-
-    final Config config = currentConfig.getConfig();
-    final Float staticUsdRate = project.staticUsdRate();
-    if (preferUSD && config.countryCode().equals("US") && staticUsdRate != null) {
-      return CurrencyOptions.builder()
-        .country("US")
-        .currencySymbol("$")
-        .currencyCode("")
-        .value(value * staticUsdRate)
-        .build();
-    } else {
-      return CurrencyOptions.builder()
-        .country(project.country())
-        .currencyCode(project.currency())
-        .currencySymbol(project.currencySymbol())
-        .value(value)
-        .build();
-    }
+    return NumberUtils.formatCurrency(value, currencySymbol, showCurrencyCode ? currencyCode : "", roundingMode);
   }
 
   /**
    * Determines whether the currency code should be shown. If the currency is ambiguous (e.g. CAD and USD both use `$`),
    * we show the currency code if the user is not in the US, or the project is not in the US.
    */
-  private boolean showCurrencyCode(final @NonNull CurrencyOptions currencyOptions, final boolean excludeCurrencyCode) {
-    if (excludeCurrencyCode) {
-      return false;
-    }
+  private static boolean showCurrencyCode(final @NonNull Config config, final @NonNull String currencySymbol,
+    final @NonNull String country) {
 
-    final Config config = currentConfig.getConfig();
-    final boolean currencyIsDupe = config.currencyNeedsCode(currencyOptions.currencySymbol());
+    final boolean currencyIsDupe = config.currencyNeedsCode(currencySymbol);
     final boolean userIsUS = config.countryCode().equals("US");
-    final boolean projectIsUS = currencyOptions.country().equals("US");
+    final boolean projectIsUS = country.equals("US");
 
     return (currencyIsDupe && !userIsUS) || (currencyIsDupe && !projectIsUS);
   }
-
-  @AutoParcel
-  public abstract static class CurrencyOptions implements Parcelable {
-    public abstract String country();
-    public abstract String currencyCode();
-    public abstract String currencySymbol();
-    public abstract float value();
-
-    @AutoParcel.Builder
-    public abstract static class Builder {
-      public abstract Builder country(String __);
-      public abstract Builder currencyCode(String __);
-      public abstract Builder currencySymbol(String __);
-      public abstract Builder value(float __);
-      public abstract CurrencyOptions build();
-    }
-
-    public static Builder builder() {
-      return new AutoParcel_KSCurrency_CurrencyOptions.Builder();
-    }
-
-    public abstract Builder toBuilder();
-  }
 }
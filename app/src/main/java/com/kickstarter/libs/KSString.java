@@ -4,15 +4,20 @@ import android.content.res.Resources;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.text.TextUtils;
+import android.util.LruCache;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class KSString {
+  private static final int MAX_CACHED_TEMPLATES = 256;
+
   private final String packageName;
   private final Resources resources;
+  private final LruCache<String, Template> templates = new LruCache<>(MAX_CACHED_TEMPLATES);
+  private final Map<String, Integer> resourceIds = new ConcurrentHashMap<>();
 
   public KSString(final @NonNull String packageName, final @NonNull Resources resources) {
     this.packageName = packageName;
@@ -23,12 +28,7 @@ public final class KSString {
    * Replace each key found in the string with its corresponding value.
    */
   public @NonNull String format(final @NonNull String string, final @NonNull String key1, final @Nullable String value1) {
-    final Map<String, String> substitutions = new HashMap<String, String>() {
-      {
-        put(key1, value1);
-      }
-    };
-    return replace(string, substitutions);
+    return template(string).format(key1, value1, null, null, null, null, null, null);
   }
 
   /**
@@ -37,13 +37,7 @@ public final class KSString {
   public @NonNull String format(final @NonNull String string,
     final @NonNull String key1, final @Nullable String value1,
     final @NonNull String key2, final @Nullable String value2) {
-    final Map<String, String> substitutions = new HashMap<String, String>() {
-      {
-        put(key1, value1);
-        put(key2, value2);
-      }
-    };
-    return replace(string, substitutions);
+    return template(string).format(key1, value1, key2, value2, null, null, null, null);
   }
 
   /**
@@ -53,14 +47,7 @@ public final class KSString {
     final @NonNull String key1, final @Nullable String value1,
     final @NonNull String key2, final @Nullable String value2,
     final @NonNull String key3, final @Nullable String value3) {
-    final Map<String, String> substitutions = new HashMap<String, String>() {
-      {
-        put(key1, value1);
-        put(key2, value2);
-        put(key3, value3);
-      }
-    };
-    return replace(string, substitutions);
+    return template(string).format(key1, value1, key2, value2, key3, value3, null, null);
   }
 
   /**
@@ -71,15 +58,7 @@ public final class KSString {
     final @NonNull String key2, final @Nullable String value2,
     final @NonNull String key3, final @Nullable String value3,
     final @NonNull String key4, final @Nullable String value4) {
-    final Map<String, String> substitutions = new HashMap<String, String>() {
-      {
-        put(key1, value1);
-        put(key2, value2);
-        put(key3, value3);
-        put(key4, value4);
-      }
-    };
-    return replace(string, substitutions);
+    return template(string).format(key1, value1, key2, value2, key3, value3, key4, value4);
   }
 
   /**
@@ -125,13 +104,26 @@ public final class KSString {
   private @NonNull String stringFromKeyPath(final @NonNull String... keyPathComponents) {
     final String keyPath = TextUtils.join("_", keyPathComponents);
     try {
-      final int resourceId = resources.getIdentifier(keyPath, "string", packageName);
-      return resources.getString(resourceId);
+      return resources.getString(resourceId(keyPath));
     } catch (final @NonNull Resources.NotFoundException e) {
       return "";
     }
   }
 
+  /**
+   * Looks up the id of a string resource by name once, `getIdentifier` being slow. Ids are `0` for missing resources.
+   */
+  private int resourceId(final @NonNull String keyPath) {
+    final Integer cachedId = resourceIds.get(keyPath);
+    if (cachedId != null) {
+      return cachedId;
+    }
+
+    final int resourceId = resources.getIdentifier(keyPath, "string", packageName);
+    resourceIds.put(keyPath, resourceId);
+    return resourceId;
+  }
+
   private @Nullable String keyPathComponentForCount(final int count) {
     if (count == 0) {
       return "zero";
@@ -149,36 +141,110 @@ public final class KSString {
   }
 
   /**
-   * For a given string, replaces occurrences of each key with its corresponding value. In the string, keys are wrapped
-   * with `%{}`, e.g. `%{backers_count} backers`. In this instance, the substitutions hash might contain one entry with the key
-   * `backers_count` and value `2`.
+   * Parses `string` into a template, or returns the template it was parsed into before.
    */
-  private @NonNull String replace(final @NonNull String string, final @NonNull Map<String, String> substitutions) {
-    final StringBuilder builder = new StringBuilder();
-    for (final String key : substitutions.keySet()) {
-      if (builder.length() > 0) {
-        builder.append("|");
+  private @NonNull Template template(final @NonNull String string) {
+    Template template = templates.get(string);
+    if (template == null) {
+      template = Template.parse(string);
+      templates.put(string, template);
+    }
+    return template;
+  }
+
+  /**
+   * A string parsed once into the literal text between its keys, which are wrapped with `%{}`, e.g.
+   * `%{backers_count} backers`, so that formatting it is a single pass that appends each literal and the value of each
+   * key in turn. Keys without a value are left as they are, and keys with a `null` value are removed.
+   */
+  private static final class Template {
+    private final String[] literals;
+    private final String[] keys;
+    private final int length;
+
+    private Template(final @NonNull String[] literals, final @NonNull String[] keys, final int length) {
+      this.literals = literals;
+      this.keys = keys;
+      this.length = length;
+    }
+
+    static @NonNull Template parse(final @NonNull String string) {
+      final List<String> literals = new ArrayList<>();
+      final List<String> keys = new ArrayList<>();
+
+      int literalStart = 0;
+      int keyStart = string.indexOf("%{");
+      while (keyStart != -1) {
+        final int keyEnd = string.indexOf('}', keyStart + 2);
+        if (keyEnd == -1) {
+          break;
+        }
+
+        final String key = string.substring(keyStart + 2, keyEnd);
+        if (isWord(key)) {
+          literals.add(string.substring(literalStart, keyStart));
+          keys.add(key);
+          literalStart = keyEnd + 1;
+          keyStart = string.indexOf("%{", literalStart);
+        } else {
+          keyStart = string.indexOf("%{", keyStart + 2);
+        }
       }
-      builder
-        .append("(%\\{")
-        .append(key)
-        .append("\\})");
+      literals.add(string.substring(literalStart));
+
+      return new Template(literals.toArray(new String[literals.size()]), keys.toArray(new String[keys.size()]),
+        string.length());
     }
 
-    final Pattern pattern = Pattern.compile(builder.toString());
-    final Matcher matcher = pattern.matcher(string);
-    final StringBuffer buffer = new StringBuffer();
+    @NonNull String format(final @Nullable String key1, final @Nullable String value1,
+      final @Nullable String key2, final @Nullable String value2,
+      final @Nullable String key3, final @Nullable String value3,
+      final @Nullable String key4, final @Nullable String value4) {
+
+      if (keys.length == 0) {
+        return literals[0];
+      }
+
+      final StringBuilder builder = new StringBuilder(length);
+      for (int i = 0; i < keys.length; i++) {
+        builder.append(literals[i]);
+
+        final String key = keys[i];
+        if (key.equals(key1)) {
+          appendValue(builder, value1);
+        } else if (key.equals(key2)) {
+          appendValue(builder, value2);
+        } else if (key.equals(key3)) {
+          appendValue(builder, value3);
+        } else if (key.equals(key4)) {
+          appendValue(builder, value4);
+        } else {
+          builder.append("%{").append(key).append('}');
+        }
+      }
+      return builder.append(literals[keys.length]).toString();
+    }
 
-    while (matcher.find()) {
-      final String key = NON_WORD_REGEXP.matcher(matcher.group()).replaceAll("");
-      final String value = substitutions.get(key);
-      final String replacement = Matcher.quoteReplacement(value != null ? value : "");
-      matcher.appendReplacement(buffer, replacement);
+    private static void appendValue(final @NonNull StringBuilder builder, final @Nullable String value) {
+      if (value != null) {
+        builder.append(value);
+      }
     }
-    matcher.appendTail(buffer);
 
-    return buffer.toString();
+    /**
+     * Same as matching `\w+`.
+     */
+    private static boolean isWord(final @NonNull String key) {
+      if (key.isEmpty()) {
+        return false;
+      }
+      for (int i = 0; i < key.length(); i++) {
+        final char c = key.charAt(i);
+        if (!(c >= 'a' && c <= 'z') && !(c >= 'A' && c <= 'Z') && !(c >= '0' && c <= '9') && c != '_') {
+          return false;
+        }
+      }
+      return true;
+    }
   }
-
-  private static final Pattern NON_WORD_REGEXP = Pattern.compile("[^\\w]");
 }
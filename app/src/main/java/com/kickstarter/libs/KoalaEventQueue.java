@@ -0,0 +1,248 @@
+package com.kickstarter.libs;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.kickstarter.libs.utils.MapUtils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import rx.Scheduler;
+import timber.log.Timber;
+
+/**
+ * Queues tracking events so that tracking does no work on the calling thread beyond recording the event. Events wait in
+ * a bounded ring buffer, dropping the oldest if it fills up, until a background worker spills them to a journal on
+ * disk. They are then sent in a batch once `flushDelay` has passed since the first of them was queued, and the journal
+ * is cleared.
+ *
+ * Events still in the journal when the process dies are sent the next time a queue is created with the same journal.
+ * An event that was sent just before the process died can be sent again, as it may not have been cleared yet.
+ *
+ * Each event is sent with a `time` property, in seconds since the epoch, of when it was queued rather than when the
+ * batch was sent.
+ */
+public final class KoalaEventQueue {
+  public static final int DEFAULT_CAPACITY = 256;
+  public static final long DEFAULT_FLUSH_DELAY_MILLIS = 1000;
+
+  private static final String TIME_KEY = "time";
+
+  private final @NonNull File journal;
+  private final @NonNull Gson gson;
+  private final @NonNull Scheduler.Worker worker;
+  private final @NonNull Sink sink;
+  private final int capacity;
+  private final long flushDelayMillis;
+
+  private final ArrayDeque<Event> pending = new ArrayDeque<>();
+  private final List<Event> journaled = new ArrayList<>();
+  private boolean spillScheduled;
+  private boolean flushScheduled;
+  private long droppedCount;
+
+  /**
+   * Where queued events are eventually sent, e.g. Mixpanel.
+   */
+  public interface Sink {
+    void send(@NonNull String eventName, @NonNull Map<String, Object> properties);
+  }
+
+  public KoalaEventQueue(final @NonNull File journal, final @NonNull Gson gson, final @NonNull Scheduler scheduler,
+    final @NonNull Sink sink, final int capacity, final long flushDelay, final @NonNull TimeUnit unit) {
+    this.journal = journal;
+    this.gson = gson;
+    this.worker = scheduler.createWorker();
+    this.sink = sink;
+    this.capacity = capacity;
+    this.flushDelayMillis = unit.toMillis(flushDelay);
+
+    worker.schedule(this::replayJournal);
+  }
+
+  /**
+   * Queues an event, recording the time it happened. `properties` and `defaultProperties` are merged, with
+   * `defaultProperties` taking precedence, and `null` values removed on the worker, so neither map may be modified
+   * afterwards.
+   */
+  public void add(final @NonNull String eventName, final @NonNull Map<String, Object> properties,
+    final @NonNull Map<String, Object> defaultProperties) {
+
+    final long timeSeconds = TimeUnit.MILLISECONDS.toSeconds(worker.now());
+
+    final boolean scheduleSpill;
+    synchronized (this) {
+      if (pending.size() == capacity) {
+        pending.removeFirst();
+        droppedCount++;
+      }
+      pending.addLast(new Event(eventName, properties, defaultProperties, timeSeconds));
+
+      scheduleSpill = !spillScheduled;
+      spillScheduled = true;
+    }
+
+    if (scheduleSpill) {
+      worker.schedule(this::spill);
+    }
+  }
+
+  /**
+   * Number of events dropped because the ring buffer was full.
+   */
+  public synchronized long droppedCount() {
+    return droppedCount;
+  }
+
+  /**
+   * Moves pending events to the journal. Runs on the worker.
+   */
+  private void spill() {
+    final List<Event> events;
+    synchronized (this) {
+      events = new ArrayList<>(pending);
+      pending.clear();
+      spillScheduled = false;
+    }
+
+    append(events);
+    journaled.addAll(events);
+
+    if (!flushScheduled && !journaled.isEmpty()) {
+      flushScheduled = true;
+      worker.schedule(this::flush, flushDelayMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Sends every journaled event and clears the journal. Runs on the worker.
+   */
+  private void flush() {
+    flushScheduled = false;
+    for (final Event event : journaled) {
+      sink.send(event.name, event.properties());
+    }
+    journaled.clear();
+    clearJournal();
+  }
+
+  /**
+   * Sends events left in the journal by a previous process. Runs on the worker before anything else.
+   */
+  private void replayJournal() {
+    if (!journal.exists()) {
+      return;
+    }
+
+    try {
+      final BufferedReader reader = new BufferedReader(new FileReader(journal));
+      try {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          final Event event = parse(line);
+          if (event != null) {
+            sink.send(event.name, event.properties());
+          }
+        }
+      } finally {
+        reader.close();
+      }
+    } catch (final IOException e) {
+      Timber.e(e, "Failed to read Koala journal");
+    }
+
+    clearJournal();
+  }
+
+  private void append(final @NonNull List<Event> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+
+    try {
+      final Writer writer = new FileWriter(journal, true);
+      try {
+        for (final Event event : events) {
+          final Map<String, Object> entry = new HashMap<>();
+          entry.put("name", event.name);
+          entry.put("properties", event.properties());
+          writer.write(gson.toJson(entry));
+          writer.write('\n');
+        }
+      } finally {
+        writer.close();
+      }
+    } catch (final IOException e) {
+      // The journal is only a safety net, so the events are still sent from memory.
+      Timber.e(e, "Failed to journal %d Koala events", events.size());
+    }
+  }
+
+  private void clearJournal() {
+    if (journal.exists() && !journal.delete()) {
+      Timber.e("Failed to clear Koala journal");
+    }
+  }
+
+  /**
+   * Parses a journal line, or returns `null` if it's incomplete, e.g. because the process died while writing it.
+   */
+  @SuppressWarnings("unchecked")
+  private @Nullable Event parse(final @NonNull String line) {
+    try {
+      final Map<String, Object> entry = gson.fromJson(line, Map.class);
+      if (entry == null || !(entry.get("name") instanceof String) || !(entry.get("properties") instanceof Map)) {
+        return null;
+      }
+
+      // Numbers come back from the journal as doubles, but the time was journaled as whole seconds.
+      final Map<String, Object> properties = (Map<String, Object>) entry.get("properties");
+      final Object time = properties.get(TIME_KEY);
+      final long timeSeconds = time instanceof Number
+        ? ((Number) time).longValue()
+        : TimeUnit.MILLISECONDS.toSeconds(worker.now());
+      return new Event((String) entry.get("name"), properties, new HashMap<>(), timeSeconds);
+    } catch (final JsonParseException e) {
+      return null;
+    }
+  }
+
+  private static final class Event {
+    private final @NonNull String name;
+    private final @NonNull Map<String, Object> properties;
+    private final @NonNull Map<String, Object> defaultProperties;
+    private final long timeSeconds;
+    private @Nullable Map<String, Object> merged;
+
+    Event(final @NonNull String name, final @NonNull Map<String, Object> properties,
+      final @NonNull Map<String, Object> defaultProperties, final long timeSeconds) {
+      this.name = name;
+      this.properties = properties;
+      this.defaultProperties = defaultProperties;
+      this.timeSeconds = timeSeconds;
+    }
+
+    @NonNull Map<String, Object> properties() {
+      if (merged == null) {
+        final Map<String, Object> all = new HashMap<>(properties);
+        all.putAll(defaultProperties);
+        all.put(TIME_KEY, timeSeconds);
+        merged = MapUtils.compact(all);
+      }
+      return merged;
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.kickstarter.libs;
 
+import android.content.ComponentCallbacks;
 import android.content.Context;
 import android.content.res.Configuration;
 import android.support.annotation.NonNull;
@@ -7,18 +8,23 @@ import android.support.annotation.Nullable;
 
 import com.google.android.gms.common.ConnectionResult;
 import com.google.android.gms.common.GooglePlayServicesUtil;
+import com.google.gson.Gson;
 import com.kickstarter.R;
 import com.kickstarter.libs.qualifiers.ApplicationContext;
 import com.kickstarter.libs.utils.KoalaUtils;
-import com.kickstarter.libs.utils.MapUtils;
 import com.kickstarter.models.User;
 import com.mixpanel.android.mpmetrics.MixpanelAPI;
 
+import java.io.File;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
 
+import rx.schedulers.Schedulers;
+
 public final class KoalaTrackingClient extends TrackingClientType {
   @Inject CurrentUserType currentUser;
   @Inject AndroidPayCapability androidPayCapability;
@@ -26,54 +32,91 @@ public final class KoalaTrackingClient extends TrackingClientType {
   private final @NonNull Context context;
 
   private final @NonNull MixpanelAPI mixpanel;
+  private final @NonNull KoalaEventQueue queue;
 
   // Cached values
   private @Nullable Boolean isGooglePlayServicesAvailable;
+  private @Nullable Map<String, Object> cachedDefaultProperties;
 
   public KoalaTrackingClient(
     final @ApplicationContext @NonNull Context context,
     final @NonNull CurrentUserType currentUser,
-    final @NonNull AndroidPayCapability androidPayCapability) {
+    final @NonNull AndroidPayCapability androidPayCapability,
+    final @NonNull Gson gson) {
 
     this.context = context;
     this.currentUser = currentUser;
     this.androidPayCapability = androidPayCapability;
 
-    // Cache the most recent logged in user for default Koala properties.
-    this.currentUser.observable().subscribe(u -> loggedInUser = u);
+    // Cache the most recent logged in user for default Koala properties. Subscribed to off the main thread, as the
+    // client is created while the object graph is built at startup.
+    this.currentUser.observable().subscribeOn(Schedulers.io()).subscribe(u -> {
+      loggedInUser = u;
+      invalidateDefaultProperties();
+    });
+
+    // Orientation and device format are part of the default properties, so a configuration change invalidates them.
+    context.registerComponentCallbacks(new ComponentCallbacks() {
+      @Override
+      public void onConfigurationChanged(final @NonNull Configuration newConfig) {
+        invalidateDefaultProperties();
+      }
+
+      @Override
+      public void onLowMemory() {
+      }
+    });
 
     mixpanel = MixpanelAPI.getInstance(context, "koala");
+    queue = new KoalaEventQueue(new File(context.getFilesDir(), "koala-journal"), gson, Schedulers.io(),
+      mixpanel::trackMap, KoalaEventQueue.DEFAULT_CAPACITY, KoalaEventQueue.DEFAULT_FLUSH_DELAY_MILLIS,
+      TimeUnit.MILLISECONDS);
   }
 
+  /**
+   * Queues the event to be sent in the background, so tracking costs the calling thread little more than a copy of
+   * `properties`.
+   */
   @Override
   public void track(final @NonNull String eventName, final @NonNull Map<String, Object> properties) {
-    final Map<String, Object> newProperties = new HashMap<>(properties);
-    newProperties.putAll(defaultProperties());
-
-    mixpanel.trackMap(eventName, MapUtils.compact(newProperties));
+    queue.add(eventName, new HashMap<>(properties), defaultProperties());
   }
 
   @NonNull
   @Override
   public Map<String, Object> defaultProperties() {
+    final Map<String, Object> properties = new HashMap<>(cachedDefaultProperties());
+    // Android Pay capability is determined asynchronously, so it isn't cached.
+    properties.put("android_pay_capable", androidPayCapability.isCapable());
+    return properties;
+  }
 
-    return new HashMap<String, Object>() {
-      {
-        if (loggedInUser != null) {
-          putAll(KoalaUtils.userProperties(loggedInUser));
-        }
-        put("user_logged_in", loggedInUser != null);
-
-        put("client_type", "native");
-        put("android_play_services_available", isGooglePlayServicesAvailable());
-        put("client_platform", "android");
-        put("device_orientation", deviceOrientation());
-        put("device_format", deviceFormat());
-        put("device_fingerprint", mixpanel.getDistinctId());
-        put("android_uuid", mixpanel.getDistinctId());
-        put("android_pay_capable", androidPayCapability.isCapable());
+  /**
+   * Returns the default properties that only change with the logged in user or the configuration, building them if
+   * they've been invalidated since they were last used.
+   */
+  private synchronized @NonNull Map<String, Object> cachedDefaultProperties() {
+    if (cachedDefaultProperties == null) {
+      final Map<String, Object> properties = new HashMap<>();
+      if (loggedInUser != null) {
+        properties.putAll(KoalaUtils.userProperties(loggedInUser));
       }
-    };
+      properties.put("user_logged_in", loggedInUser != null);
+
+      properties.put("client_type", "native");
+      properties.put("android_play_services_available", isGooglePlayServicesAvailable());
+      properties.put("client_platform", "android");
+      properties.put("device_orientation", deviceOrientation());
+      properties.put("device_format", deviceFormat());
+      properties.put("device_fingerprint", mixpanel.getDistinctId());
+      properties.put("android_uuid", mixpanel.getDistinctId());
+      cachedDefaultProperties = Collections.unmodifiableMap(properties);
+    }
+    return cachedDefaultProperties;
+  }
+
+  private synchronized void invalidateDefaultProperties() {
+    cachedDefaultProperties = null;
   }
 
   /**
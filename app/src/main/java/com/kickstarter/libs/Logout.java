@@ -6,18 +6,45 @@ import com.facebook.login.LoginManager;
 
 import java.net.CookieManager;
 
+import okhttp3.Cache;
+import rx.Observable;
+import rx.Scheduler;
+import timber.log.Timber;
+
 public class Logout {
   private final CookieManager cookieManager;
   private final CurrentUserType currentUser;
+  private final ModelStoreType modelStore;
+  private final ProjectSearchIndex projectSearchIndex;
+  private final Cache httpCache;
+  private final Scheduler diskScheduler;
 
-  public Logout(final @NonNull CookieManager cookieManager, final @NonNull CurrentUserType currentUser) {
+  /**
+   * The model store and the HTTP cache, which holds responses made for the user, are cleared on `diskScheduler`, as
+   * they delete from disk.
+   */
+  public Logout(final @NonNull CookieManager cookieManager, final @NonNull CurrentUserType currentUser,
+    final @NonNull ModelStoreType modelStore, final @NonNull ProjectSearchIndex projectSearchIndex,
+    final @NonNull Cache httpCache, final @NonNull Scheduler diskScheduler) {
     this.cookieManager = cookieManager;
     this.currentUser = currentUser;
+    this.modelStore = modelStore;
+    this.projectSearchIndex = projectSearchIndex;
+    this.httpCache = httpCache;
+    this.diskScheduler = diskScheduler;
   }
 
   public void execute() {
     currentUser.logout();
     cookieManager.getCookieStore().removeAll();
     LoginManager.getInstance().logOut();
+    projectSearchIndex.clear();
+    Observable.fromCallable(() -> {
+      modelStore.clear();
+      httpCache.evictAll();
+      return null;
+    })
+      .subscribeOn(diskScheduler)
+      .subscribe(__ -> {}, e -> Timber.e(e, "Failed to clear caches on logout"));
   }
 }
@@ -0,0 +1,310 @@
+package com.kickstarter.libs;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.SQLException;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+
+import com.google.gson.Gson;
+import com.kickstarter.models.Activity;
+import com.kickstarter.models.Category;
+import com.kickstarter.models.Comment;
+import com.kickstarter.models.Project;
+import com.kickstarter.models.Update;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import rx.Observable;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+import timber.log.Timber;
+
+/**
+ * Stores models on disk as JSON, indexed by type and id, along with the ordered ids returned for a query (e.g. the first
+ * page of a discovery request) so that screens can show what they last loaded while the network catches up. Once a
+ * table grows past its cap the rows that were stored longest ago are deleted.
+ */
+public final class ModelStore implements ModelStoreType {
+  private static final String DATABASE_NAME = "models.db";
+  private static final int DATABASE_VERSION = 2;
+
+  private static final int MAX_MODELS = 2000;
+  private static final int MAX_QUERIES = 200;
+
+  private static final String MODELS = "models";
+  private static final String QUERIES = "queries";
+
+  public static final String ACTIVITY_FEED_QUERY = "activity_feed";
+  public static final String CATEGORIES_QUERY = "categories";
+
+  /**
+   * How to find the id of each type of model that can be stored.
+   */
+  private static final Map<Class<?>, Func1<Object, Long>> IDS = new HashMap<>();
+  static {
+    IDS.put(Activity.class, m -> ((Activity) m).id());
+    IDS.put(Category.class, m -> ((Category) m).id());
+    IDS.put(Comment.class, m -> ((Comment) m).id());
+    IDS.put(Project.class, m -> ((Project) m).id());
+    IDS.put(Update.class, m -> ((Update) m).id());
+  }
+
+  private final Gson gson;
+  private final SQLiteOpenHelper helper;
+  private final int maxModels;
+  private final int maxQueries;
+
+  /**
+   * Held while writing so that `clear` can't interleave with a `put`, and read together with `generation`.
+   */
+  private final Object writeLock = new Object();
+  private int generation;
+
+  public ModelStore(final @NonNull Context context, final @NonNull Gson gson) {
+    this(context, gson, MAX_MODELS, MAX_QUERIES);
+  }
+
+  ModelStore(final @NonNull Context context, final @NonNull Gson gson, final int maxModels, final int maxQueries) {
+    this.gson = gson;
+    this.helper = new OpenHelper(context);
+    this.maxModels = maxModels;
+    this.maxQueries = maxQueries;
+  }
+
+  /**
+   * Key that the first page of comments on a project is stored under.
+   */
+  public static @NonNull String commentsQuery(final @NonNull Project project) {
+    return "comments/project/" + project.id();
+  }
+
+  /**
+   * Key that the first page of comments on an update is stored under.
+   */
+  public static @NonNull String commentsQuery(final @NonNull Update update) {
+    return "comments/update/" + update.id();
+  }
+
+  @Override
+  public <T> void put(final @NonNull Class<T> type, final @NonNull List<T> models, final @Nullable String queryKey) {
+    put(type, models, queryKey, generation());
+  }
+
+  @Override
+  public <T> void put(final @NonNull Class<T> type, final @NonNull List<T> models, final @Nullable String queryKey,
+    final int generation) {
+    final Func1<Object, Long> id = idFunction(type);
+
+    synchronized (writeLock) {
+      if (generation != this.generation) {
+        return;
+      }
+      write(type, id, models, queryKey);
+    }
+  }
+
+  @Override
+  public int generation() {
+    synchronized (writeLock) {
+      return generation;
+    }
+  }
+
+  private <T> void write(final @NonNull Class<T> type, final @NonNull Func1<Object, Long> id,
+    final @NonNull List<T> models, final @Nullable String queryKey) {
+    try {
+      final SQLiteDatabase db = helper.getWritableDatabase();
+      final long storedAt = System.currentTimeMillis();
+      db.beginTransaction();
+      try {
+        final List<String> ids = new ArrayList<>(models.size());
+        for (final T model : models) {
+          final long modelId = id.call(model);
+          ids.add(String.valueOf(modelId));
+
+          final ContentValues values = new ContentValues();
+          values.put("type", type.getName());
+          values.put("id", modelId);
+          values.put("json", gson.toJson(model, type));
+          values.put("stored_at", storedAt);
+          db.insertWithOnConflict(MODELS, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+        }
+
+        if (queryKey != null) {
+          final ContentValues values = new ContentValues();
+          values.put("type", type.getName());
+          values.put("query_key", queryKey);
+          values.put("ids", TextUtils.join(",", ids));
+          values.put("stored_at", storedAt);
+          db.insertWithOnConflict(QUERIES, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+        }
+
+        trim(db, MODELS, maxModels);
+        trim(db, QUERIES, maxQueries);
+        db.setTransactionSuccessful();
+      } finally {
+        db.endTransaction();
+      }
+    } catch (final SQLException e) {
+      // The store is only ever a head start on the network, so failing to write to it shouldn't fail the request.
+      Timber.e(e, "Failed to store %s", type.getSimpleName());
+    }
+  }
+
+  @Override
+  public @NonNull <T> Observable<T> find(final @NonNull Class<T> type, final long id) {
+    return Observable.defer(() -> {
+      final List<T> models = read(type, String.valueOf(id));
+      return models.isEmpty() ? Observable.<T>empty() : Observable.just(models.get(0));
+    })
+      .subscribeOn(Schedulers.io());
+  }
+
+  @Override
+  public @NonNull <T> Observable<List<T>> find(final @NonNull Class<T> type, final @NonNull long[] ids) {
+    return Observable.defer(() -> {
+      final StringBuilder commaSeparatedIds = new StringBuilder();
+      for (final long id : ids) {
+        if (commaSeparatedIds.length() > 0) {
+          commaSeparatedIds.append(',');
+        }
+        commaSeparatedIds.append(id);
+      }
+      return Observable.just(read(type, commaSeparatedIds.toString()));
+    })
+      .subscribeOn(Schedulers.io());
+  }
+
+  @Override
+  public @NonNull <T> Observable<List<T>> query(final @NonNull Class<T> type, final @NonNull String queryKey) {
+    return Observable.defer(() -> {
+      final String ids = queryIds(type, queryKey);
+      if (ids == null) {
+        return Observable.<List<T>>empty();
+      }
+
+      final List<T> models = read(type, ids);
+      return models.isEmpty() ? Observable.<List<T>>empty() : Observable.just(models);
+    })
+      .subscribeOn(Schedulers.io());
+  }
+
+  @Override
+  public void clear() {
+    synchronized (writeLock) {
+      generation++;
+
+      try {
+        final SQLiteDatabase db = helper.getWritableDatabase();
+        db.beginTransaction();
+        try {
+          db.delete(MODELS, null, null);
+          db.delete(QUERIES, null, null);
+          db.setTransactionSuccessful();
+        } finally {
+          db.endTransaction();
+        }
+      } catch (final SQLException e) {
+        Timber.e(e, "Failed to clear model store");
+      }
+    }
+  }
+
+  /**
+   * Deletes the rows of `table` that were stored longest ago until there are at most `maxRows` left. A query whose
+   * models have been deleted returns the ones that are left.
+   */
+  private static void trim(final @NonNull SQLiteDatabase db, final @NonNull String table, final int maxRows) {
+    final long excess = DatabaseUtils.queryNumEntries(db, table) - maxRows;
+    if (excess > 0) {
+      db.execSQL("DELETE FROM " + table + " WHERE rowid IN "
+        + "(SELECT rowid FROM " + table + " ORDER BY stored_at, rowid LIMIT " + excess + ")");
+    }
+  }
+
+  private static @NonNull Func1<Object, Long> idFunction(final @NonNull Class<?> type) {
+    final Func1<Object, Long> id = IDS.get(type);
+    if (id == null) {
+      throw new IllegalArgumentException(type.getName() + " can't be stored.");
+    }
+    return id;
+  }
+
+  /**
+   * Comma separated ids stored for the query, or `null` if the query hasn't been stored.
+   */
+  private @Nullable String queryIds(final @NonNull Class<?> type, final @NonNull String queryKey) {
+    final Cursor cursor = helper.getReadableDatabase().query(QUERIES, new String[]{"ids"}, "type = ? AND query_key = ?",
+      new String[]{type.getName(), queryKey}, null, null, null);
+    try {
+      return cursor.moveToFirst() ? cursor.getString(0) : null;
+    } finally {
+      cursor.close();
+    }
+  }
+
+  /**
+   * Reads the models with the given comma separated ids, in the order of the ids, skipping any that aren't stored.
+   */
+  private @NonNull <T> List<T> read(final @NonNull Class<T> type, final @NonNull String commaSeparatedIds) {
+    final List<T> models = new ArrayList<>();
+    if (commaSeparatedIds.isEmpty()) {
+      return models;
+    }
+
+    final String[] ids = commaSeparatedIds.split(",");
+    final Map<Long, String> jsonById = new HashMap<>(ids.length);
+
+    // Ids are only ever written by `put` as longs, so they're safe to inline into the query.
+    final Cursor cursor = helper.getReadableDatabase().rawQuery(
+      "SELECT id, json FROM " + MODELS + " WHERE type = ? AND id IN (" + commaSeparatedIds + ")",
+      new String[]{type.getName()}
+    );
+    try {
+      while (cursor.moveToNext()) {
+        jsonById.put(cursor.getLong(0), cursor.getString(1));
+      }
+    } finally {
+      cursor.close();
+    }
+
+    for (final String id : ids) {
+      final String json = jsonById.get(Long.parseLong(id));
+      if (json != null) {
+        models.add(gson.fromJson(json, type));
+      }
+    }
+    return models;
+  }
+
+  private static final class OpenHelper extends SQLiteOpenHelper {
+    OpenHelper(final @NonNull Context context) {
+      super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    @Override
+    public void onCreate(final @NonNull SQLiteDatabase db) {
+      db.execSQL("CREATE TABLE " + MODELS + " (type TEXT NOT NULL, id INTEGER NOT NULL, json TEXT NOT NULL, "
+        + "stored_at INTEGER NOT NULL, PRIMARY KEY (type, id))");
+      db.execSQL("CREATE TABLE " + QUERIES + " (type TEXT NOT NULL, query_key TEXT NOT NULL, ids TEXT NOT NULL, "
+        + "stored_at INTEGER NOT NULL, PRIMARY KEY (type, query_key))");
+    }
+
+    @Override
+    public void onUpgrade(final @NonNull SQLiteDatabase db, final int oldVersion, final int newVersion) {
+      // Everything stored can be fetched again, so start over rather than migrate.
+      db.execSQL("DROP TABLE IF EXISTS " + MODELS);
+      db.execSQL("DROP TABLE IF EXISTS " + QUERIES);
+      onCreate(db);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.kickstarter.libs;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.List;
+
+import rx.Observable;
+
+public interface ModelStoreType {
+  /**
+   * Saves `models`, replacing any stored models of the same type and id. If `queryKey` is non-null the order of
+   * `models` is remembered so that `query` can return them later. Writes to disk, so call off the main thread.
+   */
+  <T> void put(@NonNull Class<T> type, @NonNull List<T> models, @Nullable String queryKey);
+
+  /**
+   * Like `put`, but does nothing if the store has been cleared since `generation` was read, so that a response to a
+   * request made before logging out can't be stored for the next user.
+   */
+  <T> void put(@NonNull Class<T> type, @NonNull List<T> models, @Nullable String queryKey, int generation);
+
+  /**
+   * The number of times the store has been cleared. Read it when making a request and pass it to `put` along with the
+   * response.
+   */
+  int generation();
+
+  /**
+   * Emits the stored model of `type` with `id` if there is one, and then completes.
+   */
+  @NonNull <T> Observable<T> find(@NonNull Class<T> type, long id);
+
+  /**
+   * Emits the stored models of `type` with `ids`, in the order of `ids`, skipping any that aren't stored, and then
+   * completes.
+   */
+  @NonNull <T> Observable<List<T>> find(@NonNull Class<T> type, @NonNull long[] ids);
+
+  /**
+   * Emits the models last stored under `queryKey`, in the order they were stored, if there are any, and then completes.
+   */
+  @NonNull <T> Observable<List<T>> query(@NonNull Class<T> type, @NonNull String queryKey);
+
+  /**
+   * Removes every stored model and query, e.g. when the user logs out, and moves the store on to the next generation.
+   */
+  void clear();
+}
@@ -0,0 +1,120 @@
+package com.kickstarter.libs;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.kickstarter.libs.utils.DiscoveryDrawerUtils;
+import com.kickstarter.models.Category;
+import com.kickstarter.models.User;
+import com.kickstarter.services.DiscoveryParams;
+import com.kickstarter.ui.adapters.data.NavigationDrawerData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.kickstarter.libs.utils.BooleanUtils.isTrue;
+
+/**
+ * Derives the discovery drawer as {@link DiscoveryDrawerUtils#deriveNavigationDrawerData}, reusing what it derived last
+ * time. The section for each root category is built once per {@link CategoryTree} while it is collapsed, so expanding
+ * or collapsing a category rebuilds only that category's section, and changing the selected params rebuilds no
+ * sections at all.
+ *
+ * Methods are synchronized so that it can be called from any thread.
+ */
+public final class NavigationDrawerDeriver {
+  private @Nullable CategoryTree tree;
+  private @NonNull List<NavigationDrawerData.Section> collapsedSections = new ArrayList<>();
+
+  private boolean hasTopSections;
+  private boolean loggedIn;
+  private boolean social;
+  private @NonNull List<NavigationDrawerData.Section> topSections = new ArrayList<>();
+
+  private @Nullable NavigationDrawerData last;
+
+  public synchronized @NonNull NavigationDrawerData derive(final @NonNull CategoryTree categories,
+    final @NonNull DiscoveryParams selected, final @Nullable Category expandedCategory, final @Nullable User user) {
+
+    if (last != null && tree == categories && isSameExpandedCategory(last, expandedCategory)
+      && isSameUser(last, user) && selected.equals(last.selectedParams())) {
+      return last;
+    }
+
+    final List<NavigationDrawerData.Section> sections = new ArrayList<>(topSections(user));
+    final List<NavigationDrawerData.Section> collapsed = collapsedSections(categories);
+    for (int i = 0; i < collapsed.size(); i++) {
+      final List<Category> group = categories.groups().get(i);
+      final NavigationDrawerData.Section section = isExpanded(group, expandedCategory)
+        ? DiscoveryDrawerUtils.categorySection(group, expandedCategory)
+        : collapsed.get(i);
+      if (section != null) {
+        sections.add(section);
+      }
+    }
+
+    last = NavigationDrawerData.builder()
+      .sections(sections)
+      .user(user)
+      .selectedParams(selected)
+      .expandedCategory(expandedCategory)
+      .build();
+    return last;
+  }
+
+  /**
+   * The section for each group of the tree while no category is expanded, with `null` for groups that have nothing to
+   * show.
+   */
+  private @NonNull List<NavigationDrawerData.Section> collapsedSections(final @NonNull CategoryTree categories) {
+    if (tree != categories) {
+      tree = categories;
+      collapsedSections = new ArrayList<>(categories.groups().size());
+      for (final List<Category> group : categories.groups()) {
+        collapsedSections.add(DiscoveryDrawerUtils.categorySection(group, null));
+      }
+    }
+    return collapsedSections;
+  }
+
+  /**
+   * The top sections only depend on whether there is a user and whether they are social.
+   */
+  private @NonNull List<NavigationDrawerData.Section> topSections(final @Nullable User user) {
+    final boolean userLoggedIn = user != null;
+    final boolean userSocial = user != null && isTrue(user.social());
+    if (!hasTopSections || loggedIn != userLoggedIn || social != userSocial) {
+      hasTopSections = true;
+      loggedIn = userLoggedIn;
+      social = userSocial;
+      topSections = DiscoveryDrawerUtils.topSections(user);
+    }
+    return topSections;
+  }
+
+  private static boolean isSameExpandedCategory(final @NonNull NavigationDrawerData last,
+    final @Nullable Category expandedCategory) {
+    return expandedCategory == null ? last.expandedCategory() == null : expandedCategory.equals(last.expandedCategory());
+  }
+
+  private static boolean isSameUser(final @NonNull NavigationDrawerData last, final @Nullable User user) {
+    return user == null ? last.user() == null : user.equals(last.user());
+  }
+
+  /**
+   * Whether a group's section differs from its collapsed one, i.e. the expanded category is its root or one of its
+   * subcategories.
+   */
+  private static boolean isExpanded(final @NonNull List<Category> group, final @Nullable Category expandedCategory) {
+    if (expandedCategory == null) {
+      return false;
+    }
+
+    for (final Category category : group) {
+      if (category.rootId() == expandedCategory.id() || category.rootId() == expandedCategory.rootId()) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,60 @@
+package com.kickstarter.libs;
+
+import android.support.annotation.NonNull;
+
+/**
+ * A running estimate of download throughput, measured from the responses the app reads, e.g. by
+ * {@link com.kickstarter.services.interceptors.ThroughputInterceptor}. Each sample is smoothed into the estimate so that
+ * a single slow or fast response doesn't swing it.
+ */
+public final class NetworkThroughput {
+  /**
+   * Responses smaller than this are dominated by latency rather than throughput, so they aren't sampled.
+   */
+  public static final long MIN_SAMPLE_BYTES = 16 * 1024;
+
+  private static final double SAMPLE_WEIGHT = 0.25;
+  private static final double POOR_KILOBITS_PER_SECOND = 150;
+  private static final double GOOD_KILOBITS_PER_SECOND = 550;
+
+  private double kilobitsPerSecond = -1;
+
+  public enum Quality {
+    UNKNOWN,
+    POOR,
+    MODERATE,
+    GOOD
+  }
+
+  /**
+   * Records that `bytes` were downloaded in `millis`.
+   */
+  public synchronized void addSample(final long bytes, final long millis) {
+    if (bytes < MIN_SAMPLE_BYTES || millis <= 0) {
+      return;
+    }
+
+    final double sample = bytes * 8.0 / millis;
+    kilobitsPerSecond = kilobitsPerSecond < 0
+      ? sample
+      : SAMPLE_WEIGHT * sample + (1 - SAMPLE_WEIGHT) * kilobitsPerSecond;
+  }
+
+  /**
+   * The estimated throughput, or -1 if nothing has been sampled yet.
+   */
+  public synchronized double kilobitsPerSecond() {
+    return kilobitsPerSecond;
+  }
+
+  public synchronized @NonNull Quality quality() {
+    if (kilobitsPerSecond < 0) {
+      return Quality.UNKNOWN;
+    } else if (kilobitsPerSecond < POOR_KILOBITS_PER_SECOND) {
+      return Quality.POOR;
+    } else if (kilobitsPerSecond < GOOD_KILOBITS_PER_SECOND) {
+      return Quality.MODERATE;
+    }
+    return Quality.GOOD;
+  }
+}
@@ -0,0 +1,280 @@
+package com.kickstarter.libs;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import rx.functions.Func1;
+
+/**
+ * The pages loaded by a windowed {@link ApiPaginator}. Only the pages within `windowSize` pages of the visible position
+ * keep their items in memory. Every other page is evicted down to a placeholder that remembers how many rows it had and
+ * the path it was loaded from, so that its rows keep their positions (as `null`s) and it can be loaded again when the
+ * user scrolls back to it.
+ *
+ * All methods are synchronized, as pages arrive on network threads while the visible position comes from the main
+ * thread. The lists returned are immutable snapshots.
+ */
+public final class PageWindow<Data> {
+  private final int windowSize;
+  private final @Nullable Func1<Data, ?> key;
+  private final List<Page> pages = new ArrayList<>();
+  private final Map<Object, Page> pageByKey = new HashMap<>();
+  private int visiblePage;
+
+  /**
+   * @param windowSize The number of pages either side of the visible page that are kept in memory.
+   * @param key        If not `null`, items whose key was already loaded on another page are dropped, as with
+   *                   {@link ChunkedList#distinctBy(Func1)}. Keys of evicted pages are kept so that this still holds
+   *                   after eviction.
+   */
+  public PageWindow(final int windowSize, final @Nullable Func1<Data, ?> key) {
+    this.windowSize = windowSize;
+    this.key = key;
+  }
+
+  /**
+   * A page that was loaded at some point. The items of evicted pages are `null`.
+   */
+  public final class Page {
+    private final int index;
+    private final @Nullable String path;
+    private @Nullable Object[] items;
+    private @NonNull Object[] keys = new Object[0];
+    private int size;
+    private boolean reloading;
+
+    private Page(final int index, final @Nullable String path) {
+      this.index = index;
+      this.path = path;
+    }
+
+    /**
+     * The pagination path the page was loaded from, or `null` for the first page.
+     */
+    public @Nullable String path() {
+      return path;
+    }
+  }
+
+  /**
+   * Appends a newly loaded page, evicting any pages that are now outside of the window.
+   */
+  public synchronized void add(final @NonNull List<Data> items, final @Nullable String path) {
+    if (!items.isEmpty()) {
+      final Page page = new Page(pages.size(), path);
+      pages.add(page);
+      fill(page, items);
+      evictOutsideWindow();
+    }
+  }
+
+  /**
+   * Moves the window so that it is centred on the page containing `position`. Returns `true` if any pages were evicted
+   * as a result.
+   */
+  public synchronized boolean moveTo(final int position) {
+    visiblePage = pageContaining(position);
+    return evictOutsideWindow();
+  }
+
+  /**
+   * Evicted pages that are back inside the window and aren't already being reloaded. Each page is marked as reloading
+   * until {@link #reloaded(Page, List)} or {@link #reloadFinished(Page)} is called for it.
+   */
+  public synchronized @NonNull List<Page> pagesToReload() {
+    final List<Page> toReload = new ArrayList<>();
+    for (final Page page : pages) {
+      if (page.items == null && !page.reloading && isInWindow(page)) {
+        page.reloading = true;
+        toReload.add(page);
+      }
+    }
+    return toReload;
+  }
+
+  /**
+   * Refills a reloaded page, unless the window has moved away from it in the meantime. The page may come back with a
+   * different number of rows than it had before.
+   */
+  public synchronized void reloaded(final @NonNull Page page, final @NonNull List<Data> items) {
+    page.reloading = false;
+    if (page.items == null && isInWindow(page)) {
+      fill(page, items);
+    }
+  }
+
+  /**
+   * Marks a page as no longer reloading, e.g. because its request failed, so that it is retried the next time the
+   * window moves.
+   */
+  public synchronized void reloadFinished(final @NonNull Page page) {
+    page.reloading = false;
+  }
+
+  /**
+   * Records the pages loaded so far, or returns `null` if none have been.
+   */
+  @SuppressWarnings("unchecked")
+  synchronized @Nullable SavedPages save(final @NonNull Func1<Data, Long> id, final @Nullable String morePath) {
+    if (pages.isEmpty()) {
+      return null;
+    }
+
+    final String[] paths = new String[pages.size()];
+    final int[] sizes = new int[pages.size()];
+    final boolean[] inMemory = new boolean[pages.size()];
+    final List<Long> ids = new ArrayList<>();
+    for (final Page page : pages) {
+      paths[page.index] = page.path;
+      sizes[page.index] = page.size;
+      inMemory[page.index] = page.items != null;
+      if (page.items != null) {
+        for (final Object item : page.items) {
+          ids.add(id.call((Data) item));
+        }
+      }
+    }
+    return new SavedPages(paths, sizes, inMemory, SavedPages.toArray(ids), morePath, visiblePage);
+  }
+
+  /**
+   * Restores saved pages to an empty window. `items` are the items of the pages that were in memory, in order. The other
+   * pages are restored evicted, to be reloaded when the window moves to them. The keys of their items weren't saved, so
+   * items loaded later aren't checked against them.
+   */
+  synchronized void restore(final @NonNull SavedPages saved, final @NonNull List<Data> items) {
+    final List<List<Data>> savedPages = saved.pages(items);
+    for (int i = 0; i < savedPages.size(); i++) {
+      final Page page = new Page(pages.size(), saved.path(i));
+      pages.add(page);
+
+      final List<Data> pageItems = savedPages.get(i);
+      if (pageItems != null) {
+        fill(page, pageItems);
+      } else {
+        page.size = saved.size(i);
+      }
+    }
+    visiblePage = saved.visiblePage();
+  }
+
+  /**
+   * Every row loaded so far, with `null` for the rows of evicted pages.
+   */
+  public synchronized @NonNull List<Data> rows() {
+    final Object[][] items = new Object[pages.size()][];
+    final int[] ends = new int[pages.size()];
+    int size = 0;
+    for (int i = 0; i < pages.size(); i++) {
+      final Page page = pages.get(i);
+      items[i] = page.items;
+      size += page.size;
+      ends[i] = size;
+    }
+    return new Rows<>(items, ends);
+  }
+
+  private boolean isInWindow(final @NonNull Page page) {
+    return Math.abs(page.index - visiblePage) <= windowSize;
+  }
+
+  private boolean evictOutsideWindow() {
+    boolean evicted = false;
+    for (final Page page : pages) {
+      if (page.items != null && !isInWindow(page)) {
+        page.items = null;
+        evicted = true;
+      }
+    }
+    return evicted;
+  }
+
+  private int pageContaining(final int position) {
+    int end = 0;
+    for (final Page page : pages) {
+      end += page.size;
+      if (position < end) {
+        return page.index;
+      }
+    }
+    return Math.max(0, pages.size() - 1);
+  }
+
+  /**
+   * Sets the items of a page, dropping any whose key belongs to another page.
+   */
+  private void fill(final @NonNull Page page, final @NonNull List<Data> items) {
+    if (key == null) {
+      page.items = items.toArray();
+      page.size = page.items.length;
+      return;
+    }
+
+    for (final Object oldKey : page.keys) {
+      if (pageByKey.get(oldKey) == page) {
+        pageByKey.remove(oldKey);
+      }
+    }
+
+    final Object[] distinctItems = new Object[items.size()];
+    final Object[] keys = new Object[items.size()];
+    int count = 0;
+    for (final Data item : items) {
+      final Object itemKey = key.call(item);
+      if (!pageByKey.containsKey(itemKey)) {
+        pageByKey.put(itemKey, page);
+        distinctItems[count] = item;
+        keys[count] = itemKey;
+        count++;
+      }
+    }
+
+    page.items = Arrays.copyOf(distinctItems, count);
+    page.keys = Arrays.copyOf(keys, count);
+    page.size = count;
+  }
+
+  private static final class Rows<Data> extends AbstractList<Data> {
+    private final @NonNull Object[][] items;
+    private final @NonNull int[] ends;
+
+    Rows(final @NonNull Object[][] items, final @NonNull int[] ends) {
+      this.items = items;
+      this.ends = ends;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @Nullable Data get(final int index) {
+      if (index < 0 || index >= size()) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+      }
+
+      int low = 0;
+      int high = ends.length - 1;
+      while (low < high) {
+        final int mid = (low + high) >>> 1;
+        if (ends[mid] <= index) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+
+      final Object[] page = items[low];
+      return page == null ? null : (Data) page[index - (low == 0 ? 0 : ends[low - 1])];
+    }
+
+    @Override
+    public int size() {
+      return ends.length == 0 ? 0 : ends[ends.length - 1];
+    }
+  }
+}
@@ -0,0 +1,138 @@
+package com.kickstarter.libs;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.zip.CRC32;
+
+import timber.log.Timber;
+
+/**
+ * A binary snapshot of a model that is also stored as JSON, e.g. the current user, so it can be rehydrated from its
+ * parcel rather than parsed. A snapshot records the length and CRC32 of the JSON it was taken from and is only read
+ * back for JSON that matches both, so the JSON stays the source of truth and a stale or missing snapshot just means
+ * parsing it as before.
+ *
+ * `Parcel` data isn't meant to outlive the platform and app that wrote it, so snapshots are also discarded when either
+ * has been updated.
+ */
+public final class ParcelSnapshot {
+  // Bumped whenever the header changes, so snapshots in an older format are discarded.
+  private static final int FORMAT_VERSION = 2;
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final @NonNull File file;
+  private final int appVersion;
+
+  public ParcelSnapshot(final @NonNull File file, final int appVersion) {
+    this.file = file;
+    this.appVersion = appVersion;
+  }
+
+  /**
+   * Returns the snapshot if it was taken from `json` and holds a `T`, otherwise `null`.
+   */
+  public @Nullable <T extends Parcelable> T read(final @NonNull String json, final @NonNull Class<T> type) {
+    if (!file.exists()) {
+      return null;
+    }
+
+    final byte[] bytes;
+    try {
+      final DataInputStream input = new DataInputStream(new FileInputStream(file));
+      try {
+        if (input.readInt() != FORMAT_VERSION
+          || input.readInt() != android.os.Build.VERSION.SDK_INT
+          || input.readInt() != appVersion
+          || input.readInt() != json.length()
+          || input.readLong() != checksum(json)) {
+          return null;
+        }
+        bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+      } finally {
+        input.close();
+      }
+    } catch (final IOException e) {
+      Timber.e(e, "Failed to read snapshot %s", file.getName());
+      return null;
+    }
+
+    final Parcel parcel = Parcel.obtain();
+    try {
+      parcel.unmarshall(bytes, 0, bytes.length);
+      parcel.setDataPosition(0);
+      final Parcelable value = parcel.readParcelable(type.getClassLoader());
+      return type.isInstance(value) ? type.cast(value) : null;
+    } catch (final RuntimeException e) {
+      Timber.e(e, "Failed to unparcel snapshot %s", file.getName());
+      return null;
+    } finally {
+      parcel.recycle();
+    }
+  }
+
+  /**
+   * Replaces the snapshot with one of `value`, which was stored as `json`.
+   */
+  public void write(final @NonNull String json, final @NonNull Parcelable value) {
+    final Parcel parcel = Parcel.obtain();
+    final byte[] bytes;
+    try {
+      parcel.writeParcelable(value, 0);
+      bytes = parcel.marshall();
+    } finally {
+      parcel.recycle();
+    }
+
+    // Written to a temporary file and renamed, so a snapshot is never read half written.
+    final File temporary = new File(file.getPath() + ".tmp");
+    try {
+      final File directory = file.getParentFile();
+      if (directory != null && !directory.exists() && !directory.mkdirs()) {
+        throw new IOException("Failed to create " + directory);
+      }
+
+      final DataOutputStream output = new DataOutputStream(new FileOutputStream(temporary));
+      try {
+        output.writeInt(FORMAT_VERSION);
+        output.writeInt(android.os.Build.VERSION.SDK_INT);
+        output.writeInt(appVersion);
+        output.writeInt(json.length());
+        output.writeLong(checksum(json));
+        output.writeInt(bytes.length);
+        output.write(bytes);
+      } finally {
+        output.close();
+      }
+
+      if (!temporary.renameTo(file)) {
+        throw new IOException("Failed to rename " + temporary);
+      }
+    } catch (final IOException e) {
+      Timber.e(e, "Failed to write snapshot %s", file.getName());
+      delete();
+    }
+  }
+
+  private static long checksum(final @NonNull String json) {
+    final CRC32 crc = new CRC32();
+    crc.update(json.getBytes(UTF_8));
+    return crc.getValue();
+  }
+
+  public void delete() {
+    if (file.exists() && !file.delete()) {
+      Timber.e("Failed to delete snapshot %s", file.getName());
+    }
+  }
+}
@@ -0,0 +1,298 @@
+package com.kickstarter.libs;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves paths to routes with a trie of path segments compiled from route templates, so that a path is resolved
+ * against every route in a single pass over its segments instead of one regular expression per route.
+ *
+ * Template segments are either a literal, e.g. `posts`, or a typed parameter:
+ * - `:name` matches one or more of `a-z`, `A-Z`, `0-9`, `_` and `-`,
+ * - `:name?` is the same, but the segment may be left out,
+ * - `#name` matches one or more digits,
+ * - `*name` must be last and matches the rest of the path, which may be empty or contain slashes.
+ * A template ending in `/?` also matches its path with a trailing slash.
+ *
+ * A path can match several routes, e.g. `/projects/:creator?/:project` and `/projects/:project/posts` both match
+ * `/projects/creator/posts`, so every match is returned. Routers are immutable and can be shared between threads.
+ */
+public final class PathRouter<T> {
+  private final @NonNull Node<T> root;
+
+  private PathRouter(final @NonNull Node<T> root) {
+    this.root = root;
+  }
+
+  public static final class Builder<T> {
+    private final @NonNull Node<T> root = new Node<>();
+
+    /**
+     * Adds a route for `template`. Routes with the same template are all matched.
+     */
+    public @NonNull Builder<T> add(final @NonNull String template, final @NonNull T route) {
+      if (!template.startsWith("/")) {
+        throw new IllegalArgumentException("Template must start with a slash: " + template);
+      }
+
+      final boolean optionalTrailingSlash = template.endsWith("/?");
+      final String path = optionalTrailingSlash ? template.substring(0, template.length() - 2) : template;
+      final List<String> segments = Arrays.asList(path.substring(1).split("/", -1));
+
+      for (final List<String> variant : variants(segments, 0)) {
+        addVariant(template, variant, route, optionalTrailingSlash);
+      }
+      return this;
+    }
+
+    public @NonNull PathRouter<T> build() {
+      return new PathRouter<>(root);
+    }
+
+    private void addVariant(final @NonNull String template, final @NonNull List<String> segments,
+      final @NonNull T route, final boolean optionalTrailingSlash) {
+      final List<String> names = new ArrayList<>();
+      Node<T> node = root;
+
+      for (int i = 0; i < segments.size(); i++) {
+        final String segment = segments.get(i);
+        if (segment.isEmpty()) {
+          throw new IllegalArgumentException("Template has an empty segment: " + template);
+        }
+
+        switch (segment.charAt(0)) {
+          case '*':
+            if (i != segments.size() - 1) {
+              throw new IllegalArgumentException("Template has segments after its rest: " + template);
+            }
+            names.add(segment.substring(1));
+            node.rests.add(new Entry<>(route, names));
+            return;
+          case ':':
+            names.add(segment.substring(1));
+            if (node.text == null) {
+              node.text = new Node<>();
+            }
+            node = node.text;
+            break;
+          case '#':
+            names.add(segment.substring(1));
+            if (node.number == null) {
+              node.number = new Node<>();
+            }
+            node = node.number;
+            break;
+          default:
+            Node<T> child = node.literals.get(segment);
+            if (child == null) {
+              child = new Node<>();
+              node.literals.put(segment, child);
+            }
+            node = child;
+        }
+      }
+
+      final Entry<T> entry = new Entry<>(route, names);
+      node.ends.add(entry);
+      if (optionalTrailingSlash) {
+        node.endsWithSlash.add(entry);
+      }
+    }
+
+    /**
+     * Expands the optional segments of a template into every template it stands for.
+     */
+    private static @NonNull List<List<String>> variants(final @NonNull List<String> segments, final int from) {
+      if (from == segments.size()) {
+        final List<List<String>> variants = new ArrayList<>();
+        variants.add(new ArrayList<>());
+        return variants;
+      }
+
+      final String segment = segments.get(from);
+      final boolean optional = segment.startsWith(":") && segment.endsWith("?");
+      final String required = optional ? segment.substring(0, segment.length() - 1) : segment;
+
+      final List<List<String>> variants = new ArrayList<>();
+      for (final List<String> rest : variants(segments, from + 1)) {
+        final List<String> withSegment = new ArrayList<>(rest);
+        withSegment.add(0, required);
+        variants.add(withSegment);
+        if (optional) {
+          variants.add(rest);
+        }
+      }
+      return variants;
+    }
+  }
+
+  /**
+   * A route matched by a path, with the values of its template's parameters.
+   */
+  public static final class Match<T> {
+    private final @NonNull T route;
+    private final @NonNull List<String> names;
+    private final @NonNull String[] values;
+
+    private Match(final @NonNull T route, final @NonNull List<String> names, final @NonNull String[] values) {
+      this.route = route;
+      this.names = names;
+      this.values = values;
+    }
+
+    public @NonNull T route() {
+      return route;
+    }
+
+    /**
+     * Returns the value of the parameter `name`, or `null` if the route's template has no such parameter.
+     */
+    public @Nullable String param(final @NonNull String name) {
+      final int index = names.indexOf(name);
+      return index < 0 ? null : values[index];
+    }
+
+    /**
+     * Returns the value of the number parameter `name`, or `null` if the route's template has no such parameter or
+     * its value is too large.
+     */
+    public @Nullable Long number(final @NonNull String name) {
+      final String value = param(name);
+      if (value == null) {
+        return null;
+      }
+
+      try {
+        return Long.valueOf(value);
+      } catch (final NumberFormatException e) {
+        return null;
+      }
+    }
+
+    @Override
+    public @NonNull String toString() {
+      return route + Arrays.toString(values);
+    }
+  }
+
+  /**
+   * Returns every route that `path` matches, in no particular order.
+   */
+  public @NonNull List<Match<T>> resolve(final @NonNull String path) {
+    if (!path.startsWith("/")) {
+      return Collections.emptyList();
+    }
+
+    final List<Match<T>> matches = new ArrayList<>(1);
+    walk(root, path, 1, new ArrayList<>(), matches);
+    return matches;
+  }
+
+  /**
+   * Matches the segment of `path` starting at `start`, which follows a slash, against the children of `node`.
+   */
+  private static <T> void walk(final @NonNull Node<T> node, final @NonNull String path, final int start,
+    final @NonNull List<String> values, final @NonNull List<Match<T>> matches) {
+
+    if (!node.rests.isEmpty()) {
+      values.add(path.substring(start));
+      addMatches(node.rests, values, matches);
+      values.remove(values.size() - 1);
+    }
+
+    final int slash = path.indexOf('/', start);
+    final int end = slash < 0 ? path.length() : slash;
+
+    if (start == end) {
+      if (slash < 0) {
+        addMatches(node.endsWithSlash, values, matches);
+      }
+      // Parameters and literals can't be empty.
+      return;
+    }
+
+    final Node<T> literal = node.literals.get(path.substring(start, end));
+    if (literal != null) {
+      walkChild(literal, path, slash, values, matches);
+    }
+
+    if (node.text != null && isText(path, start, end)) {
+      values.add(path.substring(start, end));
+      walkChild(node.text, path, slash, values, matches);
+      values.remove(values.size() - 1);
+    }
+
+    if (node.number != null && isNumber(path, start, end)) {
+      values.add(path.substring(start, end));
+      walkChild(node.number, path, slash, values, matches);
+      values.remove(values.size() - 1);
+    }
+  }
+
+  private static <T> void walkChild(final @NonNull Node<T> child, final @NonNull String path, final int slash,
+    final @NonNull List<String> values, final @NonNull List<Match<T>> matches) {
+    if (slash < 0) {
+      addMatches(child.ends, values, matches);
+    } else {
+      walk(child, path, slash + 1, values, matches);
+    }
+  }
+
+  private static <T> void addMatches(final @NonNull List<Entry<T>> entries, final @NonNull List<String> values,
+    final @NonNull List<Match<T>> matches) {
+    for (final Entry<T> entry : entries) {
+      matches.add(new Match<>(entry.route, entry.names, values.toArray(new String[values.size()])));
+    }
+  }
+
+  private static boolean isText(final @NonNull String path, final int start, final int end) {
+    for (int i = start; i < end; i++) {
+      final char c = path.charAt(i);
+      if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-')) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isNumber(final @NonNull String path, final int start, final int end) {
+    for (int i = start; i < end; i++) {
+      final char c = path.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static final class Node<T> {
+    private final @NonNull Map<String, Node<T>> literals = new HashMap<>();
+    private @Nullable Node<T> text;
+    private @Nullable Node<T> number;
+
+    /**
+     * Routes whose templates end at this node, end at this node with a trailing slash, or match the rest of the path
+     * after this node.
+     */
+    private final @NonNull List<Entry<T>> ends = new ArrayList<>();
+    private final @NonNull List<Entry<T>> endsWithSlash = new ArrayList<>();
+    private final @NonNull List<Entry<T>> rests = new ArrayList<>();
+  }
+
+  private static final class Entry<T> {
+    private final @NonNull T route;
+    private final @NonNull List<String> names;
+
+    private Entry(final @NonNull T route, final @NonNull List<String> names) {
+      this.route = route;
+      this.names = new ArrayList<>(names);
+    }
+  }
+}
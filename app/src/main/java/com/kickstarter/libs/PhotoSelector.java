@@ -0,0 +1,113 @@
+package com.kickstarter.libs;
+
+import android.support.annotation.NonNull;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import com.kickstarter.models.Photo;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import rx.functions.Func1;
+
+/**
+ * Picks which of a {@link Photo}'s variants to load into a view: the smallest one that is at least as wide as the view
+ * in pixels, so that dense screens get sharp images and small views don't download a full size photo only to scale it
+ * down on device. On slow networks a variant that covers less of the view is accepted, as an image that is slightly
+ * soft but arrives quickly beats a sharp one that pops in late.
+ */
+public final class PhotoSelector {
+  // Variants from smallest to largest, with the width each is rendered at by the API.
+  private static final Variant[] VARIANTS = {
+    new Variant(Photo::thumb, 48),
+    new Variant(Photo::small, 160),
+    new Variant(Photo::little, 208),
+    new Variant(Photo::med, 272),
+    new Variant(Photo::ed, 352),
+    new Variant(Photo::full, 560)
+  };
+
+  private static final Pattern WIDTH_PATTERN = Pattern.compile("[?&]w=(\\d+)");
+
+  private final NetworkThroughput throughput;
+
+  public PhotoSelector(final @NonNull NetworkThroughput throughput) {
+    this.throughput = throughput;
+  }
+
+  /**
+   * Returns the url of the variant to load into an image view. If the view hasn't been laid out yet its layout width is
+   * used, falling back to the width of the screen for views that match their parent.
+   */
+  public @NonNull String url(final @NonNull Photo photo, final @NonNull ImageView imageView) {
+    return url(photo, targetWidth(imageView));
+  }
+
+  /**
+   * Returns the url of the smallest variant at least `targetWidth` pixels wide, allowing for the current network
+   * quality, or the largest variant if none are wide enough.
+   */
+  public @NonNull String url(final @NonNull Photo photo, final int targetWidth) {
+    return url(photo, targetWidth, throughput.quality());
+  }
+
+  static @NonNull String url(final @NonNull Photo photo, final int targetWidth,
+    final @NonNull NetworkThroughput.Quality quality) {
+    final int requiredWidth = (int) Math.ceil(targetWidth * coverage(quality));
+
+    String url = null;
+    for (final Variant variant : VARIANTS) {
+      url = variant.url.call(photo);
+      if (width(url, variant.width) >= requiredWidth) {
+        return url;
+      }
+    }
+    return url;
+  }
+
+  /**
+   * The fraction of the target width a variant must cover on a network of the given quality.
+   */
+  static double coverage(final @NonNull NetworkThroughput.Quality quality) {
+    switch (quality) {
+      case POOR:
+        return 0.5;
+      case MODERATE:
+        return 0.75;
+      default:
+        return 1.0;
+    }
+  }
+
+  /**
+   * The width a variant's url asks for, e.g. `w=560` on an imgix url, or `nominalWidth` if it doesn't say.
+   */
+  static int width(final @NonNull String url, final int nominalWidth) {
+    final Matcher matcher = WIDTH_PATTERN.matcher(url);
+    return matcher.find() ? Integer.parseInt(matcher.group(1)) : nominalWidth;
+  }
+
+  private static int targetWidth(final @NonNull ImageView imageView) {
+    if (imageView.getWidth() > 0) {
+      return imageView.getWidth();
+    }
+
+    final ViewGroup.LayoutParams params = imageView.getLayoutParams();
+    if (params != null && params.width > 0) {
+      return params.width;
+    }
+
+    return imageView.getResources().getDisplayMetrics().widthPixels;
+  }
+
+  private static final class Variant {
+    private final Func1<Photo, String> url;
+    private final int width;
+
+    Variant(final @NonNull Func1<Photo, String> url, final int width) {
+      this.url = url;
+      this.width = width;
+    }
+  }
+}
@@ -0,0 +1,224 @@
+package com.kickstarter.libs;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.kickstarter.models.Category;
+import com.kickstarter.models.Project;
+import com.kickstarter.models.User;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * An in-memory index of the projects the app has loaded, so that search can show matching projects as the user types
+ * rather than only once a request to the server comes back.
+ *
+ * Projects are indexed by the words of their name, blurb, creator's name and category, ignoring case and accents. Every
+ * word of a query must be the start of one of a project's words, e.g. "tab gam" matches "Tabletop Games". Matches in
+ * the name rank above matches in the creator or category, which rank above matches in the blurb.
+ *
+ * Only the most recently indexed projects are kept. Methods are synchronized, as projects are indexed as they arrive
+ * from the network while searches come from the main thread.
+ */
+public final class ProjectSearchIndex {
+  private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+  private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+  private static final int NAME_WEIGHT = 4;
+  private static final int CREATOR_WEIGHT = 2;
+  private static final int CATEGORY_WEIGHT = 2;
+  private static final int BLURB_WEIGHT = 1;
+
+  private final int maxProjects;
+
+  /**
+   * Projects by id, least recently indexed first.
+   */
+  private final LinkedHashMap<Long, Project> projects = new LinkedHashMap<>();
+
+  /**
+   * For each word, the ids of the projects that contain it and the weight of the most important field it is in.
+   */
+  private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+  private final Map<Long, Set<String>> wordsById = new HashMap<>();
+
+  public ProjectSearchIndex(final int maxProjects) {
+    this.maxProjects = maxProjects;
+  }
+
+  /**
+   * Adds `projects` to the index, replacing any older versions of them.
+   */
+  public synchronized void index(final @NonNull List<Project> projects) {
+    for (final Project project : projects) {
+      remove(project.id());
+
+      final Map<String, Integer> weights = new HashMap<>();
+      addWords(weights, project.name(), NAME_WEIGHT);
+      addWords(weights, project.blurb(), BLURB_WEIGHT);
+
+      final User creator = project.creator();
+      if (creator != null) {
+        addWords(weights, creator.name(), CREATOR_WEIGHT);
+      }
+
+      final Category category = project.category();
+      if (category != null) {
+        addWords(weights, category.name(), CATEGORY_WEIGHT);
+        final Category root = category.root();
+        if (root != null && root != category) {
+          addWords(weights, root.name(), CATEGORY_WEIGHT);
+        }
+      }
+
+      for (final Map.Entry<String, Integer> weight : weights.entrySet()) {
+        Map<Long, Integer> ids = postings.get(weight.getKey());
+        if (ids == null) {
+          ids = new HashMap<>();
+          postings.put(weight.getKey(), ids);
+        }
+        ids.put(project.id(), weight.getValue());
+      }
+      wordsById.put(project.id(), weights.keySet());
+      this.projects.put(project.id(), project);
+    }
+
+    final Iterator<Long> oldest = this.projects.keySet().iterator();
+    while (this.projects.size() > maxProjects) {
+      final long id = oldest.next();
+      oldest.remove();
+      removeWords(id);
+    }
+  }
+
+  /**
+   * Returns up to `limit` projects matching `query`, best matches first.
+   */
+  public synchronized @NonNull List<Project> search(final @NonNull String query, final int limit) {
+    final List<String> words = words(query);
+    if (words.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    Map<Long, Integer> scores = null;
+    for (final String word : words) {
+      final Map<Long, Integer> wordScores = prefixScores(word);
+      if (scores == null) {
+        scores = wordScores;
+      } else {
+        final Map<Long, Integer> combined = new HashMap<>();
+        for (final Map.Entry<Long, Integer> score : scores.entrySet()) {
+          final Integer wordScore = wordScores.get(score.getKey());
+          if (wordScore != null) {
+            combined.put(score.getKey(), score.getValue() + wordScore);
+          }
+        }
+        scores = combined;
+      }
+
+      if (scores.isEmpty()) {
+        return Collections.emptyList();
+      }
+    }
+
+    final List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(scores.entrySet());
+    Collections.sort(ranked, (a, b) -> {
+      final int byScore = b.getValue().compareTo(a.getValue());
+      return byScore != 0 ? byScore : projects.get(a.getKey()).name().compareTo(projects.get(b.getKey()).name());
+    });
+
+    final List<Project> results = new ArrayList<>(Math.min(limit, ranked.size()));
+    for (int i = 0; i < ranked.size() && i < limit; i++) {
+      results.add(projects.get(ranked.get(i).getKey()));
+    }
+    return results;
+  }
+
+  /**
+   * Removes every project, e.g. when the user logs out.
+   */
+  public synchronized void clear() {
+    projects.clear();
+    postings.clear();
+    wordsById.clear();
+  }
+
+  /**
+   * Splits `text` into lowercase words without accents.
+   */
+  static @NonNull List<String> words(final @Nullable String text) {
+    if (text == null) {
+      return Collections.emptyList();
+    }
+
+    final String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+      .toLowerCase(Locale.US);
+    final List<String> words = new ArrayList<>();
+    for (final String word : SEPARATORS.split(folded)) {
+      if (!word.isEmpty()) {
+        words.add(word);
+      }
+    }
+    return words;
+  }
+
+  /**
+   * The best weight of each project that has a word starting with `prefix`.
+   */
+  private @NonNull Map<Long, Integer> prefixScores(final @NonNull String prefix) {
+    final Map<Long, Integer> scores = new HashMap<>();
+    for (final Map<Long, Integer> ids : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+      for (final Map.Entry<Long, Integer> id : ids.entrySet()) {
+        final Integer score = scores.get(id.getKey());
+        if (score == null || score < id.getValue()) {
+          scores.put(id.getKey(), id.getValue());
+        }
+      }
+    }
+    return scores;
+  }
+
+  private static void addWords(final @NonNull Map<String, Integer> weights, final @Nullable String text,
+    final int weight) {
+    for (final String word : words(text)) {
+      final Integer existing = weights.get(word);
+      if (existing == null || existing < weight) {
+        weights.put(word, weight);
+      }
+    }
+  }
+
+  private void remove(final long id) {
+    if (projects.remove(id) != null) {
+      removeWords(id);
+    }
+  }
+
+  private void removeWords(final long id) {
+    final Set<String> words = wordsById.remove(id);
+    if (words == null) {
+      return;
+    }
+
+    for (final String word : words) {
+      final Map<Long, Integer> ids = postings.get(word);
+      if (ids != null) {
+        ids.remove(id);
+        if (ids.isEmpty()) {
+          postings.remove(word);
+        }
+      }
+    }
+  }
+}
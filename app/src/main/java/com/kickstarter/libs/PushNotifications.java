@@ -1,6 +1,5 @@
 package com.kickstarter.libs;
 
-import android.app.Notification;
 import android.app.NotificationManager;
 import android.app.PendingIntent;
 import android.content.Context;
@@ -11,13 +10,13 @@ import android.support.annotation.Nullable;
 import android.support.v4.app.NotificationCompat;
 import android.support.v4.app.TaskStackBuilder;
 import android.support.v4.content.ContextCompat;
+import android.support.v4.util.LruCache;
 import android.util.Pair;
 
 import com.kickstarter.R;
 import com.kickstarter.libs.qualifiers.ApplicationContext;
 import com.kickstarter.libs.rx.transformers.Transformers;
 import com.kickstarter.libs.transformations.CircleTransformation;
-import com.kickstarter.libs.transformations.CropSquareTransformation;
 import com.kickstarter.libs.utils.ObjectUtils;
 import com.kickstarter.models.Update;
 import com.kickstarter.models.pushdata.Activity;
@@ -31,55 +30,112 @@ import com.squareup.picasso.Picasso;
 import com.squareup.picasso.RequestCreator;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import rx.Observable;
+import rx.Scheduler;
 import rx.schedulers.Schedulers;
 import rx.subjects.PublishSubject;
 import rx.subscriptions.CompositeSubscription;
 import timber.log.Timber;
 
 public final class PushNotifications {
+  /**
+   * Notifications for the same project that arrive within this window of the first, e.g. a burst of backings, are
+   * added to the first's notification once the window closes.
+   */
+  private static final long COALESCE_WINDOW_MILLIS = 3000;
+
+  /**
+   * Notifications are built on a fixed pool of workers, as building one blocks while its large icon loads.
+   */
+  private static final int WORKER_COUNT = 2;
+
+  /**
+   * Batches waiting for a worker beyond this many are dropped rather than piling up while icons load.
+   */
+  private static final int MAX_PENDING_BATCHES = 16;
+
+  private static final int LARGE_ICON_CACHE_BYTES = 4 * 1024 * 1024;
+
+  /**
+   * Coalescing keys whose latest shown batch is remembered, which only needs to outlast the batches still being built.
+   */
+  private static final int SHOWN_BATCHES_CACHE_SIZE = 64;
+
   private final @ApplicationContext Context context;
   private final ApiClientType client;
   private final DeviceRegistrarType deviceRegistrar;
 
+  private final Scheduler windowScheduler;
+  private final Scheduler workers;
+
   private final PublishSubject<PushNotificationEnvelope> notifications = PublishSubject.create();
   private final CompositeSubscription subscriptions = new CompositeSubscription();
 
+  /**
+   * The sequence number of the latest batch shown for each coalescing key. Batches are built concurrently, so a slow
+   * batch must not replace a later one for the same key, e.g. the first notification of a burst replacing the burst.
+   */
+  private final LruCache<Object, Long> shownBatches = new LruCache<>(SHOWN_BATCHES_CACHE_SIZE);
+  private long batchCount;
+  private final LruCache<String, Bitmap> largeIcons = new LruCache<String, Bitmap>(LARGE_ICON_CACHE_BYTES) {
+    @Override
+    protected int sizeOf(final @NonNull String key, final @NonNull Bitmap bitmap) {
+      return bitmap.getByteCount();
+    }
+  };
+
   public PushNotifications(final @ApplicationContext @NonNull Context context, final @NonNull ApiClientType client,
     final @NonNull DeviceRegistrarType deviceRegistrar) {
 
+    this(context, client, deviceRegistrar, Schedulers.computation(),
+      Schedulers.from(Executors.newFixedThreadPool(WORKER_COUNT)));
+  }
+
+  /**
+   * @param windowScheduler Closes coalescing windows. It's kept apart from `workers` so that windows close on time
+   *                        while the workers are blocked loading icons.
+   * @param workers         Builds and shows notifications.
+   */
+  PushNotifications(final @ApplicationContext @NonNull Context context, final @NonNull ApiClientType client,
+    final @NonNull DeviceRegistrarType deviceRegistrar, final @NonNull Scheduler windowScheduler,
+    final @NonNull Scheduler workers) {
+
     this.context = context;
     this.client = client;
     this.deviceRegistrar = deviceRegistrar;
+    this.windowScheduler = windowScheduler;
+    this.workers = workers;
   }
 
   public void initialize() {
-    subscriptions.add(notifications
-      .onBackpressureBuffer()
-      .filter(PushNotificationEnvelope::isFriendFollow)
-      .observeOn(Schedulers.newThread())
-      .subscribe(this::displayNotificationFromFriendFollowActivity));
-
-    subscriptions.add(notifications
-      .onBackpressureBuffer()
-      .filter(PushNotificationEnvelope::isProjectActivity)
-      .observeOn(Schedulers.newThread())
-      .subscribe(this::displayNotificationFromProjectActivity));
-
-    subscriptions.add(notifications
-      .onBackpressureBuffer()
-      .filter(PushNotificationEnvelope::isProjectReminder)
-      .observeOn(Schedulers.newThread())
-      .subscribe(this::displayNotificationFromProjectReminder));
-
-    subscriptions.add(notifications
-      .onBackpressureBuffer()
-      .filter(PushNotificationEnvelope::isProjectUpdateActivity)
-      .flatMap(this::fetchUpdateWithEnvelope)
-      .filter(ObjectUtils::isNotNull)
-      .observeOn(Schedulers.newThread())
-      .subscribe(envelopeAndUpdate -> displayNotificationFromUpdateActivity(envelopeAndUpdate.first, envelopeAndUpdate.second)));
+    final Observable<Pair<PushNotificationEnvelope, Update>> envelopesAndUpdates = Observable.merge(
+      notifications
+        .filter(envelope -> !envelope.isProjectUpdateActivity())
+        .map(envelope -> Pair.create(envelope, (Update) null)),
+      notifications
+        .filter(PushNotificationEnvelope::isProjectUpdateActivity)
+        .flatMap(this::fetchUpdateWithEnvelope)
+    );
+
+    subscriptions.add(envelopesAndUpdates
+      .compose(Transformers.batchByKey(envelopeAndUpdate -> coalesceKey(envelopeAndUpdate.first),
+        COALESCE_WINDOW_MILLIS, TimeUnit.MILLISECONDS, windowScheduler))
+      // Batches are emitted one at a time, so they can be numbered in the order they were made.
+      .map(batch -> Pair.create(batch, batchCount++))
+      .onBackpressureDrop(batch -> Timber.w("Dropped %d push notifications", batch.first.size()))
+      // At most MAX_PENDING_BATCHES batches are taken at once, and the workers display them in turn.
+      .flatMap(batchAndSequence -> Observable.just(batchAndSequence)
+        .subscribeOn(workers)
+        .doOnNext(bs -> displayNotification(bs.first, bs.second))
+        .doOnError(e -> Timber.e(e, "Failed to display push notifications"))
+        .compose(Transformers.neverError()),
+        MAX_PENDING_BATCHES
+      )
+      .subscribe(__ -> {}, e -> Timber.e(e, "Push notifications stopped")));
 
     deviceRegistrar.registerDevice();
   }
@@ -88,30 +144,78 @@ public final class PushNotifications {
     notifications.onNext(envelope);
   }
 
-  private void displayNotificationFromFriendFollowActivity(final @NonNull PushNotificationEnvelope envelope) {
+  /**
+   * Displays the latest notification of a batch. A batch of several notifications lists each of their alerts, and
+   * replaces the notification shown for its first one. Nothing is shown if a later batch with the same key has already
+   * been shown.
+   */
+  private void displayNotification(final @NonNull List<Pair<PushNotificationEnvelope, Update>> batch,
+    final long sequence) {
+    final Pair<PushNotificationEnvelope, Update> latest = batch.get(batch.size() - 1);
+    final PushNotificationEnvelope envelope = latest.first;
+
+    final NotificationCompat.Builder notificationBuilder = notificationBuilder(envelope, latest.second);
+    if (notificationBuilder == null) {
+      return;
+    }
+
+    if (batch.size() > 1) {
+      final NotificationCompat.InboxStyle style = new NotificationCompat.InboxStyle()
+        .setBigContentTitle(envelope.gcm().title());
+      for (final Pair<PushNotificationEnvelope, Update> envelopeAndUpdate : batch) {
+        style.addLine(envelopeAndUpdate.first.gcm().alert());
+      }
+      notificationBuilder.setStyle(style).setNumber(batch.size());
+    }
+
+    final Object key = coalesceKey(batch.get(0).first);
+    synchronized (shownBatches) {
+      final Long shownSequence = shownBatches.get(key);
+      if (shownSequence != null && shownSequence > sequence) {
+        return;
+      }
+      shownBatches.put(key, sequence);
+      notificationManager().notify(batch.get(0).first.signature(), notificationBuilder.build());
+    }
+  }
+
+  private @Nullable NotificationCompat.Builder notificationBuilder(final @NonNull PushNotificationEnvelope envelope,
+    final @Nullable Update update) {
+
+    if (envelope.isFriendFollow()) {
+      return friendFollowNotification(envelope);
+    } else if (envelope.isProjectActivity()) {
+      return projectActivityNotification(envelope);
+    } else if (envelope.isProjectReminder()) {
+      return projectReminderNotification(envelope);
+    } else if (envelope.isProjectUpdateActivity() && update != null) {
+      return updateActivityNotification(envelope, update);
+    }
+    return null;
+  }
+
+  private @Nullable NotificationCompat.Builder friendFollowNotification(final @NonNull PushNotificationEnvelope envelope) {
     final GCM gcm = envelope.gcm();
 
     final Activity activity = envelope.activity();
     if (activity == null) {
-      return;
+      return null;
     }
 
-    final Notification notification = notificationBuilder(gcm.title(), gcm.alert())
-      .setLargeIcon(fetchBitmap(activity.userPhoto(), true))
-      .build();
-    notificationManager().notify(envelope.signature(), notification);
+    return notificationBuilder(gcm.title(), gcm.alert())
+      .setLargeIcon(fetchBitmap(activity.userPhoto(), true));
   }
 
-  private void displayNotificationFromProjectActivity(final @NonNull PushNotificationEnvelope envelope) {
+  private @Nullable NotificationCompat.Builder projectActivityNotification(final @NonNull PushNotificationEnvelope envelope) {
     final GCM gcm = envelope.gcm();
 
     final Activity activity = envelope.activity();
     if (activity == null) {
-      return;
+      return null;
     }
     final Long projectId = activity.projectId();
     if (projectId == null) {
-      return;
+      return null;
     }
     final String projectPhoto = activity.projectPhoto();
 
@@ -122,50 +226,44 @@ public final class PushNotifications {
     if (projectPhoto != null) {
       notificationBuilder = notificationBuilder.setLargeIcon(fetchBitmap(projectPhoto, false));
     }
-    final Notification notification = notificationBuilder.build();
-
-    notificationManager().notify(envelope.signature(), notification);
+    return notificationBuilder;
   }
 
-  private void displayNotificationFromProjectReminder(final @NonNull PushNotificationEnvelope envelope) {
+  private @Nullable NotificationCompat.Builder projectReminderNotification(final @NonNull PushNotificationEnvelope envelope) {
     final GCM gcm = envelope.gcm();
 
     final PushNotificationEnvelope.Project project = envelope.project();
     if (project == null) {
-      return;
+      return null;
     }
 
-    final Notification notification = notificationBuilder(gcm.title(), gcm.alert())
+    return notificationBuilder(gcm.title(), gcm.alert())
       .setContentIntent(projectContentIntent(envelope, ObjectUtils.toString(project.id())))
-      .setLargeIcon(fetchBitmap(project.photo(), false))
-      .build();
-
-    notificationManager().notify(envelope.signature(), notification);
+      .setLargeIcon(fetchBitmap(project.photo(), false));
   }
 
-  private void displayNotificationFromUpdateActivity(final @NonNull PushNotificationEnvelope envelope, final @NonNull Update update) {
+  private @Nullable NotificationCompat.Builder updateActivityNotification(final @NonNull PushNotificationEnvelope envelope,
+    final @NonNull Update update) {
     final GCM gcm = envelope.gcm();
 
     final Activity activity = envelope.activity();
     if (activity == null) {
-      return;
+      return null;
     }
     final Long updateId = activity.updateId();
     if (updateId == null) {
-      return;
+      return null;
     }
     final Long projectId = activity.projectId();
     if (projectId == null) {
-      return;
+      return null;
     }
 
     final String projectParam = ObjectUtils.toString(projectId);
 
-    final Notification notification = notificationBuilder(gcm.title(), gcm.alert())
+    return notificationBuilder(gcm.title(), gcm.alert())
       .setContentIntent(projectUpdateContentIntent(envelope, update, projectParam))
-      .setLargeIcon(fetchBitmap(activity.projectPhoto(), false))
-      .build();
-    notificationManager().notify(envelope.signature(), notification);
+      .setLargeIcon(fetchBitmap(activity.projectPhoto(), false));
   }
 
   private @NonNull NotificationCompat.Builder notificationBuilder(final @NonNull String title, final @NonNull String text) {
@@ -210,36 +308,61 @@ public final class PushNotifications {
       return null;
     }
 
+    // Avatars and project photos repeat across notifications, e.g. every backing of the same project.
+    final String key = transformIntoCircle ? url + "#circle" : url;
+    final Bitmap cached = largeIcons.get(key);
+    if (cached != null) {
+      return cached;
+    }
+
     try {
-      RequestCreator requestCreator = Picasso.with(context).load(url).transform(new CropSquareTransformation());
+      // Push payloads only carry a single photo url, so the variant can't be chosen, but decoding straight to the large
+      // icon's size keeps a full size bitmap from being held while the notification is built.
+      final int size = context.getResources().getDimensionPixelSize(android.R.dimen.notification_large_icon_width);
+      RequestCreator requestCreator = Picasso.with(context).load(url).resize(size, size).centerCrop();
       if (transformIntoCircle) {
         requestCreator = requestCreator.transform(new CircleTransformation());
       }
-      return requestCreator.get();
+      final Bitmap bitmap = requestCreator.get();
+      if (bitmap != null) {
+        largeIcons.put(key, bitmap);
+      }
+      return bitmap;
     } catch (IOException e) {
       Timber.e("Failed to load large icon: %s",  e);
       return null;
     }
   }
 
+  /**
+   * Notifications about the same project are coalesced, anything else only with repeats of itself.
+   */
+  private static @NonNull Object coalesceKey(final @NonNull PushNotificationEnvelope envelope) {
+    final Activity activity = envelope.activity();
+    final PushNotificationEnvelope.Project project = envelope.project();
+
+    final Long projectId = activity != null ? activity.projectId() : project != null ? project.id() : null;
+    return projectId != null ? projectId : envelope.signature();
+  }
+
   private @NonNull NotificationManager notificationManager() {
     return (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
   }
 
-  private @Nullable Observable<Pair<PushNotificationEnvelope, Update>> fetchUpdateWithEnvelope(final @NonNull PushNotificationEnvelope envelope) {
+  private @NonNull Observable<Pair<PushNotificationEnvelope, Update>> fetchUpdateWithEnvelope(final @NonNull PushNotificationEnvelope envelope) {
     final Activity activity = envelope.activity();
     if (activity == null) {
-      return null;
+      return Observable.empty();
     }
 
     final Long updateId = activity.updateId();
     if (updateId == null) {
-      return null;
+      return Observable.empty();
     }
 
     final Long projectId = activity.projectId();
     if (projectId == null) {
-      return null;
+      return Observable.empty();
     }
 
     final String projectParam = ObjectUtils.toString(projectId);
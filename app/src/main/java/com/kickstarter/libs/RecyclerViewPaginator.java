@@ -7,17 +7,34 @@ import android.util.Pair;
 
 import com.jakewharton.rxbinding.support.v7.widget.RxRecyclerView;
 
+import rx.Observable;
 import rx.Subscription;
 import rx.functions.Action0;
 
 public final class RecyclerViewPaginator {
+  /**
+   * A lookahead that requests the next page roughly half a screen of cards before the end of the list.
+   */
+  public static final int DEFAULT_LOOKAHEAD = 5;
+
   private final @NonNull RecyclerView recyclerView;
   private final @NonNull Action0 nextPage;
+  private final int lookahead;
   private Subscription subscription;
 
   public RecyclerViewPaginator(final @NonNull RecyclerView recyclerView, final @NonNull Action0 nextPage) {
+    this(recyclerView, nextPage, 0);
+  }
+
+  /**
+   * @param lookahead The number of items from the bottom of the list at which the next page is requested. With a
+   *                  lookahead of 0 the next page is only requested once the last item is visible.
+   */
+  public RecyclerViewPaginator(final @NonNull RecyclerView recyclerView, final @NonNull Action0 nextPage,
+    final int lookahead) {
     this.recyclerView = recyclerView;
     this.nextPage = nextPage;
+    this.lookahead = lookahead;
     start();
   }
 
@@ -28,18 +45,30 @@ public final class RecyclerViewPaginator {
   public void start() {
     stop();
 
-    subscription = RxRecyclerView.scrollEvents(recyclerView)
+    final Observable<Pair<Integer, Integer>> displayedItems = RxRecyclerView.scrollEvents(recyclerView)
       .map(__ -> recyclerView.getLayoutManager())
       .ofType(LinearLayoutManager.class)
-      .map(this::displayedItemFromLinearLayout)
+      .map(this::displayedItemFromLinearLayout);
+
+    subscription = nextPageRequests(displayedItems, lookahead)
+      .subscribe(__ -> nextPage.call());
+  }
+
+  /**
+   * Emits each (visibleItem, totalItemCount) pair that is within `lookahead` of the bottom of the list. Pairs are only
+   * dropped when they repeat, so scrolling again after a page failed to load requests it again.
+   */
+  static @NonNull Observable<Pair<Integer, Integer>> nextPageRequests(
+    final @NonNull Observable<Pair<Integer, Integer>> displayedItems, final int lookahead) {
+
+    return displayedItems
       .filter(item -> item.second != 0)
-      .filter(this::visibleItemIsCloseToBottom)
+      .filter(item -> item.first >= item.second - 1 - lookahead)
       // NB: We think this operation is suffering from back pressure problems due to the volume of scroll events:
       // https://rink.hockeyapp.net/manage/apps/239008/crash_reasons/88318986
       // If it continues to happen we can also try `debounce`.
       .onBackpressureDrop()
-      .distinctUntilChanged()
-      .subscribe(__ -> nextPage.call());
+      .distinctUntilChanged();
   }
 
   /**
@@ -60,8 +89,4 @@ public final class RecyclerViewPaginator {
   private @NonNull Pair<Integer, Integer> displayedItemFromLinearLayout(final @NonNull LinearLayoutManager manager) {
     return new Pair<>(manager.findLastVisibleItemPosition(), manager.getItemCount());
   }
-
-  private boolean visibleItemIsCloseToBottom(final @NonNull Pair<Integer, Integer> visibleItemOfTotal) {
-    return visibleItemOfTotal.first == visibleItemOfTotal.second - 1;
-  }
 }
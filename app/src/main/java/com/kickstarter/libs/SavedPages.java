@@ -0,0 +1,149 @@
+package com.kickstarter.libs;
+
+import android.os.Bundle;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Pair;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import rx.functions.Func1;
+
+/**
+ * A compact record of the pages an {@link ApiPaginator} has loaded, small enough to keep in a saved instance state
+ * `Bundle`: the path and size of each page, the ids of the items of the pages that are in memory, and the path of the
+ * next page. The items themselves are expected to be stored elsewhere, e.g. in a {@link ModelStoreType}.
+ */
+final class SavedPages {
+  private static final String PATHS_KEY = "paths";
+  private static final String SIZES_KEY = "sizes";
+  private static final String IN_MEMORY_KEY = "in_memory";
+  private static final String IDS_KEY = "ids";
+  private static final String MORE_PATH_KEY = "more_path";
+  private static final String VISIBLE_PAGE_KEY = "visible_page";
+
+  private final @NonNull String[] paths;
+  private final @NonNull int[] sizes;
+  private final @NonNull boolean[] inMemory;
+  private final @NonNull long[] ids;
+  private final @Nullable String morePath;
+  private final int visiblePage;
+
+  SavedPages(final @NonNull String[] paths, final @NonNull int[] sizes, final @NonNull boolean[] inMemory,
+    final @NonNull long[] ids, final @Nullable String morePath, final int visiblePage) {
+    this.paths = paths;
+    this.sizes = sizes;
+    this.inMemory = inMemory;
+    this.ids = ids;
+    this.morePath = morePath;
+    this.visiblePage = visiblePage;
+  }
+
+  /**
+   * Records pages that are all in memory, each paired with the path it was loaded from.
+   */
+  static @NonNull <Data> SavedPages of(final @NonNull List<Pair<List<Data>, String>> pages,
+    final @NonNull Func1<Data, Long> id, final @Nullable String morePath) {
+
+    final String[] paths = new String[pages.size()];
+    final int[] sizes = new int[pages.size()];
+    final boolean[] inMemory = new boolean[pages.size()];
+    final List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < pages.size(); i++) {
+      final Pair<List<Data>, String> page = pages.get(i);
+      paths[i] = page.second;
+      sizes[i] = page.first.size();
+      inMemory[i] = true;
+      for (final Data item : page.first) {
+        ids.add(id.call(item));
+      }
+    }
+    return new SavedPages(paths, sizes, inMemory, toArray(ids), morePath, 0);
+  }
+
+  static @Nullable SavedPages fromBundle(final @NonNull Bundle bundle) {
+    final String[] paths = bundle.getStringArray(PATHS_KEY);
+    final int[] sizes = bundle.getIntArray(SIZES_KEY);
+    final boolean[] inMemory = bundle.getBooleanArray(IN_MEMORY_KEY);
+    final long[] ids = bundle.getLongArray(IDS_KEY);
+    if (paths == null || sizes == null || inMemory == null || ids == null || paths.length == 0
+      || sizes.length != paths.length || inMemory.length != paths.length) {
+      return null;
+    }
+    return new SavedPages(paths, sizes, inMemory, ids, bundle.getString(MORE_PATH_KEY), bundle.getInt(VISIBLE_PAGE_KEY));
+  }
+
+  @NonNull Bundle toBundle() {
+    final Bundle bundle = new Bundle();
+    bundle.putStringArray(PATHS_KEY, paths);
+    bundle.putIntArray(SIZES_KEY, sizes);
+    bundle.putBooleanArray(IN_MEMORY_KEY, inMemory);
+    bundle.putLongArray(IDS_KEY, ids);
+    bundle.putString(MORE_PATH_KEY, morePath);
+    bundle.putInt(VISIBLE_PAGE_KEY, visiblePage);
+    return bundle;
+  }
+
+  int pageCount() {
+    return paths.length;
+  }
+
+  /**
+   * The pagination path page `index` was loaded from, or `null` for the first page.
+   */
+  @Nullable String path(final int index) {
+    return paths[index];
+  }
+
+  int size(final int index) {
+    return sizes[index];
+  }
+
+  boolean isInMemory(final int index) {
+    return inMemory[index];
+  }
+
+  /**
+   * Ids of the items of every page that is in memory, in order.
+   */
+  @NonNull long[] ids() {
+    return ids;
+  }
+
+  /**
+   * The path of the page after the last one, or `null` if there are no more pages.
+   */
+  @Nullable String morePath() {
+    return morePath;
+  }
+
+  int visiblePage() {
+    return visiblePage;
+  }
+
+  /**
+   * Splits the items loaded for {@link #ids()} back into pages, with `null` for the pages that aren't in memory.
+   */
+  @NonNull <Data> List<List<Data>> pages(final @NonNull List<Data> items) {
+    final List<List<Data>> pages = new ArrayList<>(paths.length);
+    int start = 0;
+    for (int i = 0; i < paths.length; i++) {
+      if (inMemory[i]) {
+        pages.add(items.subList(start, start + sizes[i]));
+        start += sizes[i];
+      } else {
+        pages.add(null);
+      }
+    }
+    return pages;
+  }
+
+  static @NonNull long[] toArray(final @NonNull List<Long> ids) {
+    final long[] array = new long[ids.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = ids.get(i);
+    }
+    return array;
+  }
+}
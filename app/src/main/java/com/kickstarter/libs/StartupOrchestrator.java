@@ -0,0 +1,318 @@
+package com.kickstarter.libs;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import rx.Scheduler;
+import rx.exceptions.Exceptions;
+import rx.functions.Action0;
+
+/**
+ * Runs the app's startup work as a graph of named tasks. Each task declares the tasks it depends on, whether it must run
+ * on the main thread, and whether startup can't finish without it:
+ *
+ * - {@link Phase#CRITICAL} tasks run when {@link #runCritical()} is called from `Application.onCreate`, which returns
+ *   once they are all done. Main thread tasks run on the calling thread, while background tasks run on the background
+ *   scheduler as soon as their dependencies are done, in parallel with each other and with the main thread.
+ * - {@link Phase#DEFERRED} tasks run when {@link #runDeferred()} is called, e.g. after the first frame is drawn. It
+ *   doesn't wait for them, and main thread tasks are scheduled on the main scheduler.
+ *
+ * Every task is timed, see {@link #trace()}.
+ */
+public final class StartupOrchestrator {
+  public enum Phase {
+    CRITICAL,
+    DEFERRED
+  }
+
+  public enum Runs {
+    MAIN_THREAD,
+    BACKGROUND
+  }
+
+  private final @NonNull Scheduler mainScheduler;
+  private final @NonNull Scheduler backgroundScheduler;
+  private final long originNanos = System.nanoTime();
+
+  private final Map<String, Task> tasks = new LinkedHashMap<>();
+  private final Set<String> dispatched = new HashSet<>();
+  private final Set<String> completed = new HashSet<>();
+  private final List<TraceEntry> trace = new ArrayList<>();
+  // Critical main thread tasks, and wake ups for the thread waiting on critical tasks, are queued here.
+  private final BlockingQueue<Runnable> criticalMainQueue = new LinkedBlockingQueue<>();
+  private @Nullable Throwable criticalFailure;
+  private boolean started;
+  private boolean deferredStarted;
+
+  public StartupOrchestrator(final @NonNull Scheduler mainScheduler, final @NonNull Scheduler backgroundScheduler) {
+    this.mainScheduler = mainScheduler;
+    this.backgroundScheduler = backgroundScheduler;
+  }
+
+  /**
+   * Adds a task that runs once every task named in `dependencies` has run. Tasks must be added before
+   * {@link #runCritical()} is called.
+   */
+  public synchronized @NonNull StartupOrchestrator add(final @NonNull String name, final @NonNull Phase phase,
+    final @NonNull Runs runs, final @NonNull Action0 action, final @NonNull String... dependencies) {
+
+    if (started) {
+      throw new IllegalStateException("Task " + name + " added after startup began.");
+    }
+    if (tasks.containsKey(name)) {
+      throw new IllegalStateException("Task " + name + " already added.");
+    }
+    tasks.put(name, new Task(name, phase, runs, action, Arrays.asList(dependencies)));
+    return this;
+  }
+
+  /**
+   * Runs every critical task, returning when they're all done. Must be called from the main thread. If a task throws,
+   * the exception is rethrown here.
+   */
+  public void runCritical() {
+    synchronized (this) {
+      if (started) {
+        throw new IllegalStateException("Startup already began.");
+      }
+      validate();
+      started = true;
+    }
+
+    dispatchReady(Phase.CRITICAL);
+
+    while (true) {
+      synchronized (this) {
+        if (criticalFailure != null) {
+          throw Exceptions.propagate(criticalFailure);
+        }
+        if (isDone(Phase.CRITICAL)) {
+          return;
+        }
+      }
+
+      try {
+        criticalMainQueue.take().run();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for startup tasks.", e);
+      }
+    }
+  }
+
+  /**
+   * Starts the deferred tasks, if they haven't been started already. Critical tasks must have been run.
+   */
+  public void runDeferred() {
+    synchronized (this) {
+      if (!isDone(Phase.CRITICAL)) {
+        throw new IllegalStateException("Deferred tasks started before critical tasks finished.");
+      }
+      if (deferredStarted) {
+        return;
+      }
+      deferredStarted = true;
+    }
+
+    dispatchReady(Phase.DEFERRED);
+  }
+
+  /**
+   * Timings of the tasks that have run so far, in the order they finished.
+   */
+  public synchronized @NonNull List<TraceEntry> trace() {
+    return Collections.unmodifiableList(new ArrayList<>(trace));
+  }
+
+  /**
+   * Dispatches every task of the phase whose dependencies are done and that hasn't been dispatched yet.
+   */
+  private void dispatchReady(final @NonNull Phase phase) {
+    final List<Task> ready = new ArrayList<>();
+    synchronized (this) {
+      for (final Task task : tasks.values()) {
+        if (task.phase == phase && !dispatched.contains(task.name) && completed.containsAll(task.dependencies)) {
+          dispatched.add(task.name);
+          ready.add(task);
+        }
+      }
+    }
+
+    for (final Task task : ready) {
+      if (task.runs == Runs.BACKGROUND) {
+        final Scheduler.Worker worker = backgroundScheduler.createWorker();
+        worker.schedule(() -> {
+          try {
+            execute(task);
+          } finally {
+            worker.unsubscribe();
+          }
+        });
+      } else if (phase == Phase.CRITICAL) {
+        criticalMainQueue.add(() -> execute(task));
+      } else {
+        final Scheduler.Worker worker = mainScheduler.createWorker();
+        worker.schedule(() -> {
+          try {
+            execute(task);
+          } finally {
+            worker.unsubscribe();
+          }
+        });
+      }
+    }
+  }
+
+  private void execute(final @NonNull Task task) {
+    final long startNanos = System.nanoTime();
+    try {
+      task.action.call();
+    } catch (final Throwable t) {
+      if (task.phase == Phase.DEFERRED) {
+        throw t;
+      }
+      synchronized (this) {
+        criticalFailure = t;
+      }
+      criticalMainQueue.add(() -> {});
+      return;
+    }
+    final long endNanos = System.nanoTime();
+
+    synchronized (this) {
+      completed.add(task.name);
+      trace.add(new TraceEntry(task.name, task.phase, Thread.currentThread().getName(),
+        TimeUnit.NANOSECONDS.toMillis(startNanos - originNanos), TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos)));
+    }
+
+    dispatchReady(task.phase);
+    if (task.phase == Phase.CRITICAL) {
+      // Wake the main thread so it can check whether startup is done.
+      criticalMainQueue.add(() -> {});
+    }
+  }
+
+  private boolean isDone(final @NonNull Phase phase) {
+    for (final Task task : tasks.values()) {
+      if (task.phase == phase && !completed.contains(task.name)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks that every dependency exists, that critical tasks don't depend on deferred ones, and that there are no
+   * cycles, any of which would leave startup waiting forever.
+   */
+  private void validate() {
+    for (final Task task : tasks.values()) {
+      for (final String dependency : task.dependencies) {
+        final Task dependencyTask = tasks.get(dependency);
+        if (dependencyTask == null) {
+          throw new IllegalStateException("Task " + task.name + " depends on unknown task " + dependency + ".");
+        }
+        if (task.phase == Phase.CRITICAL && dependencyTask.phase == Phase.DEFERRED) {
+          throw new IllegalStateException("Critical task " + task.name + " depends on deferred task " + dependency + ".");
+        }
+      }
+    }
+
+    final Set<String> visited = new HashSet<>();
+    for (final String name : tasks.keySet()) {
+      checkForCycles(name, new HashSet<>(), visited);
+    }
+  }
+
+  private void checkForCycles(final @NonNull String name, final @NonNull Set<String> path,
+    final @NonNull Set<String> visited) {
+    if (path.contains(name)) {
+      throw new IllegalStateException("Task " + name + " depends on itself.");
+    }
+    if (!visited.add(name)) {
+      return;
+    }
+
+    path.add(name);
+    for (final String dependency : tasks.get(name).dependencies) {
+      checkForCycles(dependency, path, visited);
+    }
+    path.remove(name);
+  }
+
+  private static final class Task {
+    private final @NonNull String name;
+    private final @NonNull Phase phase;
+    private final @NonNull Runs runs;
+    private final @NonNull Action0 action;
+    private final @NonNull List<String> dependencies;
+
+    Task(final @NonNull String name, final @NonNull Phase phase, final @NonNull Runs runs,
+      final @NonNull Action0 action, final @NonNull List<String> dependencies) {
+      this.name = name;
+      this.phase = phase;
+      this.runs = runs;
+      this.action = action;
+      this.dependencies = dependencies;
+    }
+  }
+
+  public static final class TraceEntry {
+    private final @NonNull String name;
+    private final @NonNull Phase phase;
+    private final @NonNull String threadName;
+    private final long startMillis;
+    private final long durationMillis;
+
+    TraceEntry(final @NonNull String name, final @NonNull Phase phase, final @NonNull String threadName,
+      final long startMillis, final long durationMillis) {
+      this.name = name;
+      this.phase = phase;
+      this.threadName = threadName;
+      this.startMillis = startMillis;
+      this.durationMillis = durationMillis;
+    }
+
+    public @NonNull String name() {
+      return name;
+    }
+
+    public @NonNull Phase phase() {
+      return phase;
+    }
+
+    public @NonNull String threadName() {
+      return threadName;
+    }
+
+    /**
+     * When the task started, relative to the orchestrator being created.
+     */
+    public long startMillis() {
+      return startMillis;
+    }
+
+    public long durationMillis() {
+      return durationMillis;
+    }
+
+    @Override
+    public @NonNull String toString() {
+      return String.format(Locale.US, "%s %s: started at %dms, took %dms on %s", phase, name, startMillis,
+        durationMillis, threadName);
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package com.kickstarter.libs;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.annotation.LayoutRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseArray;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inflated views shared by the adapters of an activity, so that heavy rows such as project cards are inflated once and
+ * then handed from one list to another, e.g. as the user switches between the pages of a pager. Views can be inflated
+ * ahead of time while the main thread is idle, and are returned to the pool when a list is torn down.
+ *
+ * Unlike a `RecyclerView.RecycledViewPool`, only views are shared and not view holders, as view holders keep the
+ * delegate of the list that created them.
+ *
+ * Views are inflated with the activity's inflater so that they are themed and substituted as if inflated by a list, so
+ * the pool must only be used from the main thread.
+ */
+public final class ViewPool {
+  private final @NonNull LayoutInflater inflater;
+  private final int maxViewsPerLayout;
+  private final @NonNull SparseArray<List<View>> views = new SparseArray<>();
+  private final @NonNull ViewGroup layoutParamsParent;
+  private @Nullable MessageQueue.IdleHandler preinflater;
+
+  /**
+   * Classes that own a pool for the lists they show, e.g. an activity whose fragments each show a list.
+   */
+  public interface Provider {
+    @NonNull ViewPool viewPool();
+  }
+
+  public ViewPool(final @NonNull LayoutInflater inflater, final int maxViewsPerLayout) {
+    this.inflater = inflater;
+    this.maxViewsPerLayout = maxViewsPerLayout;
+    layoutParamsParent = new FrameLayout(inflater.getContext());
+  }
+
+  /**
+   * Returns a pooled view for `layout`, or inflates one into `parent` if there are none.
+   */
+  public @NonNull View obtain(final @NonNull ViewGroup parent, final @LayoutRes int layout) {
+    final List<View> pooled = views.get(layout);
+    if (pooled != null && !pooled.isEmpty()) {
+      return pooled.remove(pooled.size() - 1);
+    }
+
+    return inflater.inflate(layout, parent, false);
+  }
+
+  /**
+   * Returns a view that is no longer shown to the pool. Views that are still attached to a parent, and views beyond
+   * the pool's size, are dropped.
+   */
+  public void put(final @LayoutRes int layout, final @NonNull View view) {
+    if (view.getParent() != null) {
+      return;
+    }
+
+    List<View> pooled = views.get(layout);
+    if (pooled == null) {
+      pooled = new ArrayList<>(maxViewsPerLayout);
+      views.put(layout, pooled);
+    }
+    if (pooled.size() < maxViewsPerLayout) {
+      pooled.add(view);
+    }
+  }
+
+  /**
+   * Detaches `recyclerView`'s adapter and adds the views it was showing for `layout` to the pool, e.g. when a list's
+   * view is destroyed.
+   */
+  public void takeViews(final @NonNull RecyclerView recyclerView, final @LayoutRes int layout) {
+    // Detaching the adapter recycles every view, but the recycler view's own pool is then cleared, so the views are
+    // taken as they are recycled.
+    recyclerView.setRecyclerListener(holder -> {
+      if (holder.getItemViewType() == layout) {
+        put(layout, holder.itemView);
+      }
+    });
+    recyclerView.setAdapter(null);
+    recyclerView.setRecyclerListener(null);
+  }
+
+  /**
+   * Inflates `count` views for `layout` into the pool, one view each time the main thread becomes idle so that no frame
+   * has to wait for more than one inflation.
+   */
+  public void preinflate(final @LayoutRes int layout, final int count) {
+    stopPreinflating();
+    if (count <= 0) {
+      return;
+    }
+
+    preinflater = new MessageQueue.IdleHandler() {
+      private int remaining = count;
+
+      @Override
+      public boolean queueIdle() {
+        put(layout, inflater.inflate(layout, layoutParamsParent, false));
+
+        remaining--;
+        if (remaining <= 0) {
+          preinflater = null;
+          return false;
+        }
+        return true;
+      }
+    };
+    Looper.myQueue().addIdleHandler(preinflater);
+  }
+
+  /**
+   * Stops any inflation started by {@link #preinflate(int, int)}.
+   */
+  public void stopPreinflating() {
+    if (preinflater != null) {
+      Looper.myQueue().removeIdleHandler(preinflater);
+      preinflater = null;
+    }
+  }
+}
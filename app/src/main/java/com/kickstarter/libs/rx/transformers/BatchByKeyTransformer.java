@@ -0,0 +1,83 @@
+package com.kickstarter.libs.rx.transformers;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Func1;
+
+public final class BatchByKeyTransformer<T, K> implements Observable.Transformer<T, List<T>> {
+  private final @NonNull Func1<T, K> key;
+  private final long window;
+  private final @NonNull TimeUnit unit;
+  private final @NonNull Scheduler scheduler;
+
+  public BatchByKeyTransformer(final @NonNull Func1<T, K> key, final long window, final @NonNull TimeUnit unit,
+    final @NonNull Scheduler scheduler) {
+    this.key = key;
+    this.window = window;
+    this.unit = unit;
+    this.scheduler = scheduler;
+  }
+
+  @Override
+  public @NonNull Observable<List<T>> call(final @NonNull Observable<T> source) {
+    return Observable.create(subscriber -> {
+      // Every emission happens on the worker, so batches are never emitted concurrently.
+      final Scheduler.Worker worker = scheduler.createWorker();
+      final Map<K, List<T>> batches = new LinkedHashMap<>();
+      subscriber.add(worker);
+
+      subscriber.add(source.subscribe(
+        item -> {
+          final K itemKey = key.call(item);
+          final boolean opened;
+          synchronized (batches) {
+            List<T> batch = batches.get(itemKey);
+            opened = batch == null;
+            if (opened) {
+              batch = new ArrayList<>();
+              batches.put(itemKey, batch);
+            }
+            batch.add(item);
+          }
+
+          if (opened) {
+            worker.schedule(() -> subscriber.onNext(Collections.singletonList(item)));
+            worker.schedule(() -> {
+              final List<T> batch;
+              synchronized (batches) {
+                batch = batches.remove(itemKey);
+              }
+              if (batch != null && batch.size() > 1) {
+                subscriber.onNext(batch);
+              }
+            }, window, unit);
+          }
+        },
+        error -> worker.schedule(() -> subscriber.onError(error)),
+        () -> worker.schedule(() -> {
+          // Flush the windows that are still open and have more than the value they were opened with.
+          final List<List<T>> remaining;
+          synchronized (batches) {
+            remaining = new ArrayList<>(batches.values());
+            batches.clear();
+          }
+          for (final List<T> batch : remaining) {
+            if (batch.size() > 1) {
+              subscriber.onNext(batch);
+            }
+          }
+          subscriber.onCompleted();
+        })
+      ));
+    });
+  }
+}
@@ -0,0 +1,58 @@
+package com.kickstarter.libs.rx.transformers;
+
+import android.support.annotation.NonNull;
+import android.util.Pair;
+
+import com.kickstarter.libs.utils.DiffUtils;
+
+import java.util.List;
+
+import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+/**
+ * Pairs lists with their diff from the rows the adapter currently holds, so that an emission dropped or coalesced
+ * upstream can't leave the adapter out of sync with the diffs it is given.
+ *
+ * `currentItems` is read on `mainScheduler`, where the adapter changes, and must return a new list whenever the rows
+ * change. Diffs are computed on `scheduler` one at a time, and lists emitted while one is computed are skipped for the
+ * latest of them. If the adapter's rows changed while a diff was computed, it is recomputed against them before it's
+ * emitted. Lists and their diffs are emitted on `mainScheduler`.
+ */
+public final class DiffTransformer<T, K> implements Observable.Transformer<List<T>, Pair<List<T>, DiffUtils.Diff>> {
+  private final @NonNull Func1<T, K> key;
+  private final @NonNull Func0<List<T>> currentItems;
+  private final @NonNull Scheduler scheduler;
+  private final @NonNull Scheduler mainScheduler;
+
+  public DiffTransformer(final @NonNull Func1<T, K> key, final @NonNull Func0<List<T>> currentItems,
+    final @NonNull Scheduler scheduler, final @NonNull Scheduler mainScheduler) {
+    this.key = key;
+    this.currentItems = currentItems;
+    this.scheduler = scheduler;
+    this.mainScheduler = mainScheduler;
+  }
+
+  @Override
+  public @NonNull Observable<Pair<List<T>, DiffUtils.Diff>> call(final @NonNull Observable<List<T>> source) {
+    // observeOn buffers what it is sent, so lists are coalesced after it too. Unlike concatMap, which prefetches,
+    // flatMap with a concurrency of 1 requests the next list only once the diff in flight is emitted.
+    return source
+      .onBackpressureLatest()
+      .observeOn(mainScheduler)
+      .onBackpressureLatest()
+      .flatMap(items -> {
+        final List<T> base = currentItems.call();
+
+        return Observable.fromCallable(() -> DiffUtils.keyedDiff(base, items, key))
+          .subscribeOn(scheduler)
+          .observeOn(mainScheduler)
+          .map(diff -> {
+            final List<T> current = currentItems.call();
+            return Pair.create(items, current == base ? diff : DiffUtils.keyedDiff(current, items, key));
+          });
+      }, 1);
+  }
+}
@@ -5,13 +5,32 @@ import android.support.annotation.NonNull;
 import com.kickstarter.services.ApiException;
 import com.kickstarter.services.apiresponses.ErrorEnvelope;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import rx.Observable;
+import rx.Scheduler;
+import rx.android.schedulers.AndroidSchedulers;
 import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
 import rx.subjects.PublishSubject;
 
 public final class Transformers {
   private Transformers() {}
 
+  /**
+   * Collects values into batches of the same `key`. The first value of a key is emitted straight away, as a batch of
+   * one, and opens a window. If more values of the key arrive before `window` has passed, they are emitted once it
+   * closes, in a batch that starts with the first value, so that a burst of values for one key is emitted at most twice
+   * and the later batch supersedes the first.
+   */
+  public static @NonNull <T, K> BatchByKeyTransformer<T, K> batchByKey(final @NonNull Func1<T, K> key,
+    final long window, final @NonNull TimeUnit unit, final @NonNull Scheduler scheduler) {
+    return new BatchByKeyTransformer<>(key, window, unit, scheduler);
+  }
+
   /**
    * Transforms `null` values emitted from an observable into `theDefault`.
    */
@@ -26,6 +45,26 @@ public final class Transformers {
     return new CompletedTransformer<>();
   }
 
+  /**
+   * Pairs every list emitted with its diff from `currentItems`, the rows an adapter currently holds, matching items by
+   * `key`. Diffs are computed on the computation scheduler, and lists and their diffs are emitted on the main thread.
+   */
+  public static @NonNull <T, K> DiffTransformer<T, K> diff(final @NonNull Func1<T, K> key,
+    final @NonNull Func0<List<T>> currentItems) {
+    return diff(key, currentItems, Schedulers.computation(), AndroidSchedulers.mainThread());
+  }
+
+  /**
+   * Pairs every list emitted with its diff from `currentItems`, the rows an adapter currently holds, matching items by
+   * `key`. Diffs are computed on `scheduler`, and `currentItems` is read and lists and their diffs are emitted on
+   * `mainScheduler`.
+   */
+  public static @NonNull <T, K> DiffTransformer<T, K> diff(final @NonNull Func1<T, K> key,
+    final @NonNull Func0<List<T>> currentItems, final @NonNull Scheduler scheduler,
+    final @NonNull Scheduler mainScheduler) {
+    return new DiffTransformer<>(key, currentItems, scheduler, mainScheduler);
+  }
+
   /**
    * Emits when an error is thrown in a materialized stream.
    */
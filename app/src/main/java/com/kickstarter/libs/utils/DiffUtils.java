@@ -2,11 +2,17 @@ package com.kickstarter.libs.utils;
 
 import android.os.Parcelable;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import auto.parcel.AutoParcel;
+import rx.functions.Func1;
 import rx.functions.Func2;
 
 public final class DiffUtils {
@@ -17,12 +23,14 @@ public final class DiffUtils {
     public abstract @NonNull List<Integer> insertions();
     public abstract @NonNull List<Integer> deletions();
     public abstract @NonNull List<Integer> updates();
+    public abstract @NonNull List<Move> moves();
 
     @AutoParcel.Builder
     public abstract static class Builder {
       public abstract Builder insertions(List<Integer> __);
       public abstract Builder deletions(List<Integer> __);
       public abstract Builder updates(List<Integer> __);
+      public abstract Builder moves(List<Move> __);
       public abstract Diff build();
     }
 
@@ -30,16 +38,46 @@ public final class DiffUtils {
       return new AutoParcel_DiffUtils_Diff.Builder()
         .insertions(new ArrayList<>())
         .deletions(new ArrayList<>())
-        .updates(new ArrayList<>());
+        .updates(new ArrayList<>())
+        .moves(new ArrayList<>());
     }
 
     public abstract Builder toBuilder();
   }
 
+  /**
+   * An item that is present in both lists but changed its position relative to the other items, given as its index in
+   * the old list and its index in the new list.
+   */
+  @AutoParcel
+  public abstract static class Move implements Parcelable {
+    public abstract int from();
+    public abstract int to();
+
+    public static @NonNull Move create(final int from, final int to) {
+      return new AutoParcel_DiffUtils_Move(from, to);
+    }
+  }
+
+  /**
+   * Receives the positional operations that turn the old list into the new one, in an order that can be applied one
+   * after another, e.g. as `RecyclerView.Adapter` notifications.
+   */
+  public interface ListUpdateCallback {
+    void onInserted(int position, int count);
+    void onRemoved(int position, int count);
+    void onMoved(int fromPosition, int toPosition);
+    void onChanged(int position, int count);
+  }
+
   public static @NonNull <T> Diff diff(final @NonNull List<T> oldItems, final @NonNull List<T> newItems) {
-    return DiffUtils.diff(oldItems, newItems, Object::equals);
+    return DiffUtils.keyedDiff(oldItems, newItems, item -> item);
   }
 
+  /**
+   * Diffs two lists using an arbitrary matching function. Since matches can't be hashed this is quadratic in the size
+   * of the lists, so prefer {@link #keyedDiff(List, List, Func1)} whenever items have a stable identity.
+   */
   public static @NonNull <T> Diff diff(final @NonNull List<T> oldItems, final @NonNull List<T> newItems,
     final @NonNull Func2<T, T, Boolean> matches) {
 
@@ -73,4 +111,345 @@ public final class DiffUtils {
       .updates(updates)
       .build();
   }
+
+  /**
+   * Diffs two lists by matching items with equal keys, e.g. `Project::id`. Matched items that are no longer `equals`
+   * are reported as updates, and matched items that changed order as moves.
+   *
+   * Keys are matched through a hash map, and the items that stay in place are the longest increasing run of old
+   * indices in new order (the keyed equivalent of the longest common subsequence), so the diff runs in O(n log n).
+   * If a key appears more than once in a list, only its first occurrence is matched.
+   *
+   * `null` items are placeholders, e.g. the rows of pages evicted by a windowed `ApiPaginator`. They aren't passed to
+   * `key`, and are matched to a placeholder at the same index in the other list.
+   */
+  public static @NonNull <T, K> Diff keyedDiff(final @NonNull List<T> oldItems, final @NonNull List<T> newItems,
+    final @NonNull Func1<T, K> key) {
+
+    final Map<Object, Integer> oldIndexByKey = new HashMap<>(oldItems.size() * 2);
+    for (int oldIndex = oldItems.size() - 1; oldIndex >= 0; oldIndex--) {
+      oldIndexByKey.put(keyOf(oldItems.get(oldIndex), oldIndex, key), oldIndex);
+    }
+
+    final boolean[] oldIsMatched = new boolean[oldItems.size()];
+    final int[] oldIndexForNewIndex = new int[newItems.size()];
+    final List<Integer> insertions = new ArrayList<>();
+    for (int newIndex = 0; newIndex < newItems.size(); newIndex++) {
+      final Integer oldIndex = oldIndexByKey.remove(keyOf(newItems.get(newIndex), newIndex, key));
+      if (oldIndex == null) {
+        oldIndexForNewIndex[newIndex] = -1;
+        insertions.add(newIndex);
+      } else {
+        oldIndexForNewIndex[newIndex] = oldIndex;
+        oldIsMatched[oldIndex] = true;
+      }
+    }
+
+    final List<Integer> deletions = new ArrayList<>();
+    for (int oldIndex = 0; oldIndex < oldItems.size(); oldIndex++) {
+      if (!oldIsMatched[oldIndex]) {
+        deletions.add(oldIndex);
+      }
+    }
+
+    final boolean[] newIsStationary = stationaryNewIndices(oldIndexForNewIndex);
+    final List<Move> moves = new ArrayList<>();
+    final List<Integer> updates = new ArrayList<>();
+    for (int newIndex = 0; newIndex < newItems.size(); newIndex++) {
+      final int oldIndex = oldIndexForNewIndex[newIndex];
+      if (oldIndex == -1) {
+        continue;
+      }
+      if (!newIsStationary[newIndex]) {
+        moves.add(Move.create(oldIndex, newIndex));
+      }
+      final T oldItem = oldItems.get(oldIndex);
+      if (oldItem != null && !oldItem.equals(newItems.get(newIndex))) {
+        updates.add(oldIndex);
+      }
+    }
+    Collections.sort(updates);
+
+    return Diff.builder()
+      .insertions(insertions)
+      .deletions(deletions)
+      .updates(updates)
+      .moves(moves)
+      .build();
+  }
+
+  /**
+   * Replays a diff as a sequence of positional operations: removals, then moves, then insertions, then changes. Each
+   * operation's positions account for the operations before it, and contiguous removals, insertions and changes are
+   * coalesced into ranges.
+   *
+   * @param oldSize The size of the list the diff was computed from.
+   */
+  public static void dispatch(final @NonNull Diff diff, final int oldSize, final @NonNull ListUpdateCallback callback) {
+    final List<Integer> deletions = diff.deletions();
+    final List<Integer> insertions = diff.insertions();
+
+    // Removals, from the back so that earlier positions stay valid.
+    int index = deletions.size() - 1;
+    while (index >= 0) {
+      int start = deletions.get(index);
+      int count = 1;
+      while (index - count >= 0 && deletions.get(index - count) == start - 1) {
+        start--;
+        count++;
+      }
+      callback.onRemoved(start, count);
+      index -= count;
+    }
+
+    // Work out where each surviving old item ends up in the new list. Moved items are given explicitly, and the rest
+    // keep their relative order, so they fill the remaining new indices in order.
+    final int survivorCount = oldSize - deletions.size();
+    final int newSize = survivorCount + insertions.size();
+    final boolean[] newIsTaken = new boolean[newSize];
+    for (final int insertion : insertions) {
+      newIsTaken[insertion] = true;
+    }
+    final Map<Integer, Integer> movedNewIndexByOldIndex = new HashMap<>();
+    for (final Move move : diff.moves()) {
+      movedNewIndexByOldIndex.put(move.from(), move.to());
+      newIsTaken[move.to()] = true;
+    }
+
+    // Survivors in their order before any moves, given as their new index, and the position of each new index in
+    // that order.
+    final int[] survivorNewIndices = new int[survivorCount];
+    final int[] survivorByNewIndex = new int[newSize];
+    final Map<Integer, Integer> newIndexByOldIndex = new HashMap<>();
+    int nextStationaryNewIndex = 0;
+    int survivor = 0;
+    int deletionCursor = 0;
+    for (int oldIndex = 0; survivor < survivorCount; oldIndex++) {
+      if (deletionCursor < deletions.size() && deletions.get(deletionCursor) == oldIndex) {
+        deletionCursor++;
+        continue;
+      }
+      final Integer movedNewIndex = movedNewIndexByOldIndex.get(oldIndex);
+      final int newIndex;
+      if (movedNewIndex != null) {
+        newIndex = movedNewIndex;
+      } else {
+        while (newIsTaken[nextStationaryNewIndex]) {
+          nextStationaryNewIndex++;
+        }
+        newIndex = nextStationaryNewIndex++;
+      }
+      survivorByNewIndex[newIndex] = survivor;
+      survivorNewIndices[survivor++] = newIndex;
+      newIndexByOldIndex.put(oldIndex, newIndex);
+    }
+
+    dispatchMoves(diff.moves(), survivorNewIndices, survivorByNewIndex, insertions, newSize, callback);
+
+    // Insertions, from the front, at their final positions.
+    index = 0;
+    while (index < insertions.size()) {
+      final int start = insertions.get(index);
+      int count = 1;
+      while (index + count < insertions.size() && insertions.get(index + count) == start + count) {
+        count++;
+      }
+      callback.onInserted(start, count);
+      index += count;
+    }
+
+    // Changes, at their final positions.
+    final int[] changedNewIndices = new int[diff.updates().size()];
+    for (int update = 0; update < changedNewIndices.length; update++) {
+      changedNewIndices[update] = newIndexByOldIndex.get(diff.updates().get(update));
+    }
+    Arrays.sort(changedNewIndices);
+    index = 0;
+    while (index < changedNewIndices.length) {
+      final int start = changedNewIndices[index];
+      int count = 1;
+      while (index + count < changedNewIndices.length && changedNewIndices[index + count] == start + count) {
+        count++;
+      }
+      callback.onChanged(start, count);
+      index += count;
+    }
+  }
+
+  private static @NonNull <T, K> Object keyOf(final @Nullable T item, final int index, final @NonNull Func1<T, K> key) {
+    return item == null ? new PlaceholderKey(index) : key.call(item);
+  }
+
+  /**
+   * Given the old index of each new item (or -1 for insertions), flags the new indices of the largest set of matched
+   * items that are already in order relative to each other. Everything else that was matched has to move.
+   */
+  private static @NonNull boolean[] stationaryNewIndices(final @NonNull int[] oldIndexForNewIndex) {
+    final int size = oldIndexForNewIndex.length;
+
+    // Patience sorting: tails[length] is the new index ending the best increasing run of `length + 1` items.
+    final int[] tails = new int[size];
+    final int[] previous = new int[size];
+    int longest = 0;
+    for (int newIndex = 0; newIndex < size; newIndex++) {
+      final int oldIndex = oldIndexForNewIndex[newIndex];
+      if (oldIndex == -1) {
+        continue;
+      }
+      int low = 0;
+      int high = longest;
+      while (low < high) {
+        final int mid = (low + high) >>> 1;
+        if (oldIndexForNewIndex[tails[mid]] < oldIndex) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      previous[newIndex] = low == 0 ? -1 : tails[low - 1];
+      tails[low] = newIndex;
+      if (low == longest) {
+        longest++;
+      }
+    }
+
+    final boolean[] stationary = new boolean[size];
+    int newIndex = longest == 0 ? -1 : tails[longest - 1];
+    while (newIndex != -1) {
+      stationary[newIndex] = true;
+      newIndex = previous[newIndex];
+    }
+    return stationary;
+  }
+
+  /**
+   * Dispatches moves in new order, each placed directly after the survivor that precedes it in the new list. That
+   * survivor is either stationary or has already been moved, so everything ends up in order.
+   *
+   * A moved survivor joins a chain of moved survivors that hangs off the stationary survivor it follows, or off the
+   * front of the list. Slots are laid out as each stationary survivor followed by its chain, so that a Fenwick tree of
+   * occupied slots gives each survivor's current position in O(log n) instead of a scan per move.
+   */
+  private static void dispatchMoves(final @NonNull List<Move> diffMoves, final @NonNull int[] survivorNewIndices,
+    final @NonNull int[] survivorByNewIndex, final @NonNull List<Integer> insertions, final int newSize,
+    final @NonNull ListUpdateCallback callback) {
+
+    if (diffMoves.isEmpty()) {
+      return;
+    }
+
+    final int survivorCount = survivorNewIndices.length;
+    final List<Move> moves = new ArrayList<>(diffMoves);
+    Collections.sort(moves, (a, b) -> a.to() - b.to());
+
+    // The new index of the survivor that precedes each new index in the new list, or -1 if none does.
+    final boolean[] newIsInserted = new boolean[newSize];
+    for (final int insertion : insertions) {
+      newIsInserted[insertion] = true;
+    }
+    final int[] predecessorNewIndices = new int[newSize];
+    int predecessor = -1;
+    for (int newIndex = 0; newIndex < newSize; newIndex++) {
+      predecessorNewIndices[newIndex] = predecessor;
+      if (!newIsInserted[newIndex]) {
+        predecessor = newIndex;
+      }
+    }
+
+    // The chain each moved survivor joins, given as the position of its stationary survivor before any moves, or -1
+    // for the front of the list.
+    final boolean[] newIsMoved = new boolean[newSize];
+    final int[] chainByNewIndex = new int[newSize];
+    final int[] chainLengths = new int[survivorCount + 1];
+    for (final Move move : moves) {
+      final int newPredecessor = predecessorNewIndices[move.to()];
+      final int chain = newPredecessor == -1
+        ? -1
+        : newIsMoved[newPredecessor] ? chainByNewIndex[newPredecessor] : survivorByNewIndex[newPredecessor];
+      chainByNewIndex[move.to()] = chain;
+      newIsMoved[move.to()] = true;
+      chainLengths[chain + 1]++;
+    }
+
+    final int[] slotByNewIndex = new int[newSize];
+    final int[] nextChainSlots = new int[survivorCount + 1];
+    int slotCount = 0;
+    for (int chain = -1; chain < survivorCount; chain++) {
+      if (chain >= 0) {
+        slotByNewIndex[survivorNewIndices[chain]] = slotCount++;
+      }
+      nextChainSlots[chain + 1] = slotCount;
+      slotCount += chainLengths[chain + 1];
+    }
+
+    final FenwickTree occupied = new FenwickTree(slotCount);
+    for (final int newIndex : survivorNewIndices) {
+      occupied.add(slotByNewIndex[newIndex], 1);
+    }
+
+    for (final Move move : moves) {
+      final int fromSlot = slotByNewIndex[move.to()];
+      final int from = occupied.countBefore(fromSlot);
+      final int newPredecessor = predecessorNewIndices[move.to()];
+      final int predecessorPosition = newPredecessor == -1 ? -1 : occupied.countBefore(slotByNewIndex[newPredecessor]);
+      final int to = predecessorPosition == -1
+        ? 0
+        : (predecessorPosition < from ? predecessorPosition + 1 : predecessorPosition);
+
+      final int toSlot = nextChainSlots[chainByNewIndex[move.to()] + 1]++;
+      occupied.add(fromSlot, -1);
+      occupied.add(toSlot, 1);
+      slotByNewIndex[move.to()] = toSlot;
+
+      if (from != to) {
+        callback.onMoved(from, to);
+      }
+    }
+  }
+
+  /**
+   * Counts occupied slots, and how many are occupied before a slot, in O(log n).
+   */
+  private static final class FenwickTree {
+    private final int[] tree;
+
+    FenwickTree(final int size) {
+      tree = new int[size + 1];
+    }
+
+    void add(final int slot, final int delta) {
+      for (int i = slot + 1; i < tree.length; i += i & -i) {
+        tree[i] += delta;
+      }
+    }
+
+    int countBefore(final int slot) {
+      int count = 0;
+      for (int i = slot; i > 0; i -= i & -i) {
+        count += tree[i];
+      }
+      return count;
+    }
+  }
+
+  /**
+   * Key of a `null` placeholder item, which only matches a placeholder at the same index.
+   */
+  private static final class PlaceholderKey {
+    private final int index;
+
+    PlaceholderKey(final int index) {
+      this.index = index;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+      return o instanceof PlaceholderKey && ((PlaceholderKey) o).index == index;
+    }
+
+    @Override
+    public int hashCode() {
+      return index;
+    }
+  }
 }
@@ -2,8 +2,8 @@ package com.kickstarter.libs.utils;
 
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
-import android.util.Pair;
 
+import com.kickstarter.libs.CategoryTree;
 import com.kickstarter.models.Category;
 import com.kickstarter.models.User;
 import com.kickstarter.services.DiscoveryParams;
@@ -12,10 +12,6 @@ import com.kickstarter.ui.adapters.data.NavigationDrawerData;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
-
-import rx.Observable;
 
 import static com.kickstarter.libs.utils.BooleanUtils.isTrue;
 
@@ -34,23 +30,25 @@ public final class DiscoveryDrawerUtils {
   public static @NonNull NavigationDrawerData deriveNavigationDrawerData(final @NonNull List<Category> categories,
     final @NonNull DiscoveryParams selected, final @Nullable Category expandedCategory, final @Nullable User user) {
 
-    final NavigationDrawerData.Builder builder = NavigationDrawerData.builder();
+    return deriveNavigationDrawerData(new CategoryTree(categories), selected, expandedCategory, user);
+  }
 
-    final List<NavigationDrawerData.Section> categorySections = Observable.from(categories)
-      .filter(c -> isVisible(c, expandedCategory))
-      .flatMap(c -> doubleRootIfExpanded(c, expandedCategory))
-      .map(c -> DiscoveryParams.builder().category(c).build())
-      .toList()
-      .map(DiscoveryDrawerUtils::paramsGroupedByRootCategory)
-      .map(sections -> sectionsFromAllParams(sections, expandedCategory))
-      .toBlocking().single();
+  /**
+   * Same as {@link #deriveNavigationDrawerData(List, DiscoveryParams, Category, User)}, for categories that have already
+   * been grouped by root.
+   */
+  public static @NonNull NavigationDrawerData deriveNavigationDrawerData(final @NonNull CategoryTree categories,
+    final @NonNull DiscoveryParams selected, final @Nullable Category expandedCategory, final @Nullable User user) {
 
-    final List<NavigationDrawerData.Section> sections = Observable
-      .from(categorySections)
-      .startWith(topSections(user))
-      .toList().toBlocking().single();
+    final List<NavigationDrawerData.Section> sections = new ArrayList<>(topSections(user));
+    for (final List<Category> group : categories.groups()) {
+      final NavigationDrawerData.Section section = categorySection(group, expandedCategory);
+      if (section != null) {
+        sections.add(section);
+      }
+    }
 
-    return builder
+    return NavigationDrawerData.builder()
       .sections(sections)
       .user(user)
       .selectedParams(selected)
@@ -59,30 +57,36 @@ public final class DiscoveryDrawerUtils {
   }
 
   /**
-   * Given a doubly nested list of all possible category params and an (optional) expanded category this will
-   * create a list of sections that can be used in the drawer.
+   * Returns the section for a root category and its subcategories, or `null` if none of them are visible. If the root
+   * is expanded its subcategories are shown, and the root is shown twice (e.g. "Art" & "All of Art").
+   *
+   * @param group A root category and its subcategories, as grouped by {@link CategoryTree}.
+   * @param expandedCategory The category that is currently expanded in the menu, possibly `null`.
    */
-  private static @NonNull List<NavigationDrawerData.Section> sectionsFromAllParams(final @NonNull List<List<DiscoveryParams>> sections, final @Nullable Category expandedCategory) {
-
-    return Observable.from(sections)
-      .map(DiscoveryDrawerUtils::rowsFromParams)
-      .map(rows -> Pair.create(rows, rowsAreExpanded(rows, expandedCategory)))
-      .map(rowsAndIsExpanded ->
-          NavigationDrawerData.Section.builder()
-            .rows(rowsAndIsExpanded.first)
-            .expanded(rowsAndIsExpanded.second)
-            .build()
-      )
-      .toList().toBlocking().single();
-  }
+  public static @Nullable NavigationDrawerData.Section categorySection(final @NonNull List<Category> group,
+    final @Nullable Category expandedCategory) {
+
+    final List<NavigationDrawerData.Section.Row> rows = new ArrayList<>();
+    for (final Category category : group) {
+      if (isVisible(category, expandedCategory)) {
+        final NavigationDrawerData.Section.Row row = NavigationDrawerData.Section.Row.builder()
+          .params(DiscoveryParams.builder().category(category).build())
+          .build();
+        rows.add(row);
+        if (expandedCategory != null && category.isRoot() && category.id() == expandedCategory.id()) {
+          rows.add(row);
+        }
+      }
+    }
 
-  /**
-   * Converts a list of params into a list of rows that the drawer can use to display rows.
-   */
-  private static @NonNull List<NavigationDrawerData.Section.Row> rowsFromParams(final @NonNull List<DiscoveryParams> params) {
-    return Observable.from(params)
-      .map(p -> NavigationDrawerData.Section.Row.builder().params(p).build())
-      .toList().toBlocking().single();
+    if (rows.isEmpty()) {
+      return null;
+    }
+
+    return NavigationDrawerData.Section.builder()
+      .rows(rows)
+      .expanded(rowsAreExpanded(rows, expandedCategory))
+      .build();
   }
 
   /**
@@ -107,25 +111,7 @@ public final class DiscoveryDrawerUtils {
       return true;
     }
 
-    return category.root().id() == expandedCategory.id();
-  }
-
-  /**
-   * Since there are two rows that correspond to a root category in an expanded section (e.g. "Art" & "All of Art"),
-   * this method will double up that root category in such a situation.
-   * @param category The category that might potentially be doubled up.
-   * @param expandedCategory The currently expanded category.
-   */
-  private static @NonNull Observable<Category> doubleRootIfExpanded(final @NonNull Category category, final @Nullable Category expandedCategory) {
-    if (expandedCategory == null) {
-      return Observable.just(category);
-    }
-
-    if (category.isRoot() && category.id() == expandedCategory.id()) {
-      return Observable.just(category, category);
-    }
-
-    return Observable.just(category);
+    return category.rootId() == expandedCategory.id();
   }
 
   /**
@@ -134,7 +120,7 @@ public final class DiscoveryDrawerUtils {
    *
    * @param user The currently logged in user, can be `null`.
    */
-  private static @NonNull List<NavigationDrawerData.Section> topSections(final @Nullable User user) {
+  public static @NonNull List<NavigationDrawerData.Section> topSections(final @Nullable User user) {
     final List<DiscoveryParams> filters = ListUtils.empty();
 
     filters.add(DiscoveryParams.builder().build());
@@ -149,26 +135,11 @@ public final class DiscoveryDrawerUtils {
       }
     }
 
-    return Observable.from(filters)
-      .map(p -> NavigationDrawerData.Section.Row.builder().params(p).build())
-      .map(Collections::singletonList)
-      .map(rows -> NavigationDrawerData.Section.builder().rows(rows).build())
-      .toList().toBlocking().single();
-  }
-
-  /**
-   * Converts the full list of category discovery params into a grouped list of params. A group corresponds to a root
-   * category, and the list contains all subcategories.
-   */
-  private static @NonNull List<List<DiscoveryParams>> paramsGroupedByRootCategory(final @NonNull List<DiscoveryParams> ps) {
-    final Map<String, List<DiscoveryParams>> grouped = new TreeMap<>();
-    for (final DiscoveryParams p : ps) {
-      if (!grouped.containsKey(p.category().root().name())) {
-        grouped.put(p.category().root().name(), new ArrayList<>());
-      }
-      grouped.get(p.category().root().name()).add(p);
+    final List<NavigationDrawerData.Section> sections = new ArrayList<>(filters.size());
+    for (final DiscoveryParams filter : filters) {
+      final NavigationDrawerData.Section.Row row = NavigationDrawerData.Section.Row.builder().params(filter).build();
+      sections.add(NavigationDrawerData.Section.builder().rows(Collections.singletonList(row)).build());
     }
-
-    return new ArrayList<>(grouped.values());
+    return sections;
   }
 }
@@ -89,6 +89,11 @@ public final class DiscoveryUtils {
 
     final Project firstProject = projects.get(0);
 
+    // Guard against the first page having been evicted by a windowed paginator, it's filled in when reloaded
+    if (firstProject == null) {
+      return projects;
+    }
+
     // Guard against bad category data on first project
     final Category category = firstProject.category();
     if (category == null) {
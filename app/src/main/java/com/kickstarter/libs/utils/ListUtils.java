@@ -4,7 +4,9 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import rx.functions.Func2;
 
@@ -190,8 +192,9 @@ public final class ListUtils {
    * Concats the distinct elements of `ys` onto the end of the `xs`, but also mutates the first.
    */
   public static <T> List<T> mutatingConcatDistinct(final @NonNull List<T> xs, final @NonNull List<T> ys) {
+    final Set<T> seen = new HashSet<>(xs);
     for (final T y : ys) {
-      if (!xs.contains(y)) {
+      if (seen.add(y)) {
         xs.add(y);
       }
     }
@@ -241,4 +244,21 @@ public final class ListUtils {
 
     return ys;
   }
+
+  /**
+   * Returns a new list with the `null` elements of `xs` removed, or `xs` itself if it has none.
+   */
+  public static @NonNull <T> List<T> withoutNulls(final @NonNull List<T> xs) {
+    if (!xs.contains(null)) {
+      return xs;
+    }
+
+    final List<T> ys = new ArrayList<>(xs.size());
+    for (final T x : xs) {
+      if (x != null) {
+        ys.add(x);
+      }
+    }
+    return ys;
+  }
 }
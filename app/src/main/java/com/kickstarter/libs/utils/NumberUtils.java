@@ -1,6 +1,7 @@
 package com.kickstarter.libs.utils;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import com.kickstarter.libs.NumberOptions;
 
@@ -8,19 +9,48 @@ import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class NumberUtils {
   private NumberUtils() {}
 
+  private static final int KIND_INTEGER = 0;
+  private static final int KIND_NUMBER = 1;
+  private static final int KIND_CURRENCY = 2;
+  private static final int KIND_PERCENT = 3;
+
+  /**
+   * Most screens only ever use a handful of locale, symbol, precision and rounding combinations, so a small cache per
+   * thread holds all of them. Formatters aren't thread-safe, hence one cache per thread rather than one shared cache.
+   */
+  private static final int MAX_CACHED_FORMATS_PER_THREAD = 32;
+
+  private static final ThreadLocal<Map<FormatKey, NumberFormat>> FORMATS = new ThreadLocal<Map<FormatKey, NumberFormat>>() {
+    @Override
+    protected @NonNull Map<FormatKey, NumberFormat> initialValue() {
+      return new LinkedHashMap<FormatKey, NumberFormat>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final @NonNull Map.Entry<FormatKey, NumberFormat> eldest) {
+          return size() > MAX_CACHED_FORMATS_PER_THREAD;
+        }
+      };
+    }
+  };
+
+  /**
+   * Whether a locale writes its digits as ASCII, in which case small counts don't need a formatter at all.
+   */
+  private static final Map<Locale, Boolean> ASCII_DIGITS = new ConcurrentHashMap<>();
+
   public static @NonNull String flooredPercentage(final float value) {
     return flooredPercentage(value, Locale.getDefault());
   }
 
   public static @NonNull String flooredPercentage(final float value, final @NonNull Locale locale) {
-    final NumberFormat numberFormat = NumberFormat.getPercentInstance(locale);
-    numberFormat.setRoundingMode(RoundingMode.DOWN);
-    return numberFormat.format(value / 100);
+    return numberFormat(KIND_PERCENT, locale, null, -1, RoundingMode.DOWN).format(value / 100);
   }
 
   /**
@@ -34,14 +64,18 @@ public final class NumberUtils {
    * Returns a formatted number for the specified locale.
    */
   public static @NonNull String format(final int value, final @NonNull Locale locale) {
-    return NumberFormat.getIntegerInstance(locale).format(value);
+    // Counts like backers and comments are mostly below a thousand, which no locale groups.
+    if (value >= 0 && value < 1000 && hasAsciiDigits(locale)) {
+      return String.valueOf(value);
+    }
+    return numberFormat(KIND_INTEGER, locale, null, -1, null).format(value);
   }
 
   /**
    * Returns a formatted number for the user's locale. Defaults to 0 precision with no bucketing.
    */
   public static @NonNull String format(final float value) {
-    return format(value, NumberOptions.builder().build());
+    return format(value, null, null, null, null, null, null, Locale.getDefault());
   }
 
   /**
@@ -59,17 +93,30 @@ public final class NumberUtils {
   public static @NonNull String format(final float value, final @NonNull NumberOptions options,
     final @NonNull Locale locale) {
 
-    final NumberFormat numberFormat = numberFormat(options, locale);
-    if (numberFormat instanceof DecimalFormat) {
-      numberFormat.setRoundingMode(ObjectUtils.coalesce(options.roundingMode(), RoundingMode.HALF_DOWN));
-    }
+    return format(value, options.bucketAbove(), options.bucketPrecision(), options.currencyCode(),
+      options.currencySymbol(), options.precision(), options.roundingMode(), locale);
+  }
 
-    int precision = ObjectUtils.coalesce(options.precision(), 0);
+  /**
+   * Returns a currency formatted for the user's locale with no precision or bucketing, the same as formatting with
+   * {@link NumberOptions} holding only a currency symbol, code and rounding mode, but without building the options.
+   */
+  public static @NonNull String formatCurrency(final float value, final @NonNull String currencySymbol,
+    final @Nullable String currencyCode, final @Nullable RoundingMode roundingMode) {
+
+    return format(value, null, null, currencyCode, currencySymbol, null, roundingMode, Locale.getDefault());
+  }
+
+  private static @NonNull String format(final float value, final @Nullable Float bucketAboveOption,
+    final @Nullable Integer bucketPrecision, final @Nullable String currencyCode, final @Nullable String currencySymbol,
+    final @Nullable Integer precisionOption, final @Nullable RoundingMode roundingMode, final @NonNull Locale locale) {
+
+    int precision = ObjectUtils.coalesce(precisionOption, 0);
     float divisor = 1.0f;
     String suffix = "";
 
     // TODO: The bucketing logic works, but the suffix should be translated.
-    final float bucketAbove = ObjectUtils.coalesce(options.bucketAbove(), 0.0f);
+    final float bucketAbove = ObjectUtils.coalesce(bucketAboveOption, 0.0f);
 
     if (bucketAbove >= 1000.0f && value >= bucketAbove) {
       if (bucketAbove > 0.0f && bucketAbove < 1_000_000.0f) {
@@ -79,42 +126,129 @@ public final class NumberUtils {
         divisor = 1_000_000.0f;
         suffix = "M";
       }
-      if (options.bucketAbove() != null) {
-        precision = ObjectUtils.coalesce(options.bucketPrecision(), 0);
+      if (bucketAboveOption != null) {
+        precision = ObjectUtils.coalesce(bucketPrecision, 0);
       }
     }
 
-    if (options.currencyCode() != null) {
-      suffix = String.format("%s %s", suffix, options.currencyCode());
-    }
-
-    numberFormat.setMinimumFractionDigits(precision);
-    numberFormat.setMaximumFractionDigits(precision);
-
     float bucketedValue = value;
     if (value >= bucketAbove) {
       bucketedValue = value / divisor;
     }
 
-    return String.format("%s%s", numberFormat.format(bucketedValue), suffix).trim();
+    final NumberFormat numberFormat = numberFormat(currencySymbol != null ? KIND_CURRENCY : KIND_NUMBER, locale,
+      currencySymbol, precision, ObjectUtils.coalesce(roundingMode, RoundingMode.HALF_DOWN));
+
+    final StringBuilder builder = new StringBuilder(numberFormat.format(bucketedValue)).append(suffix);
+    if (currencyCode != null) {
+      builder.append(' ').append(currencyCode);
+    }
+    return builder.toString().trim();
+  }
+
+  /**
+   * Returns this thread's formatter for the given kind of number, locale, currency symbol, precision and rounding mode,
+   * creating it the first time it's asked for. The formatter must not be changed or handed to another thread.
+   *
+   * @param precision Number of fraction digits, or -1 to keep the locale's default.
+   */
+  private static @NonNull NumberFormat numberFormat(final int kind, final @NonNull Locale locale,
+    final @Nullable String currencySymbol, final int precision, final @Nullable RoundingMode roundingMode) {
+
+    final Map<FormatKey, NumberFormat> formats = FORMATS.get();
+    final FormatKey key = new FormatKey(kind, locale, currencySymbol, precision, roundingMode);
+
+    NumberFormat numberFormat = formats.get(key);
+    if (numberFormat == null) {
+      numberFormat = createNumberFormat(key);
+      formats.put(key, numberFormat);
+    }
+    return numberFormat;
   }
 
   /**
    * Return a formatter that can output an appropriate number based on the input currency and locale.
    */
-  private static @NonNull NumberFormat numberFormat(final @NonNull NumberOptions options, final @NonNull Locale locale) {
+  private static @NonNull NumberFormat createNumberFormat(final @NonNull FormatKey key) {
     final NumberFormat numberFormat;
 
-    if (options.isCurrency()) {
-      final DecimalFormat decimalFormat = (DecimalFormat) NumberFormat.getCurrencyInstance(locale);
-      final DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
-      symbols.setCurrencySymbol(options.currencySymbol());
-      decimalFormat.setDecimalFormatSymbols(symbols);
-      numberFormat = decimalFormat;
-    } else {
-      numberFormat = NumberFormat.getInstance(locale);
+    switch (key.kind) {
+      case KIND_INTEGER:
+        numberFormat = NumberFormat.getIntegerInstance(key.locale);
+        break;
+      case KIND_PERCENT:
+        numberFormat = NumberFormat.getPercentInstance(key.locale);
+        break;
+      case KIND_CURRENCY:
+        final DecimalFormat decimalFormat = (DecimalFormat) NumberFormat.getCurrencyInstance(key.locale);
+        final DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+        symbols.setCurrencySymbol(key.currencySymbol);
+        decimalFormat.setDecimalFormatSymbols(symbols);
+        numberFormat = decimalFormat;
+        break;
+      default:
+        numberFormat = NumberFormat.getInstance(key.locale);
+        break;
+    }
+
+    if (key.roundingMode != null && numberFormat instanceof DecimalFormat) {
+      numberFormat.setRoundingMode(key.roundingMode);
+    }
+
+    if (key.precision >= 0) {
+      numberFormat.setMinimumFractionDigits(key.precision);
+      numberFormat.setMaximumFractionDigits(key.precision);
     }
 
     return numberFormat;
   }
+
+  private static boolean hasAsciiDigits(final @NonNull Locale locale) {
+    Boolean asciiDigits = ASCII_DIGITS.get(locale);
+    if (asciiDigits == null) {
+      asciiDigits = DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0';
+      ASCII_DIGITS.put(locale, asciiDigits);
+    }
+    return asciiDigits;
+  }
+
+  private static final class FormatKey {
+    private final int kind;
+    private final Locale locale;
+    private final @Nullable String currencySymbol;
+    private final int precision;
+    private final @Nullable RoundingMode roundingMode;
+
+    FormatKey(final int kind, final @NonNull Locale locale, final @Nullable String currencySymbol, final int precision,
+      final @Nullable RoundingMode roundingMode) {
+      this.kind = kind;
+      this.locale = locale;
+      this.currencySymbol = currencySymbol;
+      this.precision = precision;
+      this.roundingMode = roundingMode;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+      if (!(o instanceof FormatKey)) {
+        return false;
+      }
+      final FormatKey other = (FormatKey) o;
+      return kind == other.kind
+        && precision == other.precision
+        && roundingMode == other.roundingMode
+        && locale.equals(other.locale)
+        && (currencySymbol != null ? currencySymbol.equals(other.currencySymbol) : other.currencySymbol == null);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = kind;
+      result = 31 * result + locale.hashCode();
+      result = 31 * result + (currencySymbol != null ? currencySymbol.hashCode() : 0);
+      result = 31 * result + precision;
+      result = 31 * result + (roundingMode != null ? roundingMode.hashCode() : 0);
+      return result;
+    }
+  }
 }
@@ -88,6 +88,14 @@ public final class ProjectUtils {
       Project.STATE_PURGED.equals(state);
   }
 
+  /**
+   * Returns the width in pixels of a project card's photo, which spans the screen less the card's margins.
+   */
+  public static int cardPhotoWidth(final @NonNull Context context) {
+    return (int) (ViewUtils.getScreenWidthDp(context) * ViewUtils.getScreenDensity(context)
+      - context.getResources().getDimensionPixelSize(R.dimen.grid_4));
+  }
+
   /**
    * Returns 16:9 height relative to input width.
    */
@@ -5,6 +5,9 @@ import android.support.annotation.Nullable;
 
 import com.google.gson.Gson;
 import com.kickstarter.libs.Config;
+import com.kickstarter.libs.ModelStore;
+import com.kickstarter.libs.ModelStoreType;
+import com.kickstarter.libs.ProjectSearchIndex;
 import com.kickstarter.libs.rx.operators.ApiErrorOperator;
 import com.kickstarter.libs.rx.operators.Operators;
 import com.kickstarter.libs.utils.ObjectUtils;
@@ -35,19 +38,42 @@ import com.kickstarter.services.apiresponses.DiscoverEnvelope;
 import com.kickstarter.services.apiresponses.StarEnvelope;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import okhttp3.CacheControl;
+import retrofit2.Response;
 import rx.Observable;
+import rx.functions.Action2;
+import rx.functions.Func1;
 import rx.schedulers.Schedulers;
 
 import static com.kickstarter.libs.utils.BooleanUtils.isTrue;
 
 public final class ApiClient implements ApiClientType {
+  /**
+   * Sent with a request to only read its response from the HTTP cache, however stale it is.
+   */
+  private static final String FORCE_CACHE = CacheControl.FORCE_CACHE.toString();
+
+  /**
+   * Sent with a request to only read its response from the HTTP cache, and only if it is still fresh.
+   */
+  private static final String ONLY_IF_FRESH = new CacheControl.Builder().onlyIfCached().build().toString();
+
   private final ApiService service;
   private final Gson gson;
+  private final ModelStoreType modelStore;
+  private final ProjectSearchIndex projectSearchIndex;
+  private final RequestCoalescer requestCoalescer;
 
-  public ApiClient(final @NonNull ApiService service, final @NonNull Gson gson) {
+  public ApiClient(final @NonNull ApiService service, final @NonNull Gson gson, final @NonNull ModelStoreType modelStore,
+    final @NonNull ProjectSearchIndex projectSearchIndex, final @NonNull RequestCoalescer requestCoalescer) {
     this.gson = gson;
+    this.modelStore = modelStore;
+    this.projectSearchIndex = projectSearchIndex;
+    this.requestCoalescer = requestCoalescer;
     this.service = service;
   }
 
@@ -79,6 +105,11 @@ public final class ApiClient implements ApiClientType {
     return service
       .activities(categories, count)
       .lift(apiErrorOperator())
+      .compose(writeThrough((envelope, generation) -> {
+        if (count == null) {
+          modelStore.put(Activity.class, envelope.activities(), ModelStore.ACTIVITY_FEED_QUERY, generation);
+        }
+      }))
       .subscribeOn(Schedulers.io());
   }
 
@@ -92,19 +123,25 @@ public final class ApiClient implements ApiClientType {
 
   @Override
   public @NonNull Observable<List<Category>> fetchCategories() {
-    return service
-      .categories()
-      .lift(apiErrorOperator())
+    final Observable<List<Category>> categories = staleWhileRevalidate(service::categories)
       .map(CategoriesEnvelope::categories)
+      .compose(writeThrough((cs, generation) ->
+        modelStore.put(Category.class, cs, ModelStore.CATEGORIES_QUERY, generation)
+      ))
       .subscribeOn(Schedulers.io());
+
+    return requestCoalescer.coalesce(RequestCoalescer.key("GET", "/v1/categories", null), categories);
   }
 
   @Override
   public @NonNull Observable<Category> fetchCategory(final @NonNull String id) {
-    return service
-      .category(id)
-      .lift(apiErrorOperator())
+    final Observable<Category> category = staleWhileRevalidate(cacheControl -> service.category(id, cacheControl))
+      .compose(writeThrough((c, generation) ->
+        modelStore.put(Category.class, Collections.singletonList(c), null, generation)
+      ))
       .subscribeOn(Schedulers.io());
+
+    return requestCoalescer.coalesce(RequestCoalescer.key("GET", "/v1/categories/" + id, null), category);
   }
 
   @Override
@@ -137,10 +174,11 @@ public final class ApiClient implements ApiClientType {
 
   @Override
   public @NonNull Observable<Project> fetchProject(final @NonNull String param) {
-    return service
-      .project(param)
-      .lift(apiErrorOperator())
+    final Observable<Project> project = staleWhileRevalidate(cacheControl -> service.project(param, cacheControl))
+      .compose(writeThrough((p, generation) -> storeProjects(Collections.singletonList(p), null, generation)))
       .subscribeOn(Schedulers.io());
+
+    return requestCoalescer.coalesce(RequestCoalescer.key("GET", "/v1/projects/" + param, null), project);
   }
 
   @Override
@@ -153,6 +191,9 @@ public final class ApiClient implements ApiClientType {
     return service
       .projects(params.queryParams())
       .lift(apiErrorOperator())
+      .compose(writeThrough((envelope, generation) ->
+        storeProjects(envelope.projects(), params.queryKey(), generation)
+      ))
       .subscribeOn(Schedulers.io());
   }
 
@@ -161,6 +202,17 @@ public final class ApiClient implements ApiClientType {
     return service
       .projects(paginationUrl)
       .lift(apiErrorOperator())
+      .compose(writeThrough((envelope, generation) -> storeProjects(envelope.projects(), null, generation)))
+      .subscribeOn(Schedulers.io());
+  }
+
+  @Override
+  public @NonNull Observable<Project> streamProjects(final @NonNull DiscoveryParams params) {
+    return service
+      .projectsBody(params.queryParams())
+      .lift(apiErrorOperator())
+      .concatMap(body -> ListEnvelopeReader.items(gson, Project.class, "projects", body))
+      .doOnNext(p -> projectSearchIndex.index(Collections.singletonList(p)))
       .subscribeOn(Schedulers.io());
   }
 
@@ -177,6 +229,9 @@ public final class ApiClient implements ApiClientType {
     return service
       .projectComments(project.param())
       .lift(apiErrorOperator())
+      .compose(writeThrough((envelope, generation) ->
+        modelStore.put(Comment.class, envelope.comments(), ModelStore.commentsQuery(project), generation)
+      ))
       .subscribeOn(Schedulers.io());
   }
 
@@ -185,6 +240,9 @@ public final class ApiClient implements ApiClientType {
     return service
       .updateComments(update.projectId(), update.id())
       .lift(apiErrorOperator())
+      .compose(writeThrough((envelope, generation) ->
+        modelStore.put(Comment.class, envelope.comments(), ModelStore.commentsQuery(update), generation)
+      ))
       .subscribeOn(Schedulers.io());
   }
 
@@ -193,15 +251,25 @@ public final class ApiClient implements ApiClientType {
     return service
       .paginatedProjectComments(paginationPath)
       .lift(apiErrorOperator())
+      .compose(writeThrough((envelope, generation) ->
+        modelStore.put(Comment.class, envelope.comments(), null, generation)
+      ))
       .subscribeOn(Schedulers.io());
   }
 
   @Override
   public @NonNull Observable<Update> fetchUpdate(final @NonNull String projectParam, final @NonNull String updateParam) {
-    return service
+    final Observable<Update> update = service
       .update(projectParam, updateParam)
       .lift(apiErrorOperator())
+      .compose(writeThrough((u, generation) ->
+        modelStore.put(Update.class, Collections.singletonList(u), null, generation)
+      ))
       .subscribeOn(Schedulers.io());
+
+    return requestCoalescer.coalesce(
+      RequestCoalescer.key("GET", "/v1/projects/" + projectParam + "/updates/" + updateParam, null), update
+    );
   }
 
   @Override
@@ -365,6 +433,66 @@ public final class ApiClient implements ApiClientType {
       .subscribeOn(Schedulers.io());
   }
 
+  /**
+   * Stores projects so that they can be shown before the network responds, and indexes them for local search.
+   */
+  private void storeProjects(final @NonNull List<Project> projects, final @Nullable String queryKey,
+    final int generation) {
+    modelStore.put(Project.class, projects, queryKey, generation);
+    if (generation == modelStore.generation()) {
+      projectSearchIndex.index(projects);
+    }
+  }
+
+  /**
+   * Calls `store` with each value emitted and the generation of the model store when the request was subscribed to, so
+   * that a response that arrives after logging out isn't stored.
+   */
+  private @NonNull <T> Observable.Transformer<T, T> writeThrough(final @NonNull Action2<T, Integer> store) {
+    return source -> Observable.defer(() -> {
+      final int generation = modelStore.generation();
+      return source.doOnNext(value -> store.call(value, generation));
+    });
+  }
+
+  /**
+   * Emits the cached response of `request` on its own if it is still fresh. Otherwise emits the cached response, if
+   * there is one, and then the response from the server, which is requested conditionally when the cached response
+   * has validators. If the network request fails after a cached response has been emitted the error is dropped, so
+   * reads keep working offline.
+   *
+   * @param request Makes the request with the given `Cache-Control` header, or none if it's `null`.
+   */
+  private @NonNull <T> Observable<T> staleWhileRevalidate(
+    final @NonNull Func1<String, Observable<Response<T>>> request) {
+
+    return request.call(ONLY_IF_FRESH)
+      .onErrorResumeNext(Observable.<Response<T>>empty())
+      .filter(Response::isSuccessful)
+      .map(Response::body)
+      .switchIfEmpty(Observable.defer(() -> cachedThenNetwork(request.call(FORCE_CACHE), request.call(null))));
+  }
+
+  private @NonNull <T> Observable<T> cachedThenNetwork(final @NonNull Observable<Response<T>> cached,
+    final @NonNull Observable<Response<T>> network) {
+
+    return Observable.defer(() -> {
+      final AtomicBoolean emittedCached = new AtomicBoolean(false);
+
+      return network
+        .lift(this.<T>apiErrorOperator())
+        .publish(fresh -> Observable.merge(
+          cached
+            .lift(this.<T>apiErrorOperator())
+            .onErrorResumeNext(Observable.empty())
+            .takeUntil(fresh)
+            .doOnNext(__ -> emittedCached.set(true)),
+          fresh
+        ))
+        .onErrorResumeNext(e -> emittedCached.get() ? Observable.empty() : Observable.error(e));
+    });
+  }
+
   /**
    * Utility to create a new {@link ApiErrorOperator}, saves us from littering references to gson throughout the client.
    */
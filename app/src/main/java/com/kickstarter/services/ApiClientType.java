@@ -51,6 +51,11 @@ public interface ApiClientType {
 
   @NonNull Observable<DiscoverEnvelope> fetchProjects(final @NonNull String paginationUrl);
 
+  /**
+   * Emits the projects for `params` one at a time as they are read off the response, without pagination urls.
+   */
+  @NonNull Observable<Project> streamProjects(final @NonNull DiscoveryParams params);
+
   @NonNull Observable<Backing> fetchProjectBacking(final @NonNull Project project, final @NonNull User user);
 
   @NonNull Observable<CommentsEnvelope> fetchComments(final @NonNull Project project);
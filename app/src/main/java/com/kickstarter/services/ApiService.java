@@ -32,14 +32,17 @@ import com.kickstarter.services.apiresponses.StarEnvelope;
 import java.util.List;
 import java.util.Map;
 
+import okhttp3.ResponseBody;
 import retrofit2.Response;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
 import retrofit2.http.POST;
 import retrofit2.http.PUT;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
 import retrofit2.http.QueryMap;
+import retrofit2.http.Streaming;
 import retrofit2.http.Url;
 import rx.Observable;
 
@@ -52,10 +55,11 @@ public interface ApiService {
   Observable<Response<ActivityEnvelope>> activities(@Url @NonNull String paginationUrl);
 
   @GET("/v1/categories")
-  Observable<Response<CategoriesEnvelope>> categories();
+  Observable<Response<CategoriesEnvelope>> categories(@Nullable @Header("Cache-Control") String cacheControl);
 
   @GET("/v1/categories/{param}")
-  Observable<Response<Category>> category(@Path("param") String param);
+  Observable<Response<Category>> category(@Path("param") String param,
+    @Nullable @Header("Cache-Control") String cacheControl);
 
   @GET("/v1/app/android/config")
   Observable<Response<Config>> config();
@@ -95,7 +99,8 @@ public interface ApiService {
   );
 
   @GET("/v1/projects/{param}")
-  Observable<Response<Project>> project(@Path("param") String param);
+  Observable<Response<Project>> project(@Path("param") String param,
+    @Nullable @Header("Cache-Control") String cacheControl);
 
   @GET("/v1/projects/{project_param}/comments")
   Observable<Response<CommentsEnvelope>> projectComments(@Path("project_param") String projectParam);
@@ -106,6 +111,10 @@ public interface ApiService {
   @GET
   Observable<Response<DiscoverEnvelope>> projects(@Url String paginationUrl);
 
+  @Streaming
+  @GET("/v1/discover")
+  Observable<Response<ResponseBody>> projectsBody(@QueryMap Map<String, String> params);
+
   @POST("/v1/users/self/push_tokens")
   Observable<Response<Empty>> registerPushToken(@Body PushTokenBody body);
 
@@ -0,0 +1,221 @@
+package com.kickstarter.services;
+
+import android.support.annotation.NonNull;
+
+import com.kickstarter.libs.CurrentUserType;
+import com.kickstarter.services.apiresponses.DiscoverEnvelope;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import rx.Observable;
+import rx.Scheduler;
+import rx.Subscription;
+import rx.functions.Func1;
+
+/**
+ * First pages of discovery, keyed by params (including their sort), shared by every tab of the discovery pager. Every
+ * request for a discovery first page goes through here, so it is the one place a first page is kept in memory. A tab
+ * that isn't showing yet can have its first page prefetched while the network is idle, so that swiping to it shows
+ * projects straight away.
+ *
+ * Requests are shared, and pages kept for `ttl`, by a {@link RequestCoalescer} of the cache's own. Pages are evicted
+ * early by {@link #retain(DiscoveryParams)} when the user picks other params, and by {@link #invalidate()}, which
+ * happens whenever the user logs in or out. A request is unsubscribed from once nothing is waiting for it, including a
+ * prefetch whose page has been evicted.
+ */
+public final class DiscoveryPageCache {
+  private static final String KEY_SEPARATOR = " ";
+
+  private final long idleMillis;
+  private final Scheduler scheduler;
+  private final RequestCoalescer pages;
+
+  private final Deque<Prefetch> prefetches = new ArrayDeque<>();
+  private final Map<String, Subscription> prefetchSubscriptions = new HashMap<>();
+  private int inFlightCount;
+
+  /**
+   * @param idle How long to wait before prefetching, so that a page that is about to be shown is requested first.
+   */
+  public DiscoveryPageCache(final @NonNull CurrentUserType currentUser, final long ttl, final long idle,
+    final @NonNull TimeUnit unit, final @NonNull Scheduler scheduler) {
+    this.idleMillis = unit.toMillis(idle);
+    this.scheduler = scheduler;
+    this.pages = new RequestCoalescer(ttl, unit, scheduler);
+
+    // Pages depend on who is logged in, e.g. for starred projects. Subscribed to on `scheduler` so that creating the
+    // cache doesn't load the current user.
+    currentUser.observable()
+      .map(user -> user == null ? null : user.id())
+      .distinctUntilChanged()
+      .skip(1)
+      .subscribeOn(scheduler)
+      .subscribe(__ -> invalidate());
+  }
+
+  /**
+   * Emits the first page for `params`, sharing a cached or in-flight request for the same params if there is one.
+   * Otherwise the page is fetched with `client`.
+   */
+  public @NonNull Observable<DiscoverEnvelope> firstPage(final @NonNull ApiClientType client,
+    final @NonNull DiscoveryParams params) {
+    return Observable.defer(() -> {
+      // A request is finished when it completes, fails or is unsubscribed from, whichever happens first.
+      final AtomicBoolean finished = new AtomicBoolean();
+      final Observable<DiscoverEnvelope> request = client.fetchProjects(params)
+        .doOnSubscribe(this::started)
+        .doOnTerminate(() -> finished(finished))
+        .doOnUnsubscribe(() -> finished(finished));
+
+      return pages.coalesce(key(params), request);
+    });
+  }
+
+  /**
+   * Fetches the first page for `params` once the network is idle, unless it is already cached or being fetched.
+   * Prefetches are made one at a time, and never while another first page is being fetched.
+   */
+  public void prefetch(final @NonNull ApiClientType client, final @NonNull DiscoveryParams params) {
+    synchronized (this) {
+      if (pages.contains(key(params))) {
+        return;
+      }
+      for (final Prefetch prefetch : prefetches) {
+        if (prefetch.params.equals(params)) {
+          return;
+        }
+      }
+      prefetches.add(new Prefetch(client, params));
+    }
+
+    final Scheduler.Worker worker = scheduler.createWorker();
+    worker.schedule(() -> {
+      worker.unsubscribe();
+      prefetchIfIdle();
+    }, idleMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Evicts the pages, and drops the prefetches, of params other than `params` in any sort, e.g. because the user picked
+   * another category. Pages of other users are evicted too.
+   */
+  public synchronized void retain(final @NonNull DiscoveryParams params) {
+    final String baseKey = baseKey(params);
+
+    final Iterator<Prefetch> prefetchIterator = prefetches.iterator();
+    while (prefetchIterator.hasNext()) {
+      if (!baseKey(prefetchIterator.next().params).equals(baseKey)) {
+        prefetchIterator.remove();
+      }
+    }
+
+    final Func1<String, Boolean> evicted = key -> !key.startsWith(baseKey + KEY_SEPARATOR);
+    pages.removeAll(evicted);
+    cancelPrefetches(evicted);
+  }
+
+  /**
+   * Evicts every page and drops every prefetch, e.g. because another user logged in.
+   */
+  public synchronized void invalidate() {
+    prefetches.clear();
+    pages.removeAll(__ -> true);
+    cancelPrefetches(__ -> true);
+  }
+
+  /**
+   * Unsubscribes from the prefetches of pages that have been evicted. Their requests are cancelled unless a tab is
+   * still waiting for them.
+   */
+  private void cancelPrefetches(final @NonNull Func1<String, Boolean> evicted) {
+    // Unsubscribing can start the next prefetch, so the subscriptions are removed before any are unsubscribed from.
+    final List<Subscription> cancelled = new ArrayList<>();
+    final Iterator<Map.Entry<String, Subscription>> iterator = prefetchSubscriptions.entrySet().iterator();
+    while (iterator.hasNext()) {
+      final Map.Entry<String, Subscription> entry = iterator.next();
+      if (evicted.call(entry.getKey())) {
+        cancelled.add(entry.getValue());
+        iterator.remove();
+      }
+    }
+
+    for (final Subscription subscription : cancelled) {
+      subscription.unsubscribe();
+    }
+  }
+
+  private void prefetchIfIdle() {
+    final Prefetch prefetch;
+    synchronized (this) {
+      if (inFlightCount > 0 || prefetches.isEmpty()) {
+        return;
+      }
+      prefetch = prefetches.poll();
+    }
+
+    final String key = key(prefetch.params);
+    final Subscription subscription = firstPage(prefetch.client, prefetch.params).subscribe(__ -> {}, __ -> {});
+    synchronized (this) {
+      // Forget prefetches that have since finished.
+      final Iterator<Subscription> iterator = prefetchSubscriptions.values().iterator();
+      while (iterator.hasNext()) {
+        if (iterator.next().isUnsubscribed()) {
+          iterator.remove();
+        }
+      }
+
+      if (!subscription.isUnsubscribed() && pages.contains(key)) {
+        prefetchSubscriptions.put(key, subscription);
+      } else {
+        // The page came back straight away, or was evicted while it was requested.
+        subscription.unsubscribe();
+      }
+    }
+  }
+
+  private synchronized void started() {
+    inFlightCount++;
+  }
+
+  private void finished(final @NonNull AtomicBoolean finished) {
+    if (finished.getAndSet(true)) {
+      return;
+    }
+    synchronized (this) {
+      inFlightCount--;
+    }
+    prefetchIfIdle();
+  }
+
+  /**
+   * Key for `params`, which starts with the key for `params` in every sort.
+   */
+  private static @NonNull String key(final @NonNull DiscoveryParams params) {
+    return baseKey(params) + KEY_SEPARATOR + params.queryKey();
+  }
+
+  /**
+   * Key for `params` in every sort.
+   */
+  private static @NonNull String baseKey(final @NonNull DiscoveryParams params) {
+    return params.toBuilder().sort(null).page(null).build().queryKey();
+  }
+
+  private static final class Prefetch {
+    private final @NonNull ApiClientType client;
+    private final @NonNull DiscoveryParams params;
+
+    Prefetch(final @NonNull ApiClientType client, final @NonNull DiscoveryParams params) {
+      this.client = client;
+      this.params = params;
+    }
+  }
+}
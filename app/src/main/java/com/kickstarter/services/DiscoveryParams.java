@@ -9,6 +9,7 @@ import android.support.annotation.Nullable;
 
 import com.kickstarter.R;
 import com.kickstarter.libs.KSString;
+import com.kickstarter.libs.PathRouter;
 import com.kickstarter.libs.qualifiers.AutoGson;
 import com.kickstarter.libs.utils.ObjectUtils;
 import com.kickstarter.models.Category;
@@ -18,6 +19,7 @@ import com.kickstarter.models.Project;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 import auto.parcel.AutoParcel;
 
@@ -131,44 +133,18 @@ public abstract class DiscoveryParams implements Parcelable {
   public static @NonNull DiscoveryParams fromUri(final @NonNull Uri uri) {
     Builder builder = DiscoveryParams.builder();
 
-    if (KSUri.isDiscoverCategoriesPath(uri.getPath())) {
-      builder = builder.categoryParam(uri.getLastPathSegment());
-    }
-
-    if (KSUri.isDiscoverPlacesPath(uri.getPath())) {
-      builder = builder.locationParam(uri.getLastPathSegment());
-    }
-
-    if (KSUri.isDiscoverScopePath(uri.getPath(), "ending-soon")) {
-      builder = builder.sort(Sort.ENDING_SOON);
-    }
-
-    if (KSUri.isDiscoverScopePath(uri.getPath(), "most-funded")) {
-      builder = builder.sort(Sort.MOST_FUNDED);
-    }
-
-    if (KSUri.isDiscoverScopePath(uri.getPath(), "newest")) {
-      builder = builder.sort(Sort.NEWEST).staffPicks(true);
-    }
-
-    if (KSUri.isDiscoverScopePath(uri.getPath(), "popular")) {
-      builder = builder.sort(Sort.POPULAR);
-    }
-
-    if (KSUri.isDiscoverScopePath(uri.getPath(), "recently-launched")) {
-      builder = builder.sort(Sort.NEWEST);
-    }
-
-    if (KSUri.isDiscoverScopePath(uri.getPath(), "small-projects")) {
-      builder = builder.pledged(0);
-    }
-
-    if (KSUri.isDiscoverScopePath(uri.getPath(), "social")) {
-      builder = builder.social(0);
-    }
-
-    if (KSUri.isDiscoverScopePath(uri.getPath(), "successful")) {
-      builder = builder.sort(Sort.ENDING_SOON).state(State.SUCCESSFUL);
+    for (final PathRouter.Match<KSUri.Route> match : KSUri.matches(uri.getPath())) {
+      switch (match.route()) {
+        case DISCOVER_CATEGORIES:
+          builder = builder.categoryParam(uri.getLastPathSegment());
+          break;
+        case DISCOVER_PLACES:
+          builder = builder.locationParam(uri.getLastPathSegment());
+          break;
+        case DISCOVER_SCOPE:
+          builder = withScope(builder, match.param("scope"));
+          break;
+      }
     }
 
     final Integer backed = ObjectUtils.toInteger(uri.getQueryParameter("backed"));
@@ -239,6 +215,36 @@ public abstract class DiscoveryParams implements Parcelable {
     return builder.build();
   }
 
+  /**
+   * Applies a discover scope, e.g. `ending-soon` in `/discover/ending-soon`, to `builder`. Unknown scopes are ignored.
+   */
+  private static @NonNull Builder withScope(final @NonNull Builder builder, final @Nullable String scope) {
+    if (scope == null) {
+      return builder;
+    }
+
+    switch (scope) {
+      case "ending-soon":
+        return builder.sort(Sort.ENDING_SOON);
+      case "most-funded":
+        return builder.sort(Sort.MOST_FUNDED);
+      case "newest":
+        return builder.sort(Sort.NEWEST).staffPicks(true);
+      case "popular":
+        return builder.sort(Sort.POPULAR);
+      case "recently-launched":
+        return builder.sort(Sort.NEWEST);
+      case "small-projects":
+        return builder.pledged(0);
+      case "social":
+        return builder.social(0);
+      case "successful":
+        return builder.sort(Sort.ENDING_SOON).state(State.SUCCESSFUL);
+    }
+
+    return builder;
+  }
+
   @AutoParcel.Builder
   public abstract static class Builder {
     public abstract Builder backed(Integer __);
@@ -410,6 +416,13 @@ public abstract class DiscoveryParams implements Parcelable {
     });
   }
 
+  /**
+   * A key that is equal for params that make the same request, e.g. for storing the projects they load.
+   */
+  public @NonNull String queryKey() {
+    return new TreeMap<>(queryParams()).toString();
+  }
+
   /**
    * Determines if the `include_potd` flag should be included in a discovery request so that we guarantee that the
    * POTD comes back.
@@ -2,12 +2,18 @@ package com.kickstarter.services;
 
 import android.net.Uri;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
+import com.kickstarter.libs.PathRouter;
 import com.kickstarter.libs.utils.Secrets;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Collections;
+import java.util.List;
 
+/**
+ * Predicates for the urls the app handles. Paths are resolved with a single compiled {@link PathRouter} rather than
+ * a regular expression per predicate.
+ */
 public final class KSUri {
   private KSUri() {}
 
@@ -22,16 +28,16 @@ public final class KSUri {
   }
 
   public static boolean isDiscoverCategoriesPath(final @NonNull String path) {
-    return DISCOVER_CATEGORIES_PATTERN.matcher(path).matches();
+    return match(path, Route.DISCOVER_CATEGORIES) != null;
   }
 
   public static boolean isDiscoverScopePath(final @NonNull String path, final @NonNull String scope) {
-    final Matcher matcher = DISCOVER_SCOPE_PATTERN.matcher(path);
-    return matcher.matches() && scope.equals(matcher.group(1));
+    final PathRouter.Match<Route> match = match(path, Route.DISCOVER_SCOPE);
+    return match != null && scope.equals(match.param("scope"));
   }
 
   public static boolean isDiscoverPlacesPath(final @NonNull String path) {
-    return DISCOVER_PLACES_PATTERN.matcher(path).matches();
+    return match(path, Route.DISCOVER_PLACES) != null;
   }
 
   public static boolean isHivequeenUri(final @NonNull Uri uri, final @NonNull String webEndpoint) {
@@ -39,15 +45,15 @@ public final class KSUri {
   }
 
   public static boolean isKickstarterUri(final @NonNull Uri uri, final @NonNull String webEndpoint) {
-    return uri.getHost().equals(Uri.parse(webEndpoint).getHost());
+    return uri.getHost().equals(endpointHost(webEndpoint));
   }
 
   public static boolean isProjectUri(final @NonNull Uri uri, final @NonNull String webEndpoint) {
-    return isKickstarterUri(uri, webEndpoint) && PROJECT_PATTERN.matcher(uri.getPath()).matches();
+    return isRoute(uri, webEndpoint, Route.PROJECT);
   }
 
   public static boolean isSignupUri(final @NonNull Uri uri, final @NonNull String webEndpoint) {
-    return isKickstarterUri(uri, webEndpoint) && uri.getPath().equals("/signup");
+    return isRoute(uri, webEndpoint, Route.SIGNUP);
   }
 
   public static boolean isStagingUri(final @NonNull Uri uri, final @NonNull String webEndpoint) {
@@ -55,7 +61,7 @@ public final class KSUri {
   }
 
   public static boolean isCheckoutThanksUri(final @NonNull Uri uri, final @NonNull String webEndpoint) {
-    return isKickstarterUri(uri, webEndpoint) && CHECKOUT_THANKS_PATTERN.matcher(uri.getPath()).matches();
+    return isRoute(uri, webEndpoint, Route.CHECKOUT_THANKS);
   }
 
   public static boolean isModalUri(final @NonNull Uri uri, final @NonNull String webEndpoint) {
@@ -63,52 +69,102 @@ public final class KSUri {
   }
 
   public static boolean isProjectUpdateCommentsUri(final @NonNull Uri uri, final @NonNull String webEndpoint) {
-    return isKickstarterUri(uri, webEndpoint) && PROJECT_UPDATE_COMMENTS_PATTERN.matcher(uri.getPath()).matches();
+    return isRoute(uri, webEndpoint, Route.PROJECT_UPDATE_COMMENTS);
   }
 
   public static boolean isProjectUpdateUri(final @NonNull Uri uri, final @NonNull String webEndpoint) {
-    return isKickstarterUri(uri, webEndpoint) && PROJECT_UPDATE_PATTERN.matcher(uri.getPath()).matches();
+    return isRoute(uri, webEndpoint, Route.PROJECT_UPDATE);
   }
 
   public static boolean isProjectUpdatesUri(final @NonNull Uri uri, final @NonNull String webEndpoint) {
-    return isKickstarterUri(uri, webEndpoint) && PROJECT_UPDATES_PATTERN.matcher(uri.getPath()).matches();
+    return isRoute(uri, webEndpoint, Route.PROJECT_UPDATES);
   }
 
   public static boolean isWebUri(final @NonNull Uri uri, final @NonNull String webEndpoint) {
     return isKickstarterUri(uri, webEndpoint) && !isApiUri(uri, webEndpoint);
   }
 
-  // /discover/categories/param
-  private static final Pattern DISCOVER_CATEGORIES_PATTERN = Pattern.compile("\\A\\/discover\\/categories\\/.*");
-
-  // /discover/param
-  private static final Pattern DISCOVER_SCOPE_PATTERN = Pattern.compile("\\A\\/discover\\/([a-zA-Z0-9-_]+)\\z");
-
-  // /discover/places/param
-  private static final Pattern DISCOVER_PLACES_PATTERN = Pattern.compile("\\A\\/discover\\/places\\/[a-zA-Z0-9-_]+\\z");
-
-  // /projects/:creator_param/:project_param
-  private static final Pattern PROJECT_PATTERN = Pattern.compile(
-    "\\A\\/projects(\\/[a-zA-Z0-9_-]+)?\\/[a-zA-Z0-9_-]+\\/?\\z"
-  );
-
-  // /projects/:creator_param/:project_param/posts/:update_param/comments
-  private static final Pattern PROJECT_UPDATE_COMMENTS_PATTERN = Pattern.compile(
-    "\\A\\/projects(\\/[a-zA-Z0-9_-]+)?\\/[a-zA-Z0-9_-]+\\/posts\\/[a-zA-Z0-9-_]+\\/comments\\z"
-  );
-
-  // /projects/:creator_param/:project_param/posts/:update_param
-  private static final Pattern PROJECT_UPDATE_PATTERN = Pattern.compile(
-    "\\A\\/projects(\\/[a-zA-Z0-9_-]+)?\\/[a-zA-Z0-9_-]+\\/posts\\/[a-zA-Z0-9-_]+\\z"
-  );
-
-  // /projects/:creator_param/:project_param/posts
-  private static final Pattern PROJECT_UPDATES_PATTERN = Pattern.compile(
-    "\\A\\/projects(\\/[a-zA-Z0-9_-]+)?\\/[a-zA-Z0-9_-]+\\/posts\\z"
-  );
-
-  // /projects/:creator_param/:project_param/checkouts/1/thanks
-  private static final Pattern CHECKOUT_THANKS_PATTERN = Pattern.compile(
-    "\\A\\/projects(\\/[a-zA-Z0-9_-]+)?\\/[a-zA-Z0-9_-]+\\/checkouts\\/\\d+\\/thanks\\z"
-  );
+  public enum Route {
+    CHECKOUT_THANKS,
+    DISCOVER_CATEGORIES,
+    DISCOVER_PLACES,
+    DISCOVER_SCOPE,
+    PROJECT,
+    PROJECT_UPDATE,
+    PROJECT_UPDATE_COMMENTS,
+    PROJECT_UPDATES,
+    SIGNUP
+  }
+
+  private static final PathRouter<Route> ROUTER = new PathRouter.Builder<Route>()
+    .add("/discover/categories/*category_path", Route.DISCOVER_CATEGORIES)
+    .add("/discover/places/:location_param", Route.DISCOVER_PLACES)
+    .add("/discover/:scope", Route.DISCOVER_SCOPE)
+    .add("/projects/:creator_param?/:project_param/?", Route.PROJECT)
+    .add("/projects/:creator_param?/:project_param/checkouts/#checkout_id/thanks", Route.CHECKOUT_THANKS)
+    .add("/projects/:creator_param?/:project_param/posts", Route.PROJECT_UPDATES)
+    .add("/projects/:creator_param?/:project_param/posts/:update_param", Route.PROJECT_UPDATE)
+    .add("/projects/:creator_param?/:project_param/posts/:update_param/comments", Route.PROJECT_UPDATE_COMMENTS)
+    .add("/signup", Route.SIGNUP)
+    .build();
+
+  /**
+   * The last path resolved and the last endpoint parsed. A web view's request handlers each test the same url in turn,
+   * so it is only resolved by the first of them.
+   */
+  private static volatile @Nullable Memo<List<PathRouter.Match<Route>>> lastMatches;
+  private static volatile @Nullable Memo<String> lastEndpointHost;
+
+  /**
+   * Returns every route that `path` matches, e.g. `/projects/creator/posts` matches both {@link Route#PROJECT} and
+   * {@link Route#PROJECT_UPDATES}.
+   */
+  public static @NonNull List<PathRouter.Match<Route>> matches(final @NonNull String path) {
+    final Memo<List<PathRouter.Match<Route>>> last = lastMatches;
+    if (last != null && last.key.equals(path)) {
+      return last.value;
+    }
+
+    final List<PathRouter.Match<Route>> matches = Collections.unmodifiableList(ROUTER.resolve(path));
+    lastMatches = new Memo<>(path, matches);
+    return matches;
+  }
+
+  /**
+   * Returns the match of `route` for `path`, or `null` if `path` doesn't match it.
+   */
+  public static @Nullable PathRouter.Match<Route> match(final @NonNull String path, final @NonNull Route route) {
+    for (final PathRouter.Match<Route> match : matches(path)) {
+      if (match.route() == route) {
+        return match;
+      }
+    }
+    return null;
+  }
+
+  private static boolean isRoute(final @NonNull Uri uri, final @NonNull String webEndpoint,
+    final @NonNull Route route) {
+    return isKickstarterUri(uri, webEndpoint) && match(uri.getPath(), route) != null;
+  }
+
+  private static @Nullable String endpointHost(final @NonNull String webEndpoint) {
+    final Memo<String> last = lastEndpointHost;
+    if (last != null && last.key.equals(webEndpoint)) {
+      return last.value;
+    }
+
+    final String host = Uri.parse(webEndpoint).getHost();
+    lastEndpointHost = new Memo<>(webEndpoint, host);
+    return host;
+  }
+
+  private static final class Memo<T> {
+    private final @NonNull String key;
+    private final T value;
+
+    private Memo(final @NonNull String key, final T value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
 }
@@ -0,0 +1,109 @@
+package com.kickstarter.services;
+
+import android.support.annotation.NonNull;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import okhttp3.ResponseBody;
+import rx.Observable;
+
+/**
+ * Lazily reads the items of a list envelope, e.g. the `projects` of a `DiscoverEnvelope`, straight off a response body
+ * so that each item can be emitted as soon as it is parsed instead of after the whole envelope has been read. Every
+ * other field of the envelope is skipped.
+ */
+public final class ListEnvelopeReader<T> implements Iterator<T> {
+  private final TypeAdapter<T> adapter;
+  private final String listField;
+  private final JsonReader reader;
+  private boolean inList;
+  private boolean finished;
+
+  public ListEnvelopeReader(final @NonNull Gson gson, final @NonNull Class<T> type, final @NonNull String listField,
+    final @NonNull JsonReader reader) {
+    this.adapter = gson.getAdapter(type);
+    this.listField = listField;
+    this.reader = reader;
+  }
+
+  /**
+   * Emits the items of the `listField` array in `body` as they are parsed, respecting backpressure. Parsing stops and
+   * the body is closed as soon as the subscriber unsubscribes, so e.g. `take(3)` never reads past the third item.
+   */
+  public static @NonNull <T> Observable<T> items(final @NonNull Gson gson, final @NonNull Class<T> type,
+    final @NonNull String listField, final @NonNull ResponseBody body) {
+    return Observable.using(
+      () -> body,
+      b -> Observable.from(() -> new ListEnvelopeReader<>(gson, type, listField, new JsonReader(b.charStream()))),
+      ResponseBody::close
+    );
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (finished) {
+      return false;
+    }
+
+    try {
+      if (!inList) {
+        inList = moveToList();
+        if (!inList) {
+          finished = true;
+          return false;
+        }
+      }
+
+      if (reader.hasNext()) {
+        return true;
+      }
+
+      // The rest of the envelope is never read, the body is closed instead.
+      finished = true;
+      return false;
+    } catch (final IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  @Override
+  public @NonNull T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    try {
+      return adapter.read(reader);
+    } catch (final IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Skips fields until the reader is at the start of the list. Returns `false` if the envelope has no list.
+   */
+  private boolean moveToList() throws IOException {
+    reader.beginObject();
+    while (reader.hasNext()) {
+      if (listField.equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+        reader.beginArray();
+        return true;
+      }
+      reader.skipValue();
+    }
+    return false;
+  }
+}
@@ -0,0 +1,148 @@
+package com.kickstarter.services;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Func1;
+
+/**
+ * Shares one in-flight request between every subscriber asking for the same key, e.g. several view models fetching the
+ * same project at once. Once a request completes its last value is replayed for `ttl` so that requests made right
+ * after it also share it. Failed requests are forgotten straight away so that they can be retried, and a request is
+ * unsubscribed from and forgotten once every subscriber sharing it has unsubscribed.
+ */
+public final class RequestCoalescer {
+  private final long ttlMillis;
+  private final Scheduler scheduler;
+  private final Map<String, Entry> entries = new HashMap<>();
+
+  public RequestCoalescer(final long ttl, final @NonNull TimeUnit unit, final @NonNull Scheduler scheduler) {
+    this.ttlMillis = unit.toMillis(ttl);
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * A key identifying a request by its method, path and query, with the query in a stable order.
+   */
+  public static @NonNull String key(final @NonNull String method, final @NonNull String path,
+    final @Nullable Map<String, String> query) {
+    return query == null || query.isEmpty()
+      ? method + " " + path
+      : method + " " + path + "?" + new TreeMap<>(query).toString();
+  }
+
+  /**
+   * Subscribes to `request` if there is nothing in flight or recently completed for `key`, otherwise shares it.
+   */
+  @SuppressWarnings("unchecked")
+  public @NonNull <T> Observable<T> coalesce(final @NonNull String key, final @NonNull Observable<T> request) {
+    return Observable.defer(() -> {
+      synchronized (this) {
+        // Expired entries are also pruned here, as a key may never be completed again.
+        removeExpired();
+
+        final Entry existing = entries.get(key);
+        if (existing != null) {
+          return (Observable<T>) (existing.completed != null ? existing.completed : existing.shared);
+        }
+
+        final Entry entry = new Entry();
+        entry.shared = request
+          .doOnNext(value -> received(entry, value))
+          .doOnCompleted(() -> completed(entry))
+          .doOnError(__ -> remove(key, entry))
+          .doOnUnsubscribe(() -> unsubscribed(key, entry))
+          .replay(1)
+          .refCount();
+        entries.put(key, entry);
+        return (Observable<T>) entry.shared;
+      }
+    });
+  }
+
+  /**
+   * Whether a request for `key` is in flight or completed within `ttl`, so that `coalesce` would share it.
+   */
+  public synchronized boolean contains(final @NonNull String key) {
+    removeExpired();
+    return entries.containsKey(key);
+  }
+
+  /**
+   * Forgets the requests whose keys match `predicate`, so that they are made again by the next `coalesce`. Subscribers
+   * already sharing one of them keep it until they unsubscribe.
+   */
+  public synchronized void removeAll(final @NonNull Func1<String, Boolean> predicate) {
+    final Iterator<String> iterator = entries.keySet().iterator();
+    while (iterator.hasNext()) {
+      if (predicate.call(iterator.next())) {
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Number of requests in flight or completed within `ttl`.
+   */
+  synchronized int size() {
+    return entries.size();
+  }
+
+  private synchronized void received(final @NonNull Entry entry, final @Nullable Object value) {
+    entry.lastValue = value;
+    entry.hasValue = true;
+  }
+
+  private synchronized void completed(final @NonNull Entry entry) {
+    entry.completedAtMillis = scheduler.now();
+    // The shared request reconnects once its subscribers are gone, so later subscribers are replayed its last value.
+    entry.completed = entry.hasValue ? Observable.just(entry.lastValue) : Observable.empty();
+    removeExpired();
+  }
+
+  /**
+   * Forgets a request that every subscriber unsubscribed from before it completed.
+   */
+  private synchronized void unsubscribed(final @NonNull String key, final @NonNull Entry entry) {
+    if (entry.completedAtMillis < 0) {
+      remove(key, entry);
+    }
+  }
+
+  private synchronized void remove(final @NonNull String key, final @NonNull Entry entry) {
+    // The entry may already have been replaced by a newer request for the same key.
+    if (entries.get(key) == entry) {
+      entries.remove(key);
+    }
+  }
+
+  private void removeExpired() {
+    final long now = scheduler.now();
+    final Iterator<Entry> iterator = entries.values().iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().isExpired(now, ttlMillis)) {
+        iterator.remove();
+      }
+    }
+  }
+
+  private static final class Entry {
+    private Observable<?> shared;
+    private @Nullable Observable<?> completed;
+    private @Nullable Object lastValue;
+    private boolean hasValue;
+    private long completedAtMillis = -1;
+
+    boolean isExpired(final long nowMillis, final long ttlMillis) {
+      return completedAtMillis >= 0 && nowMillis - completedAtMillis >= ttlMillis;
+    }
+  }
+}
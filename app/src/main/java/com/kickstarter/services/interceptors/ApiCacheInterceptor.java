@@ -0,0 +1,68 @@
+package com.kickstarter.services.interceptors;
+
+import android.support.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * A network interceptor that marks successful responses from some endpoints as fresh for a fixed amount of time,
+ * regardless of the headers the server sent: categories for hours, as they rarely change, and pages of discover for
+ * minutes, which is how long a browsing session reuses them. Responses from all other endpoints, such as projects which
+ * change as soon as the user pledges or stars, keep the caching headers the server sent.
+ */
+public final class ApiCacheInterceptor implements Interceptor {
+  private static final long CATEGORIES_MAX_AGE_SECONDS = TimeUnit.HOURS.toSeconds(6);
+  private static final long DISCOVER_MAX_AGE_SECONDS = TimeUnit.MINUTES.toSeconds(5);
+
+  // /v1/categories, /v1/categories/param
+  private static final Pattern CATEGORIES_PATTERN = Pattern.compile("\\A\\/v1\\/categories(\\/[^\\/]+)?\\/?\\z");
+
+  // /v1/discover, with any query
+  private static final Pattern DISCOVER_PATTERN = Pattern.compile("\\A\\/v1\\/discover\\/?\\z");
+
+  private final String apiHost;
+
+  public ApiCacheInterceptor(final @NonNull String apiEndpoint) {
+    this.apiHost = HttpUrl.parse(apiEndpoint).host();
+  }
+
+  @Override
+  public Response intercept(final @NonNull Chain chain) throws IOException {
+    final Request request = chain.request();
+    final Response response = chain.proceed(request);
+
+    if (!response.isSuccessful() || !"GET".equals(request.method()) || !apiHost.equals(request.url().host())) {
+      return response;
+    }
+
+    final long maxAgeSeconds = maxAgeSeconds(request.url().encodedPath());
+    if (maxAgeSeconds <= 0) {
+      return response;
+    }
+
+    return response.newBuilder()
+      .removeHeader("Pragma")
+      .header("Cache-Control", "private, max-age=" + maxAgeSeconds)
+      .build();
+  }
+
+  /**
+   * Returns how long a response for the path stays fresh, or 0 if it shouldn't be cached.
+   */
+  static long maxAgeSeconds(final @NonNull String path) {
+    if (CATEGORIES_PATTERN.matcher(path).matches()) {
+      return CATEGORIES_MAX_AGE_SECONDS;
+    }
+    if (DISCOVER_PATTERN.matcher(path).matches()) {
+      return DISCOVER_MAX_AGE_SECONDS;
+    }
+    return 0;
+  }
+}
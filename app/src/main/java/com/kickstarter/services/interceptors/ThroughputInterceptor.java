@@ -0,0 +1,70 @@
+package com.kickstarter.services.interceptors;
+
+import android.support.annotation.NonNull;
+
+import com.kickstarter.libs.NetworkThroughput;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * A network interceptor that samples download throughput into a {@link NetworkThroughput}. A sample is the size of a
+ * response body over the time spent reading it from the network. The first read, which waits for the first byte, isn't
+ * counted, and neither is the time the caller spends between reads, e.g. parsing. Responses served from the cache,
+ * closed before being read, or declared smaller than {@link NetworkThroughput#MIN_SAMPLE_BYTES} aren't sampled.
+ */
+public final class ThroughputInterceptor implements Interceptor {
+  private final NetworkThroughput throughput;
+
+  public ThroughputInterceptor(final @NonNull NetworkThroughput throughput) {
+    this.throughput = throughput;
+  }
+
+  @Override
+  public Response intercept(final @NonNull Chain chain) throws IOException {
+    final Response response = chain.proceed(chain.request());
+
+    final ResponseBody body = response.body();
+    final long contentLength = body == null ? -1 : body.contentLength();
+    if (body == null || (contentLength >= 0 && contentLength < NetworkThroughput.MIN_SAMPLE_BYTES)) {
+      return response;
+    }
+
+    final Source source = new ForwardingSource(body.source()) {
+      private boolean firstByteRead;
+      private long bytes;
+      private long readNanos;
+      private boolean sampled;
+
+      @Override
+      public long read(final @NonNull Buffer sink, final long byteCount) throws IOException {
+        final long startNanos = System.nanoTime();
+        final long read = super.read(sink, byteCount);
+
+        if (read >= 0) {
+          if (firstByteRead) {
+            bytes += read;
+            readNanos += System.nanoTime() - startNanos;
+          }
+          firstByteRead = true;
+        } else if (!sampled) {
+          sampled = true;
+          throughput.addSample(bytes, TimeUnit.NANOSECONDS.toMillis(readNanos));
+        }
+        return read;
+      }
+    };
+
+    return response.newBuilder()
+      .body(ResponseBody.create(body.contentType(), contentLength, Okio.buffer(source)))
+      .build();
+  }
+}
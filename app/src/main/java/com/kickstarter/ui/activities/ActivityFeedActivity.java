@@ -26,13 +26,12 @@ import com.kickstarter.ui.adapters.ActivityFeedAdapter;
 import com.kickstarter.ui.data.LoginReason;
 import com.kickstarter.viewmodels.ActivityFeedViewModel;
 
-import java.util.List;
-
 import javax.inject.Inject;
 
 import butterknife.Bind;
 import butterknife.ButterKnife;
 
+import static com.kickstarter.libs.rx.transformers.Transformers.diff;
 import static com.kickstarter.libs.rx.transformers.Transformers.observeForUI;
 
 @RequiresActivityViewModel(ActivityFeedViewModel.ViewModel.class)
@@ -57,7 +56,8 @@ public final class ActivityFeedActivity extends BaseActivity<ActivityFeedViewMod
     recyclerView.setAdapter(adapter);
     recyclerView.setLayoutManager(new LinearLayoutManager(this));
 
-    recyclerViewPaginator = new RecyclerViewPaginator(recyclerView, viewModel.inputs::nextPage);
+    recyclerViewPaginator = new RecyclerViewPaginator(recyclerView, viewModel.inputs::nextPage,
+      RecyclerViewPaginator.DEFAULT_LOOKAHEAD);
     swipeRefresher = new SwipeRefresher(this, swipeRefreshLayout, viewModel.inputs::refresh, viewModel.outputs::isFetchingActivities);
 
     // Only allow refreshing if there's a current user
@@ -68,9 +68,10 @@ public final class ActivityFeedActivity extends BaseActivity<ActivityFeedViewMod
       .subscribe(swipeRefreshLayout::setEnabled);
 
     viewModel.outputs.activities()
+      .compose(diff(Activity::id, adapter::activities))
       .compose(bindToLifecycle())
       .compose(observeForUI())
-      .subscribe(this::showActivities);
+      .subscribe(adapter::takeActivities);
 
     viewModel.outputs.loggedOutEmptyStateIsVisible()
       .compose(bindToLifecycle())
@@ -110,10 +111,6 @@ public final class ActivityFeedActivity extends BaseActivity<ActivityFeedViewMod
     recyclerView.setAdapter(null);
   }
 
-  private void showActivities(final @NonNull List<Activity> activities) {
-    adapter.takeActivities(activities);
-  }
-
   private void resumeDiscoveryActivity() {
     ApplicationUtils.resumeDiscoveryActivity(this);
   }
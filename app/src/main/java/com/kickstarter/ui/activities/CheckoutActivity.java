@@ -34,6 +34,7 @@ import com.kickstarter.libs.BaseActivity;
 import com.kickstarter.libs.Build;
 import com.kickstarter.libs.KSCurrency;
 import com.kickstarter.libs.KSString;
+import com.kickstarter.libs.PhotoSelector;
 import com.kickstarter.libs.models.AndroidPayAuthorizedPayload;
 import com.kickstarter.libs.models.AndroidPayPayload;
 import com.kickstarter.libs.qualifiers.RequiresActivityViewModel;
@@ -104,6 +105,7 @@ public final class CheckoutActivity extends BaseActivity<CheckoutViewModel> impl
   protected @Inject Gson gson;
   protected @Inject AndroidPayCapability androidPayCapability;
   protected @Inject Build build;
+  protected @Inject PhotoSelector photoSelector;
 
   private @Nullable SupportWalletFragment walletFragment;
   private @Nullable SupportWalletFragment confirmationWalletFragment;
@@ -288,7 +290,7 @@ public final class CheckoutActivity extends BaseActivity<CheckoutViewModel> impl
   private void updateAndroidPayConfirmation(final @NonNull MaskedWallet maskedWallet,
     final @NonNull AndroidPayPayload payload) {
 
-    Picasso.with(this).load(project.photo().full()).into(contextPhotoImageView);
+    Picasso.with(this).load(photoSelector.url(project.photo(), contextPhotoImageView)).into(contextPhotoImageView);
     projectNameTextView.setText(project.name());
     creatorNameTextView.setText(ksString.format(
       projectCreatorByCreatorString,
@@ -69,7 +69,8 @@ public final class CommentsActivity extends BaseActivity<CommentsViewModel> impl
     recyclerView.setAdapter(adapter);
     recyclerView.setLayoutManager(new LinearLayoutManager(this));
 
-    recyclerViewPaginator = new RecyclerViewPaginator(recyclerView, viewModel.inputs::nextPage);
+    recyclerViewPaginator = new RecyclerViewPaginator(recyclerView, viewModel.inputs::nextPage,
+      RecyclerViewPaginator.DEFAULT_LOOKAHEAD);
     swipeRefresher = new SwipeRefresher(this, swipeRefreshLayout, viewModel.inputs::refresh, viewModel.outputs::isFetchingComments);
 
     final Observable<TextView> commentBodyEditText = alertDialog
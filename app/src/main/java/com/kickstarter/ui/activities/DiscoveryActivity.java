@@ -11,6 +11,8 @@ import android.support.v4.widget.DrawerLayout;
 import android.support.v7.app.AlertDialog;
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewTreeObserver;
 
 import com.jakewharton.rxbinding.support.v4.widget.RxDrawerLayout;
 import com.kickstarter.KSApplication;
@@ -18,6 +20,7 @@ import com.kickstarter.R;
 import com.kickstarter.libs.ActivityRequestCodes;
 import com.kickstarter.libs.BaseActivity;
 import com.kickstarter.libs.InternalToolsType;
+import com.kickstarter.libs.ViewPool;
 import com.kickstarter.libs.qualifiers.RequiresActivityViewModel;
 import com.kickstarter.services.ApiClientType;
 import com.kickstarter.services.apiresponses.InternalBuildEnvelope;
@@ -44,10 +47,20 @@ import static com.kickstarter.libs.utils.TransitionUtils.slideInFromRight;
 import static com.kickstarter.libs.utils.TransitionUtils.transition;
 
 @RequiresActivityViewModel(DiscoveryViewModel.class)
-public final class DiscoveryActivity extends BaseActivity<DiscoveryViewModel> {
+public final class DiscoveryActivity extends BaseActivity<DiscoveryViewModel> implements ViewPool.Provider {
+  /**
+   * Project cards inflated while the main thread is idle after the first frame is drawn, enough to fill the screen when
+   * switching to a tab that hasn't been shown yet.
+   */
+  private static final int PREINFLATED_PROJECT_CARDS = 4;
+  private static final int MAX_POOLED_VIEWS_PER_LAYOUT = 12;
+
   private DiscoveryDrawerAdapter drawerAdapter;
   private LinearLayoutManager drawerLayoutManager;
   private DiscoveryPagerAdapter pagerAdapter;
+  private ViewPool viewPool;
+  private final Runnable preinflateProjectCards = () ->
+    viewPool().preinflate(R.layout.project_card_view, PREINFLATED_PROJECT_CARDS);
 
   protected @Inject ApiClientType client;
   protected @Inject InternalToolsType internalTools;
@@ -86,6 +99,17 @@ public final class DiscoveryActivity extends BaseActivity<DiscoveryViewModel> {
     sortViewPager.setAdapter(pagerAdapter);
     sortTabLayout.setupWithViewPager(sortViewPager);
 
+    // Preinflate after the first frame is drawn, so that the idle time before it isn't spent inflating.
+    final View decorView = getWindow().getDecorView();
+    decorView.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+      @Override
+      public boolean onPreDraw() {
+        decorView.getViewTreeObserver().removeOnPreDrawListener(this);
+        decorView.post(preinflateProjectCards);
+        return true;
+      }
+    });
+
     viewModel.outputs.expandSortTabLayout()
       .compose(bindToLifecycle())
       .compose(observeForUI())
@@ -153,10 +177,31 @@ public final class DiscoveryActivity extends BaseActivity<DiscoveryViewModel> {
       .subscribe(viewModel.inputs::openDrawer);
   }
 
+  @Override
+  protected void onDestroy() {
+    super.onDestroy();
+
+    getWindow().getDecorView().removeCallbacks(preinflateProjectCards);
+    if (viewPool != null) {
+      viewPool.stopPreinflating();
+    }
+  }
+
   public @NonNull DrawerLayout discoveryLayout() {
     return discoveryLayout;
   }
 
+  /**
+   * Shared by the pager's fragments, so that project cards inflated for one sort are reused by the others.
+   */
+  @Override
+  public @NonNull ViewPool viewPool() {
+    if (viewPool == null) {
+      viewPool = new ViewPool(getLayoutInflater(), MAX_POOLED_VIEWS_PER_LAYOUT);
+    }
+    return viewPool;
+  }
+
   private void startLoginToutActivity() {
     final Intent intent = new Intent(this, LoginToutActivity.class)
       .putExtra(IntentKey.LOGIN_REASON, LoginReason.DEFAULT);
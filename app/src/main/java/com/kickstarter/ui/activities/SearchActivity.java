@@ -42,7 +42,8 @@ public final class SearchActivity extends BaseActivity<SearchViewModel> implemen
     recyclerView.setLayoutManager(new LinearLayoutManager(this));
     recyclerView.setAdapter(adapter);
 
-    paginator = new RecyclerViewPaginator(recyclerView, viewModel.inputs::nextPage);
+    paginator = new RecyclerViewPaginator(recyclerView, viewModel.inputs::nextPage,
+      RecyclerViewPaginator.DEFAULT_LOOKAHEAD);
 
     RxRecyclerView.scrollEvents(recyclerView)
       .compose(bindToLifecycle())
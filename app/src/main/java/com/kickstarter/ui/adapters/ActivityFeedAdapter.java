@@ -2,9 +2,11 @@ package com.kickstarter.ui.adapters;
 
 import android.support.annotation.LayoutRes;
 import android.support.annotation.NonNull;
+import android.util.Pair;
 import android.view.View;
 
 import com.kickstarter.R;
+import com.kickstarter.libs.utils.DiffUtils;
 import com.kickstarter.libs.utils.ListUtils;
 import com.kickstarter.models.Activity;
 import com.kickstarter.ui.viewholders.EmptyActivityFeedViewHolder;
@@ -37,9 +39,15 @@ public final class ActivityFeedAdapter extends KSAdapter {
     insertSection(SECTION_ACTIVITIES_VIEW, Collections.emptyList());
   }
 
-  public void takeActivities(final @NonNull List<Activity> activities) {
-    setSection(SECTION_ACTIVITIES_VIEW, activities);
-    notifyDataSetChanged();
+  public void takeActivities(final @NonNull Pair<List<Activity>, DiffUtils.Diff> activitiesAndDiff) {
+    setSection(SECTION_ACTIVITIES_VIEW, activitiesAndDiff.first, activitiesAndDiff.second);
+  }
+
+  /**
+   * The activities currently shown, for diffing new activities against.
+   */
+  public @NonNull List<Activity> activities() {
+    return section(SECTION_ACTIVITIES_VIEW);
   }
 
   public void showLoggedInEmptyState(final boolean show) {
@@ -44,18 +44,18 @@ public final class CommentsAdapter extends KSAdapter {
     final List<Comment> comments = data.comments();
     final User user = data.user();
 
-    sections().clear();
+    clearSections();
 
-    sections().add(Collections.singletonList(project));
+    addSection(Collections.singletonList(project));
 
     addSection(Observable.from(comments)
       .map(comment -> Pair.create(project, comment))
       .toList().toBlocking().single());
 
     if (comments.size() == 0) {
-      sections().add(Collections.singletonList(new Pair<>(project, user)));
+      addSection(Collections.singletonList(new Pair<>(project, user)));
     } else {
-      sections().add(Collections.emptyList());
+      addSection(Collections.emptyList());
     }
 
     notifyDataSetChanged();
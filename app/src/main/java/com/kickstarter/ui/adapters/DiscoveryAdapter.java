@@ -3,9 +3,11 @@ package com.kickstarter.ui.adapters;
 import android.support.annotation.LayoutRes;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.util.Pair;
 import android.view.View;
 
 import com.kickstarter.R;
+import com.kickstarter.libs.utils.DiffUtils;
 import com.kickstarter.models.Activity;
 import com.kickstarter.models.Project;
 import com.kickstarter.ui.viewholders.ActivitySampleFriendBackingViewHolder;
@@ -14,6 +16,7 @@ import com.kickstarter.ui.viewholders.ActivitySampleProjectViewHolder;
 import com.kickstarter.ui.viewholders.DiscoveryOnboardingViewHolder;
 import com.kickstarter.ui.viewholders.EmptyViewHolder;
 import com.kickstarter.ui.viewholders.KSViewHolder;
+import com.kickstarter.ui.viewholders.ProjectCardPlaceholderViewHolder;
 import com.kickstarter.ui.viewholders.ProjectCardViewHolder;
 
 import java.util.Collections;
@@ -26,6 +29,11 @@ public final class DiscoveryAdapter extends KSAdapter {
 
   private final Delegate delegate;
 
+  /**
+   * Height of the last project card detached from the window, which placeholders for evicted projects take.
+   */
+  private int projectCardHeight;
+
   public interface Delegate extends ProjectCardViewHolder.Delegate, DiscoveryOnboardingViewHolder.Delegate,
     ActivitySampleFriendFollowViewHolder.Delegate, ActivitySampleFriendBackingViewHolder.Delegate,
     ActivitySampleProjectViewHolder.Delegate {}
@@ -57,9 +65,32 @@ public final class DiscoveryAdapter extends KSAdapter {
     notifyDataSetChanged();
   }
 
-  public void takeProjects(final @NonNull List<Project> projects) {
-    setSection(SECTION_PROJECT_CARD_VIEW, projects);
-    notifyDataSetChanged();
+  public void takeProjects(final @NonNull Pair<List<Project>, DiffUtils.Diff> projectsAndDiff) {
+    setSection(SECTION_PROJECT_CARD_VIEW, projectsAndDiff.first, projectsAndDiff.second);
+  }
+
+  /**
+   * The projects currently shown, for diffing new projects against.
+   */
+  public @NonNull List<Project> projects() {
+    return section(SECTION_PROJECT_CARD_VIEW);
+  }
+
+  /**
+   * Converts an adapter position to a position among the projects, or -1 if it's above them.
+   */
+  public int projectPosition(final int adapterPosition) {
+    final int position = adapterPosition - sectionOffset(SECTION_PROJECT_CARD_VIEW);
+    return position < 0 ? -1 : position;
+  }
+
+  @Override
+  public void onViewDetachedFromWindow(final @NonNull KSViewHolder holder) {
+    super.onViewDetachedFromWindow(holder);
+
+    if (holder instanceof ProjectCardViewHolder && holder.itemView.getHeight() > 0) {
+      projectCardHeight = holder.itemView.getHeight();
+    }
   }
 
   @Override
@@ -78,6 +109,9 @@ public final class DiscoveryAdapter extends KSAdapter {
         }
       }
       return R.layout.empty_view;
+    } else if (objectFromSectionRow(sectionRow) == null) {
+      // The project's page was evicted to save memory, and will be reloaded as it's scrolled back into view.
+      return R.layout.project_card_placeholder_view;
     } else {
       return R.layout.project_card_view;
     }
@@ -96,6 +130,8 @@ public final class DiscoveryAdapter extends KSAdapter {
         return new ActivitySampleFriendFollowViewHolder(view, delegate);
       case R.layout.activity_sample_project_view:
         return new ActivitySampleProjectViewHolder(view, delegate);
+      case R.layout.project_card_placeholder_view:
+        return new ProjectCardPlaceholderViewHolder(view, () -> projectCardHeight);
       default:
         return new EmptyViewHolder(view);
     }
@@ -114,8 +114,8 @@ public class DiscoveryDrawerAdapter extends KSAdapter {
 
   public void takeData(final @NonNull NavigationDrawerData data) {
     drawerData = data;
-    this.sections().clear();
-    this.sections().addAll(sectionsFromData(data));
+    clearSections();
+    addSections(sectionsFromData(data));
     notifyDataSetChanged();
   }
 
@@ -2,12 +2,15 @@ package com.kickstarter.ui.adapters;
 
 import android.support.annotation.LayoutRes;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.support.v7.widget.RecyclerView;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
 import com.kickstarter.BuildConfig;
+import com.kickstarter.libs.ViewPool;
+import com.kickstarter.libs.utils.DiffUtils;
 import com.kickstarter.libs.utils.ExceptionUtils;
 import com.kickstarter.ui.viewholders.KSViewHolder;
 import com.trello.rxlifecycle.ActivityEvent;
@@ -15,21 +18,43 @@ import com.trello.rxlifecycle.ActivityEvent;
 import net.hockeyapp.android.ExceptionHandler;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 public abstract class KSAdapter extends RecyclerView.Adapter<KSViewHolder> {
   private List<List<Object>> sections = new ArrayList<>();
 
+  /**
+   * Position of the first row of each section, kept in sync with `sections` so that positions can be resolved with a
+   * binary search instead of walking every row.
+   */
+  private int[] sectionOffsets = new int[4];
+  private int itemCount;
+
+  /**
+   * Reused for every position lookup so that binding and view type lookups don't allocate.
+   */
+  private final SectionRow positionSectionRow = new SectionRow();
+
+  private @Nullable ViewPool viewPool;
+
+  /**
+   * Returns a read-only view of the sections. Use `addSection`, `setSection`, etc. to modify them so that the position
+   * index stays up to date.
+   */
   public List<List<Object>> sections() {
-    return sections;
+    return Collections.unmodifiableList(sections);
   }
 
   public void clearSections() {
     sections.clear();
+    itemCount = 0;
   }
 
   public <T> void addSection(final @NonNull List<T> section) {
     sections.add(new ArrayList<>(section));
+    reindexSectionsFrom(sections.size() - 1);
   }
 
   public <T> void addSections(final @NonNull List<List<T>> sections) {
@@ -40,10 +65,67 @@ public abstract class KSAdapter extends RecyclerView.Adapter<KSViewHolder> {
 
   public <T> void setSection(final int location, final @NonNull List<T> section) {
     sections.set(location, new ArrayList<>(section));
+    reindexSectionsFrom(location);
+  }
+
+  /**
+   * Replaces a section and notifies the adapter of only the rows that `diff` says were inserted, removed, moved or
+   * changed. `diff` must describe the change from the section's current contents to `section`.
+   */
+  public <T> void setSection(final int location, final @NonNull List<T> section, final @NonNull DiffUtils.Diff diff) {
+    final int oldSize = sections.get(location).size();
+    setSection(location, section);
+
+    final int offset = sectionOffsets[location];
+    DiffUtils.dispatch(diff, oldSize, new DiffUtils.ListUpdateCallback() {
+      @Override
+      public void onInserted(final int position, final int count) {
+        notifyItemRangeInserted(offset + position, count);
+      }
+
+      @Override
+      public void onRemoved(final int position, final int count) {
+        notifyItemRangeRemoved(offset + position, count);
+      }
+
+      @Override
+      public void onMoved(final int fromPosition, final int toPosition) {
+        notifyItemMoved(offset + fromPosition, offset + toPosition);
+      }
+
+      @Override
+      public void onChanged(final int position, final int count) {
+        notifyItemRangeChanged(offset + position, count);
+      }
+    });
   }
 
   public <T> void insertSection(final int location, final @NonNull List<T> section) {
     sections.add(location, new ArrayList<>(section));
+    reindexSectionsFrom(location);
+  }
+
+  /**
+   * Takes views from `viewPool` rather than inflating them, when it has any for the layout.
+   */
+  public void setViewPool(final @Nullable ViewPool viewPool) {
+    this.viewPool = viewPool;
+  }
+
+  /**
+   * Returns the rows a section currently holds, e.g. to diff new rows against. The list is replaced rather than
+   * modified whenever the section changes, so a change can be detected by identity. It must not be modified.
+   */
+  @SuppressWarnings("unchecked")
+  protected @NonNull <T> List<T> section(final int location) {
+    return (List<T>) sections.get(location);
+  }
+
+  /**
+   * Position of the first row of a section.
+   */
+  protected int sectionOffset(final int section) {
+    return sectionOffsets[section];
   }
 
   /**
@@ -113,11 +195,6 @@ public abstract class KSAdapter extends RecyclerView.Adapter<KSViewHolder> {
 
   @Override
   public final int getItemCount() {
-    int itemCount = 0;
-    for (final List<?> section : sections) {
-      itemCount += section.size();
-    }
-
     return itemCount;
   }
 
@@ -142,24 +219,54 @@ public abstract class KSAdapter extends RecyclerView.Adapter<KSViewHolder> {
     return objectFromSectionRow(sectionRowFromPosition(position));
   }
 
+  /**
+   * Resolves a position to its section and row. The returned `SectionRow` is reused between calls, so it should not be
+   * held on to.
+   */
   private @NonNull SectionRow sectionRowFromPosition(final int position) {
-    final SectionRow sectionRow = new SectionRow();
-    int cursor = 0;
-    for (final List<?> section : sections) {
-      for (final Object __ : section) {
-        if (cursor == position) {
-          return sectionRow;
-        }
-        cursor++;
-        sectionRow.nextRow();
+    if (position < 0 || position >= itemCount) {
+      throw new RuntimeException("Position " + position + " not found in sections");
+    }
+
+    // Find the last section that starts at or before the position. Empty sections share their offset with the
+    // section after them, so this always lands on the section that actually contains the position.
+    int low = 0;
+    int high = sections.size() - 1;
+    while (low < high) {
+      final int mid = (low + high + 1) >>> 1;
+      if (sectionOffsets[mid] <= position) {
+        low = mid;
+      } else {
+        high = mid - 1;
       }
-      sectionRow.nextSection();
     }
 
-    throw new RuntimeException("Position " + position + " not found in sections");
+    positionSectionRow.set(low, position - sectionOffsets[low]);
+    return positionSectionRow;
+  }
+
+  /**
+   * Recomputes section offsets and the item count for every section from `fromSection` onwards. Sections before it
+   * are unaffected by a change to it.
+   */
+  private void reindexSectionsFrom(final int fromSection) {
+    if (sectionOffsets.length < sections.size()) {
+      sectionOffsets = Arrays.copyOf(sectionOffsets, Math.max(sections.size(), sectionOffsets.length * 2));
+    }
+
+    int offset = fromSection == 0 ? 0 : sectionOffsets[fromSection - 1] + sections.get(fromSection - 1).size();
+    for (int section = fromSection; section < sections.size(); section++) {
+      sectionOffsets[section] = offset;
+      offset += sections.get(section).size();
+    }
+    itemCount = offset;
   }
 
   private @NonNull View inflateView(final @NonNull ViewGroup viewGroup, final @LayoutRes int viewType) {
+    if (viewPool != null) {
+      return viewPool.obtain(viewGroup, viewType);
+    }
+
     final LayoutInflater layoutInflater = LayoutInflater.from(viewGroup.getContext());
     return layoutInflater.inflate(viewType, viewGroup, false);
   }
@@ -189,13 +296,9 @@ public abstract class KSAdapter extends RecyclerView.Adapter<KSViewHolder> {
       return row;
     }
 
-    protected void nextRow() {
-      row++;
-    }
-
-    protected void nextSection() {
-      section++;
-      row = 0;
+    private void set(final int section, final int row) {
+      this.section = section;
+      this.row = row;
     }
   }
 }
@@ -39,8 +39,8 @@ public final class ProjectAdapter extends KSAdapter {
    * Populate adapter data when we know we're working with a Project object.
    */
   public void takeProject(final @NonNull Project project, final @NonNull String configCountry) {
-    sections().clear();
-    sections().add(Collections.singletonList(Pair.create(project, configCountry)));
+    clearSections();
+    addSection(Collections.singletonList(Pair.create(project, configCountry)));
 
     final List<Reward> rewards = project.rewards();
     if (rewards != null) {
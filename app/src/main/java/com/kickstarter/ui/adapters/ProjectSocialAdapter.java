@@ -31,7 +31,7 @@ public final class ProjectSocialAdapter extends KSAdapter {
   }
 
   public void takeProject(final @NonNull Project project) {
-    sections().clear();
+    clearSections();
     addSection(Collections.singletonList(project));
     addSection(project.friends());
     notifyDataSetChanged();
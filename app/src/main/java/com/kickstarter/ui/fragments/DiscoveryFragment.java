@@ -11,14 +11,22 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
+import com.jakewharton.rxbinding.support.v7.widget.RxRecyclerView;
+import com.kickstarter.KSApplication;
 import com.kickstarter.R;
 import com.kickstarter.libs.ActivityRequestCodes;
 import com.kickstarter.libs.BaseFragment;
+import com.kickstarter.libs.Build;
+import com.kickstarter.libs.ImagePrefetcher;
+import com.kickstarter.libs.PhotoSelector;
 import com.kickstarter.libs.RecyclerViewPaginator;
 import com.kickstarter.libs.RefTag;
+import com.kickstarter.libs.ViewPool;
 import com.kickstarter.libs.qualifiers.RequiresFragmentViewModel;
+import com.kickstarter.libs.utils.ProjectUtils;
 import com.kickstarter.models.Activity;
 import com.kickstarter.models.Category;
+import com.kickstarter.models.Photo;
 import com.kickstarter.models.Project;
 import com.kickstarter.services.DiscoveryParams;
 import com.kickstarter.ui.ArgumentsKey;
@@ -30,9 +38,15 @@ import com.kickstarter.ui.activities.WebViewActivity;
 import com.kickstarter.ui.adapters.DiscoveryAdapter;
 import com.kickstarter.ui.data.LoginReason;
 import com.kickstarter.viewmodels.DiscoveryFragmentViewModel;
+import com.squareup.picasso.Picasso;
 
 import java.util.List;
 
+import javax.inject.Inject;
+
+import timber.log.Timber;
+
+import static com.kickstarter.libs.rx.transformers.Transformers.diff;
 import static com.kickstarter.libs.rx.transformers.Transformers.observeForUI;
 import static com.kickstarter.libs.utils.TransitionUtils.slideInFromRight;
 import static com.kickstarter.libs.utils.TransitionUtils.transition;
@@ -41,6 +55,10 @@ import static com.kickstarter.libs.utils.TransitionUtils.transition;
 public final class DiscoveryFragment extends BaseFragment<DiscoveryFragmentViewModel> {
   private RecyclerView recyclerView;
   private RecyclerViewPaginator recyclerViewPaginator;
+  private ImagePrefetcher<Project> imagePrefetcher;
+  private @Nullable ViewPool viewPool;
+
+  protected @Inject PhotoSelector photoSelector;
 
   public DiscoveryFragment() {}
 
@@ -57,24 +75,51 @@ public final class DiscoveryFragment extends BaseFragment<DiscoveryFragmentViewM
   public View onCreateView(final @NonNull LayoutInflater inflater, final @Nullable ViewGroup container,
     final @Nullable Bundle savedInstanceState) {
     super.onCreateView(inflater, container, savedInstanceState);
+    ((KSApplication) getActivity().getApplicationContext()).component().inject(this);
 
     recyclerView = (RecyclerView) inflater.inflate(R.layout.discovery_recycler_view, container, false);
     final DiscoveryAdapter adapter = new DiscoveryAdapter(viewModel.inputs);
+    if (getActivity() instanceof ViewPool.Provider) {
+      viewPool = ((ViewPool.Provider) getActivity()).viewPool();
+      adapter.setViewPool(viewPool);
+    }
     recyclerView.setAdapter(adapter);
     final LinearLayoutManager layoutManager = new LinearLayoutManager(recyclerView.getContext());
     recyclerView.setLayoutManager(layoutManager);
-    recyclerViewPaginator = new RecyclerViewPaginator(recyclerView, viewModel.inputs::nextPage);
+    recyclerViewPaginator = new RecyclerViewPaginator(recyclerView, viewModel.inputs::nextPage,
+      RecyclerViewPaginator.DEFAULT_LOOKAHEAD);
+
+    final int photoWidth = ProjectUtils.cardPhotoWidth(recyclerView.getContext());
+    imagePrefetcher = new ImagePrefetcher<>(
+      ImagePrefetcher.picasso(Picasso.with(recyclerView.getContext()), photoWidth,
+        ProjectUtils.photoHeightFromWidthRatio(photoWidth)),
+      project -> photoUrl(project, photoWidth),
+      ImagePrefetcher.DEFAULT_LOOKAHEAD
+    );
+    imagePrefetcher.start(recyclerView, adapter::projectPosition);
+
+    RxRecyclerView.scrollEvents(recyclerView)
+      .map(__ -> adapter.projectPosition(layoutManager.findFirstVisibleItemPosition()))
+      .filter(position -> position >= 0)
+      .compose(bindToLifecycle())
+      .subscribe(viewModel.inputs::projectVisible);
 
     viewModel.outputs.activity()
       .compose(bindToLifecycle())
       .compose(observeForUI())
       .subscribe(adapter::takeActivity);
 
-    viewModel.outputs.projects()
+    viewModel.outputs.projectRows()
+      .compose(diff(Project::id, adapter::projects))
       .compose(bindToLifecycle())
       .compose(observeForUI())
       .subscribe(adapter::takeProjects);
 
+    viewModel.outputs.projectRows()
+      .compose(bindToLifecycle())
+      .compose(observeForUI())
+      .subscribe(imagePrefetcher::takeItems);
+
     viewModel.outputs.shouldShowOnboardingView()
       .compose(bindToLifecycle())
       .compose(observeForUI())
@@ -103,6 +148,16 @@ public final class DiscoveryFragment extends BaseFragment<DiscoveryFragmentViewM
     return recyclerView;
   }
 
+  @Override
+  public void onDestroyView() {
+    super.onDestroyView();
+
+    // Hand this page's cards to the other pages rather than letting them be garbage collected.
+    if (recyclerView != null && viewPool != null) {
+      viewPool.takeViews(recyclerView, R.layout.project_card_view);
+    }
+  }
+
   @Override
   public void onDetach() {
     super.onDetach();
@@ -114,6 +169,20 @@ public final class DiscoveryFragment extends BaseFragment<DiscoveryFragmentViewM
     if (recyclerViewPaginator != null) {
       recyclerViewPaginator.stop();
     }
+
+    if (imagePrefetcher != null) {
+      // Tune `ImagePrefetcher.DEFAULT_LOOKAHEAD` against this.
+      if (Build.isInternal()) {
+        Timber.d("Image prefetch hit rate %.2f (%d hits, %d misses)", imagePrefetcher.hitRate(),
+          imagePrefetcher.hitCount(), imagePrefetcher.missCount());
+      }
+      imagePrefetcher.stop();
+    }
+  }
+
+  private @Nullable String photoUrl(final @NonNull Project project, final int width) {
+    final Photo photo = project.photo();
+    return photo == null ? null : photoSelector.url(photo, width);
   }
 
   private void startActivityUpdateActivity(final @NonNull Activity activity) {
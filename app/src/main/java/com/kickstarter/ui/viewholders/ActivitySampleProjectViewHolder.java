@@ -12,6 +12,7 @@ import android.widget.TextView;
 import com.kickstarter.KSApplication;
 import com.kickstarter.R;
 import com.kickstarter.libs.KSString;
+import com.kickstarter.libs.PhotoSelector;
 import com.kickstarter.libs.utils.ObjectUtils;
 import com.kickstarter.models.Activity;
 import com.kickstarter.models.Photo;
@@ -29,6 +30,7 @@ import butterknife.OnClick;
 
 public class ActivitySampleProjectViewHolder extends KSViewHolder {
   @Inject KSString ksString;
+  @Inject PhotoSelector photoSelector;
 
   protected @Bind(R.id.activity_click_area) LinearLayout activityClickArea;
   protected @Bind(R.id.activity_image) ImageView activityImageView;
@@ -72,7 +74,7 @@ public class ActivitySampleProjectViewHolder extends KSViewHolder {
       final Photo photo = project.photo();
       if (photo != null) {
         Picasso.with(context)
-          .load(photo.little())
+          .load(photoSelector.url(photo, activityImageView))
           .into(activityImageView);
       }
 
@@ -9,6 +9,7 @@ import android.widget.TextView;
 import com.kickstarter.KSApplication;
 import com.kickstarter.R;
 import com.kickstarter.libs.KSString;
+import com.kickstarter.libs.PhotoSelector;
 import com.kickstarter.libs.transformations.CircleTransformation;
 import com.kickstarter.libs.utils.SocialUtils;
 import com.kickstarter.models.Activity;
@@ -35,6 +36,7 @@ public final class FriendBackingViewHolder extends ActivityListViewHolder {
   protected @BindString(R.string.project_creator_by_creator) String projectByCreatorString;
 
   @Inject KSString ksString;
+  @Inject PhotoSelector photoSelector;
 
   private final Delegate delegate;
 
@@ -88,7 +90,7 @@ public final class FriendBackingViewHolder extends ActivityListViewHolder {
     projectNameTextView.setText(activityProject.name());
 
     Picasso.with(context)
-      .load(projectPhoto.little())
+      .load(photoSelector.url(projectPhoto, projectPhotoImageView))
       .into(projectPhotoImageView);
 
     titleTextView.setText(SocialUtils.friendBackingActivityTitle(context,
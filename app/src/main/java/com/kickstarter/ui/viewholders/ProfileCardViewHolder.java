@@ -9,13 +9,17 @@ import android.widget.ImageView;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 
+import com.kickstarter.KSApplication;
 import com.kickstarter.R;
+import com.kickstarter.libs.PhotoSelector;
 import com.kickstarter.libs.utils.ObjectUtils;
 import com.kickstarter.libs.utils.ProgressBarUtils;
 import com.kickstarter.models.Photo;
 import com.kickstarter.models.Project;
 import com.squareup.picasso.Picasso;
 
+import javax.inject.Inject;
+
 import butterknife.Bind;
 import butterknife.BindDrawable;
 import butterknife.BindString;
@@ -39,6 +43,8 @@ public final class ProfileCardViewHolder extends KSViewHolder {
   protected @BindString(R.string.profile_projects_status_canceled) String cancelledString;
   protected @BindString(R.string.profile_projects_status_suspended) String suspendedString;
 
+  protected @Inject PhotoSelector photoSelector;
+
   public interface Delegate {
     void profileCardViewHolderClicked(ProfileCardViewHolder viewHolder, Project project);
   }
@@ -47,6 +53,7 @@ public final class ProfileCardViewHolder extends KSViewHolder {
     super(view);
     this.delegate = delegate;
     ButterKnife.bind(this, view);
+    ((KSApplication) view.getContext().getApplicationContext()).component().inject(this);
   }
 
   @Override
@@ -60,7 +67,7 @@ public final class ProfileCardViewHolder extends KSViewHolder {
 
     if (photo != null) {
       profileCardImageView.setVisibility(View.VISIBLE);
-      Picasso.with(context()).load(photo.med())
+      Picasso.with(context()).load(photoSelector.url(photo, profileCardImageView))
         .placeholder(grayGradientDrawable)
         .into(profileCardImageView);
     } else {
@@ -0,0 +1,34 @@
+package com.kickstarter.ui.viewholders;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.ViewGroup;
+
+import rx.functions.Func0;
+
+/**
+ * Stands in for a project card whose page was evicted from memory. It takes the height of a measured card, so that
+ * the list doesn't jump when the card is bound in its place.
+ */
+public final class ProjectCardPlaceholderViewHolder extends KSViewHolder {
+  private final @NonNull Func0<Integer> cardHeight;
+
+  /**
+   * @param cardHeight Returns the height of a measured project card, or 0 if no card has been measured yet.
+   */
+  public ProjectCardPlaceholderViewHolder(final @NonNull View view, final @NonNull Func0<Integer> cardHeight) {
+    super(view);
+    this.cardHeight = cardHeight;
+  }
+
+  @Override
+  public void bindData(final @Nullable Object data) throws Exception {
+    final int height = cardHeight.call();
+    final ViewGroup.LayoutParams params = view().getLayoutParams();
+    if (height > 0 && params != null && params.height != height) {
+      params.height = height;
+      view().setLayoutParams(params);
+    }
+  }
+}
@@ -14,6 +14,7 @@ import android.widget.TextView;
 import com.kickstarter.KSApplication;
 import com.kickstarter.R;
 import com.kickstarter.libs.KSString;
+import com.kickstarter.libs.PhotoSelector;
 import com.kickstarter.libs.transformations.CircleTransformation;
 import com.kickstarter.libs.utils.DateTimeUtils;
 import com.kickstarter.libs.utils.NumberUtils;
@@ -37,8 +38,6 @@ import butterknife.BindString;
 import butterknife.ButterKnife;
 
 import static com.kickstarter.libs.utils.ObjectUtils.requireNonNull;
-import static com.kickstarter.libs.utils.ViewUtils.getScreenDensity;
-import static com.kickstarter.libs.utils.ViewUtils.getScreenWidthDp;
 
 public final class ProjectCardViewHolder extends KSViewHolder {
   protected @Bind(R.id.backers_count) TextView backersCountTextView;
@@ -68,7 +67,6 @@ public final class ProjectCardViewHolder extends KSViewHolder {
   protected @BindDimen(R.dimen.grid_1) int grid1Dimen;
   protected @BindDimen(R.dimen.grid_2) int grid2Dimen;
   protected @BindDimen(R.dimen.grid_3) int grid3Dimen;
-  protected @BindDimen(R.dimen.grid_4) int grid4Dimen;
 
   protected @BindDrawable(R.drawable.gray_gradient) Drawable grayGradientDrawable;
 
@@ -84,6 +82,7 @@ public final class ProjectCardViewHolder extends KSViewHolder {
   private final Delegate delegate;
 
   protected @Inject KSString ksString;
+  protected @Inject PhotoSelector photoSelector;
 
   public interface Delegate {
     void projectCardViewHolderClick(ProjectCardViewHolder viewHolder, Project project);
@@ -124,12 +123,13 @@ public final class ProjectCardViewHolder extends KSViewHolder {
     if (photo != null) {
       photoImageView.setVisibility(View.VISIBLE);
 
-      final int targetImageWidth = (int) (getScreenWidthDp(context) * getScreenDensity(context) - grid4Dimen);
+      // Must match the url and size `ImagePrefetcher` warms the caches with.
+      final int targetImageWidth = ProjectUtils.cardPhotoWidth(context);
       final int targetImageHeight = ProjectUtils.photoHeightFromWidthRatio(targetImageWidth);
       photoImageView.setMaxHeight(targetImageHeight);
 
       Picasso.with(context)
-        .load(photo.full())
+        .load(photoSelector.url(photo, targetImageWidth))
         .resize(targetImageWidth, targetImageHeight)  // required to fit properly into apis < 18
         .centerCrop()
         .placeholder(grayGradientDrawable)
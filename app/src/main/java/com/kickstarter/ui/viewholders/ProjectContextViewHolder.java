@@ -10,6 +10,7 @@ import android.widget.TextView;
 import com.kickstarter.KSApplication;
 import com.kickstarter.R;
 import com.kickstarter.libs.KSString;
+import com.kickstarter.libs.PhotoSelector;
 import com.kickstarter.libs.utils.ObjectUtils;
 import com.kickstarter.models.Photo;
 import com.kickstarter.models.Project;
@@ -32,6 +33,7 @@ public final class ProjectContextViewHolder extends KSViewHolder {
   protected @BindString(R.string.project_creator_by_creator) String projectCreatorByCreatorString;
 
   protected @Inject KSString ksString;
+  protected @Inject PhotoSelector photoSelector;
 
   public interface Delegate {
     void projectContextClicked(ProjectContextViewHolder viewHolder);
@@ -55,7 +57,7 @@ public final class ProjectContextViewHolder extends KSViewHolder {
 
     if (photo != null) {
       projectContextImageView.setVisibility(View.VISIBLE);
-      Picasso.with(context).load(photo.full()).into(projectContextImageView);
+      Picasso.with(context).load(photoSelector.url(photo, projectContextImageView)).into(projectContextImageView);
     } else {
       projectContextImageView.setVisibility(View.INVISIBLE);
     }
@@ -10,6 +10,7 @@ import android.widget.TextView;
 import com.kickstarter.KSApplication;
 import com.kickstarter.R;
 import com.kickstarter.libs.KSString;
+import com.kickstarter.libs.PhotoSelector;
 import com.kickstarter.libs.utils.ObjectUtils;
 import com.kickstarter.models.Photo;
 import com.kickstarter.models.Project;
@@ -32,6 +33,7 @@ public final class ProjectSearchResultViewHolder extends KSViewHolder {
   protected @BindString(R.string.search_by_creator) String byCreatorString;
 
   protected @Inject KSString ksString;
+  protected @Inject PhotoSelector photoSelector;
 
   public interface Delegate {
     void projectSearchResultClick(ProjectSearchResultViewHolder viewHolder, Project project);
@@ -61,7 +63,7 @@ public final class ProjectSearchResultViewHolder extends KSViewHolder {
     final Photo photo = project.photo();
     if (photo != null) {
       projectImageView.setVisibility(View.VISIBLE);
-      Picasso.with(context).load(photo.small()).into(projectImageView);
+      Picasso.with(context).load(photoSelector.url(photo, projectImageView)).into(projectImageView);
     } else {
       projectImageView.setVisibility(View.INVISIBLE);
     }
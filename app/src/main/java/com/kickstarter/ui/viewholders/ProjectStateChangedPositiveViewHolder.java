@@ -11,6 +11,7 @@ import com.kickstarter.KSApplication;
 import com.kickstarter.R;
 import com.kickstarter.libs.KSCurrency;
 import com.kickstarter.libs.KSString;
+import com.kickstarter.libs.PhotoSelector;
 import com.kickstarter.libs.utils.DateTimeUtils;
 import com.kickstarter.models.Activity;
 import com.kickstarter.models.Photo;
@@ -51,6 +52,7 @@ public final class ProjectStateChangedPositiveViewHolder extends ActivityListVie
 
   @Inject KSCurrency ksCurrency;
   @Inject KSString ksString;
+  @Inject PhotoSelector photoSelector;
 
   private final Delegate delegate;
 
@@ -126,7 +128,7 @@ public final class ProjectStateChangedPositiveViewHolder extends ActivityListVie
     //return context.getString(R.string.creator_launched_a_project, activity.user().name(), activity.project().name());
 
     Picasso.with(context)
-      .load(photo.full())
+      .load(photoSelector.url(photo, projectPhotoImageView))
       .into(projectPhotoImageView);
   }
 
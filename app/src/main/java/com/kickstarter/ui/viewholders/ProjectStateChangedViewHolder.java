@@ -8,6 +8,7 @@ import android.widget.TextView;
 import com.kickstarter.KSApplication;
 import com.kickstarter.R;
 import com.kickstarter.libs.KSString;
+import com.kickstarter.libs.PhotoSelector;
 import com.kickstarter.models.Activity;
 import com.kickstarter.models.Photo;
 import com.kickstarter.models.Project;
@@ -31,6 +32,7 @@ public final class ProjectStateChangedViewHolder extends ActivityListViewHolder
   private final Delegate delegate;
 
   @Inject KSString ksString;
+  @Inject PhotoSelector photoSelector;
 
   public interface Delegate {
     void projectStateChangedClicked(ProjectStateChangedViewHolder viewHolder, Activity activity);
@@ -59,7 +61,7 @@ public final class ProjectStateChangedViewHolder extends ActivityListViewHolder
     }
 
     Picasso.with(context())
-      .load(photo.little())
+      .load(photoSelector.url(photo, projectPhotoImageView))
       .into(projectPhotoImageView);
 
     switch (activity().category()) {
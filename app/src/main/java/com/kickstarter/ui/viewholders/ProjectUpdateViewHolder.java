@@ -9,6 +9,7 @@ import android.widget.TextView;
 import com.kickstarter.KSApplication;
 import com.kickstarter.R;
 import com.kickstarter.libs.KSString;
+import com.kickstarter.libs.PhotoSelector;
 import com.kickstarter.libs.utils.DateTimeUtils;
 import com.kickstarter.libs.utils.ObjectUtils;
 import com.kickstarter.models.Activity;
@@ -40,6 +41,7 @@ public final class ProjectUpdateViewHolder extends ActivityListViewHolder {
   private final Delegate delegate;
 
   protected @Inject KSString ksString;
+  protected @Inject PhotoSelector photoSelector;
 
   public interface Delegate {
     void projectUpdateProjectClicked(ProjectUpdateViewHolder viewHolder, Activity activity);
@@ -78,7 +80,7 @@ public final class ProjectUpdateViewHolder extends ActivityListViewHolder {
     projectNameTextView.setText(project.name());
 
     Picasso.with(context)
-      .load(photo.little())
+      .load(photoSelector.url(photo, projectPhotoImageView))
       .into(projectPhotoImageView);
 
     timestampTextView.setText(DateTimeUtils.relative(context, ksString, publishedAt));
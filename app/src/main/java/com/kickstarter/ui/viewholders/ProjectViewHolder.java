@@ -21,6 +21,7 @@ import com.kickstarter.R;
 import com.kickstarter.libs.BaseActivity;
 import com.kickstarter.libs.KSCurrency;
 import com.kickstarter.libs.KSString;
+import com.kickstarter.libs.PhotoSelector;
 import com.kickstarter.libs.transformations.CircleTransformation;
 import com.kickstarter.libs.utils.I18nUtils;
 import com.kickstarter.libs.utils.NumberUtils;
@@ -128,6 +129,7 @@ public final class ProjectViewHolder extends KSViewHolder {
 
   protected @Inject KSCurrency ksCurrency;
   protected @Inject KSString ksString;
+  protected @Inject PhotoSelector photoSelector;
 
   public interface Delegate {
     void projectViewHolderBackProjectClicked(ProjectViewHolder viewHolder);
@@ -165,7 +167,7 @@ public final class ProjectViewHolder extends KSViewHolder {
       photoImageView.setMaxHeight(targetImageHeight);
 
       Picasso.with(context)
-        .load(photo.full())
+        .load(photoSelector.url(photo, targetImageWidth))
         .resize(targetImageWidth, targetImageHeight)
         .centerCrop()
         .placeholder(grayGradientDrawable)
@@ -10,6 +10,7 @@ import android.widget.TextView;
 import com.kickstarter.KSApplication;
 import com.kickstarter.R;
 import com.kickstarter.libs.KSString;
+import com.kickstarter.libs.PhotoSelector;
 import com.kickstarter.libs.utils.ProjectUtils;
 import com.kickstarter.models.Photo;
 import com.kickstarter.models.Project;
@@ -34,6 +35,7 @@ public final class ThanksProjectViewHolder extends KSViewHolder {
   protected @BindString(R.string.discovery_baseball_card_time_left_to_go) String timeLeftToGoString;
 
   protected @Inject KSString ksString;
+  protected @Inject PhotoSelector photoSelector;
 
   public interface Delegate {
     void projectClick(ThanksProjectViewHolder viewHolder, Project project);
@@ -69,7 +71,7 @@ public final class ThanksProjectViewHolder extends KSViewHolder {
     final Photo photo = project.photo();
     if (photo != null) {
       photoImageView.setVisibility(View.VISIBLE);
-      Picasso.with(context).load(photo.med()).into(photoImageView);
+      Picasso.with(context).load(photoSelector.url(photo, photoImageView)).into(photoImageView);
     } else {
       photoImageView.setVisibility(View.INVISIBLE);
     }
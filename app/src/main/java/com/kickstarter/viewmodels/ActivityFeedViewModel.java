@@ -7,6 +7,8 @@ import com.kickstarter.libs.ApiPaginator;
 import com.kickstarter.libs.CurrentUserType;
 import com.kickstarter.libs.Environment;
 import com.kickstarter.libs.KoalaContext;
+import com.kickstarter.libs.ModelStore;
+import com.kickstarter.libs.ModelStoreType;
 import com.kickstarter.libs.rx.transformers.Transformers;
 import com.kickstarter.libs.utils.ObjectUtils;
 import com.kickstarter.models.Activity;
@@ -68,12 +70,14 @@ public interface ActivityFeedViewModel {
 
     private final ApiClientType client;
     private final CurrentUserType currentUser;
+    private final ModelStoreType modelStore;
 
     public ViewModel(final @NonNull Environment environment) {
       super(environment);
 
       client = environment.apiClient();
       currentUser = environment.currentUser();
+      modelStore = environment.modelStore();
 
       goToDiscovery = discoverProjectsClick;
       goToLogin = loginClick;
@@ -93,9 +97,16 @@ public interface ActivityFeedViewModel {
         .envelopeToMoreUrl(env -> env.urls().api().moreActivities())
         .loadWithParams(__ -> client.fetchActivities())
         .loadWithPaginationPath(client::fetchActivitiesWithPaginationPath)
+        .prefetch(true)
         .build();
 
+      // Show the activities last stored for a logged in user until the first page comes back from the network.
+      final Observable<List<Activity>> storedFirstPage = currentUser.loggedInUser()
+        .take(1)
+        .flatMap(__ -> modelStore.query(Activity.class, ModelStore.ACTIVITY_FEED_QUERY));
+
       paginator.paginatedData()
+        .publish(fresh -> Observable.merge(fresh, storedFirstPage.takeUntil(fresh)))
         .compose(bindToLifecycle())
         .subscribe(activities);
 
@@ -1,5 +1,6 @@
 package com.kickstarter.viewmodels;
 
+import android.os.Bundle;
 import android.support.annotation.NonNull;
 import android.util.Pair;
 
@@ -9,6 +10,8 @@ import com.kickstarter.libs.CurrentUserType;
 import com.kickstarter.libs.Either;
 import com.kickstarter.libs.Environment;
 import com.kickstarter.libs.KoalaContext;
+import com.kickstarter.libs.ModelStore;
+import com.kickstarter.libs.ModelStoreType;
 import com.kickstarter.libs.utils.ObjectUtils;
 import com.kickstarter.models.Comment;
 import com.kickstarter.models.Project;
@@ -33,19 +36,25 @@ import static com.kickstarter.libs.rx.transformers.Transformers.combineLatestPai
 import static com.kickstarter.libs.rx.transformers.Transformers.errors;
 import static com.kickstarter.libs.rx.transformers.Transformers.ignoreValues;
 import static com.kickstarter.libs.rx.transformers.Transformers.neverError;
+import static com.kickstarter.libs.rx.transformers.Transformers.takePairWhen;
 import static com.kickstarter.libs.rx.transformers.Transformers.takeWhen;
 import static com.kickstarter.libs.rx.transformers.Transformers.values;
 
 public final class CommentsViewModel extends ActivityViewModel<CommentsActivity> implements CommentsViewModelInputs,
   CommentsViewModelOutputs {
+  private static final String COMMENTS_STATE_KEY = "comments";
+
   private final ApiClientType client;
   private final CurrentUserType currentUser;
+  private final ModelStoreType modelStore;
+  private final ApiPaginator<Comment, CommentsEnvelope, Either<Project, Update>> paginator;
 
   public CommentsViewModel(final @NonNull Environment environment) {
     super(environment);
 
     this.client = environment.apiClient();
     this.currentUser = environment.currentUser();
+    this.modelStore = environment.modelStore();
 
     final Observable<Either<Project, Update>> projectOrUpdate = intent()
       .take(1)
@@ -96,17 +105,28 @@ public final class CommentsViewModel extends ActivityViewModel<CommentsActivity>
       projectOrUpdate.compose(takeWhen(refresh))
     );
 
-    final ApiPaginator<Comment, CommentsEnvelope, Either<Project, Update>> paginator =
-      ApiPaginator.<Comment, CommentsEnvelope, Either<Project, Update>>builder()
-        .nextPage(nextPage)
-        .startOverWith(startOverWith)
-        .envelopeToListOfData(CommentsEnvelope::comments)
-        .envelopeToMoreUrl(env -> env.urls().api().moreComments())
-        .loadWithParams(pu -> pu.either(client::fetchComments, client::fetchComments))
-        .loadWithPaginationPath(client::fetchComments)
-        .build();
+    final Observable<Bundle> savedComments = savedInstanceState()
+      .map(state -> state == null ? null : state.getBundle(COMMENTS_STATE_KEY));
+
+    this.paginator = ApiPaginator.<Comment, CommentsEnvelope, Either<Project, Update>>builder()
+      .nextPage(nextPage)
+      .startOverWith(startOverWith)
+      .envelopeToListOfData(CommentsEnvelope::comments)
+      .envelopeToMoreUrl(env -> env.urls().api().moreComments())
+      .loadWithParams(pu -> pu.either(client::fetchComments, client::fetchComments))
+      .loadWithPaginationPath(client::fetchComments)
+      .prefetch(true)
+      .restoreFrom(savedComments, Comment::id, ids -> modelStore.find(Comment.class, ids))
+      .build();
+
+    // Show the comments last stored for the project or update until the first page comes back from the network.
+    final Observable<List<Comment>> storedFirstPage = projectOrUpdate
+      .take(1)
+      .flatMap(pu -> modelStore.query(Comment.class, pu.either(ModelStore::commentsQuery, ModelStore::commentsQuery)));
 
-    final Observable<List<Comment>> comments = paginator.paginatedData().share();
+    final Observable<List<Comment>> comments = paginator.paginatedData()
+      .publish(fresh -> Observable.merge(fresh, storedFirstPage.takeUntil(fresh)))
+      .share();
 
     commentNotification
       .compose(errors())
@@ -183,8 +203,11 @@ public final class CommentsViewModel extends ActivityViewModel<CommentsActivity>
       .compose(bindToLifecycle())
       .subscribe(isFetchingComments);
 
-    project
-      .take(1)
+    // Comments restored after the process was killed are kept rather than refreshed straight away.
+    savedComments
+      .startWith((Bundle) null)
+      .compose(takePairWhen(project.take(1)))
+      .filter(sp -> sp.first == null)
       .compose(bindToLifecycle())
       .subscribe(__ -> refresh.onNext(null));
 
@@ -248,6 +271,12 @@ public final class CommentsViewModel extends ActivityViewModel<CommentsActivity>
       .subscribe(koala::trackProjectCommentCreate);
   }
 
+  @Override
+  protected void onSaveInstanceState(final @NonNull Bundle outState) {
+    super.onSaveInstanceState(outState);
+    outState.putBundle(COMMENTS_STATE_KEY, paginator.saveState());
+  }
+
   private @NonNull Observable<Comment> postComment(final @NonNull Either<Project, Update> projectOrUpdate, final @NonNull String body) {
     return projectOrUpdate.either(
       p -> client.postComment(p, body),
@@ -1,5 +1,6 @@
 package com.kickstarter.viewmodels;
 
+import android.os.Bundle;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.util.Pair;
@@ -9,6 +10,7 @@ import com.kickstarter.libs.CurrentUserType;
 import com.kickstarter.libs.Environment;
 import com.kickstarter.libs.FragmentViewModel;
 import com.kickstarter.libs.KoalaContext;
+import com.kickstarter.libs.ModelStoreType;
 import com.kickstarter.libs.RefTag;
 import com.kickstarter.libs.preferences.IntPreferenceType;
 import com.kickstarter.libs.utils.DiscoveryParamsUtils;
@@ -19,6 +21,7 @@ import com.kickstarter.models.Activity;
 import com.kickstarter.models.Category;
 import com.kickstarter.models.Project;
 import com.kickstarter.services.ApiClientType;
+import com.kickstarter.services.DiscoveryPageCache;
 import com.kickstarter.services.DiscoveryParams;
 import com.kickstarter.services.apiresponses.ActivityEnvelope;
 import com.kickstarter.services.apiresponses.DiscoverEnvelope;
@@ -45,9 +48,19 @@ import static com.kickstarter.libs.utils.BooleanUtils.isTrue;
 
 public final class DiscoveryFragmentViewModel extends FragmentViewModel<DiscoveryFragment> implements
   DiscoveryFragmentViewModelInputs, DiscoveryFragmentViewModelOutputs {
+  /**
+   * Pages of projects kept in memory either side of the visible page, so that endless scrolling doesn't grow the heap
+   * without bound.
+   */
+  private static final int PROJECT_WINDOW_PAGES = 3;
+  private static final String PROJECTS_STATE_KEY = "projects";
+
   private final ApiClientType apiClient;
   private final CurrentUserType currentUser;
+  private final DiscoveryPageCache discoveryPageCache;
   private final IntPreferenceType activitySamplePreference;
+  private final ModelStoreType modelStore;
+  private final ApiPaginator<Project, DiscoverEnvelope, DiscoveryParams> paginator;
 
   public DiscoveryFragmentViewModel(final @NonNull Environment environment) {
     super(environment);
@@ -55,6 +68,8 @@ public final class DiscoveryFragmentViewModel extends FragmentViewModel<Discover
     apiClient = environment.apiClient();
     activitySamplePreference = environment.activitySamplePreference();
     currentUser = environment.currentUser();
+    discoveryPageCache = environment.discoveryPageCache();
+    modelStore = environment.modelStore();
 
     final Observable<DiscoveryParams> selectedParams = Observable.combineLatest(
       currentUser.observable(),
@@ -62,17 +77,23 @@ public final class DiscoveryFragmentViewModel extends FragmentViewModel<Discover
       (__, params) -> params
     );
 
-    final ApiPaginator<Project, DiscoverEnvelope, DiscoveryParams> paginator =
-      ApiPaginator.<Project, DiscoverEnvelope, DiscoveryParams>builder()
-        .nextPage(nextPage)
-        .startOverWith(selectedParams)
-        .envelopeToListOfData(DiscoverEnvelope::projects)
-        .envelopeToMoreUrl(env -> env.urls().api().moreProjects())
-        .loadWithParams(apiClient::fetchProjects)
-        .loadWithPaginationPath(apiClient::fetchProjects)
-        .clearWhenStartingOver(true)
-        .concater(ListUtils::concatDistinct)
-        .build();
+    paginator = ApiPaginator.<Project, DiscoverEnvelope, DiscoveryParams>builder()
+      .nextPage(nextPage)
+      .startOverWith(selectedParams)
+      .envelopeToListOfData(DiscoverEnvelope::projects)
+      .envelopeToMoreUrl(env -> env.urls().api().moreProjects())
+      .loadWithParams(params -> discoveryPageCache.firstPage(apiClient, params))
+      .loadWithPaginationPath(apiClient::fetchProjects)
+      .prefetch(true)
+      .clearWhenStartingOver(true)
+      .distinctBy(Project::id)
+      .window(PROJECT_WINDOW_PAGES, projectVisible)
+      .restoreFrom(
+        savedInstanceState().map(state -> state == null ? null : state.getBundle(PROJECTS_STATE_KEY)),
+        Project::id,
+        ids -> modelStore.find(Project.class, ids)
+      )
+      .build();
 
     final Observable<Pair<Project, RefTag>> projectCardClick = paramsFromActivity
       .compose(takePairWhen(clickProject))
@@ -81,13 +102,25 @@ public final class DiscoveryFragmentViewModel extends FragmentViewModel<Discover
     final Observable<Pair<Project, RefTag>> activitySampleProjectClick = this.activitySampleProjectClick
       .map(p -> Pair.create(p, RefTag.activitySample()));
 
+    // Each time the params change, show the projects last stored for them from when the paginator clears the rows
+    // until the first page comes back from the network. `selectedParams` is subscribed to here before the paginator
+    // subscribes to it, so the stored page sees every row the paginator emits for the params.
+    final Observable<List<Project>> paginatedProjects = paginator.paginatedRows()
+      .publish(fresh -> Observable.merge(
+        fresh,
+        selectedParams.switchMap(params -> fresh.filter(List::isEmpty).take(1)
+          .concatMap(__ -> modelStore.query(Project.class, params.queryKey()))
+          .takeUntil(fresh.filter(ListUtils::nonEmpty))
+        )
+      ));
+
     Observable.combineLatest(
-      paginator.paginatedData(),
+      paginatedProjects,
       rootCategories,
       DiscoveryUtils::fillRootCategoryForFeaturedProjects
     )
       .compose(bindToLifecycle())
-      .subscribe(projects);
+      .subscribe(projectRows);
 
     showActivityFeed = activityClick;
     showActivityUpdate = activityUpdateClick;
@@ -105,7 +138,7 @@ public final class DiscoveryFragmentViewModel extends FragmentViewModel<Discover
       .subscribe(__ -> {
         shouldShowOnboardingView.onNext(false);
         activity.onNext(null);
-        projects.onNext(new ArrayList<>());
+        projectRows.onNext(new ArrayList<>());
       });
 
     paramsFromActivity
@@ -159,6 +192,12 @@ public final class DiscoveryFragmentViewModel extends FragmentViewModel<Discover
       .compose(neverError());
   }
 
+  @Override
+  protected void onSaveInstanceState(final @NonNull Bundle outState) {
+    super.onSaveInstanceState(outState);
+    outState.putBundle(PROJECTS_STATE_KEY, paginator.saveState());
+  }
+
   private boolean isOnboardingVisible(final @NonNull DiscoveryParams params, final boolean isLoggedIn) {
     final DiscoveryParams.Sort sort = params.sort();
     final boolean isSortHome = DiscoveryParams.Sort.HOME.equals(sort);
@@ -197,10 +236,11 @@ public final class DiscoveryFragmentViewModel extends FragmentViewModel<Discover
   private final PublishSubject<Boolean> discoveryOnboardingLoginToutClick = PublishSubject.create();
   private final PublishSubject<Void> nextPage = PublishSubject.create();
   private final PublishSubject<DiscoveryParams> paramsFromActivity = PublishSubject.create();
+  private final PublishSubject<Integer> projectVisible = PublishSubject.create();
   private final PublishSubject<List<Category>> rootCategories = PublishSubject.create();
 
   private final BehaviorSubject<Activity> activity = BehaviorSubject.create();
-  private final BehaviorSubject<List<Project>> projects = BehaviorSubject.create();
+  private final BehaviorSubject<List<Project>> projectRows = BehaviorSubject.create();
   private final Observable<Boolean> showActivityFeed;
   private final Observable<Activity> showActivityUpdate;
   private final Observable<Boolean> showLoginTout;
@@ -246,6 +286,9 @@ public final class DiscoveryFragmentViewModel extends FragmentViewModel<Discover
   @Override public void paramsFromActivity(final @NonNull DiscoveryParams params) {
     paramsFromActivity.onNext(params);
   }
+  @Override public void projectVisible(final int position) {
+    projectVisible.onNext(position);
+  }
   @Override public void projectCardViewHolderClick(final @NonNull ProjectCardViewHolder viewHolder, final @NonNull Project project) {
     clickProject.onNext(project);
   }
@@ -254,7 +297,10 @@ public final class DiscoveryFragmentViewModel extends FragmentViewModel<Discover
     return activity;
   }
   @Override public @NonNull Observable<List<Project>> projects() {
-    return projects;
+    return projectRows.map(ListUtils::withoutNulls);
+  }
+  @Override public @NonNull Observable<List<Project>> projectRows() {
+    return projectRows;
   }
   @Override public @NonNull Observable<Boolean> showActivityFeed() {
     return showActivityFeed;
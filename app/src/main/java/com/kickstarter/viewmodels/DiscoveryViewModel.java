@@ -6,14 +6,16 @@ import android.util.Pair;
 
 import com.kickstarter.libs.ActivityViewModel;
 import com.kickstarter.libs.BuildCheck;
+import com.kickstarter.libs.CategoryTree;
 import com.kickstarter.libs.CurrentUserType;
 import com.kickstarter.libs.Environment;
+import com.kickstarter.libs.NavigationDrawerDeriver;
 import com.kickstarter.libs.utils.BooleanUtils;
-import com.kickstarter.libs.utils.DiscoveryDrawerUtils;
 import com.kickstarter.libs.utils.DiscoveryUtils;
 import com.kickstarter.models.Category;
 import com.kickstarter.models.User;
 import com.kickstarter.services.ApiClientType;
+import com.kickstarter.services.DiscoveryPageCache;
 import com.kickstarter.services.DiscoveryParams;
 import com.kickstarter.services.WebClientType;
 import com.kickstarter.services.apiresponses.InternalBuildEnvelope;
@@ -33,26 +35,30 @@ import com.kickstarter.viewmodels.outputs.DiscoveryViewModelOutputs;
 import java.util.List;
 
 import rx.Observable;
+import rx.Scheduler;
 import rx.subjects.BehaviorSubject;
 import rx.subjects.PublishSubject;
 
-import static com.kickstarter.libs.rx.transformers.Transformers.combineLatestPair;
 import static com.kickstarter.libs.rx.transformers.Transformers.neverError;
-import static com.kickstarter.libs.rx.transformers.Transformers.takeWhen;
+import static com.kickstarter.libs.rx.transformers.Transformers.takePairWhen;
 
 public final class DiscoveryViewModel extends ActivityViewModel<DiscoveryActivity> implements DiscoveryViewModelInputs,
   DiscoveryViewModelOutputs {
   private final ApiClientType apiClient;
   private final WebClientType webClient;
   private final BuildCheck buildCheck;
+  private final Scheduler scheduler;
   private final CurrentUserType currentUser;
+  private final DiscoveryPageCache discoveryPageCache;
 
   public DiscoveryViewModel(final @NonNull Environment environment) {
     super(environment);
 
     apiClient = environment.apiClient();
     buildCheck = environment.buildCheck();
+    scheduler = environment.scheduler();
     currentUser = environment.currentUser();
+    discoveryPageCache = environment.discoveryPageCache();
     webClient = environment.webClient();
 
     buildCheck.bind(this, webClient);
@@ -96,10 +102,11 @@ public final class DiscoveryViewModel extends ActivityViewModel<DiscoveryActivit
       .compose(bindToLifecycle())
       .subscribe(updateParamsForPage);
 
+    // Categories may emit a cached list before the fresh one, so sort each list on its own.
     final Observable<List<Category>> categories = apiClient.fetchCategories()
       .compose(neverError())
-      .flatMap(Observable::from)
-      .toSortedList()
+      .concatMap(cs -> Observable.from(cs).toSortedList())
+      .distinctUntilChanged()
       .share();
 
     // Combine root categories with the selected sort position.
@@ -129,12 +136,20 @@ public final class DiscoveryViewModel extends ActivityViewModel<DiscoveryActivit
         return next;
       });
 
+    // Params and user, emitting only when either actually changes, e.g. not when the same category is picked again or
+    // the current user is refreshed.
+    final Observable<Pair<DiscoveryParams, Long>> paramsAndUserId = Observable.combineLatest(
+      params,
+      currentUser.observable().map(u -> u == null ? null : u.id()),
+      Pair::create
+    )
+      .distinctUntilChanged();
+
     // Accumulate a list of pages to clear when the params or user changes,
     // to avoid displaying old data.
     pagerSelectedPage
-      .compose(takeWhen(params))
-      .compose(combineLatestPair(currentUser.observable()))
-      .map(pageAndUser -> pageAndUser.first)
+      .compose(takePairWhen(paramsAndUserId))
+      .map(pageAndParams -> pageAndParams.first)
       .flatMap(currentPage -> Observable.from(DiscoveryParams.Sort.values())
         .map(DiscoveryUtils::positionFromSort)
         .filter(sortPosition -> !sortPosition.equals(currentPage))
@@ -147,17 +162,32 @@ public final class DiscoveryViewModel extends ActivityViewModel<DiscoveryActivit
       .compose(bindToLifecycle())
       .subscribe(updateToolbarWithParams);
 
+    // Keep the cached first pages of the params in every sort, and evict those of any other params.
+    paramsAndUserId
+      .map(pu -> pu.first)
+      .compose(bindToLifecycle())
+      .subscribe(discoveryPageCache::retain);
+
+    // Prefetch the first pages of the tabs either side of the selected one, so that swiping to them doesn't start cold.
+    updateParamsForPage
+      .flatMap(DiscoveryViewModel::adjacentSortParams)
+      .compose(bindToLifecycle())
+      .subscribe(p -> discoveryPageCache.prefetch(apiClient, p));
+
     updateParamsForPage.map(__ -> true)
       .compose(bindToLifecycle())
       .subscribe(expandSortTabLayout);
 
+    // Derive the drawer off the main thread, skipping any derivation that is overtaken by a newer one.
+    final NavigationDrawerDeriver drawerDeriver = new NavigationDrawerDeriver();
     Observable.combineLatest(
-      categories,
+      categories.map(CategoryTree::new),
       params,
       expandedCategory,
       currentUser.observable(),
-      DiscoveryDrawerUtils::deriveNavigationDrawerData
+      (cs, p, c, u) -> Observable.defer(() -> Observable.just(drawerDeriver.derive(cs, p, c, u))).subscribeOn(scheduler)
     )
+      .switchMap(data -> data)
       .distinctUntilChanged()
       .compose(bindToLifecycle())
       .subscribe(navigationDrawerData);
@@ -190,6 +220,16 @@ public final class DiscoveryViewModel extends ActivityViewModel<DiscoveryActivit
       .subscribe(__ -> koala.trackOpenedAppBanner());
   }
 
+  /**
+   * The params of the sort tabs either side of the tab showing `params`.
+   */
+  private static @NonNull Observable<DiscoveryParams> adjacentSortParams(final @NonNull DiscoveryParams params) {
+    final int position = DiscoveryUtils.positionFromSort(params.sort());
+    return Observable.from(DiscoveryParams.Sort.values())
+      .filter(sort -> Math.abs(DiscoveryUtils.positionFromSort(sort) - position) == 1)
+      .map(sort -> params.toBuilder().sort(sort).build());
+  }
+
   private final PublishSubject<NavigationDrawerData.Section.Row> childFilterRowClick = PublishSubject.create();
   private final PublishSubject<Void> internalToolsClick = PublishSubject.create();
   private final PublishSubject<Void> loggedOutLoginToutClick = PublishSubject.create();
@@ -1,12 +1,16 @@
 package com.kickstarter.viewmodels;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Pair;
 
 import com.kickstarter.libs.ActivityViewModel;
 import com.kickstarter.libs.ApiPaginator;
 import com.kickstarter.libs.Environment;
+import com.kickstarter.libs.ProjectSearchIndex;
 import com.kickstarter.libs.rx.transformers.Transformers;
 import com.kickstarter.libs.utils.ListUtils;
+import com.kickstarter.libs.utils.ObjectUtils;
 import com.kickstarter.libs.utils.StringUtils;
 import com.kickstarter.models.Project;
 import com.kickstarter.services.ApiClientType;
@@ -16,7 +20,10 @@ import com.kickstarter.ui.activities.SearchActivity;
 import com.kickstarter.viewmodels.inputs.SearchViewModelInputs;
 import com.kickstarter.viewmodels.outputs.SearchViewModelOutputs;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import rx.Observable;
@@ -48,6 +55,7 @@ public final class SearchViewModel extends ActivityViewModel<SearchActivity> imp
 
   private static final DiscoveryParams.Sort defaultSort = DiscoveryParams.Sort.POPULAR;
   private static final DiscoveryParams defaultParams = DiscoveryParams.builder().sort(defaultSort).build();
+  private static final int LOCAL_RESULTS_LIMIT = 10;
 
   public final SearchViewModelInputs inputs = this;
   public final SearchViewModelOutputs outputs = this;
@@ -56,6 +64,7 @@ public final class SearchViewModel extends ActivityViewModel<SearchActivity> imp
     super(environment);
 
     final ApiClientType apiClient = environment.apiClient();
+    final ProjectSearchIndex projectSearchIndex = environment.projectSearchIndex();
     final Scheduler scheduler = environment.scheduler();
 
     final Observable<DiscoveryParams> searchParams = search
@@ -77,28 +86,45 @@ public final class SearchViewModel extends ActivityViewModel<SearchActivity> imp
         .envelopeToListOfData(DiscoverEnvelope::projects)
         .envelopeToMoreUrl(env -> env.urls().api().moreProjects())
         .clearWhenStartingOver(true)
-        .concater(ListUtils::concatDistinct)
-        .loadWithParams(apiClient::fetchProjects)
+        .distinctBy(Project::id)
+        .loadWithParams(p -> p.term() == null
+          ? apiClient.fetchProjects(p)
+          // Drop a search as soon as the user types something else, rather than once the new term is debounced.
+          : apiClient.fetchProjects(p).takeUntil(search.filter(s -> !s.equals(p.term()))))
         .loadWithPaginationPath(apiClient::fetchProjects)
+        .prefetch(true)
         .build();
 
-    search
-      .filter(StringUtils::isEmpty)
-      .compose(bindToLifecycle())
-      .subscribe(__ -> {
-        searchProjects.onNext(ListUtils.empty());
-      });
-
-    params
+    final Observable<Pair<DiscoveryParams, List<Project>>> paramsAndProjects = params
       .compose(Transformers.takePairWhen(paginator.paginatedData()))
+      .share();
+
+    paramsAndProjects
+      .filter(pp -> pp.first.sort() == defaultSort)
+      .map(pp -> pp.second)
       .compose(bindToLifecycle())
-      .subscribe(paramsAndProjects -> {
-        if (paramsAndProjects.first.sort() == defaultSort) {
-          popularProjects.onNext(paramsAndProjects.second);
-        } else {
-          searchProjects.onNext(paramsAndProjects.second);
-        }
-      });
+      .subscribe(popularProjects);
+
+    final Observable<Pair<String, List<Project>>> remoteResults = paramsAndProjects
+      .filter(pp -> pp.first.sort() != defaultSort)
+      .map(pp -> Pair.create(pp.first.term(), pp.second));
+
+    // Projects the app has already loaded are matched on every keystroke, without waiting for the debounce or the
+    // server.
+    final Observable<Pair<String, List<Project>>> localResults = search
+      .map(s -> Pair.create(s, StringUtils.isPresent(s)
+        ? projectSearchIndex.search(s, LOCAL_RESULTS_LIMIT)
+        : ListUtils.<Project>empty()));
+
+    Observable.combineLatest(
+      localResults,
+      remoteResults.startWith(Pair.create((String) null, ListUtils.<Project>empty())),
+      SearchViewModel::searchResults
+    )
+      .filter(ObjectUtils::isNotNull)
+      .distinctUntilChanged()
+      .compose(bindToLifecycle())
+      .subscribe(searchProjects);
 
     // Track us viewing this page
     koala.trackSearchView();
@@ -113,4 +139,34 @@ public final class SearchViewModel extends ActivityViewModel<SearchActivity> imp
       .compose(bindToLifecycle())
       .subscribe(qp -> koala.trackSearchResults(qp.first, qp.second));
   }
+
+  /**
+   * The projects to show for the latest search term: the server's results followed by any local matches they don't
+   * include, or only the local matches until the server responds. Returns `null` if there's nothing to show for the
+   * term yet, so that the previous results stay up rather than flashing empty.
+   */
+  private static @Nullable List<Project> searchResults(final @NonNull Pair<String, List<Project>> local,
+    final @NonNull Pair<String, List<Project>> remote) {
+
+    if (StringUtils.isEmpty(local.first)) {
+      return ListUtils.empty();
+    }
+
+    if (!local.first.equals(remote.first)) {
+      return local.second.isEmpty() ? null : local.second;
+    }
+
+    final Set<Long> remoteIds = new HashSet<>();
+    for (final Project project : remote.second) {
+      remoteIds.add(project.id());
+    }
+
+    final List<Project> results = new ArrayList<>(remote.second);
+    for (final Project project : local.second) {
+      if (!remoteIds.contains(project.id())) {
+        results.add(project);
+      }
+    }
+    return results;
+  }
 }
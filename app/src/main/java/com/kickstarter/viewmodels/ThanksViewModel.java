@@ -24,6 +24,7 @@ import com.kickstarter.viewmodels.inputs.ThanksViewModelInputs;
 import com.kickstarter.viewmodels.outputs.ThanksViewModelOutputs;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import rx.Observable;
 import rx.subjects.BehaviorSubject;
@@ -322,25 +323,37 @@ public final class ThanksViewModel extends ActivityViewModel<ThanksActivity> imp
       .map(DiscoverEnvelope::projects)
       .map(ListUtils::shuffle)
       .flatMap(Observable::from)
-      .take(3);
+      .take(3)
+      .compose(neverError());
 
-    final Observable<Project> similarToProjects = apiClient.fetchProjects(similarToParams)
-      .retry(2)
-      .map(DiscoverEnvelope::projects)
-      .flatMap(Observable::from);
+    // Streamed so that parsing stops once enough projects have been taken.
+    final Observable<Project> similarToProjects = retryBeforeFirstProject(apiClient.streamProjects(similarToParams), 2)
+      .compose(neverError());
 
-    final Observable<Project> staffPickProjects = apiClient.fetchProjects(staffPickParams)
-      .retry(2)
-      .map(DiscoverEnvelope::projects)
-      .flatMap(Observable::from);
+    final Observable<Project> staffPickProjects = retryBeforeFirstProject(apiClient.streamProjects(staffPickParams), 2)
+      .compose(neverError());
 
+    // Each source that fails is skipped, keeping any projects it emitted before failing.
     return Observable.concat(recommendedProjects, similarToProjects, staffPickProjects)
-      .compose(neverError())
       .distinct()
       .take(3)
       .toList();
   }
 
+  /**
+   * Retries a stream of projects up to `count` times if it fails before emitting a project. A stream that fails part
+   * way isn't retried, as it would emit its first projects again.
+   */
+  private static @NonNull Observable<Project> retryBeforeFirstProject(final @NonNull Observable<Project> projects,
+    final int count) {
+    return Observable.defer(() -> {
+      final AtomicBoolean emitted = new AtomicBoolean();
+      return projects
+        .doOnNext(__ -> emitted.set(true))
+        .retry((attempt, __) -> attempt <= count && !emitted.get());
+    });
+  }
+
   private Observable<User> signupToGamesNewsletter(final @NonNull User user) {
     return apiClient
       .updateUserSettings(user.toBuilder().gamesNewsletter(true).build())
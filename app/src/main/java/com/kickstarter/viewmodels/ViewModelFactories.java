@@ -0,0 +1,59 @@
+package com.kickstarter.viewmodels;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.kickstarter.libs.Environment;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import rx.functions.Func1;
+
+/**
+ * Creates view models by calling their constructors directly, so that the view model managers don't have to look the
+ * constructors up by reflection on the main thread while an activity or fragment is being created. Every view model
+ * that is created by a manager should be registered here.
+ */
+public final class ViewModelFactories {
+  private static final Map<Class<?>, Func1<Environment, ?>> FACTORIES = new HashMap<>();
+  static {
+    FACTORIES.put(ActivityFeedViewModel.ViewModel.class, ActivityFeedViewModel.ViewModel::new);
+    FACTORIES.put(CheckoutViewModel.class, CheckoutViewModel::new);
+    FACTORIES.put(CommentsViewModel.class, CommentsViewModel::new);
+    FACTORIES.put(DiscoveryFragmentViewModel.class, DiscoveryFragmentViewModel::new);
+    FACTORIES.put(DiscoveryViewModel.class, DiscoveryViewModel::new);
+    FACTORIES.put(DownloadBetaViewModel.class, DownloadBetaViewModel::new);
+    FACTORIES.put(FacebookConfirmationViewModel.class, FacebookConfirmationViewModel::new);
+    FACTORIES.put(HelpViewModel.class, HelpViewModel::new);
+    FACTORIES.put(LoginToutViewModel.class, LoginToutViewModel::new);
+    FACTORIES.put(LoginViewModel.class, LoginViewModel::new);
+    FACTORIES.put(ProfileViewModel.class, ProfileViewModel::new);
+    FACTORIES.put(ProjectNotificationSettingsViewModel.class, ProjectNotificationSettingsViewModel::new);
+    FACTORIES.put(ProjectNotificationViewModel.class, ProjectNotificationViewModel::new);
+    FACTORIES.put(ProjectSocialViewModel.class, ProjectSocialViewModel::new);
+    FACTORIES.put(ProjectUpdatesViewModel.ViewModel.class, ProjectUpdatesViewModel.ViewModel::new);
+    FACTORIES.put(ProjectViewModel.ViewModel.class, ProjectViewModel.ViewModel::new);
+    FACTORIES.put(ResetPasswordViewModel.class, ResetPasswordViewModel::new);
+    FACTORIES.put(RewardViewModel.class, RewardViewModel::new);
+    FACTORIES.put(SearchViewModel.class, SearchViewModel::new);
+    FACTORIES.put(SettingsViewModel.class, SettingsViewModel::new);
+    FACTORIES.put(SignupViewModel.class, SignupViewModel::new);
+    FACTORIES.put(ThanksViewModel.class, ThanksViewModel::new);
+    FACTORIES.put(TwoFactorViewModel.class, TwoFactorViewModel::new);
+    FACTORIES.put(UpdateViewModel.ViewModel.class, UpdateViewModel.ViewModel::new);
+    FACTORIES.put(VideoPlayerViewModel.class, VideoPlayerViewModel::new);
+    FACTORIES.put(ViewPledgeViewModel.class, ViewPledgeViewModel::new);
+    FACTORIES.put(WebViewViewModel.class, WebViewViewModel::new);
+  }
+
+  private ViewModelFactories() {}
+
+  /**
+   * Returns the factory registered for `viewModelClass`, or `null` if there isn't one.
+   */
+  @SuppressWarnings("unchecked")
+  public static @Nullable <T> Func1<Environment, T> factory(final @NonNull Class<T> viewModelClass) {
+    return (Func1<Environment, T>) FACTORIES.get(viewModelClass);
+  }
+}
@@ -22,6 +22,12 @@ public interface DiscoveryFragmentViewModelInputs extends DiscoveryAdapter.Deleg
    */
   void nextPage();
 
+  /**
+   * Call with the position of a visible project card among the projects, e.g. the first one on screen, so that only
+   * pages of projects near it are kept in memory.
+   */
+  void projectVisible(final int position);
+
   /**
    * Call when we should load the root categories.
    */
@@ -16,6 +16,12 @@ public interface DiscoveryFragmentViewModelOutputs {
    */
   Observable<List<Project>> projects();
 
+  /**
+   * Emits the rows of the project list to display, with `null` placeholders for projects evicted from memory so that
+   * positions don't shift. Only for adapters that render placeholders, everything else should use `projects`.
+   */
+  Observable<List<Project>> projectRows();
+
   /**
    * Emits when the activity feed should be shown
    */
@@ -7,6 +7,7 @@ import com.kickstarter.libs.Environment;
 import com.kickstarter.libs.KSString;
 import com.kickstarter.libs.Koala;
 import com.kickstarter.libs.MockCurrentConfig;
+import com.kickstarter.libs.MockModelStore;
 import com.kickstarter.libs.MockTrackingClient;
 import com.kickstarter.services.MockApiClient;
 import com.kickstarter.services.MockWebClient;
@@ -42,6 +43,7 @@ public abstract class KSRobolectricTestCase extends TestCase {
       .currentConfig(new MockCurrentConfig())
       .webClient(new MockWebClient())
       .koala(new Koala(testTrackingClient))
+      .modelStore(new MockModelStore())
       .build();
   }
 
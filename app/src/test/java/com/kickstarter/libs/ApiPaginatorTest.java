@@ -0,0 +1,385 @@
+package com.kickstarter.libs;
+
+import android.os.Bundle;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Pair;
+
+import com.kickstarter.KSRobolectricTestCase;
+import com.kickstarter.factories.ProjectFactory;
+import com.kickstarter.models.Project;
+import com.kickstarter.services.DiscoveryParams;
+import com.kickstarter.services.apiresponses.DiscoverEnvelope;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import rx.Observable;
+import rx.functions.Func1;
+import rx.observers.TestSubscriber;
+import rx.subjects.PublishSubject;
+
+public class ApiPaginatorTest extends KSRobolectricTestCase {
+  private final List<String> requestedPaths = new ArrayList<>();
+  private final List<String> unsubscribedPaths = new ArrayList<>();
+  private final PublishSubject<DiscoverEnvelope> secondPage = PublishSubject.create();
+
+  @Test
+  public void testPrefetch_loadsNextPageBeforeItIsRequested() {
+    final PublishSubject<Void> nextPage = PublishSubject.create();
+    final ApiPaginator<Project, DiscoverEnvelope, Void> paginator = prefetchingPaginator(nextPage, Observable.just(null));
+
+    final TestSubscriber<Integer> pageSizes = new TestSubscriber<>();
+    paginator.paginatedData().map(List::size).subscribe(pageSizes);
+
+    // First page emits and the second page is requested speculatively.
+    pageSizes.assertValues(1);
+    assertEquals(Collections.singletonList("/page?2"), requestedPaths);
+
+    // Second page arrives but isn't emitted until it's asked for.
+    secondPage.onNext(envelope("http://www.kickstarter.com/page?3"));
+    secondPage.onCompleted();
+    pageSizes.assertValues(1);
+    assertEquals(Collections.singletonList("/page?2"), requestedPaths);
+
+    // Asking for it emits immediately, and only then is the third page requested.
+    nextPage.onNext(null);
+    pageSizes.assertValues(1, 2);
+    assertEquals(2, requestedPaths.size());
+    assertEquals("/page?3", requestedPaths.get(1));
+  }
+
+  @Test
+  public void testPrefetch_startingOverCancelsSpeculativePage() {
+    final PublishSubject<Void> nextPage = PublishSubject.create();
+    final PublishSubject<Void> startOverWith = PublishSubject.create();
+    final ApiPaginator<Project, DiscoverEnvelope, Void> paginator = prefetchingPaginator(nextPage, startOverWith);
+
+    final TestSubscriber<Integer> pageSizes = new TestSubscriber<>();
+    paginator.paginatedData().map(List::size).subscribe(pageSizes);
+
+    startOverWith.onNext(null);
+    pageSizes.assertValues(1);
+    assertEquals(Collections.singletonList("/page?2"), requestedPaths);
+
+    // Starting over drops the in-flight speculative page.
+    startOverWith.onNext(null);
+    assertEquals(Collections.singletonList("/page?2"), unsubscribedPaths);
+    pageSizes.assertValues(1, 1);
+  }
+
+  @Test
+  public void testPrefetch_failedPageIsRequestedAgainWhenScrolling() {
+    final PublishSubject<Pair<Integer, Integer>> displayedItems = PublishSubject.create();
+    final PublishSubject<Void> nextPage = PublishSubject.create();
+    RecyclerViewPaginator.nextPageRequests(displayedItems, 2).subscribe(__ -> nextPage.onNext(null));
+
+    final AtomicBoolean online = new AtomicBoolean(false);
+    final ApiPaginator<Project, DiscoverEnvelope, Void> paginator = ApiPaginator
+      .<Project, DiscoverEnvelope, Void>builder()
+      .nextPage(nextPage)
+      .envelopeToListOfData(DiscoverEnvelope::projects)
+      .envelopeToMoreUrl(env -> env.urls().api().moreProjects())
+      .loadWithParams(__ -> Observable.just(envelope(1)))
+      .loadWithPaginationPath(path -> Observable.defer(() -> {
+        requestedPaths.add(path);
+        return online.get() ? Observable.just(envelope(2)) : Observable.<DiscoverEnvelope>error(new IOException());
+      }))
+      .prefetch(true)
+      .build();
+
+    final TestSubscriber<Integer> pageSizes = new TestSubscriber<>();
+    paginator.paginatedData().map(List::size).subscribe(pageSizes);
+
+    // The speculative request for the second page fails, retries included.
+    pageSizes.assertValues(1);
+    assertEquals(Arrays.asList("/page?2", "/page?2", "/page?2"), requestedPaths);
+    requestedPaths.clear();
+
+    // Scrolling to the bottom asks for it again, and it fails again.
+    displayedItems.onNext(Pair.create(8, 10));
+    assertEquals(Arrays.asList("/page?2", "/page?2", "/page?2"), requestedPaths);
+    requestedPaths.clear();
+
+    // Scrolling further, with the list still the same size, asks for it once more and shows it as soon as it loads.
+    online.set(true);
+    displayedItems.onNext(Pair.create(9, 10));
+    pageSizes.assertValues(1, 2);
+    assertEquals(Arrays.asList("/page?2", "/page?3"), requestedPaths);
+  }
+
+  @Test
+  public void testWindow_evictsFarPagesAndReloadsThemWhenScrolledBack() {
+    final PublishSubject<Void> nextPage = PublishSubject.create();
+    final PublishSubject<Integer> visiblePosition = PublishSubject.create();
+    final List<String> loadedPaths = new ArrayList<>();
+
+    final ApiPaginator<Project, DiscoverEnvelope, Void> paginator = ApiPaginator.<Project, DiscoverEnvelope, Void>builder()
+      .nextPage(nextPage)
+      .envelopeToListOfData(DiscoverEnvelope::projects)
+      .envelopeToMoreUrl(env -> env.urls().api().moreProjects())
+      .loadWithParams(__ -> {
+        loadedPaths.add("first");
+        return Observable.just(envelope(1));
+      })
+      .loadWithPaginationPath(path -> {
+        loadedPaths.add(path);
+        return Observable.just(envelope(Integer.parseInt(path.substring("/page?".length()))));
+      })
+      .window(1, visiblePosition)
+      .build();
+
+    final TestSubscriber<List<Long>> ids = new TestSubscriber<>();
+    paginator.paginatedRows().map(ApiPaginatorTest::ids).subscribe(ids);
+
+    nextPage.onNext(null);
+    visiblePosition.onNext(1);
+    nextPage.onNext(null);
+    ids.assertValues(Arrays.asList(1L), Arrays.asList(1L, 2L), Arrays.asList(1L, 2L, 3L));
+
+    // Scrolling to the third page evicts the first, which is more than a page away.
+    visiblePosition.onNext(2);
+    ids.assertValueCount(4);
+    assertEquals(Arrays.asList(null, 2L, 3L), ids.getOnNextEvents().get(3));
+
+    // Scrolling back to the first page evicts the third and reloads the first.
+    visiblePosition.onNext(0);
+    ids.assertValueCount(6);
+    assertEquals(Arrays.asList(null, 2L, null), ids.getOnNextEvents().get(4));
+    assertEquals(Arrays.asList(1L, 2L, null), ids.getOnNextEvents().get(5));
+    assertEquals(Arrays.asList("first", "/page?2", "/page?3", "first"), loadedPaths);
+  }
+
+  @Test
+  public void testWindow_paginatedDataLeavesOutEvictedRows() {
+    final PublishSubject<Void> nextPage = PublishSubject.create();
+    final PublishSubject<Integer> visiblePosition = PublishSubject.create();
+    final ApiPaginator<Project, DiscoverEnvelope, Void> paginator = restorablePaginator(nextPage, visiblePosition,
+      Observable.empty(), new ArrayList<>(), ApiPaginatorTest::projects);
+
+    final TestSubscriber<List<Long>> ids = new TestSubscriber<>();
+    paginator.paginatedData().map(ApiPaginatorTest::ids).subscribe(ids);
+
+    nextPage.onNext(null);
+    visiblePosition.onNext(1);
+    nextPage.onNext(null);
+    visiblePosition.onNext(2);
+
+    // The first page was evicted, only the rows in memory are emitted.
+    assertEquals(Arrays.asList(2L, 3L), ids.getOnNextEvents().get(ids.getOnNextEvents().size() - 1));
+  }
+
+  @Test
+  public void testRestore_loadsSavedPagesByIdAndCarriesOnFromTheSavedPath() {
+    final PublishSubject<Void> nextPage = PublishSubject.create();
+    final List<String> loadedPaths = new ArrayList<>();
+
+    final ApiPaginator<Project, DiscoverEnvelope, Void> paginator = restorablePaginator(nextPage, null,
+      Observable.empty(), loadedPaths, ApiPaginatorTest::projects);
+    paginator.paginatedData().subscribe();
+    nextPage.onNext(null);
+    final Bundle state = paginator.saveState();
+    assertNotNull(state);
+
+    // After process death the pages come back by id rather than from the network.
+    final PublishSubject<Void> restoredNextPage = PublishSubject.create();
+    final List<long[]> loadedIds = new ArrayList<>();
+    final ApiPaginator<Project, DiscoverEnvelope, Void> restored = restorablePaginator(restoredNextPage, null,
+      Observable.just(state), loadedPaths, ids -> {
+        loadedIds.add(ids);
+        return projects(ids);
+      });
+
+    final TestSubscriber<List<Long>> ids = new TestSubscriber<>();
+    restored.paginatedData().map(ApiPaginatorTest::ids).subscribe(ids);
+    ids.assertValues(Arrays.asList(1L), Arrays.asList(1L, 2L));
+    assertEquals(1, loadedIds.size());
+    assertTrue(Arrays.equals(new long[]{1L, 2L}, loadedIds.get(0)));
+    assertEquals(Arrays.asList("first", "/page?2"), loadedPaths);
+
+    restoredNextPage.onNext(null);
+    ids.assertValueCount(3);
+    assertEquals(Arrays.asList(1L, 2L, 3L), ids.getOnNextEvents().get(2));
+    assertEquals(Arrays.asList("first", "/page?2", "/page?3"), loadedPaths);
+  }
+
+  @Test
+  public void testRestore_loadsFromTheNetworkWhenSavedModelsAreMissing() {
+    final List<String> loadedPaths = new ArrayList<>();
+    final ApiPaginator<Project, DiscoverEnvelope, Void> paginator = restorablePaginator(PublishSubject.create(), null,
+      Observable.empty(), loadedPaths, ApiPaginatorTest::projects);
+    paginator.paginatedData().subscribe();
+    final Bundle state = paginator.saveState();
+
+    final ApiPaginator<Project, DiscoverEnvelope, Void> restored = restorablePaginator(PublishSubject.create(), null,
+      Observable.just(state), loadedPaths, __ -> Observable.just(Collections.<Project>emptyList()));
+
+    final TestSubscriber<List<Long>> ids = new TestSubscriber<>();
+    restored.paginatedData().map(ApiPaginatorTest::ids).subscribe(ids);
+    ids.assertValues(Arrays.asList(1L));
+    assertEquals(Arrays.asList("first", "first"), loadedPaths);
+  }
+
+  @Test
+  public void testRestore_loadsFromTheNetworkWhenTheParamsChanged() {
+    final DiscoveryParams popular = DiscoveryParams.builder().sort(DiscoveryParams.Sort.POPULAR).build();
+    final DiscoveryParams newest = DiscoveryParams.builder().sort(DiscoveryParams.Sort.NEWEST).build();
+    final List<String> loadedPaths = new ArrayList<>();
+    final List<long[]> loadedIds = new ArrayList<>();
+
+    final ApiPaginator<Project, DiscoverEnvelope, DiscoveryParams> paginator = paramsPaginator(Observable.just(popular),
+      Observable.empty(), loadedPaths, loadedIds);
+    paginator.paginatedData().subscribe();
+    final Bundle state = paginator.saveState();
+
+    final ApiPaginator<Project, DiscoverEnvelope, DiscoveryParams> changed = paramsPaginator(Observable.just(newest),
+      Observable.just(state), loadedPaths, loadedIds);
+    changed.paginatedData().subscribe();
+    assertTrue(loadedIds.isEmpty());
+
+    final ApiPaginator<Project, DiscoverEnvelope, DiscoveryParams> same = paramsPaginator(Observable.just(popular),
+      Observable.just(state), loadedPaths, loadedIds);
+    same.paginatedData().subscribe();
+    assertEquals(1, loadedIds.size());
+    assertEquals(Arrays.asList("first", "first"), loadedPaths);
+  }
+
+  @Test
+  public void testRestore_windowedPagesComeBackEvictedAndAreReloadedWhenScrolledBack() {
+    final PublishSubject<Void> nextPage = PublishSubject.create();
+    final PublishSubject<Integer> visiblePosition = PublishSubject.create();
+    final List<String> loadedPaths = new ArrayList<>();
+
+    final ApiPaginator<Project, DiscoverEnvelope, Void> paginator = restorablePaginator(nextPage, visiblePosition,
+      Observable.empty(), loadedPaths, ApiPaginatorTest::projects);
+    paginator.paginatedData().subscribe();
+    nextPage.onNext(null);
+    visiblePosition.onNext(1);
+    nextPage.onNext(null);
+    visiblePosition.onNext(2);
+    final Bundle state = paginator.saveState();
+    loadedPaths.clear();
+
+    // Only the pages that were in memory are restored, the evicted first page keeps its place.
+    final PublishSubject<Integer> restoredVisiblePosition = PublishSubject.create();
+    final ApiPaginator<Project, DiscoverEnvelope, Void> restored = restorablePaginator(PublishSubject.create(),
+      restoredVisiblePosition, Observable.just(state), loadedPaths, ApiPaginatorTest::projects);
+
+    final TestSubscriber<List<Long>> ids = new TestSubscriber<>();
+    restored.paginatedRows().map(ApiPaginatorTest::ids).subscribe(ids);
+    ids.assertValueCount(1);
+    assertEquals(Arrays.asList(null, 2L, 3L), ids.getOnNextEvents().get(0));
+    assertTrue(loadedPaths.isEmpty());
+
+    restoredVisiblePosition.onNext(0);
+    assertEquals(Arrays.asList(1L, 2L, null), ids.getOnNextEvents().get(ids.getOnNextEvents().size() - 1));
+    assertEquals(Collections.singletonList("first"), loadedPaths);
+  }
+
+  private @NonNull ApiPaginator<Project, DiscoverEnvelope, Void> restorablePaginator(
+    final @NonNull Observable<Void> nextPage, final @Nullable Observable<Integer> visiblePosition,
+    final @NonNull Observable<Bundle> savedState, final @NonNull List<String> loadedPaths,
+    final @NonNull Func1<long[], Observable<List<Project>>> loadWithIds) {
+
+    final ApiPaginator.Builder<Project, DiscoverEnvelope, Void> builder = ApiPaginator.<Project, DiscoverEnvelope, Void>builder()
+      .nextPage(nextPage)
+      .envelopeToListOfData(DiscoverEnvelope::projects)
+      .envelopeToMoreUrl(env -> env.urls().api().moreProjects())
+      .loadWithParams(__ -> {
+        loadedPaths.add("first");
+        return Observable.just(envelope(1));
+      })
+      .loadWithPaginationPath(path -> {
+        loadedPaths.add(path);
+        return Observable.just(envelope(Integer.parseInt(path.substring("/page?".length()))));
+      })
+      .restoreFrom(savedState, Project::id, loadWithIds);
+
+    return visiblePosition == null ? builder.build() : builder.window(1, visiblePosition).build();
+  }
+
+  private @NonNull ApiPaginator<Project, DiscoverEnvelope, DiscoveryParams> paramsPaginator(
+    final @NonNull Observable<DiscoveryParams> startOverWith, final @NonNull Observable<Bundle> savedState,
+    final @NonNull List<String> loadedPaths, final @NonNull List<long[]> loadedIds) {
+
+    return ApiPaginator.<Project, DiscoverEnvelope, DiscoveryParams>builder()
+      .nextPage(PublishSubject.create())
+      .startOverWith(startOverWith)
+      .envelopeToListOfData(DiscoverEnvelope::projects)
+      .envelopeToMoreUrl(env -> env.urls().api().moreProjects())
+      .loadWithParams(__ -> {
+        loadedPaths.add("first");
+        return Observable.just(envelope(1));
+      })
+      .loadWithPaginationPath(__ -> Observable.empty())
+      .restoreFrom(savedState, Project::id, ids -> {
+        loadedIds.add(ids);
+        return projects(ids);
+      })
+      .build();
+  }
+
+  private @NonNull ApiPaginator<Project, DiscoverEnvelope, Void> prefetchingPaginator(
+    final @NonNull Observable<Void> nextPage, final @NonNull Observable<Void> startOverWith) {
+
+    return ApiPaginator.<Project, DiscoverEnvelope, Void>builder()
+      .nextPage(nextPage)
+      .startOverWith(startOverWith)
+      .envelopeToListOfData(DiscoverEnvelope::projects)
+      .envelopeToMoreUrl(env -> env.urls().api().moreProjects())
+      .loadWithParams(__ -> Observable.just(envelope("http://www.kickstarter.com/page?2")))
+      .loadWithPaginationPath(this::loadWithPaginationPath)
+      .prefetch(true)
+      .build();
+  }
+
+  private @NonNull Observable<DiscoverEnvelope> loadWithPaginationPath(final @NonNull String path) {
+    final Observable<DiscoverEnvelope> page = "/page?2".equals(path) ? secondPage : Observable.never();
+    return page
+      .doOnSubscribe(() -> requestedPaths.add(path))
+      .doOnUnsubscribe(() -> unsubscribedPaths.add(path));
+  }
+
+  private static @NonNull Observable<List<Project>> projects(final @NonNull long[] ids) {
+    final List<Project> projects = new ArrayList<>();
+    for (final long id : ids) {
+      projects.add(ProjectFactory.project().toBuilder().id(id).build());
+    }
+    return Observable.just(projects);
+  }
+
+  private static @NonNull List<Long> ids(final @NonNull List<Project> projects) {
+    final List<Long> ids = new ArrayList<>();
+    for (final Project project : projects) {
+      ids.add(project == null ? null : project.id());
+    }
+    return ids;
+  }
+
+  /**
+   * A page holding a single project with id `page`, followed by page `page + 1`.
+   */
+  private static @NonNull DiscoverEnvelope envelope(final int page) {
+    final DiscoverEnvelope envelope = envelope("http://www.kickstarter.com/page?" + (page + 1));
+    return envelope.toBuilder()
+      .projects(Collections.singletonList(ProjectFactory.project().toBuilder().id(page).build()))
+      .build();
+  }
+
+  private static @NonNull DiscoverEnvelope envelope(final @NonNull String moreProjects) {
+    return DiscoverEnvelope.builder()
+      .projects(Collections.singletonList(ProjectFactory.project()))
+      .urls(
+        DiscoverEnvelope.UrlsEnvelope.builder()
+          .api(DiscoverEnvelope.UrlsEnvelope.ApiEnvelope.builder().moreProjects(moreProjects).build())
+          .build()
+      )
+      .build();
+  }
+}
@@ -0,0 +1,70 @@
+package com.kickstarter.libs;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.kickstarter.ApplicationModule;
+import com.kickstarter.KSRobolectricTestCase;
+import com.kickstarter.factories.ProjectFactory;
+import com.kickstarter.factories.RewardFactory;
+import com.kickstarter.factories.UserFactory;
+import com.kickstarter.models.Project;
+import com.kickstarter.models.Reward;
+import com.kickstarter.models.User;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class AutoGsonAdapterFactoryTest extends KSRobolectricTestCase {
+  private final Gson reflectiveGson = ApplicationModule.reflectiveGsonBuilder().create();
+  private Gson generatedGson;
+
+  @Override
+  @Before
+  public void setUp() throws Exception {
+    super.setUp();
+    generatedGson = environment().gson();
+  }
+
+  @Test
+  public void testWrite_matchesReflectiveAdapter() {
+    assertEquals(reflectiveGson.toJson(ProjectFactory.project(), Project.class),
+      generatedGson.toJson(ProjectFactory.project(), Project.class));
+    assertEquals(reflectiveGson.toJson(RewardFactory.itemized(), Reward.class),
+      generatedGson.toJson(RewardFactory.itemized(), Reward.class));
+    assertEquals(reflectiveGson.toJson(UserFactory.user(), User.class),
+      generatedGson.toJson(UserFactory.user(), User.class));
+  }
+
+  @Test
+  public void testRead_matchesReflectiveAdapter() {
+    final String json = reflectiveGson.toJson(ProjectFactory.successfulProject(), Project.class);
+
+    final Project generated = generatedGson.fromJson(json, Project.class);
+    final Project reflective = reflectiveGson.fromJson(json, Project.class);
+
+    // Compared as JSON since DateTimes don't keep their time zone through a round trip.
+    assertEquals(reflectiveGson.toJson(reflective, Project.class), reflectiveGson.toJson(generated, Project.class));
+  }
+
+  @Test
+  public void testRead_missingNullablePropertyIsLeftNull() {
+    final Reward reward = generatedGson.fromJson("{\"id\":1,\"minimum\":10.0}", Reward.class);
+
+    assertEquals(1L, reward.id());
+    assertEquals(10.0f, reward.minimum());
+    assertNull(reward.title());
+  }
+
+  @Test(expected = JsonParseException.class)
+  public void testRead_missingNonNullPropertyFails() {
+    generatedGson.fromJson("{\"id\":2}", Project.class);
+  }
+
+  @Test
+  public void testRead_nullPrimitiveIsLeftAsDefault() {
+    final Reward reward = generatedGson.fromJson("{\"id\":null,\"minimum\":null}", Reward.class);
+
+    assertEquals(0L, reward.id());
+    assertEquals(0.0f, reward.minimum());
+  }
+}
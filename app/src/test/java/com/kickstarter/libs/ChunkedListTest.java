@@ -0,0 +1,123 @@
+package com.kickstarter.libs;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import rx.functions.Func2;
+
+public final class ChunkedListTest extends TestCase {
+
+  public void testEmpty() {
+    final ChunkedList<Integer> xs = ChunkedList.empty();
+
+    assertEquals(0, xs.size());
+    assertTrue(xs.isEmpty());
+    assertFalse(xs.iterator().hasNext());
+  }
+
+  public void testPlus() {
+    final ChunkedList<Integer> xs = ChunkedList.<Integer>empty()
+      .plus(Arrays.asList(1, 2, 3))
+      .plus(Collections.<Integer>emptyList())
+      .plus(Arrays.asList(4))
+      .plus(Arrays.asList(5, 6));
+
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), xs);
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), new ArrayList<>(xs));
+    assertEquals(6, xs.size());
+    assertEquals(Integer.valueOf(1), xs.get(0));
+    assertEquals(Integer.valueOf(4), xs.get(3));
+    assertEquals(Integer.valueOf(6), xs.get(5));
+  }
+
+  public void testPlus_doesNotChangeEarlierLists() {
+    final ChunkedList<Integer> xs = ChunkedList.<Integer>empty().plus(Arrays.asList(1, 2));
+    final ChunkedList<Integer> ys = xs.plus(Arrays.asList(3));
+    final ChunkedList<Integer> zs = xs.plus(Arrays.asList(4, 5));
+
+    assertEquals(Arrays.asList(1, 2), xs);
+    assertEquals(Arrays.asList(1, 2, 3), ys);
+    assertEquals(Arrays.asList(1, 2, 4, 5), zs);
+    assertEquals(Arrays.asList(1, 2, 3, 6), ys.plus(Arrays.asList(6)));
+  }
+
+  public void testPlus_doesNotShareThePage() {
+    final List<Integer> page = new ArrayList<>(Arrays.asList(1, 2));
+    final ChunkedList<Integer> xs = ChunkedList.<Integer>empty().plus(page);
+    page.add(3);
+
+    assertEquals(Arrays.asList(1, 2), xs);
+  }
+
+  public void testPlus_manyPages() {
+    ChunkedList<Integer> xs = ChunkedList.empty();
+    final List<Integer> expected = new ArrayList<>();
+    for (int page = 0; page < 100; page++) {
+      final List<Integer> items = new ArrayList<>();
+      for (int i = 0; i < page % 4; i++) {
+        items.add(expected.size());
+        expected.add(expected.size());
+      }
+      xs = xs.plus(items);
+    }
+
+    assertEquals(expected, xs);
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i), xs.get(i));
+    }
+  }
+
+  public void testGet_outOfBounds() {
+    final ChunkedList<Integer> xs = ChunkedList.<Integer>empty().plus(Arrays.asList(1, 2));
+
+    try {
+      xs.get(2);
+      fail();
+    } catch (final IndexOutOfBoundsException ignored) {}
+
+    try {
+      xs.get(-1);
+      fail();
+    } catch (final IndexOutOfBoundsException ignored) {}
+  }
+
+  public void testDistinctBy() {
+    final ChunkedList<String> xs = ChunkedList.<String>distinctBy(String::length)
+      .plus(Arrays.asList("a", "bb", "c"))
+      .plus(Arrays.asList("dd", "eee", "fff", "gggg"));
+
+    assertEquals(Arrays.asList("a", "bb", "eee", "gggg"), xs);
+  }
+
+  public void testDistinctBy_doesNotChangeEarlierLists() {
+    final ChunkedList<Integer> xs = ChunkedList.<Integer>distinctBy(x -> x).plus(Arrays.asList(1, 2));
+    final ChunkedList<Integer> ys = xs.plus(Arrays.asList(2, 3));
+    final ChunkedList<Integer> zs = xs.plus(Arrays.asList(3, 4));
+
+    assertEquals(Arrays.asList(1, 2), xs);
+    assertEquals(Arrays.asList(1, 2, 3), ys);
+    assertEquals(Arrays.asList(1, 2, 3, 4), zs);
+    assertEquals(Arrays.asList(1, 2, 3, 4), ys.plus(Arrays.asList(1, 4)));
+  }
+
+  public void testConcater() {
+    final Func2<List<Integer>, List<Integer>, List<Integer>> concater = ChunkedList.concater();
+
+    final List<Integer> xs = concater.call(Arrays.asList(1, 2), Arrays.asList(2, 3));
+    assertEquals(Arrays.asList(1, 2, 2, 3), xs);
+    assertEquals(Arrays.asList(1, 2, 2, 3, 4), concater.call(xs, Arrays.asList(4)));
+  }
+
+  public void testDistinctConcater() {
+    final Func2<List<Integer>, List<Integer>, List<Integer>> concater = ChunkedList.distinctConcater(x -> x % 10);
+
+    final List<Integer> xs = concater.call(new ArrayList<>(), Arrays.asList(1, 2));
+    final List<Integer> ys = concater.call(xs, Arrays.asList(12, 3));
+    assertEquals(Arrays.asList(1, 2, 3), ys);
+    assertEquals(Arrays.asList(1, 2, 3, 4), concater.call(ys, Arrays.asList(4, 13)));
+  }
+}
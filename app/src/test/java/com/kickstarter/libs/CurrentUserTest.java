@@ -0,0 +1,105 @@
+package com.kickstarter.libs;
+
+import com.google.gson.Gson;
+import com.kickstarter.KSRobolectricTestCase;
+import com.kickstarter.factories.UserFactory;
+import com.kickstarter.libs.preferences.MockStringPreference;
+import com.kickstarter.models.User;
+
+import org.junit.Test;
+
+import java.io.File;
+
+import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
+
+public class CurrentUserTest extends KSRobolectricTestCase {
+  private final DeviceRegistrarType deviceRegistrar = new DeviceRegistrarType() {
+    @Override
+    public void registerDevice() {
+    }
+
+    @Override
+    public void unregisterDevice() {
+    }
+  };
+
+  @Test
+  public void testStoredUserIsLoadedOnTheScheduler() {
+    final Gson gson = environment().gson();
+    final User user = UserFactory.user();
+    final MockStringPreference userPreference = new MockStringPreference(gson.toJson(user, User.class));
+    final TestScheduler scheduler = new TestScheduler();
+    final ParcelSnapshot snapshot = snapshot();
+
+    final CurrentUser currentUser = new CurrentUser(new MockStringPreference(), deviceRegistrar, gson, userPreference,
+      snapshot, scheduler);
+    scheduler.triggerActions();
+
+    final TestSubscriber<User> test = new TestSubscriber<>();
+    currentUser.observable().subscribe(test);
+    test.assertValues(user);
+    assertEquals(user, currentUser.getUser());
+
+    // Loading took a snapshot, which a second load uses instead of parsing.
+    assertEquals(user, snapshot.read(userPreference.get(), User.class));
+  }
+
+  @Test
+  public void testStoredUserIsEmittedOnceItIsLoaded() {
+    final Gson gson = environment().gson();
+    final User user = UserFactory.user();
+    final MockStringPreference userPreference = new MockStringPreference(gson.toJson(user, User.class));
+    final TestScheduler scheduler = new TestScheduler();
+
+    final CurrentUser currentUser = new CurrentUser(new MockStringPreference(), deviceRegistrar, gson, userPreference,
+      snapshot(), scheduler);
+    final TestSubscriber<User> test = new TestSubscriber<>();
+    currentUser.observable().subscribe(test);
+    test.assertNoValues();
+
+    scheduler.triggerActions();
+    test.assertValues(user);
+  }
+
+  @Test
+  public void testLoginBeforeLoadingIsNotOverwritten() {
+    final Gson gson = environment().gson();
+    final MockStringPreference userPreference = new MockStringPreference(gson.toJson(UserFactory.user(), User.class));
+    final TestScheduler scheduler = new TestScheduler();
+
+    final CurrentUser currentUser = new CurrentUser(new MockStringPreference(), deviceRegistrar, gson, userPreference,
+      snapshot(), scheduler);
+    final User germanUser = UserFactory.germanUser();
+    currentUser.login(germanUser, "token");
+    scheduler.triggerActions();
+
+    final TestSubscriber<User> test = new TestSubscriber<>();
+    currentUser.observable().subscribe(test);
+    test.assertValues(germanUser);
+    assertEquals(gson.toJson(germanUser, User.class), userPreference.get());
+  }
+
+  @Test
+  public void testLogoutDeletesTheSnapshot() {
+    final Gson gson = environment().gson();
+    final User user = UserFactory.user();
+    final MockStringPreference userPreference = new MockStringPreference(gson.toJson(user, User.class));
+    final TestScheduler scheduler = new TestScheduler();
+    final ParcelSnapshot snapshot = snapshot();
+
+    final CurrentUser currentUser = new CurrentUser(new MockStringPreference(), deviceRegistrar, gson, userPreference,
+      snapshot, scheduler);
+    scheduler.triggerActions();
+    currentUser.logout();
+    scheduler.triggerActions();
+
+    assertNull(currentUser.getUser());
+    assertNull(userPreference.get());
+    assertNull(snapshot.read(gson.toJson(user, User.class), User.class));
+  }
+
+  private ParcelSnapshot snapshot() {
+    return new ParcelSnapshot(new File(context().getFilesDir(), "snapshots/test-user"), 1);
+  }
+}
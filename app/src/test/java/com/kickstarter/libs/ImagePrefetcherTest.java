@@ -0,0 +1,171 @@
+package com.kickstarter.libs;
+
+import android.support.annotation.NonNull;
+import android.util.Pair;
+
+import com.kickstarter.KSRobolectricTestCase;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import rx.functions.Action0;
+
+public class ImagePrefetcherTest extends KSRobolectricTestCase {
+  private final Map<String, Action0> fetches = new LinkedHashMap<>();
+  private int pauseCount;
+  private int resumeCount;
+  private int cancelCount;
+
+  @Test
+  public void testTakeItems_prefetchesLookaheadFromTheTop() {
+    final ImagePrefetcher<String> prefetcher = prefetcher(2);
+
+    prefetcher.takeItems(Arrays.asList("a", "b", "c"));
+
+    assertEquals(Arrays.asList("a", "b"), fetchedUrls());
+  }
+
+  @Test
+  public void testVisible_prefetchesItemsAfterTheLastVisibleOnce() {
+    final ImagePrefetcher<String> prefetcher = prefetcher(2);
+    prefetcher.takeItems(Arrays.asList("a", "b", "c", "d", "e"));
+
+    prefetcher.visible(1);
+    prefetcher.visible(2);
+
+    assertEquals(Arrays.asList("a", "b", "c", "d", "e"), fetchedUrls());
+  }
+
+  @Test
+  public void testVisible_skipsEvictedRowsAndItemsWithoutImages() {
+    final ImagePrefetcher<String> prefetcher = prefetcher(3);
+
+    prefetcher.takeItems(Arrays.asList("a", null, "", "d"));
+    prefetcher.visible(0);
+
+    assertEquals(Arrays.asList("a", "d"), fetchedUrls());
+  }
+
+  @Test
+  public void testSetFlinging_pausesAndResumesFromTheLastVisibleItem() {
+    final ImagePrefetcher<String> prefetcher = prefetcher(1);
+    prefetcher.takeItems(Arrays.asList("a", "b", "c", "d"));
+
+    prefetcher.setFlinging(true);
+    prefetcher.visible(1);
+    prefetcher.visible(2);
+    assertEquals(1, pauseCount);
+    assertEquals(Collections.singletonList("a"), fetchedUrls());
+
+    // Nothing is prefetched for items flung past.
+    prefetcher.setFlinging(false);
+    assertEquals(1, resumeCount);
+    assertEquals(Arrays.asList("a", "d"), fetchedUrls());
+  }
+
+  @Test
+  public void testTakeItems_cancelsWhenStartingOver() {
+    final ImagePrefetcher<String> prefetcher = prefetcher(2);
+    prefetcher.takeItems(Arrays.asList("a", "b"));
+
+    // Appending a page doesn't start over.
+    prefetcher.takeItems(Arrays.asList("a", "b", "c"));
+    assertEquals(0, cancelCount);
+
+    // Clearing the list does, and the same images are prefetched again for the new list.
+    prefetcher.takeItems(new ArrayList<>());
+    assertEquals(1, cancelCount);
+    fetches.clear();
+    prefetcher.takeItems(Arrays.asList("a", "b"));
+    assertEquals(Arrays.asList("a", "b"), fetchedUrls());
+
+    // So does a new first item.
+    prefetcher.takeItems(Arrays.asList("x", "a", "b"));
+    assertEquals(2, cancelCount);
+  }
+
+  @Test
+  public void testTakeItems_doesNotStartOverWhenTheFirstItemChangesButNotItsImage() {
+    final ImagePrefetcher<Pair<String, Integer>> prefetcher = new ImagePrefetcher<>(fetcher(), p -> p.first, 2);
+    prefetcher.takeItems(Arrays.asList(Pair.create("a", 1), Pair.create("b", 1)));
+
+    // E.g. the first project was backed again while the list reloaded.
+    prefetcher.takeItems(Arrays.asList(Pair.create("a", 2), Pair.create("b", 1)));
+    assertEquals(0, cancelCount);
+  }
+
+  @Test
+  public void testHitRate_countsItemsScrolledIntoViewAfterTheFirstScreen() {
+    final ImagePrefetcher<String> prefetcher = prefetcher(2);
+    prefetcher.takeItems(Arrays.asList("a", "b", "c", "d", "e", "f"));
+    assertEquals(0.0, prefetcher.hitRate(), 0.001);
+
+    // First screen shows a and b, and c and d are prefetched but only c finishes.
+    prefetcher.visible(1);
+    fetches.get("c").call();
+    prefetcher.visible(3);
+
+    assertEquals(1, prefetcher.hitCount());
+    assertEquals(1, prefetcher.missCount());
+    assertEquals(0.5, prefetcher.hitRate(), 0.001);
+
+    // Scrolling back up doesn't count items again.
+    prefetcher.visible(2);
+    assertEquals(2, prefetcher.hitCount() + prefetcher.missCount());
+  }
+
+  @Test
+  public void testHitRate_ignoresFetchesFinishingAfterStartingOver() {
+    final ImagePrefetcher<String> prefetcher = prefetcher(1);
+    prefetcher.takeItems(Arrays.asList("a", "b"));
+    prefetcher.visible(0);
+    final Action0 stale = fetches.get("b");
+
+    prefetcher.takeItems(new ArrayList<>());
+    stale.call();
+    prefetcher.takeItems(Arrays.asList("a", "b"));
+    prefetcher.visible(0);
+    prefetcher.visible(1);
+
+    assertEquals(0, prefetcher.hitCount());
+    assertEquals(1, prefetcher.missCount());
+  }
+
+  private @NonNull ImagePrefetcher<String> prefetcher(final int lookahead) {
+    return new ImagePrefetcher<>(fetcher(), url -> url.isEmpty() ? null : url, lookahead);
+  }
+
+  private @NonNull ImagePrefetcher.Fetcher fetcher() {
+    return new ImagePrefetcher.Fetcher() {
+      @Override
+      public void fetch(final @NonNull String url, final @NonNull Action0 fetched) {
+        fetches.put(url, fetched);
+      }
+
+      @Override
+      public void pause() {
+        pauseCount++;
+      }
+
+      @Override
+      public void resume() {
+        resumeCount++;
+      }
+
+      @Override
+      public void cancel() {
+        cancelCount++;
+      }
+    };
+  }
+
+  private @NonNull List<String> fetchedUrls() {
+    return new ArrayList<>(fetches.keySet());
+  }
+}
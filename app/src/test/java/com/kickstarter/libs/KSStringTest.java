@@ -70,6 +70,32 @@ public class KSStringTest extends KSRobolectricTestCase {
     assertEquals("by <u>Christopher</u>", ksString().format(string, "creator_name", "Christopher"));
   }
 
+  @Test
+  public void testFormat_sameKeyTwice() {
+    final String string = "%{name} and %{name}";
+    assertEquals("a and a", ksString().format(string, "name", "a"));
+  }
+
+  @Test
+  public void testFormat_adjacentKeys() {
+    final String string = "%{one}%{two}";
+    assertEquals("ab", ksString().format(string, "one", "a", "two", "b"));
+  }
+
+  @Test
+  public void testFormat_notAKey() {
+    final String string = "%{not a key} %{name} %{";
+    assertEquals("%{not a key} a %{", ksString().format(string, "name", "a"));
+  }
+
+  @Test
+  public void testFormat_sameStringTwice() {
+    final KSString ksString = ksString();
+    final String string = "by %{name}";
+    assertEquals("by a", ksString.format(string, "name", "a"));
+    assertEquals("by b", ksString.format(string, "name", "b"));
+  }
+
   @Test
   public void testFormat_count() {
     final String keyPath = "dates_time_days";
@@ -88,6 +114,8 @@ public class KSStringTest extends KSRobolectricTestCase {
     final KSString ksString = ksString();
 
     assertEquals("", ksString.format(keyPath, -1, "time_count", "-1"));
+    // A missing resource is remembered as missing.
+    assertEquals("", ksString.format(keyPath, -1, "time_count", "-1"));
   }
 
   @Test
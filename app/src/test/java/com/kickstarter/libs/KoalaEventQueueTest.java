@@ -0,0 +1,127 @@
+package com.kickstarter.libs;
+
+import com.google.gson.Gson;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import rx.schedulers.TestScheduler;
+
+public class KoalaEventQueueTest extends TestCase {
+  private File journal;
+  private final List<String> names = new ArrayList<>();
+  private final List<Map<String, Object>> properties = new ArrayList<>();
+
+  @Override
+  protected void setUp() throws IOException {
+    journal = File.createTempFile("koala", "journal");
+    assertTrue(journal.delete());
+    names.clear();
+    properties.clear();
+  }
+
+  @Override
+  protected void tearDown() {
+    journal.delete();
+  }
+
+  public void testEventsAreSentAfterTheFlushDelay() {
+    final TestScheduler scheduler = new TestScheduler();
+    final KoalaEventQueue queue = queue(scheduler, 10);
+
+    final Map<String, Object> eventProperties = new HashMap<>();
+    eventProperties.put("page", 1);
+    eventProperties.put("term", null);
+    eventProperties.put("client_type", "overridden");
+    final Map<String, Object> defaults = new HashMap<>();
+    defaults.put("client_type", "native");
+    queue.add("Discover List View", eventProperties, defaults);
+    queue.add("Project Page", new HashMap<>(), defaults);
+
+    scheduler.triggerActions();
+    assertTrue(names.isEmpty());
+    assertTrue(journal.exists());
+
+    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+    assertEquals(2, names.size());
+    assertEquals("Discover List View", names.get(0));
+    assertEquals("Project Page", names.get(1));
+
+    final Map<String, Object> expected = new HashMap<>();
+    expected.put("page", 1);
+    expected.put("client_type", "native");
+    expected.put("time", 0L);
+    assertEquals(expected, properties.get(0));
+    assertFalse(journal.exists());
+  }
+
+  public void testEventsAreSentWithTheTimeTheyWereQueued() {
+    final TestScheduler scheduler = new TestScheduler();
+    final KoalaEventQueue queue = queue(scheduler, 10);
+
+    scheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+    queue.add("a", new HashMap<>(), new HashMap<>());
+    scheduler.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+    queue.add("b", new HashMap<>(), new HashMap<>());
+    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+    assertEquals(2, names.size());
+    assertEquals(5L, properties.get(0).get("time"));
+    assertEquals(5L, properties.get(1).get("time"));
+  }
+
+  public void testOldestEventsAreDroppedWhenFull() {
+    final TestScheduler scheduler = new TestScheduler();
+    final KoalaEventQueue queue = queue(scheduler, 2);
+
+    queue.add("a", new HashMap<>(), new HashMap<>());
+    queue.add("b", new HashMap<>(), new HashMap<>());
+    queue.add("c", new HashMap<>(), new HashMap<>());
+    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+    assertEquals(1, queue.droppedCount());
+    assertEquals(2, names.size());
+    assertEquals("b", names.get(0));
+    assertEquals("c", names.get(1));
+  }
+
+  public void testJournaledEventsAreReplayed() {
+    final TestScheduler deadScheduler = new TestScheduler();
+    deadScheduler.advanceTimeBy(7, TimeUnit.SECONDS);
+    final KoalaEventQueue dead = queue(deadScheduler, 10);
+    final Map<String, Object> eventProperties = new HashMap<>();
+    eventProperties.put("page", 2);
+    dead.add("Discover List View", eventProperties, new HashMap<>());
+
+    // Journal the event, but never reach the flush, as if the process died.
+    deadScheduler.triggerActions();
+    assertTrue(names.isEmpty());
+    assertTrue(journal.exists());
+
+    final TestScheduler scheduler = new TestScheduler();
+    queue(scheduler, 10);
+    scheduler.triggerActions();
+
+    assertEquals(1, names.size());
+    assertEquals("Discover List View", names.get(0));
+    // Numbers come back from the journal as doubles.
+    assertEquals(2.0, properties.get(0).get("page"));
+    // The time the event was queued by the dead process is kept.
+    assertEquals(7L, properties.get(0).get("time"));
+    assertFalse(journal.exists());
+  }
+
+  private KoalaEventQueue queue(final TestScheduler scheduler, final int capacity) {
+    return new KoalaEventQueue(journal, new Gson(), scheduler, (name, props) -> {
+      names.add(name);
+      properties.add(props);
+    }, capacity, 1, TimeUnit.SECONDS);
+  }
+}
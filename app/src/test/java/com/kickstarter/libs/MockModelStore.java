@@ -0,0 +1,57 @@
+package com.kickstarter.libs;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import rx.Observable;
+
+public final class MockModelStore implements ModelStoreType {
+  private final Map<String, List<?>> queries = new HashMap<>();
+  private int generation;
+
+  @Override
+  public <T> void put(final @NonNull Class<T> type, final @NonNull List<T> models, final @Nullable String queryKey) {
+    put(type, models, queryKey, generation);
+  }
+
+  @Override
+  public <T> void put(final @NonNull Class<T> type, final @NonNull List<T> models, final @Nullable String queryKey,
+    final int generation) {
+    if (queryKey != null && generation == this.generation) {
+      queries.put(type.getName() + queryKey, new ArrayList<>(models));
+    }
+  }
+
+  @Override
+  public @NonNull <T> Observable<T> find(final @NonNull Class<T> type, final long id) {
+    return Observable.empty();
+  }
+
+  @Override
+  public @NonNull <T> Observable<List<T>> find(final @NonNull Class<T> type, final @NonNull long[] ids) {
+    return Observable.empty();
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public @NonNull <T> Observable<List<T>> query(final @NonNull Class<T> type, final @NonNull String queryKey) {
+    final List<T> models = (List<T>) queries.get(type.getName() + queryKey);
+    return models == null ? Observable.empty() : Observable.just(models);
+  }
+
+  @Override
+  public int generation() {
+    return generation;
+  }
+
+  @Override
+  public void clear() {
+    queries.clear();
+    generation++;
+  }
+}
@@ -0,0 +1,121 @@
+package com.kickstarter.libs;
+
+import com.kickstarter.KSRobolectricTestCase;
+import com.kickstarter.factories.CategoryFactory;
+import com.kickstarter.factories.ProjectFactory;
+import com.kickstarter.models.Category;
+import com.kickstarter.models.Project;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import rx.Observable;
+import rx.observers.TestSubscriber;
+
+public class ModelStoreTest extends KSRobolectricTestCase {
+
+  @Test
+  public void testQuery_returnsStoredModelsInOrder() {
+    final ModelStore store = new ModelStore(context(), environment().gson());
+    final List<Category> categories = Arrays.asList(
+      CategoryFactory.musicCategory(), CategoryFactory.artCategory(), CategoryFactory.bluesCategory()
+    );
+
+    store.put(Category.class, categories, ModelStore.CATEGORIES_QUERY);
+
+    // Models are compared by id since they've been through a round trip of JSON.
+    final TestSubscriber<List<Long>> test = new TestSubscriber<>();
+    store.query(Category.class, ModelStore.CATEGORIES_QUERY)
+      .flatMap(cs -> Observable.from(cs).map(Category::id).toList())
+      .subscribe(test);
+    test.awaitTerminalEvent();
+    test.assertValues(Arrays.asList(categories.get(0).id(), categories.get(1).id(), categories.get(2).id()));
+  }
+
+  @Test
+  public void testQuery_isEmptyForUnknownKey() {
+    final ModelStore store = new ModelStore(context(), environment().gson());
+
+    final TestSubscriber<List<Category>> test = new TestSubscriber<>();
+    store.query(Category.class, "unknown").subscribe(test);
+    test.awaitTerminalEvent();
+    test.assertNoValues();
+    test.assertCompleted();
+  }
+
+  @Test
+  public void testPut_replacesModelsWithTheSameId() {
+    final ModelStore store = new ModelStore(context(), environment().gson());
+    final Project project = ProjectFactory.project();
+    final Project updatedProject = project.toBuilder().name("Updated").build();
+
+    store.put(Project.class, Collections.singletonList(project), "key");
+    store.put(Project.class, Collections.singletonList(updatedProject), null);
+
+    final TestSubscriber<String> find = new TestSubscriber<>();
+    store.find(Project.class, project.id()).map(Project::name).subscribe(find);
+    find.awaitTerminalEvent();
+    find.assertValues("Updated");
+
+    // Queries read the latest copy of each model.
+    final TestSubscriber<String> query = new TestSubscriber<>();
+    store.query(Project.class, "key").map(ps -> ps.get(0).name()).subscribe(query);
+    query.awaitTerminalEvent();
+    query.assertValues("Updated");
+  }
+
+  @Test
+  public void testClear() {
+    final ModelStore store = new ModelStore(context(), environment().gson());
+    store.put(Category.class, Collections.singletonList(CategoryFactory.artCategory()), ModelStore.CATEGORIES_QUERY);
+
+    store.clear();
+
+    final TestSubscriber<List<Category>> test = new TestSubscriber<>();
+    store.query(Category.class, ModelStore.CATEGORIES_QUERY).subscribe(test);
+    test.awaitTerminalEvent();
+    test.assertNoValues();
+  }
+
+  @Test
+  public void testPut_evictsTheModelsStoredLongestAgo() {
+    final ModelStore store = new ModelStore(context(), environment().gson(), 2, 2);
+    final Project first = ProjectFactory.project().toBuilder().id(1).build();
+    final Project second = ProjectFactory.project().toBuilder().id(2).build();
+    final Project third = ProjectFactory.project().toBuilder().id(3).build();
+
+    store.put(Project.class, Collections.singletonList(first), "first");
+    store.put(Project.class, Arrays.asList(second, third), "second");
+
+    final TestSubscriber<List<Long>> test = new TestSubscriber<>();
+    store.find(Project.class, new long[]{1, 2, 3})
+      .flatMap(ps -> Observable.from(ps).map(Project::id).toList())
+      .subscribe(test);
+    test.awaitTerminalEvent();
+    test.assertValues(Arrays.asList(2L, 3L));
+
+    // The query is still stored, but none of its models are.
+    final TestSubscriber<List<Project>> query = new TestSubscriber<>();
+    store.query(Project.class, "first").subscribe(query);
+    query.awaitTerminalEvent();
+    query.assertNoValues();
+  }
+
+  @Test
+  public void testPut_dropsWritesFromBeforeAClear() {
+    final ModelStore store = new ModelStore(context(), environment().gson());
+    final int generation = store.generation();
+
+    store.clear();
+    store.put(Category.class, Collections.singletonList(CategoryFactory.artCategory()), ModelStore.CATEGORIES_QUERY,
+      generation);
+
+    final TestSubscriber<List<Category>> test = new TestSubscriber<>();
+    store.query(Category.class, ModelStore.CATEGORIES_QUERY).subscribe(test);
+    test.awaitTerminalEvent();
+    test.assertNoValues();
+  }
+}
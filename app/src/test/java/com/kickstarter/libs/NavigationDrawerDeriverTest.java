@@ -0,0 +1,68 @@
+package com.kickstarter.libs;
+
+import com.kickstarter.KSRobolectricTestCase;
+import com.kickstarter.factories.CategoryFactory;
+import com.kickstarter.factories.UserFactory;
+import com.kickstarter.libs.utils.DiscoveryDrawerUtils;
+import com.kickstarter.models.Category;
+import com.kickstarter.models.User;
+import com.kickstarter.services.DiscoveryParams;
+import com.kickstarter.ui.adapters.data.NavigationDrawerData;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class NavigationDrawerDeriverTest extends KSRobolectricTestCase {
+  private static final List<Category> categories = Arrays.asList(
+    CategoryFactory.artCategory(),
+    CategoryFactory.ceramicsCategory(),
+    CategoryFactory.textilesCategory(),
+    CategoryFactory.photographyCategory(),
+    CategoryFactory.musicCategory(),
+    CategoryFactory.bluesCategory(),
+    CategoryFactory.worldMusicCategory()
+  );
+
+  @Test
+  public void testDerivesTheSameDataAsDeriveNavigationDrawerData() {
+    final NavigationDrawerDeriver deriver = new NavigationDrawerDeriver();
+    final CategoryTree tree = new CategoryTree(categories);
+    final DiscoveryParams staffPicks = DiscoveryParams.builder().staffPicks(true).build();
+
+    assertDerivesSameData(deriver, tree, DiscoveryParams.builder().build(), null, null);
+    assertDerivesSameData(deriver, tree, staffPicks, null, UserFactory.user());
+    assertDerivesSameData(deriver, tree, staffPicks, CategoryFactory.artCategory(), UserFactory.socialUser());
+    assertDerivesSameData(deriver, tree, staffPicks, CategoryFactory.musicCategory(), UserFactory.socialUser());
+    assertDerivesSameData(deriver, tree, staffPicks, null, null);
+  }
+
+  @Test
+  public void testReusesSectionsThatHaveNotChanged() {
+    final NavigationDrawerDeriver deriver = new NavigationDrawerDeriver();
+    final CategoryTree tree = new CategoryTree(categories);
+
+    final NavigationDrawerData collapsed = deriver.derive(tree, DiscoveryParams.builder().build(), null, null);
+    final NavigationDrawerData artExpanded = deriver.derive(tree, DiscoveryParams.builder().build(),
+      CategoryFactory.artCategory(), null);
+
+    // Top sections and the music and photography sections are reused, only the art section is rebuilt.
+    assertSame(collapsed.sections().get(0), artExpanded.sections().get(0));
+    assertNotSame(collapsed.sections().get(2), artExpanded.sections().get(2));
+    assertSame(collapsed.sections().get(3), artExpanded.sections().get(3));
+    assertSame(collapsed.sections().get(4), artExpanded.sections().get(4));
+
+    // Deriving the same state again returns the same data.
+    assertSame(artExpanded, deriver.derive(tree, DiscoveryParams.builder().build(), CategoryFactory.artCategory(), null));
+  }
+
+  private static void assertDerivesSameData(final NavigationDrawerDeriver deriver, final CategoryTree tree,
+    final DiscoveryParams selected, final Category expandedCategory, final User user) {
+
+    assertEquals(
+      DiscoveryDrawerUtils.deriveNavigationDrawerData(categories, selected, expandedCategory, user),
+      deriver.derive(tree, selected, expandedCategory, user)
+    );
+  }
+}
@@ -0,0 +1,47 @@
+package com.kickstarter.libs;
+
+import junit.framework.TestCase;
+
+public class NetworkThroughputTest extends TestCase {
+  public void testUnknownUntilSampled() {
+    final NetworkThroughput throughput = new NetworkThroughput();
+
+    assertEquals(-1.0, throughput.kilobitsPerSecond(), 0.001);
+    assertEquals(NetworkThroughput.Quality.UNKNOWN, throughput.quality());
+  }
+
+  public void testSmallAndInstantResponsesAreIgnored() {
+    final NetworkThroughput throughput = new NetworkThroughput();
+
+    throughput.addSample(NetworkThroughput.MIN_SAMPLE_BYTES - 1, 1000);
+    throughput.addSample(1024 * 1024, 0);
+
+    assertEquals(NetworkThroughput.Quality.UNKNOWN, throughput.quality());
+  }
+
+  public void testQuality() {
+    final NetworkThroughput poor = new NetworkThroughput();
+    poor.addSample(100 * 1000, 8000);
+    assertEquals(100.0, poor.kilobitsPerSecond(), 0.001);
+    assertEquals(NetworkThroughput.Quality.POOR, poor.quality());
+
+    final NetworkThroughput moderate = new NetworkThroughput();
+    moderate.addSample(300 * 1000, 8000);
+    assertEquals(NetworkThroughput.Quality.MODERATE, moderate.quality());
+
+    final NetworkThroughput good = new NetworkThroughput();
+    good.addSample(1000 * 1000, 8000);
+    assertEquals(NetworkThroughput.Quality.GOOD, good.quality());
+  }
+
+  public void testSamplesAreSmoothed() {
+    final NetworkThroughput throughput = new NetworkThroughput();
+
+    throughput.addSample(1000 * 1000, 8000);
+    throughput.addSample(100 * 1000, 8000);
+
+    // A single slow response only moves the estimate a quarter of the way.
+    assertEquals(775.0, throughput.kilobitsPerSecond(), 0.001);
+    assertEquals(NetworkThroughput.Quality.GOOD, throughput.quality());
+  }
+}
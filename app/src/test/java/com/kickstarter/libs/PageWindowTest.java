@@ -0,0 +1,114 @@
+package com.kickstarter.libs;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public final class PageWindowTest extends TestCase {
+
+  public void testAdd() {
+    final PageWindow<Integer> window = new PageWindow<>(1, null);
+
+    window.add(Arrays.asList(1, 2), null);
+    assertEquals(Arrays.asList(1, 2), window.rows());
+    window.add(Collections.<Integer>emptyList(), "/page?2");
+    assertEquals(Arrays.asList(1, 2), window.rows());
+    window.add(Arrays.asList(3), "/page?2");
+    assertEquals(Arrays.asList(1, 2, 3), window.rows());
+  }
+
+  public void testAdd_evictsPagesOutsideOfWindow() {
+    final PageWindow<Integer> window = new PageWindow<>(1, null);
+    window.add(Arrays.asList(1, 2), null);
+    window.add(Arrays.asList(3, 4), "/page?2");
+
+    window.add(Arrays.asList(5), "/page?3");
+    assertEquals(Arrays.asList(1, 2, 3, 4, null), window.rows());
+  }
+
+  public void testMoveTo() {
+    final PageWindow<Integer> window = new PageWindow<>(1, null);
+    window.add(Arrays.asList(1, 2), null);
+    window.add(Arrays.asList(3, 4), "/page?2");
+    assertFalse(window.moveTo(2));
+    window.add(Arrays.asList(5), "/page?3");
+
+    assertTrue(window.moveTo(4));
+    assertEquals(Arrays.asList(null, null, 3, 4, 5), window.rows());
+    assertTrue(window.pagesToReload().isEmpty());
+
+    // Moving past the end centres the window on the last page.
+    assertFalse(window.moveTo(100));
+  }
+
+  public void testReload() {
+    final PageWindow<Integer> window = new PageWindow<>(0, null);
+    window.add(Arrays.asList(1, 2), null);
+    window.add(Arrays.asList(3), "/page?2");
+    window.moveTo(2);
+    window.moveTo(0);
+    assertEquals(Arrays.asList(null, null, null), window.rows());
+
+    final List<PageWindow<Integer>.Page> pages = window.pagesToReload();
+    assertEquals(1, pages.size());
+    assertNull(pages.get(0).path());
+
+    // Pages being reloaded aren't asked for again.
+    assertTrue(window.pagesToReload().isEmpty());
+
+    // The page may come back with a different number of rows.
+    window.reloaded(pages.get(0), Arrays.asList(1, 2, 6));
+    assertEquals(Arrays.asList(1, 2, 6, null), window.rows());
+  }
+
+  public void testReload_afterWindowMovedAway() {
+    final PageWindow<Integer> window = new PageWindow<>(0, null);
+    window.add(Arrays.asList(1), null);
+    window.add(Arrays.asList(2), "/page?2");
+    window.moveTo(1);
+    window.moveTo(0);
+
+    final PageWindow<Integer>.Page page = window.pagesToReload().get(0);
+    window.moveTo(1);
+    window.reloaded(page, Arrays.asList(1));
+    assertEquals(Arrays.asList(null, null), window.rows());
+
+    // Once the window is back the page is reloaded again.
+    window.moveTo(0);
+    assertEquals(1, window.pagesToReload().size());
+  }
+
+  public void testReloadFinished() {
+    final PageWindow<Integer> window = new PageWindow<>(0, null);
+    window.add(Arrays.asList(1), null);
+    window.add(Arrays.asList(2), "/page?2");
+    window.moveTo(1);
+
+    final PageWindow<Integer>.Page page = window.pagesToReload().get(0);
+    assertEquals("/page?2", page.path());
+    window.reloadFinished(page);
+    assertEquals(1, window.pagesToReload().size());
+  }
+
+  public void testDistinct() {
+    final PageWindow<Integer> window = new PageWindow<>(1, x -> x % 10);
+    window.add(Arrays.asList(1, 2, 12), null);
+    assertEquals(Arrays.asList(1, 2), window.rows());
+    window.add(Arrays.asList(11, 3), "/page?2");
+    assertEquals(Arrays.asList(1, 2, 3), window.rows());
+    window.moveTo(2);
+    window.add(Arrays.asList(4, 21), "/page?3");
+    assertEquals(Arrays.asList(1, 2, 3, 4), window.rows());
+
+    window.moveTo(3);
+    window.moveTo(0);
+    assertEquals(Arrays.asList(null, null, 3, null), window.rows());
+
+    // A reloaded page keeps its own keys, but not keys that belong to another page, even an evicted one.
+    final PageWindow<Integer>.Page first = window.pagesToReload().get(0);
+    window.reloaded(first, Arrays.asList(1, 3, 14, 5));
+    assertEquals(Arrays.asList(1, 5, 3, null), window.rows());
+  }
+}
@@ -0,0 +1,59 @@
+package com.kickstarter.libs;
+
+import com.kickstarter.KSRobolectricTestCase;
+import com.kickstarter.factories.ConfigFactory;
+import com.kickstarter.models.User;
+
+import org.junit.Test;
+
+import java.io.File;
+
+public class ParcelSnapshotTest extends KSRobolectricTestCase {
+  @Test
+  public void testReadReturnsWhatWasWritten() {
+    final ParcelSnapshot snapshot = snapshot(1);
+    final Config config = ConfigFactory.config();
+
+    snapshot.write("{\"country_code\":\"US\"}", config);
+
+    assertEquals(config, snapshot.read("{\"country_code\":\"US\"}", Config.class));
+  }
+
+  @Test
+  public void testReadIgnoresSnapshotsOfOtherJson() {
+    final ParcelSnapshot snapshot = snapshot(1);
+    snapshot.write("{\"country_code\":\"US\"}", ConfigFactory.config());
+
+    assertNull(snapshot.read("{\"country_code\":\"GB\"}", Config.class));
+  }
+
+  @Test
+  public void testReadIgnoresSnapshotsOfJsonWithTheSameHashCode() {
+    final ParcelSnapshot snapshot = snapshot(1);
+    snapshot.write("{\"Aa\":1}", ConfigFactory.config());
+
+    assertEquals("{\"Aa\":1}".hashCode(), "{\"BB\":1}".hashCode());
+    assertNull(snapshot.read("{\"BB\":1}", Config.class));
+  }
+
+  @Test
+  public void testReadIgnoresSnapshotsOfOtherVersionsAndTypes() {
+    snapshot(1).write("{}", ConfigFactory.config());
+
+    assertNull(snapshot(2).read("{}", Config.class));
+    assertNull(snapshot(1).read("{}", User.class));
+  }
+
+  @Test
+  public void testDelete() {
+    final ParcelSnapshot snapshot = snapshot(1);
+    snapshot.write("{}", ConfigFactory.config());
+    snapshot.delete();
+
+    assertNull(snapshot.read("{}", Config.class));
+  }
+
+  private ParcelSnapshot snapshot(final int appVersion) {
+    return new ParcelSnapshot(new File(context().getFilesDir(), "snapshots/test-config"), appVersion);
+  }
+}
@@ -0,0 +1,108 @@
+package com.kickstarter.libs;
+
+import android.support.annotation.NonNull;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public final class PathRouterTest extends TestCase {
+  private final PathRouter<String> router = new PathRouter.Builder<String>()
+    .add("/discover/categories/*path", "categories")
+    .add("/discover/:scope", "scope")
+    .add("/projects/:creator?/:project/?", "project")
+    .add("/projects/:creator?/:project/posts", "updates")
+    .add("/projects/:creator?/:project/checkouts/#id/thanks", "thanks")
+    .add("/signup", "signup")
+    .build();
+
+  public void testResolve_matchesLiteralsAndParams() {
+    assertEquals(Collections.singletonList("signup"), routes("/signup"));
+    assertEquals(Collections.singletonList("scope"), routes("/discover/ending-soon"));
+    assertEquals("ending-soon", router.resolve("/discover/ending-soon").get(0).param("scope"));
+    assertEquals(null, router.resolve("/discover/ending-soon").get(0).param("project"));
+  }
+
+  public void testResolve_rejectsUnmatchedPaths() {
+    assertEquals(Collections.emptyList(), routes(""));
+    assertEquals(Collections.emptyList(), routes("/"));
+    assertEquals(Collections.emptyList(), routes("signup"));
+    assertEquals(Collections.emptyList(), routes("/signup/"));
+    assertEquals(Collections.emptyList(), routes("/discover/ending soon"));
+    assertEquals(Collections.emptyList(), routes("/projects//project"));
+    assertEquals(Collections.emptyList(), routes("/projects/creator/project//"));
+  }
+
+  public void testResolve_optionalSegments() {
+    final PathRouter.Match<String> withCreator = router.resolve("/projects/creator/project").get(0);
+    assertEquals("creator", withCreator.param("creator"));
+    assertEquals("project", withCreator.param("project"));
+
+    final PathRouter.Match<String> withoutCreator = router.resolve("/projects/project").get(0);
+    assertEquals(null, withoutCreator.param("creator"));
+    assertEquals("project", withoutCreator.param("project"));
+  }
+
+  public void testResolve_optionalTrailingSlash() {
+    assertEquals(Collections.singletonList("project"), routes("/projects/creator/project/"));
+    assertEquals(Collections.emptyList(), routes("/projects/creator/project/posts/"));
+  }
+
+  public void testResolve_returnsEveryMatch() {
+    assertEquals(Arrays.asList("project", "updates"), routes("/projects/creator/posts"));
+    assertEquals("posts", match("/projects/creator/posts", "project").param("project"));
+    assertEquals("creator", match("/projects/creator/posts", "updates").param("project"));
+  }
+
+  public void testResolve_numbers() {
+    final PathRouter.Match<String> match = router.resolve("/projects/creator/project/checkouts/42/thanks").get(0);
+    assertEquals("thanks", match.route());
+    assertEquals(Long.valueOf(42), match.number("id"));
+
+    assertEquals(Collections.emptyList(), routes("/projects/creator/project/checkouts/forty-two/thanks"));
+    assertEquals(null, router.resolve("/projects/creator/project/checkouts/99999999999999999999/thanks").get(0)
+      .number("id"));
+  }
+
+  public void testResolve_rest() {
+    assertEquals(Collections.singletonList("categories"), routes("/discover/categories/art"));
+    assertEquals("art/painting", router.resolve("/discover/categories/art/painting").get(0).param("path"));
+    assertEquals("", router.resolve("/discover/categories/").get(0).param("path"));
+
+    // Without a slash `categories` is a scope.
+    assertEquals(Collections.singletonList("scope"), routes("/discover/categories"));
+  }
+
+  public void testAdd_rejectsInvalidTemplates() {
+    try {
+      new PathRouter.Builder<String>().add("signup", "signup");
+      fail();
+    } catch (final IllegalArgumentException ignored) {}
+
+    try {
+      new PathRouter.Builder<String>().add("/discover/*rest/more", "rest");
+      fail();
+    } catch (final IllegalArgumentException ignored) {}
+  }
+
+  private @NonNull List<String> routes(final @NonNull String path) {
+    final List<String> routes = new ArrayList<>();
+    for (final PathRouter.Match<String> match : router.resolve(path)) {
+      routes.add(match.route());
+    }
+    Collections.sort(routes);
+    return routes;
+  }
+
+  private @NonNull PathRouter.Match<String> match(final @NonNull String path, final @NonNull String route) {
+    for (final PathRouter.Match<String> match : router.resolve(path)) {
+      if (match.route().equals(route)) {
+        return match;
+      }
+    }
+    throw new AssertionError(path + " doesn't match " + route);
+  }
+}
@@ -0,0 +1,63 @@
+package com.kickstarter.libs;
+
+import android.support.annotation.NonNull;
+
+import com.kickstarter.libs.NetworkThroughput.Quality;
+import com.kickstarter.models.Photo;
+
+import junit.framework.TestCase;
+
+public class PhotoSelectorTest extends TestCase {
+  private final Photo photo = Photo.builder()
+    .thumb(url(48))
+    .small(url(160))
+    .little(url(208))
+    .med(url(272))
+    .ed(url(352))
+    .full(url(560))
+    .build();
+
+  public void testWidth() {
+    assertEquals(560, PhotoSelector.width(url(560), 100));
+    assertEquals(352, PhotoSelector.width("https://ksr-ugc.imgix.net/photo.jpg?h=198&w=352&fit=fill", 100));
+    assertEquals(100, PhotoSelector.width("https://ksr-ugc.imgix.net/photo.jpg?h=198", 100));
+    assertEquals(100, PhotoSelector.width("https://ksr-ugc.imgix.net/photo.jpg?sw=352", 100));
+  }
+
+  public void testUrl_picksSmallestVariantCoveringTarget() {
+    assertEquals(photo.thumb(), PhotoSelector.url(photo, 48, Quality.GOOD));
+    assertEquals(photo.small(), PhotoSelector.url(photo, 49, Quality.GOOD));
+    assertEquals(photo.little(), PhotoSelector.url(photo, 200, Quality.GOOD));
+    assertEquals(photo.med(), PhotoSelector.url(photo, 272, Quality.GOOD));
+    assertEquals(photo.ed(), PhotoSelector.url(photo, 336, Quality.GOOD));
+    assertEquals(photo.full(), PhotoSelector.url(photo, 500, Quality.GOOD));
+  }
+
+  public void testUrl_fallsBackToLargestVariant() {
+    assertEquals(photo.full(), PhotoSelector.url(photo, 1080, Quality.GOOD));
+  }
+
+  public void testUrl_unknownNetworkIsTreatedAsGood() {
+    assertEquals(photo.ed(), PhotoSelector.url(photo, 336, Quality.UNKNOWN));
+  }
+
+  public void testUrl_acceptsSmallerVariantsOnSlowNetworks() {
+    assertEquals(photo.med(), PhotoSelector.url(photo, 336, Quality.MODERATE));
+    assertEquals(photo.little(), PhotoSelector.url(photo, 336, Quality.POOR));
+    assertEquals(photo.full(), PhotoSelector.url(photo, 1080, Quality.POOR));
+  }
+
+  public void testUrl_usesMeasuredThroughput() {
+    final NetworkThroughput throughput = new NetworkThroughput();
+    final PhotoSelector selector = new PhotoSelector(throughput);
+    assertEquals(photo.ed(), selector.url(photo, 336));
+
+    // 64KB in 10 seconds is about 52 kilobits per second.
+    throughput.addSample(64 * 1024, 10000);
+    assertEquals(photo.little(), selector.url(photo, 336));
+  }
+
+  private static @NonNull String url(final int width) {
+    return "https://ksr-ugc.imgix.net/photo.jpg?w=" + width + "&h=" + (width * 9 / 16) + "&fit=fill";
+  }
+}
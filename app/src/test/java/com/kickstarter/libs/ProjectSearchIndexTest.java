@@ -0,0 +1,97 @@
+package com.kickstarter.libs;
+
+import android.support.annotation.NonNull;
+
+import com.kickstarter.KSRobolectricTestCase;
+import com.kickstarter.factories.CategoryFactory;
+import com.kickstarter.factories.ProjectFactory;
+import com.kickstarter.models.Project;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class ProjectSearchIndexTest extends KSRobolectricTestCase {
+  @Test
+  public void testWords_foldsCaseAndAccentsAndSplitsOnPunctuation() {
+    assertEquals(
+      Arrays.asList("cafe", "creme", "brulee", "2"),
+      ProjectSearchIndex.words("Caf\u00e9: Cr\u00e8me-Br\u00fbl\u00e9e #2")
+    );
+  }
+
+  @Test
+  public void testSearch_matchesPrefixesOfEveryField() {
+    final Project project = project("Dice Tower", "A tower for rolling dice");
+    final ProjectSearchIndex index = new ProjectSearchIndex(10);
+    index.index(Collections.singletonList(project));
+
+    assertEquals(Collections.singletonList(project), index.search("dic", 10));
+    assertEquals(Collections.singletonList(project), index.search("roll", 10));
+    assertEquals(Collections.singletonList(project), index.search("sammy", 10));
+    assertEquals(Collections.singletonList(project), index.search("tabletop", 10));
+    assertEquals(Collections.singletonList(project), index.search("games", 10));
+    assertEquals(Collections.emptyList(), index.search("ower", 10));
+    assertEquals(Collections.emptyList(), index.search("  ", 10));
+  }
+
+  @Test
+  public void testSearch_requiresEveryWordOfTheQuery() {
+    final Project tower = project("Dice Tower", "Roll in style");
+    final Project bag = project("Dice Bag", "Carry your dice");
+    final ProjectSearchIndex index = new ProjectSearchIndex(10);
+    index.index(Arrays.asList(tower, bag));
+
+    assertEquals(Collections.singletonList(tower), index.search("dice tow", 10));
+    assertEquals(Collections.emptyList(), index.search("dice sword", 10));
+  }
+
+  @Test
+  public void testSearch_ranksNameMatchesFirstAndLimitsResults() {
+    final Project inBlurb = project("Meeple Bag", "Holds a dragon figure");
+    final Project inName = project("Dragon Dice", "Roll in style");
+    final Project alsoInName = project("Dragon Cards", "Shuffle in style");
+    final ProjectSearchIndex index = new ProjectSearchIndex(10);
+    index.index(Arrays.asList(inBlurb, inName, alsoInName));
+
+    assertEquals(Arrays.asList(alsoInName, inName, inBlurb), index.search("drag", 10));
+    assertEquals(Arrays.asList(alsoInName, inName), index.search("drag", 2));
+  }
+
+  @Test
+  public void testIndex_replacesOlderVersionsAndEvictsOldestProjects() {
+    final Project first = project("Dice Tower", "Roll in style");
+    final Project second = project("Dice Bag", "Carry your dice");
+    final ProjectSearchIndex index = new ProjectSearchIndex(2);
+    index.index(Arrays.asList(first, second));
+
+    final Project renamed = first.toBuilder().name("Card Box").build();
+    index.index(Collections.singletonList(renamed));
+    assertEquals(Collections.singletonList(renamed), index.search("card", 10));
+    assertEquals(Collections.singletonList(second), index.search("dice", 10));
+
+    final Project third = project("Card Sleeves", "Protect your cards");
+    index.index(Collections.singletonList(third));
+    assertEquals(Arrays.asList(renamed, third), index.search("card", 10));
+    assertEquals(Collections.emptyList(), index.search("bag", 10));
+  }
+
+  @Test
+  public void testClear() {
+    final ProjectSearchIndex index = new ProjectSearchIndex(10);
+    index.index(Collections.singletonList(project("Dice Tower", "Roll in style")));
+
+    index.clear();
+
+    assertEquals(Collections.emptyList(), index.search("dice", 10));
+  }
+
+  private static @NonNull Project project(final @NonNull String name, final @NonNull String blurb) {
+    return ProjectFactory.project().toBuilder()
+      .name(name)
+      .blurb(blurb)
+      .category(CategoryFactory.tabletopGamesCategory())
+      .build();
+  }
+}
@@ -0,0 +1,73 @@
+package com.kickstarter.libs;
+
+import android.app.NotificationManager;
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import com.kickstarter.KSRobolectricTestCase;
+import com.kickstarter.models.pushdata.Activity;
+import com.kickstarter.models.pushdata.GCM;
+import com.kickstarter.services.MockApiClient;
+import com.kickstarter.services.apiresponses.PushNotificationEnvelope;
+
+import org.junit.Test;
+import org.robolectric.Shadows;
+import org.robolectric.shadows.ShadowNotificationManager;
+
+import java.util.concurrent.TimeUnit;
+
+import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
+
+public class PushNotificationsTest extends KSRobolectricTestCase {
+  private final DeviceRegistrarType deviceRegistrar = new DeviceRegistrarType() {
+    @Override
+    public void registerDevice() {
+    }
+
+    @Override
+    public void unregisterDevice() {
+    }
+  };
+
+  @Test
+  public void testNotificationsForTheSameProjectAreShownAsOne() {
+    final TestScheduler windowScheduler = new TestScheduler();
+    final PushNotifications pushNotifications = new PushNotifications(context(), new MockApiClient(), deviceRegistrar,
+      windowScheduler, Schedulers.immediate());
+    pushNotifications.initialize();
+
+    pushNotifications.add(backing(1L, "First backing of project 1"));
+    windowScheduler.triggerActions();
+
+    // The first notification is shown straight away.
+    assertEquals(1, notificationManager().size());
+
+    pushNotifications.add(backing(1L, "Second backing of project 1"));
+    pushNotifications.add(backing(2L, "First backing of project 2"));
+    windowScheduler.triggerActions();
+    assertEquals(2, notificationManager().size());
+
+    // Once the window closes the second backing of project 1 is added to its notification rather than shown apart.
+    windowScheduler.advanceTimeBy(3, TimeUnit.SECONDS);
+    assertEquals(2, notificationManager().size());
+  }
+
+  private @NonNull ShadowNotificationManager notificationManager() {
+    return Shadows.shadowOf((NotificationManager) context().getSystemService(Context.NOTIFICATION_SERVICE));
+  }
+
+  private static @NonNull PushNotificationEnvelope backing(final long projectId, final @NonNull String alert) {
+    return PushNotificationEnvelope.builder()
+      .activity(Activity.builder()
+        .category(com.kickstarter.models.Activity.CATEGORY_BACKING)
+        .id(projectId)
+        .projectId(projectId)
+        .build())
+      .gcm(GCM.builder()
+        .alert(alert)
+        .title("Kickstarter")
+        .build())
+      .build();
+  }
+}
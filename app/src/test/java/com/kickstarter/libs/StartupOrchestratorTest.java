@@ -0,0 +1,105 @@
+package com.kickstarter.libs;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import rx.schedulers.Schedulers;
+
+import static com.kickstarter.libs.StartupOrchestrator.Phase.CRITICAL;
+import static com.kickstarter.libs.StartupOrchestrator.Phase.DEFERRED;
+import static com.kickstarter.libs.StartupOrchestrator.Runs.BACKGROUND;
+import static com.kickstarter.libs.StartupOrchestrator.Runs.MAIN_THREAD;
+
+public class StartupOrchestratorTest extends TestCase {
+  public void testCriticalTasksRunInDependencyOrder() {
+    final List<String> ran = Collections.synchronizedList(new ArrayList<>());
+    final List<String> backgroundThreads = Collections.synchronizedList(new ArrayList<>());
+    final Thread mainThread = Thread.currentThread();
+    final StartupOrchestrator startup = new StartupOrchestrator(Schedulers.immediate(), Schedulers.newThread());
+
+    startup
+      .add("graph", CRITICAL, MAIN_THREAD, () -> {
+        assertSame(mainThread, Thread.currentThread());
+        ran.add("graph");
+      }, "time", "logging")
+      .add("time", CRITICAL, BACKGROUND, () -> {
+        backgroundThreads.add(Thread.currentThread().getName());
+        assertNotSame(mainThread, Thread.currentThread());
+        ran.add("time");
+      })
+      .add("logging", CRITICAL, MAIN_THREAD, () -> ran.add("logging"))
+      .add("push", CRITICAL, BACKGROUND, () -> ran.add("push"), "graph");
+
+    startup.runCritical();
+
+    assertEquals(4, ran.size());
+    assertTrue(ran.indexOf("graph") > ran.indexOf("time"));
+    assertTrue(ran.indexOf("graph") > ran.indexOf("logging"));
+    assertEquals("push", ran.get(3));
+    assertEquals(1, backgroundThreads.size());
+    assertEquals(4, startup.trace().size());
+  }
+
+  public void testDeferredTasksWaitForRunDeferred() {
+    final List<String> ran = new ArrayList<>();
+    final StartupOrchestrator startup = new StartupOrchestrator(Schedulers.immediate(), Schedulers.immediate());
+
+    startup
+      .add("graph", CRITICAL, MAIN_THREAD, () -> ran.add("graph"))
+      .add("leaks", DEFERRED, MAIN_THREAD, () -> ran.add("leaks"), "graph")
+      .add("trace", DEFERRED, BACKGROUND, () -> ran.add("trace"), "leaks");
+
+    startup.runCritical();
+    assertEquals(Collections.singletonList("graph"), ran);
+
+    startup.runDeferred();
+    startup.runDeferred();
+    assertEquals(3, ran.size());
+    assertEquals("leaks", ran.get(1));
+    assertEquals("trace", ran.get(2));
+    assertEquals(StartupOrchestrator.Phase.DEFERRED, startup.trace().get(2).phase());
+  }
+
+  public void testCriticalFailureIsRethrown() {
+    final StartupOrchestrator startup = new StartupOrchestrator(Schedulers.immediate(), Schedulers.newThread());
+    startup.add("time", CRITICAL, BACKGROUND, () -> {
+      throw new IllegalArgumentException("boom");
+    });
+    startup.add("graph", CRITICAL, MAIN_THREAD, () -> fail("Ran after a failed dependency."), "time");
+
+    try {
+      startup.runCritical();
+      fail("Expected the failure to be rethrown.");
+    } catch (final IllegalArgumentException e) {
+      assertEquals("boom", e.getMessage());
+    }
+  }
+
+  public void testInvalidGraphsAreRejected() {
+    final StartupOrchestrator unknown = new StartupOrchestrator(Schedulers.immediate(), Schedulers.immediate());
+    unknown.add("graph", CRITICAL, MAIN_THREAD, () -> {}, "time");
+    assertRejected(unknown);
+
+    final StartupOrchestrator cycle = new StartupOrchestrator(Schedulers.immediate(), Schedulers.immediate());
+    cycle.add("a", CRITICAL, MAIN_THREAD, () -> {}, "b");
+    cycle.add("b", CRITICAL, BACKGROUND, () -> {}, "a");
+    assertRejected(cycle);
+
+    final StartupOrchestrator deferredDependency = new StartupOrchestrator(Schedulers.immediate(),
+      Schedulers.immediate());
+    deferredDependency.add("leaks", DEFERRED, MAIN_THREAD, () -> {});
+    deferredDependency.add("graph", CRITICAL, MAIN_THREAD, () -> {}, "leaks");
+    assertRejected(deferredDependency);
+  }
+
+  private static void assertRejected(final StartupOrchestrator startup) {
+    try {
+      startup.runCritical();
+      fail("Expected the task graph to be rejected.");
+    } catch (final IllegalStateException ignored) {
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package com.kickstarter.libs;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import com.kickstarter.KSRobolectricTestCase;
+
+import org.junit.Test;
+
+public class ViewPoolTest extends KSRobolectricTestCase {
+  private static final int LAYOUT = android.R.layout.simple_list_item_1;
+
+  @Test
+  public void testObtain_inflatesWhenPoolIsEmpty() {
+    final ViewPool pool = new ViewPool(LayoutInflater.from(context()), 2);
+
+    final View first = pool.obtain(parent(), LAYOUT);
+    final View second = pool.obtain(parent(), LAYOUT);
+
+    assertNotSame(first, second);
+  }
+
+  @Test
+  public void testObtain_reusesPooledViews() {
+    final ViewPool pool = new ViewPool(LayoutInflater.from(context()), 2);
+    final View view = pool.obtain(parent(), LAYOUT);
+
+    pool.put(LAYOUT, view);
+
+    assertSame(view, pool.obtain(parent(), LAYOUT));
+    assertNotSame(view, pool.obtain(parent(), LAYOUT));
+  }
+
+  @Test
+  public void testObtain_doesNotReuseViewsOfOtherLayouts() {
+    final ViewPool pool = new ViewPool(LayoutInflater.from(context()), 2);
+    final View other = pool.obtain(parent(), android.R.layout.simple_list_item_2);
+    pool.put(android.R.layout.simple_list_item_2, other);
+
+    assertNotSame(other, pool.obtain(parent(), LAYOUT));
+  }
+
+  @Test
+  public void testPut_dropsAttachedViewsAndViewsBeyondMax() {
+    final ViewPool pool = new ViewPool(LayoutInflater.from(context()), 1);
+    final ViewGroup parent = parent();
+    final View attached = pool.obtain(parent, LAYOUT);
+    final View first = pool.obtain(parent, LAYOUT);
+    final View second = pool.obtain(parent, LAYOUT);
+    parent.addView(attached);
+
+    pool.put(LAYOUT, attached);
+    pool.put(LAYOUT, first);
+    pool.put(LAYOUT, second);
+
+    assertSame(first, pool.obtain(parent, LAYOUT));
+    final View inflated = pool.obtain(parent, LAYOUT);
+    assertNotSame(attached, inflated);
+    assertNotSame(second, inflated);
+  }
+
+  private ViewGroup parent() {
+    return new FrameLayout(context());
+  }
+}
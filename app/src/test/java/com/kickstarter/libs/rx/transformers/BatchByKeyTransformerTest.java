@@ -0,0 +1,83 @@
+package com.kickstarter.libs.rx.transformers;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
+import rx.subjects.PublishSubject;
+
+public class BatchByKeyTransformerTest {
+
+  @Test
+  public void testBatchByKey_emitsTheFirstValueStraightAwayAndTheRestOnceItsWindowCloses() {
+    final TestScheduler scheduler = new TestScheduler();
+    final PublishSubject<String> source = PublishSubject.create();
+    final TestSubscriber<List<String>> resultTest = new TestSubscriber<>();
+    source.compose(Transformers.batchByKey(s -> s.charAt(0), 3, TimeUnit.SECONDS, scheduler)).subscribe(resultTest);
+
+    source.onNext("a1");
+    scheduler.triggerActions();
+    resultTest.assertValues(Collections.singletonList("a1"));
+
+    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+    source.onNext("b1");
+    source.onNext("a2");
+    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+    resultTest.assertValues(Collections.singletonList("a1"), Collections.singletonList("b1"));
+
+    // The window for `a` opened with its first value, and its batch starts with it.
+    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+    resultTest.assertValues(
+      Collections.singletonList("a1"), Collections.singletonList("b1"), Arrays.asList("a1", "a2")
+    );
+
+    // Nothing else arrived for `b` during its window.
+    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+    resultTest.assertValueCount(3);
+  }
+
+  @Test
+  public void testBatchByKey_opensANewWindowAfterItCloses() {
+    final TestScheduler scheduler = new TestScheduler();
+    final PublishSubject<String> source = PublishSubject.create();
+    final TestSubscriber<List<String>> resultTest = new TestSubscriber<>();
+    source.compose(Transformers.batchByKey(s -> s.charAt(0), 3, TimeUnit.SECONDS, scheduler)).subscribe(resultTest);
+
+    source.onNext("a1");
+    scheduler.advanceTimeBy(3, TimeUnit.SECONDS);
+    source.onNext("a2");
+    scheduler.triggerActions();
+    resultTest.assertValues(Collections.singletonList("a1"), Collections.singletonList("a2"));
+
+    scheduler.advanceTimeBy(3, TimeUnit.SECONDS);
+    resultTest.assertValueCount(2);
+  }
+
+  @Test
+  public void testBatchByKey_flushesOpenBatchesOnCompletion() {
+    final TestScheduler scheduler = new TestScheduler();
+    final PublishSubject<String> source = PublishSubject.create();
+    final TestSubscriber<List<String>> resultTest = new TestSubscriber<>();
+    source.compose(Transformers.batchByKey(s -> s.charAt(0), 3, TimeUnit.SECONDS, scheduler)).subscribe(resultTest);
+
+    source.onNext("a1");
+    source.onNext("a2");
+    source.onNext("b1");
+    source.onCompleted();
+    scheduler.triggerActions();
+
+    resultTest.assertValues(
+      Collections.singletonList("a1"), Collections.singletonList("b1"), Arrays.asList("a1", "a2")
+    );
+    resultTest.assertCompleted();
+
+    // The windows that were open don't emit again.
+    scheduler.advanceTimeBy(3, TimeUnit.SECONDS);
+    resultTest.assertValueCount(3);
+  }
+}
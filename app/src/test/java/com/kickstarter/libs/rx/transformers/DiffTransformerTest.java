@@ -0,0 +1,81 @@
+package com.kickstarter.libs.rx.transformers;
+
+import android.util.Pair;
+
+import com.kickstarter.KSRobolectricTestCase;
+import com.kickstarter.libs.utils.DiffUtils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
+import rx.subjects.PublishSubject;
+
+public class DiffTransformerTest extends KSRobolectricTestCase {
+  private List<String> adapterItems = Collections.emptyList();
+
+  @Test
+  public void testDiff_isAgainstTheAdapterItems() {
+    final PublishSubject<List<String>> source = PublishSubject.create();
+    final TestSubscriber<Pair<List<String>, DiffUtils.Diff>> diffs = new TestSubscriber<>();
+    source
+      .compose(Transformers.diff(item -> item, () -> adapterItems, Schedulers.immediate(), Schedulers.immediate()))
+      .doOnNext(itemsAndDiff -> adapterItems = new ArrayList<>(itemsAndDiff.first))
+      .subscribe(diffs);
+
+    source.onNext(Arrays.asList("a", "b"));
+    assertEquals(insertions(0, 1), diffs.getOnNextEvents().get(0).second);
+
+    // The adapter was reset elsewhere, e.g. when its view was recreated.
+    adapterItems = Collections.singletonList("a");
+    source.onNext(Arrays.asList("a", "b", "c"));
+    assertEquals(insertions(1, 2), diffs.getOnNextEvents().get(1).second);
+  }
+
+  @Test
+  public void testDiff_isRecomputedIfTheAdapterChangedDuringIt() {
+    final TestScheduler scheduler = new TestScheduler();
+    final PublishSubject<List<String>> source = PublishSubject.create();
+    final TestSubscriber<Pair<List<String>, DiffUtils.Diff>> diffs = new TestSubscriber<>();
+    adapterItems = Collections.singletonList("a");
+    source
+      .compose(Transformers.diff(item -> item, () -> adapterItems, scheduler, Schedulers.immediate()))
+      .subscribe(diffs);
+
+    source.onNext(Arrays.asList("a", "b"));
+    adapterItems = Collections.emptyList();
+    scheduler.triggerActions();
+
+    assertEquals(insertions(0, 1), diffs.getOnNextEvents().get(0).second);
+  }
+
+  @Test
+  public void testDiff_skipsListsReplacedDuringADiff() {
+    final TestScheduler scheduler = new TestScheduler();
+    final PublishSubject<List<String>> source = PublishSubject.create();
+    final TestSubscriber<Pair<List<String>, DiffUtils.Diff>> diffs = new TestSubscriber<>();
+    source
+      .compose(Transformers.diff(item -> item, () -> adapterItems, scheduler, Schedulers.immediate()))
+      .doOnNext(itemsAndDiff -> adapterItems = new ArrayList<>(itemsAndDiff.first))
+      .subscribe(diffs);
+
+    source.onNext(Collections.singletonList("a"));
+    source.onNext(Arrays.asList("a", "b"));
+    source.onNext(Arrays.asList("a", "b", "c"));
+    scheduler.triggerActions();
+
+    assertEquals(2, diffs.getOnNextEvents().size());
+    assertEquals(Arrays.asList("a", "b", "c"), diffs.getOnNextEvents().get(1).first);
+    assertEquals(insertions(1, 2), diffs.getOnNextEvents().get(1).second);
+  }
+
+  private static DiffUtils.Diff insertions(final Integer... positions) {
+    return DiffUtils.Diff.builder().insertions(Arrays.asList(positions)).build();
+  }
+}
@@ -2,8 +2,11 @@ package com.kickstarter.libs.utils;
 
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import rx.functions.Func2;
 
@@ -56,4 +59,165 @@ public class DiffUtilsTest extends TestCase {
 
     assertEquals(expected, DiffUtils.diff(oldItems, newItems, equality));
   }
+
+  public void testKeyedDiff_WithMovedItem() {
+    final List<String> oldItems = Arrays.asList("a", "b", "c", "d");
+    final List<String> newItems = Arrays.asList("b", "c", "d", "a");
+
+    final DiffUtils.Diff expected = DiffUtils.Diff.builder()
+      .moves(Collections.singletonList(DiffUtils.Move.create(0, 3)))
+      .build();
+
+    assertEquals(expected, DiffUtils.keyedDiff(oldItems, newItems, item -> item));
+  }
+
+  public void testKeyedDiff_WithUpdatedItem() {
+    final List<String> oldItems = Arrays.asList("a1", "b1", "c1");
+    final List<String> newItems = Arrays.asList("a1", "b2", "c1", "d1");
+
+    final DiffUtils.Diff expected = DiffUtils.Diff.builder()
+      .insertions(Collections.singletonList(3))
+      .updates(Collections.singletonList(1))
+      .build();
+
+    assertEquals(expected, DiffUtils.keyedDiff(oldItems, newItems, item -> item.charAt(0)));
+  }
+
+  public void testKeyedDiff_WithPlaceholders() {
+    final List<String> oldItems = Arrays.asList("a1", "b1", null, null, "e1");
+    final List<String> newItems = Arrays.asList(null, null, null, null, "e1", "f1");
+
+    // Placeholders match placeholders at the same index, and are never passed to the key function.
+    final DiffUtils.Diff expected = DiffUtils.Diff.builder()
+      .insertions(Arrays.asList(0, 1, 5))
+      .deletions(Arrays.asList(0, 1))
+      .build();
+
+    assertEquals(expected, DiffUtils.keyedDiff(oldItems, newItems, item -> item.charAt(0)));
+  }
+
+  public void testDispatch_AppendingAPage() {
+    final List<Integer> oldItems = Arrays.asList(1, 2, 3);
+    final List<Integer> newItems = Arrays.asList(1, 2, 3, 4, 5, 6);
+
+    final List<String> operations = new ArrayList<>();
+    DiffUtils.dispatch(DiffUtils.diff(oldItems, newItems), oldItems.size(), new RecordingCallback(operations, null));
+
+    assertEquals(Collections.singletonList("inserted 3 3"), operations);
+  }
+
+  public void testDispatch_ReplaysIntoNewList() {
+    final Random random = new Random(42);
+
+    for (int run = 0; run < 200; run++) {
+      final List<String> oldItems = randomVersions(random);
+      final List<String> newItems = randomVersions(random);
+
+      final DiffUtils.Diff diff = DiffUtils.keyedDiff(oldItems, newItems, item -> item.charAt(0));
+      final List<String> replayed = new ArrayList<>(oldItems);
+      DiffUtils.dispatch(diff, oldItems.size(), new RecordingCallback(new ArrayList<>(), replayed));
+
+      // Positions that were changed are re-read from the new list, so everything else must already line up.
+      for (int index = 0; index < newItems.size(); index++) {
+        if (replayed.get(index) == null) {
+          replayed.set(index, newItems.get(index));
+        }
+      }
+      assertEquals(newItems, replayed);
+    }
+  }
+
+  public void testDispatch_ReplaysLargeReorder() {
+    final List<Integer> oldItems = new ArrayList<>();
+    for (int item = 0; item < 20000; item++) {
+      oldItems.add(item);
+    }
+    final List<Integer> newItems = new ArrayList<>(oldItems);
+    Collections.shuffle(newItems, new Random(42));
+    Collections.reverse(newItems.subList(0, 10000));
+
+    final List<Integer> replayed = new ArrayList<>(oldItems);
+    DiffUtils.dispatch(DiffUtils.diff(oldItems, newItems), oldItems.size(), new DiffUtils.ListUpdateCallback() {
+      @Override
+      public void onInserted(final int position, final int count) {
+        fail();
+      }
+
+      @Override
+      public void onRemoved(final int position, final int count) {
+        fail();
+      }
+
+      @Override
+      public void onMoved(final int fromPosition, final int toPosition) {
+        replayed.add(toPosition, replayed.remove(fromPosition));
+      }
+
+      @Override
+      public void onChanged(final int position, final int count) {
+        fail();
+      }
+    });
+
+    assertEquals(newItems, replayed);
+  }
+
+  /**
+   * Returns a shuffled list of distinct single letter keys, each with a random version suffix.
+   */
+  private static List<String> randomVersions(final Random random) {
+    final List<String> items = new ArrayList<>();
+    for (char key = 'a'; key <= 'p'; key++) {
+      if (random.nextInt(3) > 0) {
+        items.add(String.valueOf(key) + random.nextInt(2));
+      }
+    }
+    Collections.shuffle(items, random);
+    return items;
+  }
+
+  /**
+   * Records operations, and optionally applies them to a list. Inserted and changed rows are set to `null`.
+   */
+  private static final class RecordingCallback implements DiffUtils.ListUpdateCallback {
+    private final List<String> operations;
+    private final List<String> list;
+
+    RecordingCallback(final List<String> operations, final List<String> list) {
+      this.operations = operations;
+      this.list = list;
+    }
+
+    @Override
+    public void onInserted(final int position, final int count) {
+      operations.add("inserted " + position + " " + count);
+      for (int index = 0; list != null && index < count; index++) {
+        list.add(position, null);
+      }
+    }
+
+    @Override
+    public void onRemoved(final int position, final int count) {
+      operations.add("removed " + position + " " + count);
+      for (int index = 0; list != null && index < count; index++) {
+        list.remove(position);
+      }
+    }
+
+    @Override
+    public void onMoved(final int fromPosition, final int toPosition) {
+      operations.add("moved " + fromPosition + " " + toPosition);
+      if (list != null) {
+        list.add(toPosition, list.remove(fromPosition));
+      }
+    }
+
+    @Override
+    public void onChanged(final int position, final int count) {
+      operations.add("changed " + position + " " + count);
+      for (int index = 0; list != null && index < count; index++) {
+        list.set(position + index, null);
+      }
+    }
+  }
 }
@@ -69,4 +69,11 @@ public final class ListUtilsTest extends TestCase {
 
     assertEquals(xs, ListUtils.flatten(xss));
   }
+
+  public void testWithoutNulls() {
+    final List<Integer> xs = Arrays.asList(1, 2, 3);
+
+    assertSame(xs, ListUtils.withoutNulls(xs));
+    assertEquals(Arrays.asList(1, 3), ListUtils.withoutNulls(Arrays.asList(null, 1, null, 3)));
+  }
 }
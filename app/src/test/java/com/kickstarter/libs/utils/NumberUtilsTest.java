@@ -5,6 +5,10 @@ import com.kickstarter.libs.NumberOptions;
 import junit.framework.TestCase;
 
 import java.math.RoundingMode;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 
 public final class NumberUtilsTest extends TestCase {
@@ -100,5 +104,53 @@ public final class NumberUtilsTest extends TestCase {
     assertEquals("1.000", NumberUtils.format(1000.0f, NumberOptions.builder().build(), Locale.GERMANY));
     assertEquals("100,12", NumberUtils.format(100.12f, NumberOptions.builder().precision(2).build(), Locale.GERMANY));
   }
-}
 
+  public void testFormatNumber_intWithNonAsciiDigits() {
+    assertEquals(NumberFormat.getIntegerInstance(new Locale("ar", "EG")).format(5),
+      NumberUtils.format(5, new Locale("ar", "EG")));
+  }
+
+  public void testFormatNumber_cachedFormatsDontShareSettings() {
+    assertEquals("100.12", NumberUtils.format(100.12f, NumberOptions.builder().precision(2).build()));
+    assertEquals("100", NumberUtils.format(100.12f));
+    assertEquals("1", NumberUtils.format(1.9f, NumberOptions.builder().roundingMode(RoundingMode.DOWN).build()));
+    assertEquals("2", NumberUtils.format(1.9f));
+    assertEquals("$100", NumberUtils.format(100.0f, NumberOptions.builder().currencySymbol("$").build()));
+    assertEquals("€100", NumberUtils.format(100.0f, NumberOptions.builder().currencySymbol("€").build()));
+    assertEquals("100", NumberUtils.format(100.0f));
+  }
+
+  public void testFormatCurrency() {
+    assertEquals("$100", NumberUtils.formatCurrency(100.9f, "$", "", RoundingMode.DOWN));
+    assertEquals("$101 CAD", NumberUtils.formatCurrency(100.9f, "$", "CAD", null));
+    assertEquals(
+      NumberUtils.format(1234.5f, NumberOptions.builder().currencySymbol("£").currencyCode("GBP").build()),
+      NumberUtils.formatCurrency(1234.5f, "£", "GBP", null)
+    );
+  }
+
+  public void testFormatNumber_fromManyThreads() throws InterruptedException {
+    final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+    final List<Thread> threads = new ArrayList<>();
+
+    for (int i = 0; i < 4; i++) {
+      final int precision = i;
+      final Thread thread = new Thread(() -> {
+        final String expected = NumberUtils.format(1234.5678f, NumberOptions.builder().precision(precision).build());
+        for (int j = 0; j < 1000; j++) {
+          final String actual = NumberUtils.format(1234.5678f, NumberOptions.builder().precision(precision).build());
+          if (!expected.equals(actual)) {
+            failures.add(actual);
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+    assertTrue(failures.isEmpty());
+  }
+}
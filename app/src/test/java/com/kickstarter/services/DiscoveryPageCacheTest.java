@@ -0,0 +1,162 @@
+package com.kickstarter.services;
+
+import android.support.annotation.NonNull;
+
+import com.kickstarter.KSRobolectricTestCase;
+import com.kickstarter.factories.CategoryFactory;
+import com.kickstarter.factories.UserFactory;
+import com.kickstarter.libs.MockCurrentUser;
+import com.kickstarter.services.apiresponses.DiscoverEnvelope;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import rx.Observable;
+import rx.Subscription;
+import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
+
+public class DiscoveryPageCacheTest extends KSRobolectricTestCase {
+  private final TestScheduler scheduler = new TestScheduler();
+  private final MockCurrentUser currentUser = new MockCurrentUser();
+  private final DiscoveryPageCache cache = new DiscoveryPageCache(currentUser, 60, 1, TimeUnit.SECONDS, scheduler);
+  private final List<DiscoveryParams> fetched = new ArrayList<>();
+  private final List<DiscoveryParams> unsubscribed = new ArrayList<>();
+
+  // Every response takes a couple of seconds to come back.
+  private final ApiClientType client = new MockApiClient() {
+    @Override
+    public @NonNull Observable<DiscoverEnvelope> fetchProjects(final @NonNull DiscoveryParams params) {
+      fetched.add(params);
+      return super.fetchProjects(params)
+        .delay(2, TimeUnit.SECONDS, scheduler)
+        .doOnUnsubscribe(() -> unsubscribed.add(params));
+    }
+  };
+
+  private final DiscoveryParams home = DiscoveryParams.builder().sort(DiscoveryParams.Sort.HOME).build();
+  private final DiscoveryParams popular = DiscoveryParams.builder().sort(DiscoveryParams.Sort.POPULAR).build();
+
+  @Test
+  public void testFirstPage_sharesRequestsForSameParams() {
+    final TestSubscriber<DiscoverEnvelope> first = new TestSubscriber<>();
+    final TestSubscriber<DiscoverEnvelope> second = new TestSubscriber<>();
+    cache.firstPage(client, home).subscribe(first);
+    cache.firstPage(client, home).subscribe(second);
+    scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+
+    final TestSubscriber<DiscoverEnvelope> cached = new TestSubscriber<>();
+    cache.firstPage(client, home).subscribe(cached);
+
+    assertEquals(Arrays.asList(home), fetched);
+    first.assertValueCount(1);
+    second.assertValueCount(1);
+    cached.assertValueCount(1);
+    cached.assertCompleted();
+  }
+
+  @Test
+  public void testFirstPage_refetchesAfterTtl() {
+    cache.firstPage(client, home).subscribe(new TestSubscriber<>());
+    scheduler.advanceTimeBy(62, TimeUnit.SECONDS);
+    cache.firstPage(client, home).subscribe(new TestSubscriber<>());
+
+    assertEquals(Arrays.asList(home, home), fetched);
+  }
+
+  @Test
+  public void testFirstPage_cancelsRequestsNobodyIsWaitingFor() {
+    final Subscription subscription = cache.firstPage(client, home).subscribe(new TestSubscriber<>());
+    subscription.unsubscribe();
+    assertEquals(Arrays.asList(home), unsubscribed);
+
+    // The cancelled request isn't shared.
+    final TestSubscriber<DiscoverEnvelope> again = new TestSubscriber<>();
+    cache.firstPage(client, home).subscribe(again);
+    scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+    assertEquals(Arrays.asList(home, home), fetched);
+    again.assertValueCount(1);
+  }
+
+  @Test
+  public void testInvalidate_whenTheUserChanges() {
+    cache.firstPage(client, home).subscribe(new TestSubscriber<>());
+    scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+
+    currentUser.login(UserFactory.user(), "token");
+    cache.firstPage(client, home).subscribe(new TestSubscriber<>());
+
+    assertEquals(Arrays.asList(home, home), fetched);
+  }
+
+  @Test
+  public void testPrefetch_waitsUntilNoFirstPageIsInFlight() {
+    cache.firstPage(client, home).subscribe(new TestSubscriber<>());
+    cache.prefetch(client, popular);
+
+    // The home page is still in flight once the idle delay has passed.
+    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+    assertEquals(Arrays.asList(home), fetched);
+
+    // Popular is fetched as soon as home comes back.
+    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+    assertEquals(Arrays.asList(home, popular), fetched);
+
+    // Swiping to popular uses the prefetched page.
+    scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+    final TestSubscriber<DiscoverEnvelope> swiped = new TestSubscriber<>();
+    cache.firstPage(client, popular).subscribe(swiped);
+    swiped.assertValueCount(1);
+    assertEquals(Arrays.asList(home, popular), fetched);
+  }
+
+  @Test
+  public void testPrefetch_skipsCachedAndQueuedParams() {
+    cache.firstPage(client, home).subscribe(new TestSubscriber<>());
+    scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+
+    cache.prefetch(client, home);
+    cache.prefetch(client, popular);
+    cache.prefetch(client, popular);
+    scheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+
+    assertEquals(Arrays.asList(home, popular), fetched);
+  }
+
+  @Test
+  public void testRetain_evictsOtherParams() {
+    final DiscoveryParams artHome = home.toBuilder().category(CategoryFactory.artCategory()).build();
+    final DiscoveryParams artPopular = popular.toBuilder().category(CategoryFactory.artCategory()).build();
+    final DiscoveryParams musicPopular = popular.toBuilder().category(CategoryFactory.musicCategory()).build();
+
+    cache.firstPage(client, artHome).subscribe(new TestSubscriber<>());
+    cache.prefetch(client, musicPopular);
+
+    // Art in another sort keeps art's pages and drops the queued music prefetch.
+    cache.retain(artPopular);
+    scheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+    cache.firstPage(client, artHome).subscribe(new TestSubscriber<>());
+    assertEquals(Arrays.asList(artHome), fetched);
+
+    // Music evicts art's pages.
+    cache.retain(musicPopular);
+    cache.firstPage(client, artHome).subscribe(new TestSubscriber<>());
+    assertEquals(Arrays.asList(artHome, artHome), fetched);
+  }
+
+  @Test
+  public void testRetain_cancelsEvictedPrefetches() {
+    final DiscoveryParams musicPopular = popular.toBuilder().category(CategoryFactory.musicCategory()).build();
+
+    cache.prefetch(client, popular);
+    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+    assertEquals(Arrays.asList(popular), fetched);
+
+    cache.retain(musicPopular);
+    assertEquals(Arrays.asList(popular), unsubscribed);
+  }
+}
@@ -30,6 +30,17 @@ public final class KSUriTest extends KSRobolectricTestCase {
   @Test
   public void testKSUri_isDiscoverScopePath() {
     assertTrue(KSUri.isDiscoverScopePath(discoverScopeUri.getPath(), "ending-soon"));
+    assertFalse(KSUri.isDiscoverScopePath(discoverScopeUri.getPath(), "newest"));
+    assertFalse(KSUri.isDiscoverScopePath(discoverPlacesUri.getPath(), "places"));
+  }
+
+  @Test
+  public void testKSUri_isCheckoutThanksUri() {
+    final Uri thanksUri = Uri.parse("https://www.ksr.com/projects/creator/project/checkouts/1/thanks");
+    final Uri notNumberUri = Uri.parse("https://www.ksr.com/projects/creator/project/checkouts/one/thanks");
+
+    assertTrue(KSUri.isCheckoutThanksUri(thanksUri, webEndpoint));
+    assertFalse(KSUri.isCheckoutThanksUri(notNumberUri, webEndpoint));
   }
 
   @Test
@@ -72,6 +83,26 @@ public final class KSUriTest extends KSRobolectricTestCase {
   @Test
   public void testKSUri_isProjectUri() {
     assertTrue(KSUri.isProjectUri(projectUri, webEndpoint));
+    assertTrue(KSUri.isProjectUri(Uri.parse("https://www.ksr.com/projects/creator/project/"), webEndpoint));
+    assertTrue(KSUri.isProjectUri(Uri.parse("https://www.ksr.com/projects/project"), webEndpoint));
     assertFalse(KSUri.isProjectUri(updateUri, webEndpoint));
+    assertFalse(KSUri.isProjectUri(Uri.parse("https://www.hello-world.org/projects/creator/project"), webEndpoint));
+  }
+
+  @Test
+  public void testKSUri_isSignupUri() {
+    assertTrue(KSUri.isSignupUri(Uri.parse("https://www.ksr.com/signup"), webEndpoint));
+    assertFalse(KSUri.isSignupUri(Uri.parse("https://www.ksr.com/signup/"), webEndpoint));
+  }
+
+  @Test
+  public void testKSUri_matchesEveryRoute() {
+    // A project named "posts" and the updates of a project without a creator param look alike.
+    final Uri uri = Uri.parse("https://www.ksr.com/projects/project/posts");
+
+    assertTrue(KSUri.isProjectUri(uri, webEndpoint));
+    assertTrue(KSUri.isProjectUpdatesUri(uri, webEndpoint));
+    assertEquals("posts", KSUri.match(uri.getPath(), KSUri.Route.PROJECT).param("project_param"));
+    assertEquals("project", KSUri.match(uri.getPath(), KSUri.Route.PROJECT_UPDATES).param("project_param"));
   }
 }
@@ -0,0 +1,89 @@
+package com.kickstarter.services;
+
+import android.support.annotation.NonNull;
+
+import com.kickstarter.KSRobolectricTestCase;
+import com.kickstarter.factories.ProjectFactory;
+import com.kickstarter.models.Project;
+import com.kickstarter.services.apiresponses.DiscoverEnvelope;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import rx.observers.TestSubscriber;
+
+public class ListEnvelopeReaderTest extends KSRobolectricTestCase {
+
+  @Test
+  public void testItems_emitsEachItemInOrder() {
+    final List<Project> projects = Arrays.asList(
+      ProjectFactory.project(), ProjectFactory.allTheWayProject(), ProjectFactory.successfulProject()
+    );
+
+    final TestSubscriber<Long> ids = new TestSubscriber<>();
+    ListEnvelopeReader.items(environment().gson(), Project.class, "projects", body(envelopeJson(projects)))
+      .map(Project::id)
+      .subscribe(ids);
+
+    ids.assertValues(projects.get(0).id(), projects.get(1).id(), projects.get(2).id());
+    ids.assertCompleted();
+  }
+
+  @Test
+  public void testItems_skipsFieldsBeforeTheList() {
+    final String json = "{\"urls\":{\"api\":{\"more_projects\":\"more\"}},\"projects\":[]}";
+
+    final TestSubscriber<Project> projects = new TestSubscriber<>();
+    ListEnvelopeReader.items(environment().gson(), Project.class, "projects", body(json)).subscribe(projects);
+
+    projects.assertNoValues();
+    projects.assertCompleted();
+  }
+
+  @Test
+  public void testItems_stopsReadingWhenUnsubscribed() {
+    // Everything after the first project is malformed, so reading any further would error.
+    final String project = environment().gson().toJson(ProjectFactory.project(), Project.class);
+    final String json = "{\"projects\":[" + project + ",{\"id\": }";
+
+    final TestSubscriber<Long> ids = new TestSubscriber<>();
+    ListEnvelopeReader.items(environment().gson(), Project.class, "projects", body(json))
+      .map(Project::id)
+      .take(1)
+      .subscribe(ids);
+
+    ids.assertValues(ProjectFactory.project().id());
+    ids.assertNoErrors();
+    ids.assertCompleted();
+  }
+
+  @Test
+  public void testItems_errorsOnMalformedJson() {
+    final TestSubscriber<Project> projects = new TestSubscriber<>();
+    ListEnvelopeReader.items(environment().gson(), Project.class, "projects", body("{\"projects\":[{\"id\": }"))
+      .subscribe(projects);
+
+    projects.assertNoValues();
+    assertEquals(1, projects.getOnErrorEvents().size());
+  }
+
+  private @NonNull String envelopeJson(final @NonNull List<Project> projects) {
+    final DiscoverEnvelope envelope = DiscoverEnvelope.builder()
+      .projects(projects)
+      .urls(
+        DiscoverEnvelope.UrlsEnvelope.builder()
+          .api(DiscoverEnvelope.UrlsEnvelope.ApiEnvelope.builder().moreProjects("").build())
+          .build()
+      )
+      .build();
+    return environment().gson().toJson(envelope, DiscoverEnvelope.class);
+  }
+
+  private static @NonNull ResponseBody body(final @NonNull String json) {
+    return ResponseBody.create(MediaType.parse("application/json"), json);
+  }
+}
@@ -139,6 +139,11 @@ public class MockApiClient implements ApiClientType {
     return Observable.empty();
   }
 
+  @Override
+  public @NonNull Observable<Project> streamProjects(final @NonNull DiscoveryParams params) {
+    return fetchProjects(params).concatMap(envelope -> Observable.from(envelope.projects()));
+  }
+
   @Override
   public @NonNull Observable<CommentsEnvelope> fetchComments(final @NonNull Project project) {
     return Observable.just(
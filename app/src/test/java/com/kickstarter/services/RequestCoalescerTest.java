@@ -0,0 +1,127 @@
+package com.kickstarter.services;
+
+import junit.framework.TestCase;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import rx.Observable;
+import rx.Subscription;
+import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
+import rx.subjects.PublishSubject;
+
+public class RequestCoalescerTest extends TestCase {
+  private final TestScheduler scheduler = new TestScheduler();
+  private final RequestCoalescer coalescer = new RequestCoalescer(2, TimeUnit.SECONDS, scheduler);
+  private final AtomicInteger subscriptions = new AtomicInteger();
+
+  public void testCoalesce_sharesInFlightRequest() {
+    final PublishSubject<String> response = PublishSubject.create();
+    final Observable<String> request = response.doOnSubscribe(subscriptions::incrementAndGet);
+
+    final TestSubscriber<String> first = new TestSubscriber<>();
+    final TestSubscriber<String> second = new TestSubscriber<>();
+    coalescer.coalesce("GET /v1/projects/1", request).subscribe(first);
+    coalescer.coalesce("GET /v1/projects/1", request).subscribe(second);
+
+    response.onNext("project");
+    response.onCompleted();
+
+    assertEquals(1, subscriptions.get());
+    first.assertValues("project");
+    second.assertValues("project");
+  }
+
+  public void testCoalesce_replaysCompletedRequestUntilTtlExpires() {
+    final Observable<String> request = Observable.just("project").doOnSubscribe(subscriptions::incrementAndGet);
+
+    coalescer.coalesce("GET /v1/projects/1", request).subscribe(new TestSubscriber<>());
+
+    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+    final TestSubscriber<String> withinTtl = new TestSubscriber<>();
+    coalescer.coalesce("GET /v1/projects/1", request).subscribe(withinTtl);
+    withinTtl.assertValues("project");
+    assertEquals(1, subscriptions.get());
+
+    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+    coalescer.coalesce("GET /v1/projects/1", request).subscribe(new TestSubscriber<>());
+    assertEquals(2, subscriptions.get());
+  }
+
+  public void testCoalesce_prunesExpiredRequests() {
+    coalescer.coalesce("GET /v1/projects/1", Observable.just("project")).subscribe(new TestSubscriber<>());
+    assertEquals(1, coalescer.size());
+
+    // A request that's still in flight once the first expires.
+    scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+    coalescer.coalesce("GET /v1/projects/2", Observable.never()).subscribe(new TestSubscriber<>());
+    assertEquals(1, coalescer.size());
+  }
+
+  public void testCoalesce_doesNotShareDifferentKeys() {
+    final Observable<String> request = Observable.just("project").doOnSubscribe(subscriptions::incrementAndGet);
+
+    coalescer.coalesce("GET /v1/projects/1", request).subscribe(new TestSubscriber<>());
+    coalescer.coalesce("GET /v1/projects/2", request).subscribe(new TestSubscriber<>());
+
+    assertEquals(2, subscriptions.get());
+  }
+
+  public void testCoalesce_forgetsFailedRequests() {
+    final Observable<String> failure = Observable.<String>error(new Exception())
+      .doOnSubscribe(subscriptions::incrementAndGet);
+
+    final TestSubscriber<String> first = new TestSubscriber<>();
+    coalescer.coalesce("GET /v1/projects/1", failure).subscribe(first);
+    first.assertError(Exception.class);
+
+    final TestSubscriber<String> retry = new TestSubscriber<>();
+    coalescer.coalesce("GET /v1/projects/1", Observable.just("project")).subscribe(retry);
+    retry.assertValues("project");
+    assertEquals(1, subscriptions.get());
+  }
+
+  public void testCoalesce_unsubscribesFromAbandonedRequest() {
+    final PublishSubject<String> response = PublishSubject.create();
+    final Observable<String> request = response.doOnSubscribe(subscriptions::incrementAndGet);
+
+    final Subscription first = coalescer.coalesce("GET /v1/projects/1", request).subscribe(new TestSubscriber<>());
+    final Subscription second = coalescer.coalesce("GET /v1/projects/1", request).subscribe(new TestSubscriber<>());
+    first.unsubscribe();
+    assertTrue(response.hasObservers());
+
+    second.unsubscribe();
+    assertFalse(response.hasObservers());
+
+    final TestSubscriber<String> retry = new TestSubscriber<>();
+    coalescer.coalesce("GET /v1/projects/1", request).subscribe(retry);
+    response.onNext("project");
+    retry.assertValues("project");
+    assertEquals(2, subscriptions.get());
+  }
+
+  public void testRemoveAll_forgetsMatchingRequests() {
+    final Observable<String> request = Observable.just("project").doOnSubscribe(subscriptions::incrementAndGet);
+    coalescer.coalesce("GET /v1/projects/1", request).subscribe(new TestSubscriber<>());
+    coalescer.coalesce("GET /v1/projects/2", request).subscribe(new TestSubscriber<>());
+
+    coalescer.removeAll(key -> key.endsWith("1"));
+
+    assertFalse(coalescer.contains("GET /v1/projects/1"));
+    assertTrue(coalescer.contains("GET /v1/projects/2"));
+    coalescer.coalesce("GET /v1/projects/1", request).subscribe(new TestSubscriber<>());
+    assertEquals(3, subscriptions.get());
+  }
+
+  public void testKey_ordersQuery() {
+    final Map<String, String> query = new HashMap<>();
+    query.put("sort", "magic");
+    query.put("page", "1");
+
+    assertEquals("GET /v1/discover?{page=1, sort=magic}", RequestCoalescer.key("GET", "/v1/discover", query));
+    assertEquals("GET /v1/categories", RequestCoalescer.key("GET", "/v1/categories", null));
+  }
+}
@@ -0,0 +1,124 @@
+package com.kickstarter.services.interceptors;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.IOException;
+
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+public class ApiCacheInterceptorTest extends TestCase {
+  private MockWebServer server;
+  private OkHttpClient client;
+  private Cache cache;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+
+    server = new MockWebServer();
+    server.start();
+
+    final File cacheDirectory = File.createTempFile("http", "cache");
+    cacheDirectory.delete();
+    cache = new Cache(cacheDirectory, 1024 * 1024);
+
+    client = new OkHttpClient.Builder()
+      .addNetworkInterceptor(new ApiCacheInterceptor(server.url("/").toString()))
+      .cache(cache)
+      .build();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    server.shutdown();
+    cache.delete();
+    super.tearDown();
+  }
+
+  public void testMaxAgeSeconds() {
+    assertEquals(6 * 60 * 60, ApiCacheInterceptor.maxAgeSeconds("/v1/categories"));
+    assertEquals(6 * 60 * 60, ApiCacheInterceptor.maxAgeSeconds("/v1/categories/art"));
+    assertEquals(5 * 60, ApiCacheInterceptor.maxAgeSeconds("/v1/discover"));
+    assertEquals(0, ApiCacheInterceptor.maxAgeSeconds("/v1/discover/other"));
+    assertEquals(0, ApiCacheInterceptor.maxAgeSeconds("/v1/projects/a-project"));
+    assertEquals(0, ApiCacheInterceptor.maxAgeSeconds("/v1/projects/a-project/comments"));
+    assertEquals(0, ApiCacheInterceptor.maxAgeSeconds("/v1/users/self"));
+  }
+
+  public void testCacheableEndpointIsReadFromCache() throws IOException {
+    server.enqueue(new MockResponse().setHeader("Cache-Control", "no-cache").setBody("{\"categories\":[]}"));
+
+    assertEquals("{\"categories\":[]}", get("/v1/categories"));
+    assertEquals("{\"categories\":[]}", get("/v1/categories"));
+
+    assertEquals(1, server.getRequestCount());
+  }
+
+  public void testProjectsKeepServerCacheHeaders() throws IOException {
+    server.enqueue(new MockResponse().setHeader("Cache-Control", "no-cache").setBody("first"));
+    server.enqueue(new MockResponse().setHeader("Cache-Control", "no-cache").setBody("second"));
+
+    assertEquals("first", get("/v1/projects/a-project"));
+    assertEquals("second", get("/v1/projects/a-project"));
+
+    assertEquals(2, server.getRequestCount());
+  }
+
+  public void testDiscoverPagesAreReadFromCache() throws IOException {
+    server.enqueue(new MockResponse().setHeader("Cache-Control", "no-cache").setBody("first"));
+
+    assertEquals("first", get("/v1/discover?sort=popular"));
+    assertEquals("first", get("/v1/discover?sort=popular"));
+
+    assertEquals(1, server.getRequestCount());
+  }
+
+  public void testOnlyIfCachedRequestIsOnlyAnsweredWithAFreshResponse() throws IOException {
+    server.enqueue(new MockResponse().setBody("{\"categories\":[]}"));
+    server.enqueue(new MockResponse().setBody("first"));
+
+    get("/v1/categories");
+    get("/v1/projects/a-project");
+    final CacheControl onlyIfCached = new CacheControl.Builder().onlyIfCached().build();
+
+    assertTrue(execute("/v1/categories", onlyIfCached).isSuccessful());
+    assertEquals(504, execute("/v1/projects/a-project", onlyIfCached).code());
+    assertEquals(2, server.getRequestCount());
+  }
+
+  public void testOtherEndpointsAreNotCached() throws IOException {
+    server.enqueue(new MockResponse().setBody("first"));
+    server.enqueue(new MockResponse().setBody("second"));
+
+    assertEquals("first", get("/v1/users/self"));
+    assertEquals("second", get("/v1/users/self"));
+
+    assertEquals(2, server.getRequestCount());
+  }
+
+  public void testErrorsAreNotCached() throws IOException {
+    server.enqueue(new MockResponse().setResponseCode(500).setBody("error"));
+    server.enqueue(new MockResponse().setBody("{\"categories\":[]}"));
+
+    assertEquals("error", get("/v1/categories"));
+    assertEquals("{\"categories\":[]}", get("/v1/categories"));
+
+    assertEquals(2, server.getRequestCount());
+  }
+
+  private Response execute(final String path, final CacheControl cacheControl) throws IOException {
+    return client.newCall(new Request.Builder().url(server.url(path)).cacheControl(cacheControl).build()).execute();
+  }
+
+  private String get(final String path) throws IOException {
+    final Response response = client.newCall(new Request.Builder().url(server.url(path)).build()).execute();
+    return response.body().string();
+  }
+}
@@ -0,0 +1,75 @@
+package com.kickstarter.services.interceptors;
+
+import com.kickstarter.libs.NetworkThroughput;
+
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
+
+public class ThroughputInterceptorTest extends TestCase {
+  private MockWebServer server;
+  private OkHttpClient client;
+  private NetworkThroughput throughput;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+
+    server = new MockWebServer();
+    server.start();
+
+    throughput = new NetworkThroughput();
+    client = new OkHttpClient.Builder()
+      .addNetworkInterceptor(new ThroughputInterceptor(throughput))
+      .build();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    server.shutdown();
+    super.tearDown();
+  }
+
+  public void testReadingBodySamplesThroughput() throws IOException {
+    final int size = 64 * 1024;
+    server.enqueue(new MockResponse().setBody(body(size)).throttleBody(16 * 1024, 100, TimeUnit.MILLISECONDS));
+
+    assertEquals(size, get().body().bytes().length);
+
+    // Under 64KB read over at least 300ms, after the first read, is at most about 1750 kilobits per second.
+    assertTrue(throughput.kilobitsPerSecond() > 0);
+    assertTrue(throughput.kilobitsPerSecond() < 1750);
+  }
+
+  public void testSmallBodiesAreNotSampled() throws IOException {
+    server.enqueue(new MockResponse().setBody("{}"));
+
+    assertEquals("{}", get().body().string());
+
+    assertEquals(NetworkThroughput.Quality.UNKNOWN, throughput.quality());
+  }
+
+  public void testUnreadBodiesAreNotSampled() throws IOException {
+    server.enqueue(new MockResponse().setBody(body(64 * 1024)));
+
+    get().body().close();
+
+    assertEquals(NetworkThroughput.Quality.UNKNOWN, throughput.quality());
+  }
+
+  private Response get() throws IOException {
+    return client.newCall(new Request.Builder().url(server.url("/")).build()).execute();
+  }
+
+  private static Buffer body(final int size) {
+    return new Buffer().write(new byte[size]);
+  }
+}
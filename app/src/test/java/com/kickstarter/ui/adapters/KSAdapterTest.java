@@ -0,0 +1,117 @@
+package com.kickstarter.ui.adapters;
+
+import android.support.annotation.LayoutRes;
+import android.support.annotation.NonNull;
+import android.view.View;
+
+import com.kickstarter.KSRobolectricTestCase;
+import com.kickstarter.ui.viewholders.KSViewHolder;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class KSAdapterTest extends KSRobolectricTestCase {
+
+  @Test
+  public void testEmptyAdapter() {
+    final TestAdapter adapter = new TestAdapter();
+    assertEquals(0, adapter.getItemCount());
+
+    adapter.addSection(Collections.emptyList());
+    adapter.addSection(Collections.emptyList());
+    assertEquals(0, adapter.getItemCount());
+  }
+
+  @Test
+  public void testPositions_acrossSectionBoundaries() {
+    final TestAdapter adapter = new TestAdapter();
+    adapter.addSection(Arrays.asList("a0", "a1"));
+    adapter.addSection(Collections.singletonList("b0"));
+    adapter.addSection(Arrays.asList("c0", "c1", "c2"));
+
+    assertEquals(6, adapter.getItemCount());
+    assertRows(adapter, "a0", "a1", "b0", "c0", "c1", "c2");
+    assertEquals(0, adapter.getItemViewType(1));
+    assertEquals(1, adapter.getItemViewType(2));
+    assertEquals(2, adapter.getItemViewType(3));
+    assertEquals(2, adapter.getItemViewType(5));
+  }
+
+  @Test
+  public void testPositions_skipEmptySections() {
+    final TestAdapter adapter = new TestAdapter();
+    adapter.addSection(Collections.emptyList());
+    adapter.addSection(Collections.singletonList("b0"));
+    adapter.addSection(Collections.emptyList());
+    adapter.addSection(Collections.emptyList());
+    adapter.addSection(Arrays.asList("e0", "e1"));
+    adapter.addSection(Collections.emptyList());
+
+    assertEquals(3, adapter.getItemCount());
+    assertRows(adapter, "b0", "e0", "e1");
+    assertEquals(1, adapter.getItemViewType(0));
+    assertEquals(4, adapter.getItemViewType(1));
+    assertEquals(4, adapter.getItemViewType(2));
+  }
+
+  @Test
+  public void testPositions_followSectionChanges() {
+    final TestAdapter adapter = new TestAdapter();
+    adapter.addSection(Collections.singletonList("a0"));
+    adapter.addSection(Collections.singletonList("b0"));
+
+    adapter.insertSection(1, Arrays.asList("x0", "x1"));
+    assertRows(adapter, "a0", "x0", "x1", "b0");
+
+    adapter.setSection(0, Collections.emptyList());
+    assertRows(adapter, "x0", "x1", "b0");
+
+    adapter.setSection(2, Arrays.asList("b0", "b1"));
+    assertRows(adapter, "x0", "x1", "b0", "b1");
+
+    adapter.clearSections();
+    assertEquals(0, adapter.getItemCount());
+  }
+
+  @Test
+  public void testPositions_outOfBoundsThrow() {
+    final TestAdapter adapter = new TestAdapter();
+    adapter.addSection(Collections.singletonList("a0"));
+    adapter.addSection(Collections.emptyList());
+
+    for (final int position : new int[] { -1, 1 }) {
+      try {
+        adapter.object(position);
+        fail();
+      } catch (final RuntimeException ignored) {}
+    }
+  }
+
+  private static void assertRows(final @NonNull TestAdapter adapter, final @NonNull Object... rows) {
+    assertEquals(rows.length, adapter.getItemCount());
+    for (int position = 0; position < rows.length; position++) {
+      assertEquals(rows[position], adapter.object(position));
+    }
+  }
+
+  /**
+   * Uses the section of each row as its layout.
+   */
+  private static final class TestAdapter extends KSAdapter {
+    @Override
+    protected int layout(final @NonNull SectionRow sectionRow) {
+      return sectionRow.section();
+    }
+
+    @Override
+    protected @NonNull KSViewHolder viewHolder(final @LayoutRes int layout, final @NonNull View view) {
+      throw new UnsupportedOperationException();
+    }
+
+    private @NonNull Object object(final int position) {
+      return objectFromPosition(position);
+    }
+  }
+}
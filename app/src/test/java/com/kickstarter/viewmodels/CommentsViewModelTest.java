@@ -6,6 +6,7 @@ import android.util.Pair;
 
 import com.kickstarter.KSRobolectricTestCase;
 import com.kickstarter.factories.ApiExceptionFactory;
+import com.kickstarter.factories.CommentFactory;
 import com.kickstarter.factories.ProjectFactory;
 import com.kickstarter.factories.UpdateFactory;
 import com.kickstarter.factories.UserFactory;
@@ -13,6 +14,9 @@ import com.kickstarter.libs.CurrentUserType;
 import com.kickstarter.libs.Environment;
 import com.kickstarter.libs.KoalaEvent;
 import com.kickstarter.libs.MockCurrentUser;
+import com.kickstarter.libs.MockModelStore;
+import com.kickstarter.libs.ModelStore;
+import com.kickstarter.libs.ModelStoreType;
 import com.kickstarter.models.Comment;
 import com.kickstarter.models.Project;
 import com.kickstarter.services.ApiClientType;
@@ -23,6 +27,9 @@ import com.kickstarter.ui.adapters.data.CommentsData;
 
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.List;
+
 import rx.Observable;
 import rx.observers.TestSubscriber;
 
@@ -99,6 +106,34 @@ public class CommentsViewModelTest extends KSRobolectricTestCase {
     isFetchingComments.assertValues(true, false);
   }
 
+  @Test
+  public void testCommentsViewModel_StoredCommentsEmitUntilFirstPageLoads() {
+    final Project project = ProjectFactory.project();
+    final List<Comment> storedComments = Collections.singletonList(CommentFactory.comment());
+    final ModelStoreType modelStore = new MockModelStore();
+    modelStore.put(Comment.class, storedComments, ModelStore.commentsQuery(project));
+
+    final ApiClientType apiClient = new MockApiClient() {
+      @Override
+      public @NonNull Observable<CommentsEnvelope> fetchComments(final @NonNull Project p) {
+        return Observable.never();
+      }
+    };
+
+    final Environment env = environment().toBuilder().apiClient(apiClient).modelStore(modelStore).build();
+    final CommentsViewModel vm = new CommentsViewModel(env);
+
+    final TestSubscriber<CommentsData> commentsData = new TestSubscriber<>();
+    vm.outputs.commentsData().subscribe(commentsData);
+
+    // Start the view model with a project whose first page of comments was stored.
+    vm.intent(new Intent().putExtra(IntentKey.PROJECT, project));
+
+    // The stored comments emit while the first page is loading.
+    commentsData.assertValueCount(1);
+    assertEquals(storedComments, commentsData.getOnNextEvents().get(0).comments());
+  }
+
   @Test
   public void testCommentsViewModel_postCommentError() {
     final ApiClientType apiClient = new MockApiClient() {
@@ -13,6 +13,8 @@ import com.kickstarter.libs.CurrentUserType;
 import com.kickstarter.libs.Environment;
 import com.kickstarter.libs.KoalaEvent;
 import com.kickstarter.libs.MockCurrentUser;
+import com.kickstarter.libs.MockModelStore;
+import com.kickstarter.libs.ModelStoreType;
 import com.kickstarter.libs.RefTag;
 import com.kickstarter.libs.preferences.MockIntPreference;
 import com.kickstarter.libs.utils.ListUtils;
@@ -22,6 +24,7 @@ import com.kickstarter.services.ApiClientType;
 import com.kickstarter.services.DiscoveryParams;
 import com.kickstarter.services.MockApiClient;
 import com.kickstarter.services.apiresponses.ActivityEnvelope;
+import com.kickstarter.services.apiresponses.DiscoverEnvelope;
 
 import org.junit.Test;
 
@@ -84,6 +87,36 @@ public class DiscoveryFragmentViewModelTest extends KSRobolectricTestCase {
     koalaTest.assertValues("Discover List View", "Discover List View");
   }
 
+  @Test
+  public void testStoredProjectsEmitWithNewSort() {
+    final DiscoveryParams popular = DiscoveryParams.builder().sort(DiscoveryParams.Sort.POPULAR).build();
+    final Project storedProject = ProjectFactory.project();
+    final ModelStoreType modelStore = new MockModelStore();
+    modelStore.put(Project.class, Collections.singletonList(storedProject), popular.queryKey());
+
+    // The popular projects never come back from the network.
+    final ApiClientType apiClient = new MockApiClient() {
+      @Override
+      public @NonNull Observable<DiscoverEnvelope> fetchProjects(final @NonNull DiscoveryParams params) {
+        return params.sort() == DiscoveryParams.Sort.POPULAR ? Observable.never() : super.fetchProjects(params);
+      }
+    };
+    final Environment env = environment().toBuilder().apiClient(apiClient).modelStore(modelStore).build();
+    final DiscoveryFragmentViewModel vm = new DiscoveryFragmentViewModel(env);
+
+    final TestSubscriber<List<Project>> projects = new TestSubscriber<>();
+    vm.outputs.projects().filter(ListUtils::nonEmpty).subscribe(projects);
+
+    vm.inputs.paramsFromActivity(DiscoveryParams.builder().sort(DiscoveryParams.Sort.HOME).build());
+    vm.inputs.rootCategories(CategoryFactory.rootCategories());
+    projects.assertValueCount(1);
+
+    // Switching to the popular tab shows the projects stored for it while the network is slow.
+    vm.inputs.paramsFromActivity(popular);
+    projects.assertValueCount(2);
+    assertEquals(storedProject.id(), projects.getOnNextEvents().get(1).get(0).id());
+  }
+
   @Test
   public void testProjectsRefreshAfterLogin() {
     final CurrentUserType currentUser = new MockCurrentUser();
@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
 
 public class DiscoveryViewModelTest extends KSRobolectricTestCase {
 
@@ -43,7 +44,8 @@ public class DiscoveryViewModelTest extends KSRobolectricTestCase {
   @Test
   public void testDrawerData() {
     final MockCurrentUser currentUser = new MockCurrentUser();
-    final Environment env = environment().toBuilder().currentUser(currentUser).build();
+    final TestScheduler scheduler = new TestScheduler();
+    final Environment env = environment().toBuilder().currentUser(currentUser).scheduler(scheduler).build();
     final DiscoveryViewModel vm = new DiscoveryViewModel(env);
 
     final TestSubscriber<Void> navigationDrawerDataEmitted = new TestSubscriber<>();
@@ -56,7 +58,9 @@ public class DiscoveryViewModelTest extends KSRobolectricTestCase {
     final Intent intent = new Intent(Intent.ACTION_MAIN);
     vm.intent(intent);
 
-    // Drawer data should emit. Drawer should be closed.
+    // Drawer data should be derived on the scheduler, then emit. Drawer should be closed.
+    navigationDrawerDataEmitted.assertNoValues();
+    scheduler.triggerActions();
     navigationDrawerDataEmitted.assertValueCount(1);
     drawerIsOpen.assertNoValues();
     koalaTest.assertNoValues();
@@ -70,6 +74,7 @@ public class DiscoveryViewModelTest extends KSRobolectricTestCase {
     );
 
     // Drawer data should emit. Drawer should open, then close upon selection.
+    scheduler.triggerActions();
     navigationDrawerDataEmitted.assertValueCount(2);
     drawerIsOpen.assertValues(true, false);
     koalaTest.assertValues("Discover Switch Modal", "Discover Modal Selected Filter");
@@ -87,6 +92,7 @@ public class DiscoveryViewModelTest extends KSRobolectricTestCase {
     );
 
     // Drawer data should emit. Drawer should open, then close upon selection.
+    scheduler.triggerActions();
     navigationDrawerDataEmitted.assertValueCount(3);
     drawerIsOpen.assertValues(true, false, true, false);
     koalaTest.assertValues("Discover Switch Modal", "Discover Modal Selected Filter", "Discover Switch Modal",
@@ -303,6 +309,15 @@ public class DiscoveryViewModelTest extends KSRobolectricTestCase {
     );
 
     clearPages.assertValues(Arrays.asList(0, 1, 2, 3), Arrays.asList(0, 2, 3, 4));
+
+    // Selecting MUSIC again keeps the pages.
+    vm.inputs.childFilterViewHolderRowClick(null,
+      NavigationDrawerData.Section.Row.builder()
+        .params(DiscoveryParams.builder().category(CategoryFactory.musicCategory()).build())
+        .build()
+    );
+
+    clearPages.assertValueCount(2);
   }
 
   @Test
@@ -1,10 +1,15 @@
 package com.kickstarter.viewmodels;
 
 import com.kickstarter.KSRobolectricTestCase;
+import com.kickstarter.factories.ProjectFactory;
 import com.kickstarter.libs.Environment;
+import com.kickstarter.libs.ProjectSearchIndex;
+import com.kickstarter.models.Project;
 
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import rx.observers.TestSubscriber;
@@ -77,4 +82,42 @@ public class SearchViewModelTest extends KSRobolectricTestCase {
     popularProjectsPresent.assertValues(true, false, true);
     koalaTest.assertValues("Discover Search", "Discover Search Results", "Discover Search Results");
   }
+
+  @Test
+  public void testLocalResultsShowImmediatelyAndMergeWithSearchResults() {
+    final TestScheduler scheduler = new TestScheduler();
+    final Project seen = ProjectFactory.project().toBuilder().name("Hello Kitty Dice").build();
+    final ProjectSearchIndex projectSearchIndex = new ProjectSearchIndex(10);
+    projectSearchIndex.index(Collections.singletonList(seen));
+
+    final Environment env = environment().toBuilder()
+      .projectSearchIndex(projectSearchIndex)
+      .scheduler(scheduler)
+      .build();
+
+    final SearchViewModel viewModel = new SearchViewModel(env);
+
+    final TestSubscriber<List<Project>> searchProjects = new TestSubscriber<>();
+    viewModel.outputs.searchProjects().subscribe(searchProjects);
+
+    // Projects the app has seen are shown without waiting for the debounce.
+    viewModel.inputs.search("hello");
+    searchProjects.assertValues(Collections.singletonList(seen));
+
+    // Results from the server come first, followed by local results the server didn't return.
+    scheduler.advanceTimeBy(300, TimeUnit.MILLISECONDS);
+    searchProjects.assertValueCount(2);
+    final List<Project> merged = searchProjects.getOnNextEvents().get(1);
+    assertEquals(seen, merged.get(merged.size() - 1));
+    assertTrue(merged.size() > 1);
+
+    // A term without local matches keeps showing the last results until the server responds.
+    viewModel.inputs.search("hello world!");
+    searchProjects.assertValueCount(2);
+
+    // Clearing the search clears the results.
+    viewModel.inputs.search("");
+    searchProjects.assertValueCount(3);
+    assertEquals(Collections.emptyList(), searchProjects.getOnNextEvents().get(2));
+  }
 }
@@ -1,6 +1,7 @@
 package com.kickstarter.viewmodels;
 
 import android.content.Intent;
+import android.support.annotation.NonNull;
 import android.util.Pair;
 
 import com.kickstarter.KSRobolectricTestCase;
@@ -17,13 +18,16 @@ import com.kickstarter.models.Project;
 import com.kickstarter.models.User;
 import com.kickstarter.services.DiscoveryParams;
 import com.kickstarter.services.MockApiClient;
+import com.kickstarter.services.apiresponses.DiscoverEnvelope;
 import com.kickstarter.ui.IntentKey;
 
 import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import rx.Observable;
 import rx.observers.TestSubscriber;
 
 public final class ThanksViewModelTest extends KSRobolectricTestCase {
@@ -234,6 +238,44 @@ public final class ThanksViewModelTest extends KSRobolectricTestCase {
     showRecommendationsTest.assertValueCount(1);
   }
 
+  @Test
+  public void testThanksViewModel_showRecommendationsDoesNotRetryAPartlyStreamedList() {
+    final Project similarProject = ProjectFactory.allTheWayProject();
+    final List<Project> staffPicks = Arrays.asList(ProjectFactory.successfulProject(), ProjectFactory.failedProject());
+    final AtomicInteger similarToSubscriptions = new AtomicInteger();
+
+    final MockApiClient apiClient = new MockApiClient() {
+      @Override
+      public @NonNull Observable<DiscoverEnvelope> fetchProjects(final @NonNull DiscoveryParams params) {
+        return Observable.error(new RuntimeException());
+      }
+
+      @Override
+      public @NonNull Observable<Project> streamProjects(final @NonNull DiscoveryParams params) {
+        if (params.similarTo() == null) {
+          return Observable.from(staffPicks);
+        }
+        return Observable.just(similarProject)
+          .concatWith(Observable.error(new RuntimeException()))
+          .doOnSubscribe(similarToSubscriptions::incrementAndGet);
+      }
+    };
+
+    final ThanksViewModel vm = new ThanksViewModel(environment().toBuilder().apiClient(apiClient).build());
+
+    final TestSubscriber<Pair<List<Project>, Category>> showRecommendationsTest = new TestSubscriber<>();
+    vm.outputs.showRecommendations().subscribe(showRecommendationsTest);
+
+    vm.intent(new Intent().putExtra(IntentKey.PROJECT, ProjectFactory.project()));
+
+    // The similar projects stream failed after its first project, so it isn't retried and staff picks fill the rest.
+    assertEquals(1, similarToSubscriptions.get());
+    assertEquals(
+      Arrays.asList(similarProject, staffPicks.get(0), staffPicks.get(1)),
+      showRecommendationsTest.getOnNextEvents().get(0).first
+    );
+  }
+
   @Test
   public void testThanksViewModel_share() {
     final ThanksViewModel vm = new ThanksViewModel(environment());
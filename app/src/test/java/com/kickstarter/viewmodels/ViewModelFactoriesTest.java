@@ -0,0 +1,67 @@
+package com.kickstarter.viewmodels;
+
+import com.kickstarter.KSRobolectricTestCase;
+import com.kickstarter.libs.ActivityViewModel;
+import com.kickstarter.libs.Environment;
+import com.kickstarter.libs.FragmentViewModel;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import rx.functions.Func1;
+
+public class ViewModelFactoriesTest extends KSRobolectricTestCase {
+  @Test
+  public void testFactoryCreatesTheRegisteredViewModel() {
+    final Func1<Environment, CommentsViewModel> factory = ViewModelFactories.factory(CommentsViewModel.class);
+
+    assertNotNull(factory);
+    assertTrue(factory.call(environment()) instanceof CommentsViewModel);
+  }
+
+  @Test
+  public void testNestedViewModelsAreRegistered() {
+    assertNotNull(ViewModelFactories.factory(ProjectViewModel.ViewModel.class));
+    assertNotNull(ViewModelFactories.factory(UpdateViewModel.ViewModel.class));
+  }
+
+  @Test
+  public void testEveryViewModelIsRegistered() throws Exception {
+    // View models all live in this package, whose compiled classes the unit tests run against.
+    final String packageName = ViewModelFactories.class.getPackage().getName();
+    final File packageDirectory = new File(ViewModelFactories.class.getResource("").toURI());
+    final List<String> viewModels = new ArrayList<>();
+    final List<String> unregistered = new ArrayList<>();
+
+    for (final String fileName : packageDirectory.list()) {
+      if (!fileName.endsWith(".class")) {
+        continue;
+      }
+      final String className = packageName + "." + fileName.substring(0, fileName.length() - ".class".length());
+      final Class<?> type = Class.forName(className, false, ViewModelFactories.class.getClassLoader());
+      final boolean isViewModel = ActivityViewModel.class.isAssignableFrom(type)
+        || FragmentViewModel.class.isAssignableFrom(type);
+      if (!isViewModel || Modifier.isAbstract(type.getModifiers())) {
+        continue;
+      }
+
+      viewModels.add(className);
+      if (ViewModelFactories.factory(type) == null) {
+        unregistered.add(className);
+      }
+    }
+
+    assertFalse(viewModels.isEmpty());
+    assertEquals(Collections.<String>emptyList(), unregistered);
+  }
+
+  @Test
+  public void testUnregisteredViewModelHasNoFactory() {
+    assertNull(ViewModelFactories.factory(ActivityViewModel.class));
+  }
+}
@@ -0,0 +1,485 @@
+package com.kickstarter.autogson;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a Gson `TypeAdapter` for every `@AutoGson` type that reads and writes its properties directly and builds it
+ * with the `AutoParcel_` constructor, plus an `AutoGsonAdapterFactory` that hands those adapters to Gson. This avoids
+ * the `Class.forName` lookup in `AutoParcelAdapterFactory` and Gson's reflective field binding.
+ *
+ * JSON names follow `FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES`, and property values are read and written with
+ * whatever adapter the `Gson` instance has for their type, so e.g. `DateTimeTypeConverter` still applies. Properties
+ * missing from the JSON are left `null` if they're `@Nullable`, and otherwise fail the read with a
+ * `JsonParseException`, as the `AutoParcel_` constructor can't take them.
+ */
+@SupportedAnnotationTypes(AutoGsonProcessor.AUTO_GSON)
+public final class AutoGsonProcessor extends AbstractProcessor {
+  static final String AUTO_GSON = "com.kickstarter.libs.qualifiers.AutoGson";
+
+  private static final String FACTORY_PACKAGE = "com.kickstarter.libs";
+  private static final String FACTORY_NAME = "AutoGsonAdapterFactory";
+
+  private boolean factoryWritten;
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+    final TypeElement autoGson = processingEnv.getElementUtils().getTypeElement(AUTO_GSON);
+    if (autoGson == null || factoryWritten) {
+      return false;
+    }
+
+    final Set<? extends Element> elements = roundEnv.getElementsAnnotatedWith(autoGson);
+    if (elements.isEmpty()) {
+      return false;
+    }
+
+    final List<String[]> modelsAndAdapters = new ArrayList<>();
+    for (final TypeElement type : ElementFilter.typesIn(elements)) {
+      if (!isSupported(type)) {
+        // Left to AutoParcelAdapterFactory.
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+          "No adapter generated for non-public or generic @AutoGson type", type);
+        continue;
+      }
+
+      final String packageName = packageName(type);
+      final String adapter = "AutoGson_" + flatName(type);
+      write(packageName, adapter, adapter(type, packageName, adapter), type);
+      modelsAndAdapters.add(new String[] { type.getQualifiedName().toString(), qualify(packageName, adapter) });
+    }
+
+    write(FACTORY_PACKAGE, FACTORY_NAME, factory(modelsAndAdapters), null);
+    factoryWritten = true;
+    return false;
+  }
+
+  /**
+   * The factory has to be able to see the type, and the `AutoParcel_` constructor takes every property.
+   */
+  private static boolean isSupported(final TypeElement type) {
+    if (!type.getTypeParameters().isEmpty()) {
+      return false;
+    }
+    for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+      final TypeElement typeElement = (TypeElement) element;
+      if (!typeElement.getModifiers().contains(Modifier.PUBLIC)) {
+        return false;
+      }
+      if (typeElement.getNestingKind() == NestingKind.MEMBER && !typeElement.getModifiers().contains(Modifier.STATIC)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private String adapter(final TypeElement type, final String packageName, final String adapter) {
+    final String model = type.getQualifiedName().toString();
+    final String autoParcel = "AutoParcel_" + flatName(type);
+    final List<Property> properties = properties(type);
+
+    final List<String> arguments = new ArrayList<>();
+    for (final Property property : properties) {
+      arguments.add(property.valueName());
+    }
+
+    final Source source = new Source(packageName)
+      .line("/**")
+      .line(" * Generated by AutoGsonProcessor, do not edit.")
+      .line(" */")
+      .open("public final class %s extends com.google.gson.TypeAdapter<%s>", adapter, model);
+
+    for (final Property property : properties) {
+      source.line("private final com.google.gson.TypeAdapter<%s> %s;", property.boxedType, property.adapterName());
+    }
+
+    source
+      .blank()
+      .open("public %s(final com.google.gson.Gson gson)", adapter);
+    for (final Property property : properties) {
+      if (property.boxedType.contains("<")) {
+        source.line("this.%s = gson.getAdapter(new com.google.gson.reflect.TypeToken<%s>() {});", property.adapterName(),
+          property.boxedType);
+      } else {
+        source.line("this.%s = gson.getAdapter(%s.class);", property.adapterName(), property.boxedType);
+      }
+    }
+    source.close();
+
+    // Names of null values are dropped by the writer unless it serializes nulls, just like reflective adapters.
+    source
+      .blank()
+      .line("@Override")
+      .open("public void write(final com.google.gson.stream.JsonWriter writer, final %s value) throws java.io.IOException",
+        model)
+      .open("if (value == null)")
+      .line("writer.nullValue();")
+      .line("return;")
+      .close()
+      .line("writer.beginObject();");
+    for (final Property property : properties) {
+      source
+        .line("writer.name(\"%s\");", property.jsonName)
+        .line("%s.write(writer, value.%s());", property.adapterName(), property.name);
+    }
+    source
+      .line("writer.endObject();")
+      .close();
+
+    source
+      .blank()
+      .line("@Override")
+      .open("public %s read(final com.google.gson.stream.JsonReader reader) throws java.io.IOException", model)
+      .open("if (reader.peek() == com.google.gson.stream.JsonToken.NULL)")
+      .line("reader.nextNull();")
+      .line("return null;")
+      .close();
+    for (final Property property : properties) {
+      source.line("%s %s = %s;", property.type, property.valueName(), property.defaultValue());
+    }
+    source
+      .line("reader.beginObject();")
+      .open("while (reader.hasNext())")
+      .open("switch (reader.nextName())");
+    for (final Property property : properties) {
+      if (property.isPrimitive()) {
+        // A JSON null leaves the default, as it would for a reflectively bound primitive field.
+        source
+          .open("case \"%s\":", property.jsonName)
+          .line("final %s %s = %s.read(reader);", property.boxedType, property.readName(), property.adapterName())
+          .open("if (%s != null)", property.readName())
+          .line("%s = %s;", property.valueName(), property.readName())
+          .close()
+          .line("break;")
+          .close();
+      } else {
+        source
+          .line("case \"%s\":", property.jsonName)
+          .line("  %s = %s.read(reader);", property.valueName(), property.adapterName())
+          .line("  break;");
+      }
+    }
+    source
+      .line("default:")
+      .line("  reader.skipValue();")
+      .close()
+      .close()
+      .line("reader.endObject();");
+    for (final Property property : properties) {
+      if (!property.isPrimitive() && !property.nullable) {
+        source
+          .open("if (%s == null)", property.valueName())
+          .line("throw new com.google.gson.JsonParseException(\"%s is missing non-null property %s\");", model,
+            property.jsonName)
+          .close();
+      }
+    }
+    source
+      .line("return new %s(%s);", autoParcel, join(arguments, ", "))
+      .close();
+
+    return source
+      .close()
+      .toString();
+  }
+
+  private static String factory(final List<String[]> modelsAndAdapters) {
+    final Source source = new Source(FACTORY_PACKAGE)
+      .line("/**")
+      .line(" * Generated by AutoGsonProcessor, do not edit.")
+      .line(" */")
+      .open("public final class %s implements com.google.gson.TypeAdapterFactory", FACTORY_NAME)
+      .line("@Override")
+      .line("@SuppressWarnings(\"unchecked\")")
+      .open("public <T> com.google.gson.TypeAdapter<T> create(final com.google.gson.Gson gson, "
+        + "final com.google.gson.reflect.TypeToken<T> type)")
+      .line("final Class<? super T> rawType = type.getRawType();");
+    for (final String[] modelAndAdapter : modelsAndAdapters) {
+      source
+        .open("if (rawType == %s.class)", modelAndAdapter[0])
+        .line("return (com.google.gson.TypeAdapter<T>) new %s(gson);", modelAndAdapter[1])
+        .close();
+    }
+    return source
+      .line("return null;")
+      .close()
+      .close()
+      .toString();
+  }
+
+  /**
+   * Abstract properties of `type`, including inherited ones, in the order AutoParcel passes them to its constructor.
+   */
+  private List<Property> properties(final TypeElement type) {
+    final List<ExecutableElement> methods = new ArrayList<>();
+    localAndInheritedMethods(type, methods);
+
+    final List<Property> properties = new ArrayList<>();
+    for (final ExecutableElement method : methods) {
+      if (!method.getModifiers().contains(Modifier.ABSTRACT) || !method.getParameters().isEmpty()
+        || method.getReturnType().getKind() == TypeKind.VOID || isBuilder(type, method.getReturnType())) {
+        continue;
+      }
+
+      final TypeMirror returnType = method.getReturnType();
+      final String boxedType = returnType.getKind().isPrimitive()
+        ? processingEnv.getTypeUtils().boxedClass((PrimitiveType) returnType).getQualifiedName().toString()
+        : returnType.toString();
+      final String name = method.getSimpleName().toString();
+      properties.add(new Property(name, jsonName(name), returnType.toString(), boxedType, isNullable(method)));
+    }
+    return Collections.unmodifiableList(properties);
+  }
+
+  /**
+   * Adds the non-private methods of `type` and its supertypes to `methods`, supertypes first, dropping any method that
+   * is overridden. This is the order AutoParcel finds a type's properties in.
+   */
+  private void localAndInheritedMethods(final TypeElement type, final List<ExecutableElement> methods) {
+    final Types types = processingEnv.getTypeUtils();
+    final Elements elements = processingEnv.getElementUtils();
+
+    for (final TypeMirror superInterface : type.getInterfaces()) {
+      localAndInheritedMethods((TypeElement) types.asElement(superInterface), methods);
+    }
+    if (type.getSuperclass().getKind() != TypeKind.NONE) {
+      // After the interfaces, so that an implementation replaces the interface method it implements.
+      localAndInheritedMethods((TypeElement) types.asElement(type.getSuperclass()), methods);
+    }
+
+    for (final ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+      if (method.getModifiers().contains(Modifier.PRIVATE)) {
+        continue;
+      }
+
+      boolean alreadySeen = false;
+      final Iterator<ExecutableElement> iterator = methods.iterator();
+      while (iterator.hasNext()) {
+        final ExecutableElement other = iterator.next();
+        if (elements.overrides(method, other, type)) {
+          iterator.remove();
+        } else if (method.getSimpleName().equals(other.getSimpleName())
+          && method.getParameters().equals(other.getParameters())) {
+          // A method declared by two interfaces.
+          alreadySeen = true;
+        }
+      }
+      if (!alreadySeen) {
+        methods.add(method);
+      }
+    }
+  }
+
+  /**
+   * `toBuilder()` returns the type's own `@AutoParcel.Builder`, which isn't a property.
+   */
+  private static boolean isBuilder(final TypeElement type, final TypeMirror returnType) {
+    if (!(returnType instanceof DeclaredType)) {
+      return false;
+    }
+    final Element element = ((DeclaredType) returnType).asElement();
+    return element.getEnclosingElement().equals(type) && element.getSimpleName().contentEquals("Builder");
+  }
+
+  /**
+   * Any annotation named `Nullable` counts, as it does for AutoParcel.
+   */
+  private static boolean isNullable(final ExecutableElement method) {
+    for (final AnnotationMirror annotation : method.getAnnotationMirrors()) {
+      if (annotation.getAnnotationType().asElement().getSimpleName().contentEquals("Nullable")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Same as `FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES`, e.g. `backersCount` is `backers_count`.
+   */
+  static String jsonName(final String name) {
+    final StringBuilder jsonName = new StringBuilder();
+    for (int i = 0; i < name.length(); i++) {
+      final char c = name.charAt(i);
+      if (Character.isUpperCase(c) && jsonName.length() != 0) {
+        jsonName.append('_');
+      }
+      jsonName.append(c);
+    }
+    return jsonName.toString().toLowerCase(Locale.ENGLISH);
+  }
+
+  private static String packageName(final TypeElement type) {
+    Element element = type;
+    while (!(element instanceof PackageElement)) {
+      element = element.getEnclosingElement();
+    }
+    return ((PackageElement) element).getQualifiedName().toString();
+  }
+
+  /**
+   * Nested types are flattened the way AutoParcel names them, e.g. `DiscoverEnvelope_UrlsEnvelope`.
+   */
+  private static String flatName(final TypeElement type) {
+    final String name = type.getSimpleName().toString();
+    final Element enclosing = type.getEnclosingElement();
+    return enclosing instanceof TypeElement ? flatName((TypeElement) enclosing) + "_" + name : name;
+  }
+
+  private static String qualify(final String packageName, final String name) {
+    return packageName.isEmpty() ? name : packageName + "." + name;
+  }
+
+  private static String join(final List<String> parts, final String separator) {
+    final StringBuilder joined = new StringBuilder();
+    for (final String part : parts) {
+      if (joined.length() != 0) {
+        joined.append(separator);
+      }
+      joined.append(part);
+    }
+    return joined.toString();
+  }
+
+  private void write(final String packageName, final String name, final String source, final Element origin) {
+    try {
+      final Writer writer = processingEnv.getFiler().createSourceFile(qualify(packageName, name), origin).openWriter();
+      try {
+        writer.write(source);
+      } finally {
+        writer.close();
+      }
+    } catch (final IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+        "Could not write " + name + ": " + e.getMessage(), origin);
+    }
+  }
+
+  private static final class Property {
+    final String name;
+    final String jsonName;
+    final String type;
+    final String boxedType;
+    final boolean nullable;
+
+    Property(final String name, final String jsonName, final String type, final String boxedType,
+      final boolean nullable) {
+      this.name = name;
+      this.jsonName = jsonName;
+      this.type = type;
+      this.boxedType = boxedType;
+      this.nullable = nullable;
+    }
+
+    boolean isPrimitive() {
+      return !type.equals(boxedType);
+    }
+
+    String adapterName() {
+      return name + "Adapter";
+    }
+
+    String readName() {
+      return name + "Read";
+    }
+
+    String valueName() {
+      return name + "Value";
+    }
+
+    String defaultValue() {
+      switch (type) {
+        case "boolean":
+          return "false";
+        case "char":
+          return "'\\u0000'";
+        case "long":
+          return "0L";
+        case "float":
+          return "0f";
+        case "double":
+          return "0d";
+        case "byte":
+        case "short":
+          return "(" + type + ") 0";
+        case "int":
+          return "0";
+        default:
+          return "null";
+      }
+    }
+  }
+
+  /**
+   * Builds indented Java source a line at a time.
+   */
+  private static final class Source {
+    private final StringBuilder source = new StringBuilder();
+    private int indent;
+
+    Source(final String packageName) {
+      if (!packageName.isEmpty()) {
+        source.append("package ").append(packageName).append(";\n\n");
+      }
+    }
+
+    Source line(final String format, final Object... args) {
+      for (int i = 0; i < indent; i++) {
+        source.append("  ");
+      }
+      source.append(String.format(Locale.ENGLISH, format, args)).append('\n');
+      return this;
+    }
+
+    Source blank() {
+      source.append('\n');
+      return this;
+    }
+
+    Source open(final String format, final Object... args) {
+      line(format + " {", args);
+      indent++;
+      return this;
+    }
+
+    Source close() {
+      indent--;
+      return line("}");
+    }
+
+    @Override
+    public String toString() {
+      return source.toString();
+    }
+  }
+}